@@ -16,34 +16,83 @@
 
 package software.aws.neptune.common.gremlindatamodel;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.aws.neptune.gremlin.adapter.converter.SqlConverter;
+import software.aws.neptune.gremlin.adapter.converter.schema.SchemaSnapshot;
 import software.aws.neptune.gremlin.adapter.converter.schema.SqlSchemaGrabber;
 import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
-import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
-import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.LazyGremlinSchema;
 import software.aws.neptune.common.ResultSetInfoWithoutRows;
+import software.aws.neptune.common.gremlindatamodel.resultset.GenericResultSet;
 import software.aws.neptune.common.gremlindatamodel.resultset.ResultSetGetColumns;
 import software.aws.neptune.common.gremlindatamodel.resultset.ResultSetGetTables;
 import software.aws.neptune.gremlin.GremlinConnectionProperties;
 import software.aws.neptune.jdbc.utilities.AuthScheme;
+import software.aws.neptune.jdbc.utilities.ConnectionProperties;
+import software.aws.neptune.jdbc.utilities.Warning;
 import software.aws.neptune.opencypher.OpenCypherConnectionProperties;
+import software.aws.neptune.opencypher.OpenCypherSchemaGrabber;
+import software.aws.neptune.sparql.SparqlConnectionProperties;
+import software.aws.neptune.sparql.SparqlSchemaGrabber;
 import java.sql.SQLException;
-import java.util.Arrays;
+import java.sql.SQLWarning;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Caches the schema of each endpoint in memory.
+ * <p>
+ * The cache holds a configurable number of endpoints and evicts the least recently used one. A schema older than the
+ * refresh interval keeps being served while a background scan builds its replacement, which is then swapped in.
+ * <p>
+ * An endpoint whose schema is not cached is scanned without holding the cache lock, so a slow scan does not block the
+ * other endpoints. Connections asking for an endpoint which is already being scanned wait for that scan.
+ * <p>
+ * A progressive schema is published as soon as its labels are listed. Its tables are then scanned in the background
+ * a batch of labels at a time, and each table is served as soon as it is scanned.
+ */
 public class MetadataCache {
     private static final Logger LOGGER = LoggerFactory.getLogger(MetadataCache.class);
     private static final Object LOCK = new Object();
-    private static final int SCHEMA_CACHE_SIZE = 3;
+    private static final int PROGRESSIVE_SCAN_BATCH_SIZE = 16;
+    private static final Map<String, Long> SCHEMA_LOADED_MILLIS = new HashMap<>();
+    private static final Map<String, SchemaSnapshot> SCHEMA_SNAPSHOTS = new HashMap<>();
+    private static final Map<String, SchemaIndex> SCHEMA_INDEXES = new HashMap<>();
+    private static final Map<String, LazyGremlinSchema> PROGRESSIVE_SCHEMAS = new HashMap<>();
+    private static final Set<String> REFRESHING_ENDPOINTS = new HashSet<>();
+    // Endpoints whose schema is being loaded for the first time, which later connections wait for.
+    private static final Map<String, CompletableFuture<Void>> LOADING_SCHEMAS = new HashMap<>();
+    private static final ExecutorService REFRESH_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("SchemaRefresh-%d").setDaemon(true).build());
+    // Each endpoint scans on its own thread, so a large graph does not hold back the scan of another one.
+    private static final ExecutorService PROGRESSIVE_SCAN_EXECUTOR = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("SchemaScan-%d").setDaemon(true).build());
+    private static int schemaCacheCapacity = ConnectionProperties.DEFAULT_SCHEMA_CACHE_CAPACITY;
     private static final Map<String, GremlinSchema> GREMLIN_SCHEMAS =
-            new LinkedHashMap<String, GremlinSchema>() {
+            new LinkedHashMap<String, GremlinSchema>(16, 0.75f, true) {
         @Override
-        protected boolean removeEldestEntry(final Map.Entry eldest) {
-            return size() > SCHEMA_CACHE_SIZE;
+        protected boolean removeEldestEntry(final Map.Entry<String, GremlinSchema> eldest) {
+            if (size() > schemaCacheCapacity) {
+                SCHEMA_LOADED_MILLIS.remove(eldest.getKey());
+                SCHEMA_SNAPSHOTS.remove(eldest.getKey());
+                SCHEMA_INDEXES.remove(eldest.getKey());
+                PROGRESSIVE_SCHEMAS.remove(eldest.getKey());
+                SqlConverter.invalidatePlans(eldest.getValue());
+                return true;
+            }
+            return false;
         }
     };
 
@@ -55,17 +104,333 @@ public class MetadataCache {
      * @param useIam   Flag to use IAM or not.
      * @param useSsl   Flag to use SSL.
      * @param pathType Path type.
+     * @param scanType Scan type.
      * @throws SQLException Thrown if error occurs during update.
      */
     public static void updateCache(final String endpoint, final int port, final boolean useIam, final boolean useSsl,
                                    final PathType pathType, final SqlSchemaGrabber.ScanType scanType)
             throws SQLException {
+        updateCache(endpoint, port, useIam, useSsl, pathType, scanType, null, 0, 0, false, false, false);
+    }
+
+    /**
+     * Function to update the cache of the metadata, loading it from and storing it to a schema cache directory.
+     * If the cached schema is older than the refresh interval, it is refreshed in the background and this returns
+     * immediately.
+     *
+     * @param endpoint              Endpoint of target database.
+     * @param port                  Port of target database.
+     * @param useIam                Flag to use IAM or not.
+     * @param useSsl                Flag to use SSL.
+     * @param pathType              Path type.
+     * @param scanType              Scan type.
+     * @param schemaCacheDirectory  Directory the schema is persisted to, null to not persist it.
+     * @param schemaCacheTtlSeconds Time a persisted schema stays valid, 0 meaning it never expires.
+     * @param schemaRefreshSeconds  Age after which the cached schema is refreshed, 0 meaning it is never refreshed.
+     * @param incrementalRefresh    Flag to rescan only the labels which changed when refreshing.
+     * @param lazySchema            Flag to only fetch the labels and scan each table when it is first used.
+     * @param progressiveSchema     Flag to serve the labels right away and scan their tables in the background.
+     * @throws SQLException Thrown if error occurs during update.
+     */
+    public static void updateCache(final String endpoint, final int port, final boolean useIam, final boolean useSsl,
+                                   final PathType pathType, final SqlSchemaGrabber.ScanType scanType,
+                                   final String schemaCacheDirectory, final int schemaCacheTtlSeconds,
+                                   final int schemaRefreshSeconds, final boolean incrementalRefresh,
+                                   final boolean lazySchema, final boolean progressiveSchema)
+            throws SQLException {
+        updateCache(endpoint, port, scanType, schemaCacheDirectory, schemaCacheTtlSeconds, schemaRefreshSeconds,
+                incrementalRefresh, lazySchema, progressiveSchema,
+                getGremlinSchemaLoader(endpoint, port, useIam, useSsl, pathType));
+    }
+
+    private static SchemaLoader getGremlinSchemaLoader(final String endpoint, final int port, final boolean useIam,
+                                                       final boolean useSsl, final PathType pathType) {
+        return new SchemaLoader() {
+            @Override
+            public SchemaSnapshot getSchemaSnapshot(final SqlSchemaGrabber.ScanType scanType,
+                                                    final SchemaSnapshot previous) throws SQLException {
+                return SchemaHelperGremlinDataModel.getGraphSchemaSnapshot(
+                        endpoint, port, useIam, useSsl, pathType, scanType, previous);
+            }
+
+            @Override
+            public LazyGremlinSchema getLazySchema(final SqlSchemaGrabber.ScanType scanType) throws SQLException {
+                return SchemaHelperGremlinDataModel.getLazyGraphSchema(
+                        endpoint, port, useIam, useSsl, pathType, scanType);
+            }
+        };
+    }
+
+    /**
+     * Function to update the cache of the metadata, loading the schema through the given loader.
+     *
+     * @param endpoint              Endpoint of target database.
+     * @param port                  Port of target database.
+     * @param scanType              Scan type.
+     * @param schemaCacheDirectory  Directory the schema is persisted to, null to not persist it.
+     * @param schemaCacheTtlSeconds Time a persisted schema stays valid, 0 meaning it never expires.
+     * @param schemaRefreshSeconds  Age after which the cached schema is refreshed, 0 meaning it is never refreshed.
+     * @param incrementalRefresh    Flag to rescan only the labels which changed when refreshing.
+     * @param lazySchema            Flag to only fetch the labels and scan each table when it is first used.
+     * @param progressiveSchema     Flag to serve the labels right away and scan their tables in the background.
+     * @param schemaLoader          SchemaLoader which reads the schema from the database.
+     * @throws SQLException Thrown if error occurs during update.
+     */
+    public static void updateCache(final String endpoint, final int port, final SqlSchemaGrabber.ScanType scanType,
+                                   final String schemaCacheDirectory, final int schemaCacheTtlSeconds,
+                                   final int schemaRefreshSeconds, final boolean incrementalRefresh,
+                                   final boolean lazySchema, final boolean progressiveSchema,
+                                   final SchemaLoader schemaLoader)
+            throws SQLException {
+        final CompletableFuture<Void> loading = new CompletableFuture<>();
+        final CompletableFuture<Void> inFlight;
+        synchronized (LOCK) {
+            if (GREMLIN_SCHEMAS.containsKey(endpoint)) {
+                final long ageMillis = System.currentTimeMillis() - SCHEMA_LOADED_MILLIS.getOrDefault(endpoint, 0L);
+                if (schemaRefreshSeconds > 0 && ageMillis > schemaRefreshSeconds * 1000L
+                        && REFRESHING_ENDPOINTS.add(endpoint)) {
+                    final SchemaSnapshot previous = incrementalRefresh ? SCHEMA_SNAPSHOTS.get(endpoint) : null;
+                    REFRESH_EXECUTOR.submit(() -> refreshSchema(endpoint, port, scanType, schemaCacheDirectory,
+                            previous, lazySchema, schemaLoader));
+                }
+                return;
+            }
+            inFlight = LOADING_SCHEMAS.putIfAbsent(endpoint, loading);
+        }
+        if (inFlight != null) {
+            // Another connection is already loading the schema of this endpoint.
+            awaitSchema(endpoint, inFlight);
+            return;
+        }
+
+        try {
+            loadSchema(endpoint, port, scanType, schemaCacheDirectory, schemaCacheTtlSeconds, lazySchema,
+                    progressiveSchema, schemaLoader);
+        } catch (final SQLException | RuntimeException e) {
+            synchronized (LOCK) {
+                LOADING_SCHEMAS.remove(endpoint);
+            }
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (LOCK) {
+            LOADING_SCHEMAS.remove(endpoint);
+        }
+        loading.complete(null);
+    }
+
+    /**
+     * Function to load the schema of an endpoint which is not cached. The database and the schema cache directory
+     * are read without holding the cache lock, so loading one endpoint does not block the others, and the schema is
+     * published under the lock once it is loaded.
+     */
+    private static void loadSchema(final String endpoint, final int port, final SqlSchemaGrabber.ScanType scanType,
+                                   final String schemaCacheDirectory, final int schemaCacheTtlSeconds,
+                                   final boolean lazySchema, final boolean progressiveSchema,
+                                   final SchemaLoader schemaLoader) throws SQLException {
+        final boolean usePersistedSchema = schemaCacheDirectory != null && !schemaCacheDirectory.isEmpty();
+        final GremlinSchema persistedSchema = usePersistedSchema ?
+                SchemaFileCache.load(schemaCacheDirectory, endpoint, port, scanType, schemaCacheTtlSeconds) :
+                null;
+        if (persistedSchema != null) {
+            // A schema persisted without the count of every label is scanned in full by its first refresh.
+            final SchemaSnapshot persistedSnapshot = SchemaSnapshot.fromRowCounts(persistedSchema);
+            synchronized (LOCK) {
+                putSchema(endpoint, persistedSchema, persistedSnapshot);
+            }
+            return;
+        }
+        if (lazySchema) {
+            // Only the labels are fetched here, so there is nothing worth persisting yet.
+            final LazyGremlinSchema schema = schemaLoader.getLazySchema(scanType);
+            synchronized (LOCK) {
+                putSchema(endpoint, schema, null);
+            }
+            return;
+        }
+        if (progressiveSchema) {
+            final LazyGremlinSchema schema = schemaLoader.getLazySchema(scanType);
+            synchronized (LOCK) {
+                // Holding the scan in REFRESHING_ENDPOINTS keeps a refresh from starting before it completes.
+                putSchema(endpoint, schema, null);
+                PROGRESSIVE_SCHEMAS.put(endpoint, schema);
+                REFRESHING_ENDPOINTS.add(endpoint);
+                PROGRESSIVE_SCAN_EXECUTOR.submit(() ->
+                        scanSchema(endpoint, port, scanType, schemaCacheDirectory, schema));
+            }
+            return;
+        }
+        final SchemaSnapshot snapshot = schemaLoader.getSchemaSnapshot(scanType, null);
+        if (usePersistedSchema) {
+            SchemaFileCache.store(schemaCacheDirectory, endpoint, port, scanType, snapshot.getSchema());
+        }
+        synchronized (LOCK) {
+            putSchema(endpoint, snapshot.getSchema(), snapshot);
+        }
+    }
+
+    private static void awaitSchema(final String endpoint, final CompletableFuture<Void> loading)
+            throws SQLException {
+        try {
+            loading.get();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException(String.format("Failed to load schema of '%s'.", endpoint), e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(String.format("Interrupted while loading schema of '%s'.", endpoint), e);
+        }
+    }
+
+    /**
+     * Function to raise the number of endpoints whose schema is kept in memory to at least the given capacity.
+     * The cache is shared by all connections, so a connection asking for a smaller cache does not evict the schemas
+     * of the connections which asked for a larger one.
+     *
+     * @param capacity Number of endpoints.
+     */
+    public static void ensureSchemaCacheCapacity(final int capacity) {
+        synchronized (LOCK) {
+            if (capacity > schemaCacheCapacity) {
+                schemaCacheCapacity = capacity;
+            }
+        }
+    }
+
+    /**
+     * Function to set the number of endpoints whose schema is kept in memory, evicting the least recently used
+     * schemas which no longer fit.
+     *
+     * @param capacity Number of endpoints.
+     */
+    public static void setSchemaCacheCapacity(final int capacity) {
+        synchronized (LOCK) {
+            schemaCacheCapacity = Math.max(1, capacity);
+            final Iterator<String> endpoints = GREMLIN_SCHEMAS.keySet().iterator();
+            while (GREMLIN_SCHEMAS.size() > schemaCacheCapacity && endpoints.hasNext()) {
+                final String endpoint = endpoints.next();
+                SCHEMA_LOADED_MILLIS.remove(endpoint);
+                SCHEMA_SNAPSHOTS.remove(endpoint);
+                SCHEMA_INDEXES.remove(endpoint);
+                PROGRESSIVE_SCHEMAS.remove(endpoint);
+                SqlConverter.invalidatePlans(GREMLIN_SCHEMAS.get(endpoint));
+                endpoints.remove();
+            }
+        }
+    }
+
+    private static void putSchema(final String endpoint, final GremlinSchema gremlinSchema,
+                                  final SchemaSnapshot snapshot) {
+        final GremlinSchema previous = GREMLIN_SCHEMAS.put(endpoint, gremlinSchema);
+        if (previous != null && previous != gremlinSchema) {
+            SqlConverter.invalidatePlans(previous);
+        }
+        SCHEMA_LOADED_MILLIS.put(endpoint, System.currentTimeMillis());
+        if (snapshot != null) {
+            SCHEMA_SNAPSHOTS.put(endpoint, snapshot);
+        } else {
+            SCHEMA_SNAPSHOTS.remove(endpoint);
+        }
+    }
+
+    private static void refreshSchema(final String endpoint, final int port,
+                                      final SqlSchemaGrabber.ScanType scanType, final String schemaCacheDirectory,
+                                      final SchemaSnapshot previous, final boolean lazySchema,
+                                      final SchemaLoader schemaLoader) {
+        GremlinSchema gremlinSchema = null;
+        SchemaSnapshot snapshot = null;
+        try {
+            if (lazySchema) {
+                // Refreshing a lazy schema only fetches the labels again, tables are rescanned as they are used.
+                LOGGER.info(String.format("Refreshing labels of '%s' in the background.", endpoint));
+                gremlinSchema = schemaLoader.getLazySchema(scanType);
+            } else {
+                LOGGER.info(String.format("Refreshing schema of '%s' in the background%s.", endpoint,
+                        (previous == null) ? "" : ", rescanning changed labels only"));
+                snapshot = schemaLoader.getSchemaSnapshot(scanType, previous);
+                gremlinSchema = snapshot.getSchema();
+                if (schemaCacheDirectory != null && !schemaCacheDirectory.isEmpty()) {
+                    SchemaFileCache.store(schemaCacheDirectory, endpoint, port, scanType, gremlinSchema);
+                }
+            }
+        } catch (final SQLException | RuntimeException e) {
+            LOGGER.warn(String.format("Failed to refresh schema of '%s', serving the cached schema: %s",
+                    endpoint, e.getMessage()));
+        } finally {
+            synchronized (LOCK) {
+                REFRESHING_ENDPOINTS.remove(endpoint);
+                // An endpoint evicted while refreshing is not brought back, and a failed refresh is retried only
+                // after another refresh interval.
+                if (GREMLIN_SCHEMAS.containsKey(endpoint)) {
+                    if (gremlinSchema != null) {
+                        putSchema(endpoint, gremlinSchema, snapshot);
+                    } else {
+                        SCHEMA_LOADED_MILLIS.put(endpoint, System.currentTimeMillis());
+                    }
+                }
+            }
+        }
+    }
+
+    private static void scanSchema(final String endpoint, final int port, final SqlSchemaGrabber.ScanType scanType,
+                                   final String schemaCacheDirectory, final LazyGremlinSchema schema) {
+        final long start = System.currentTimeMillis();
+        GremlinSchema gremlinSchema = null;
+        try {
+            final List<String> vertexLabels = schema.getVertexLabels();
+            for (int i = 0; i < vertexLabels.size(); i += PROGRESSIVE_SCAN_BATCH_SIZE) {
+                final List<String> batch =
+                        vertexLabels.subList(i, Math.min(vertexLabels.size(), i + PROGRESSIVE_SCAN_BATCH_SIZE));
+                if (!scanBatch(endpoint, schema, batch, Collections.emptyList())) {
+                    return;
+                }
+            }
+            final List<String> edgeLabels = schema.getEdgeLabels();
+            for (int i = 0; i < edgeLabels.size(); i += PROGRESSIVE_SCAN_BATCH_SIZE) {
+                final List<String> batch =
+                        edgeLabels.subList(i, Math.min(edgeLabels.size(), i + PROGRESSIVE_SCAN_BATCH_SIZE));
+                if (!scanBatch(endpoint, schema, Collections.emptyList(), batch)) {
+                    return;
+                }
+            }
+            gremlinSchema = new GremlinSchema(schema.getVertices(), schema.getEdges());
+            if (schemaCacheDirectory != null && !schemaCacheDirectory.isEmpty()) {
+                SchemaFileCache.store(schemaCacheDirectory, endpoint, port, scanType, gremlinSchema);
+            }
+            LOGGER.info(String.format("Scanned all %d tables of '%s' in %d ms.",
+                    schema.getTableCount(), endpoint, System.currentTimeMillis() - start));
+        } catch (final SQLException | RuntimeException e) {
+            LOGGER.warn(String.format("Failed to scan schema of '%s', remaining tables are scanned when first used: %s",
+                    endpoint, e.getMessage()));
+        } finally {
+            synchronized (LOCK) {
+                if (PROGRESSIVE_SCHEMAS.remove(endpoint, schema)) {
+                    REFRESHING_ENDPOINTS.remove(endpoint);
+                    if (gremlinSchema != null) {
+                        putSchema(endpoint, gremlinSchema, null);
+                    }
+                } else if (!PROGRESSIVE_SCHEMAS.containsKey(endpoint)) {
+                    REFRESHING_ENDPOINTS.remove(endpoint);
+                }
+            }
+        }
+    }
+
+    private static boolean scanBatch(final String endpoint, final LazyGremlinSchema schema,
+                                     final List<String> vertexLabels, final List<String> edgeLabels)
+            throws SQLException {
         synchronized (LOCK) {
-            if (!GREMLIN_SCHEMAS.containsKey(endpoint)) {
-                GREMLIN_SCHEMAS.put(endpoint, SchemaHelperGremlinDataModel.getGraphSchema(
-                                endpoint, port, useIam, useSsl, pathType, scanType));
+            if (PROGRESSIVE_SCHEMAS.get(endpoint) != schema) {
+                LOGGER.info(String.format("Schema of '%s' was evicted, stopping its scan.", endpoint));
+                return false;
             }
         }
+        schema.loadTables(vertexLabels, edgeLabels);
+        LOGGER.debug(String.format("Scanned %d of %d tables of '%s'.",
+                schema.getLoadedTableCount(), schema.getTableCount(), endpoint));
+        return true;
     }
 
     /**
@@ -76,12 +441,17 @@ public class MetadataCache {
      */
     public static void updateCacheIfNotUpdated(final GremlinConnectionProperties gremlinConnectionProperties)
             throws SQLException {
-        if (!isMetadataCached(gremlinConnectionProperties.getContactPoint())) {
-            updateCache(gremlinConnectionProperties.getContactPoint(), gremlinConnectionProperties.getPort(),
-                    (gremlinConnectionProperties.getAuthScheme() == AuthScheme.IAMSigV4),
-                    gremlinConnectionProperties.getEnableSsl(),
-                    MetadataCache.PathType.Gremlin, gremlinConnectionProperties.getScanType());
-        }
+        ensureSchemaCacheCapacity(gremlinConnectionProperties.getSchemaCacheCapacity());
+        updateCache(gremlinConnectionProperties.getContactPoint(), gremlinConnectionProperties.getPort(),
+                (gremlinConnectionProperties.getAuthScheme() == AuthScheme.IAMSigV4),
+                gremlinConnectionProperties.getEnableSsl(),
+                MetadataCache.PathType.Gremlin, gremlinConnectionProperties.getScanType(),
+                gremlinConnectionProperties.getSchemaCacheDirectory(),
+                gremlinConnectionProperties.getSchemaCacheTtlSeconds(),
+                gremlinConnectionProperties.getSchemaRefreshSeconds(),
+                gremlinConnectionProperties.getIncrementalSchemaRefresh(),
+                gremlinConnectionProperties.getLazySchema(),
+                gremlinConnectionProperties.getProgressiveSchema());
     }
 
     /**
@@ -92,12 +462,38 @@ public class MetadataCache {
      */
     public static void updateCacheIfNotUpdated(final OpenCypherConnectionProperties openCypherConnectionProperties)
             throws SQLException {
-        if (!isMetadataCached(openCypherConnectionProperties.getEndpoint())) {
-            updateCache(openCypherConnectionProperties.getEndpoint(), openCypherConnectionProperties.getPort(),
-                    (openCypherConnectionProperties.getAuthScheme() == AuthScheme.IAMSigV4),
-                    openCypherConnectionProperties.getUseEncryption(),
-                    PathType.Bolt, openCypherConnectionProperties.getScanType());
-        }
+        ensureSchemaCacheCapacity(openCypherConnectionProperties.getSchemaCacheCapacity());
+        // The schema is read with openCypher queries over the Bolt driver the connection already uses.
+        updateCache(openCypherConnectionProperties.getEndpoint(), openCypherConnectionProperties.getPort(),
+                openCypherConnectionProperties.getScanType(),
+                openCypherConnectionProperties.getSchemaCacheDirectory(),
+                openCypherConnectionProperties.getSchemaCacheTtlSeconds(),
+                openCypherConnectionProperties.getSchemaRefreshSeconds(),
+                openCypherConnectionProperties.getIncrementalSchemaRefresh(),
+                openCypherConnectionProperties.getLazySchema(),
+                openCypherConnectionProperties.getProgressiveSchema(),
+                new OpenCypherSchemaGrabber(openCypherConnectionProperties));
+    }
+
+    /**
+     * Function to update the cache of the metadata.
+     *
+     * @param sparqlConnectionProperties SparqlConnectionProperties to use.
+     * @throws SQLException Thrown if error occurs during update.
+     */
+    public static void updateCacheIfNotUpdated(final SparqlConnectionProperties sparqlConnectionProperties)
+            throws SQLException {
+        ensureSchemaCacheCapacity(sparqlConnectionProperties.getSchemaCacheCapacity());
+        // The destination includes the dataset, so each dataset of an endpoint has its own schema.
+        updateCache(sparqlConnectionProperties.getDestination(), sparqlConnectionProperties.getPort(),
+                sparqlConnectionProperties.getScanType(),
+                sparqlConnectionProperties.getSchemaCacheDirectory(),
+                sparqlConnectionProperties.getSchemaCacheTtlSeconds(),
+                sparqlConnectionProperties.getSchemaRefreshSeconds(),
+                sparqlConnectionProperties.getIncrementalSchemaRefresh(),
+                sparqlConnectionProperties.getLazySchema(),
+                sparqlConnectionProperties.getProgressiveSchema(),
+                new SparqlSchemaGrabber(sparqlConnectionProperties));
     }
 
     /**
@@ -114,28 +510,74 @@ public class MetadataCache {
     /**
      * Function to filter cached NodeColumnInfo.
      *
-     * @param nodeFilter Filter to apply.
+     * @param nodeFilter JDBC table name pattern, null to match every table.
      * @return Filtered NodeColumnInfo List.
      */
     public static GremlinSchema getFilteredCacheNodeColumnInfos(final String nodeFilter, final String endpoint)
             throws SQLException {
+        final SchemaIndex schemaIndex = getSchemaIndex(endpoint);
+        if (nodeFilter == null || "%".equals(nodeFilter)) {
+            return schemaIndex.getGremlinSchema();
+        }
+        return schemaIndex.getSchema(nodeFilter);
+    }
+
+    /**
+     * Function to get the getTables rows of the tables matching a pattern.
+     *
+     * @param nodeFilter JDBC table name pattern, null to match every table.
+     * @param endpoint   Endpoint of the schema.
+     * @return Unmodifiable rows, which are shared between calls.
+     * @throws SQLException If the cache has not been updated or a table cannot be loaded.
+     */
+    public static List<Map<String, Object>> getTableRows(final String nodeFilter, final String endpoint)
+            throws SQLException {
+        return getSchemaIndex(endpoint).getTableRows(nodeFilter);
+    }
+
+    /**
+     * Function to get the getColumns rows of the tables matching a pattern.
+     *
+     * @param nodeFilter JDBC table name pattern, null to match every table.
+     * @param endpoint   Endpoint of the schema.
+     * @return Unmodifiable rows, which are shared between calls.
+     * @throws SQLException If the cache has not been updated or a table cannot be loaded.
+     */
+    public static List<Map<String, Object>> getColumnRows(final String nodeFilter, final String endpoint)
+            throws SQLException {
+        return getSchemaIndex(endpoint).getColumnRows(nodeFilter);
+    }
+
+    /**
+     * Function to add a warning to a metadata result set while the progressive schema of its endpoint is scanned.
+     *
+     * @param endpoint  Endpoint of the schema.
+     * @param resultSet Result set to add the warning to.
+     */
+    public static void addSchemaScanWarning(final String endpoint, final GenericResultSet resultSet) {
+        final LazyGremlinSchema schema;
+        synchronized (LOCK) {
+            schema = PROGRESSIVE_SCHEMAS.get(endpoint);
+        }
+        if (schema != null && schema.getLoadedTableCount() < schema.getTableCount()) {
+            resultSet.addWarning(new SQLWarning(Warning.lookup(Warning.SCHEMA_SCAN_IN_PROGRESS, endpoint,
+                    schema.getLoadedTableCount(), schema.getTableCount())));
+        }
+    }
+
+    private static SchemaIndex getSchemaIndex(final String endpoint) throws SQLException {
+        // Only the lookup of the index holds the lock, the index itself is safe to read concurrently.
         synchronized (LOCK) {
-            if (!getGremlinSchemas().containsKey(endpoint)) {
+            final GremlinSchema gremlinSchema = getGremlinSchemas().get(endpoint);
+            if (gremlinSchema == null) {
                 throw new SQLException("Error, cache must be updated before filtered cache can be retrieved.");
-            } else if (nodeFilter == null || "%".equals(nodeFilter)) {
-                return getGremlinSchemas().get(endpoint);
             }
-            LOGGER.info("Getting vertices.");
-            final List<GremlinVertexTable> vertices = getGremlinSchemas().get(endpoint).getVertices();
-            LOGGER.info("Getting edges.");
-            final List<GremlinEdgeTable> edges = getGremlinSchemas().get(endpoint).getEdges();
-            final List<GremlinVertexTable> filteredGremlinVertexTables = vertices.stream().filter(
-                    table -> Arrays.stream(nodeFilter.split(":")).allMatch(f -> table.getLabel().equals(f)))
-                    .collect(Collectors.toList());
-            final List<GremlinEdgeTable> filteredGremlinEdgeTables = edges.stream().filter(
-                    table -> Arrays.stream(nodeFilter.split(":")).allMatch(f -> table.getLabel().equals(f)))
-                    .collect(Collectors.toList());
-            return new GremlinSchema(filteredGremlinVertexTables, filteredGremlinEdgeTables);
+            SchemaIndex schemaIndex = SCHEMA_INDEXES.get(endpoint);
+            if (schemaIndex == null || schemaIndex.getGremlinSchema() != gremlinSchema) {
+                schemaIndex = new SchemaIndex(gremlinSchema);
+                SCHEMA_INDEXES.put(endpoint, schemaIndex);
+            }
+            return schemaIndex;
         }
     }
 
@@ -182,7 +624,34 @@ public class MetadataCache {
      * @return GremlinSchema Object.
      */
     public static GremlinSchema getGremlinSchema(final String endpoint) {
-        return GREMLIN_SCHEMAS.get(endpoint);
+        synchronized (LOCK) {
+            return GREMLIN_SCHEMAS.get(endpoint);
+        }
+    }
+
+    /**
+     * Interface used to read the schema of an endpoint from the database.
+     */
+    public interface SchemaLoader {
+        /**
+         * Function to get the schema along with the element count of each label.
+         *
+         * @param scanType Scan type.
+         * @param previous Snapshot to refresh incrementally, null to scan the whole graph.
+         * @return Graph schema snapshot.
+         * @throws SQLException If the schema cannot be collected.
+         */
+        SchemaSnapshot getSchemaSnapshot(SqlSchemaGrabber.ScanType scanType, SchemaSnapshot previous)
+                throws SQLException;
+
+        /**
+         * Function to get a schema which only fetches the labels up front and scans each table on first use.
+         *
+         * @param scanType Scan type.
+         * @return Lazily loaded graph schema.
+         * @throws SQLException If the labels cannot be collected.
+         */
+        LazyGremlinSchema getLazySchema(SqlSchemaGrabber.ScanType scanType) throws SQLException;
     }
 
     public enum PathType {
@@ -0,0 +1,254 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+package software.aws.neptune.common.gremlindatamodel;
+
+import com.google.gson.Gson;
+import org.apache.calcite.util.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.aws.neptune.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Persists GremlinSchema objects to a local directory so that a new process can skip the schema scan.
+ * <p>
+ * Each schema is stored as a JSON file named after a hash of the endpoint, port and scan type. The file records the
+ * format version and the time it was written, files with another version or older than the time to live are ignored
+ * and rewritten after the next scan. Tables keep the element count of their label, so a loaded schema can be refreshed
+ * incrementally and planned with its cardinalities.
+ */
+public final class SchemaFileCache {
+    static final int FORMAT_VERSION = 2;
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaFileCache.class);
+    private static final Gson GSON = new Gson();
+    private static final String FILE_PREFIX = "neptune-schema-";
+    private static final String FILE_SUFFIX = ".json";
+
+    private SchemaFileCache() {
+    }
+
+    /**
+     * Function to load a persisted schema.
+     *
+     * @param directory  Directory schemas are persisted to.
+     * @param endpoint   Endpoint of target database.
+     * @param port       Port of target database.
+     * @param scanType   Scan type the schema was grabbed with.
+     * @param ttlSeconds Time a persisted schema stays valid, 0 meaning it never expires.
+     * @return GremlinSchema, or null if no valid schema was persisted.
+     */
+    public static GremlinSchema load(final String directory, final String endpoint, final int port,
+                                     final SqlSchemaGrabber.ScanType scanType, final int ttlSeconds) {
+        final Path file = getFile(directory, endpoint, port, scanType);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            final SchemaFile schemaFile = GSON.fromJson(reader, SchemaFile.class);
+            if (schemaFile == null || schemaFile.version != FORMAT_VERSION
+                    || !endpoint.equals(schemaFile.endpoint) || port != schemaFile.port
+                    || !scanType.toString().equals(schemaFile.scanType)) {
+                LOGGER.info(String.format("Ignoring incompatible schema cache file '%s'.", file));
+                return null;
+            }
+            final long ageMillis = System.currentTimeMillis() - schemaFile.createdMillis;
+            if (ttlSeconds > 0 && ageMillis > ttlSeconds * 1000L) {
+                LOGGER.info(String.format("Ignoring expired schema cache file '%s'.", file));
+                return null;
+            }
+            LOGGER.info(String.format("Loaded schema of '%s' from cache file '%s'.", endpoint, file));
+            return schemaFile.toGremlinSchema();
+        } catch (final IOException | RuntimeException e) {
+            // A corrupt or hand edited file is treated as a cache miss.
+            LOGGER.warn(String.format("Failed to read schema cache file '%s': %s", file, e.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * Function to persist a schema. Failures are logged and otherwise ignored since the cache is only an optimization.
+     *
+     * @param directory Directory schemas are persisted to.
+     * @param endpoint  Endpoint of target database.
+     * @param port      Port of target database.
+     * @param scanType  Scan type the schema was grabbed with.
+     * @param schema    GremlinSchema to persist.
+     */
+    public static void store(final String directory, final String endpoint, final int port,
+                             final SqlSchemaGrabber.ScanType scanType, final GremlinSchema schema) {
+        final Path file = getFile(directory, endpoint, port, scanType);
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(file.getParent());
+            // Write to a temporary file first so concurrent processes never read a partially written schema.
+            temporaryFile = Files.createTempFile(file.getParent(), FILE_PREFIX, ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                GSON.toJson(new SchemaFile(endpoint, port, scanType, schema), writer);
+            }
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            LOGGER.info(String.format("Stored schema of '%s' to cache file '%s'.", endpoint, file));
+        } catch (final IOException e) {
+            LOGGER.warn(String.format("Failed to write schema cache file '%s': %s", file, e.getMessage()));
+            if (temporaryFile != null) {
+                try {
+                    Files.deleteIfExists(temporaryFile);
+                } catch (final IOException ignored) {
+                    // Nothing left to clean up.
+                }
+            }
+        }
+    }
+
+    static Path getFile(final String directory, final String endpoint, final int port,
+                        final SqlSchemaGrabber.ScanType scanType) {
+        return Paths.get(directory, FILE_PREFIX + hash(endpoint + ":" + port + "/" + scanType) + FILE_SUFFIX);
+    }
+
+    private static String hash(final String value) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder hex = new StringBuilder();
+            for (final byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<PropertyEntry> toPropertyEntries(final GremlinTableBase table) {
+        return table.getColumns().values().stream()
+                .map(property -> new PropertyEntry(property.getName(), property.getType()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<GremlinProperty> toGremlinProperties(final List<PropertyEntry> properties) {
+        return properties.stream()
+                .map(property -> new GremlinProperty(property.name, property.type))
+                .collect(Collectors.toList());
+    }
+
+    private static final class SchemaFile {
+        private int version;
+        private String endpoint;
+        private int port;
+        private String scanType;
+        private long createdMillis;
+        private List<VertexEntry> vertices;
+        private List<EdgeEntry> edges;
+
+        private SchemaFile(final String endpoint, final int port, final SqlSchemaGrabber.ScanType scanType,
+                           final GremlinSchema schema) {
+            this.version = FORMAT_VERSION;
+            this.endpoint = endpoint;
+            this.port = port;
+            this.scanType = scanType.toString();
+            this.createdMillis = System.currentTimeMillis();
+            this.vertices = schema.getVertices().stream().map(VertexEntry::new).collect(Collectors.toList());
+            this.edges = schema.getEdges().stream().map(EdgeEntry::new).collect(Collectors.toList());
+        }
+
+        private GremlinSchema toGremlinSchema() {
+            final List<GremlinVertexTable> vertexTables = new ArrayList<>();
+            for (final VertexEntry vertex : vertices) {
+                vertexTables.add(new GremlinVertexTable(vertex.label, toGremlinProperties(vertex.properties),
+                        new ArrayList<>(vertex.inEdges), new ArrayList<>(vertex.outEdges))
+                        .withRowCount(vertex.rowCount));
+            }
+            final List<GremlinEdgeTable> edgeTables = new ArrayList<>();
+            for (final EdgeEntry edge : edges) {
+                final List<Pair<String, String>> inOutVertexPairs = new ArrayList<>();
+                for (final List<String> pair : edge.inOutVertexPairs) {
+                    inOutVertexPairs.add(new Pair<>(pair.get(0), pair.get(1)));
+                }
+                edgeTables.add(new GremlinEdgeTable(edge.label, toGremlinProperties(edge.properties),
+                        inOutVertexPairs).withRowCount(edge.rowCount));
+            }
+            return new GremlinSchema(vertexTables, edgeTables);
+        }
+    }
+
+    private static final class VertexEntry {
+        private String label;
+        private List<PropertyEntry> properties;
+        private List<String> inEdges;
+        private List<String> outEdges;
+        private Long rowCount;
+
+        private VertexEntry(final GremlinVertexTable table) {
+            this.label = table.getLabel();
+            this.rowCount = table.getRowCount();
+            this.properties = toPropertyEntries(table);
+            this.inEdges = table.getInEdges();
+            this.outEdges = table.getOutEdges();
+        }
+    }
+
+    private static final class EdgeEntry {
+        private String label;
+        private List<PropertyEntry> properties;
+        private List<List<String>> inOutVertexPairs;
+        private Long rowCount;
+
+        private EdgeEntry(final GremlinEdgeTable table) {
+            this.label = table.getLabel();
+            this.rowCount = table.getRowCount();
+            this.properties = toPropertyEntries(table);
+            this.inOutVertexPairs = table.getInOutVertexPairs().stream()
+                    .map(pair -> {
+                        final List<String> entry = new ArrayList<>();
+                        entry.add(pair.getKey());
+                        entry.add(pair.getValue());
+                        return entry;
+                    })
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static final class PropertyEntry {
+        private String name;
+        private String type;
+
+        private PropertyEntry(final String name, final String type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+}
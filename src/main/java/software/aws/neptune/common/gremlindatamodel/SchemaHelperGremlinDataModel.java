@@ -16,24 +16,30 @@
 
 package software.aws.neptune.common.gremlindatamodel;
 
+import org.apache.calcite.util.Pair;
 import org.apache.tinkerpop.gremlin.driver.Client;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
 import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.aws.neptune.common.IAMHelper;
+import software.aws.neptune.gremlin.adapter.converter.schema.SchemaScanScheduler;
+import software.aws.neptune.gremlin.adapter.converter.schema.SchemaSnapshot;
 import software.aws.neptune.gremlin.adapter.converter.schema.SqlSchemaGrabber;
 import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.LazyGremlinSchema;
 import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.jdbc.utilities.SqlState;
 import java.sql.SQLException;
+import java.util.List;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 
 public class SchemaHelperGremlinDataModel {
     private static final Logger LOGGER = LoggerFactory.getLogger(SchemaHelperGremlinDataModel.class);
-    private static final int MIN_CONNECTION_POOL_SIZE = 32;
-    private static final int MAX_CONNECTION_POOL_SIZE = 96;
+    private static final int MIN_CONNECTION_POOL_SIZE = 2;
+    private static final int MAX_CONNECTION_POOL_SIZE = SchemaScanScheduler.DEFAULT_MAX_LIMIT;
     private static final int CONNECTION_TIMEOUT = 180 * 1000;
 
     private static Client getClient(final String endpoint, final int port, final boolean useIam, final boolean useSsl) {
@@ -84,9 +90,77 @@ public class SchemaHelperGremlinDataModel {
                                                final MetadataCache.PathType pathType,
                                                final SqlSchemaGrabber.ScanType scanType)
             throws SQLException {
+        return getGraphSchemaSnapshot(endpoint, port, useIAM, useSsl, pathType, scanType, null).getSchema();
+    }
+
+    /**
+     * Function to get the schema of the graph along with its label counts, refreshing a previous snapshot
+     * incrementally if one is given.
+     *
+     * @param endpoint Endpoint of database.
+     * @param port     Port of database.
+     * @param useIAM   Boolean for whether or not to use IAM.
+     * @param useSsl   Boolean for whether or not to use SSL.
+     * @param pathType Type of path.
+     * @param scanType Scan type.
+     * @param previous Snapshot to refresh, null to scan the whole graph.
+     * @return Graph schema snapshot.
+     * @throws SQLException If graph schema cannot be obtained.
+     */
+    public static SchemaSnapshot getGraphSchemaSnapshot(final String endpoint, final int port, final boolean useIAM,
+                                                        final boolean useSsl,
+                                                        final MetadataCache.PathType pathType,
+                                                        final SqlSchemaGrabber.ScanType scanType,
+                                                        final SchemaSnapshot previous)
+            throws SQLException {
         final String adjustedEndpoint = getAdjustedEndpoint(endpoint, pathType);
-        return SqlSchemaGrabber.getSchema(
-                traversal().withRemote(DriverRemoteConnection.using(getClient(adjustedEndpoint, port, useIAM, useSsl))),
-                scanType);
+        final Client client = getClient(adjustedEndpoint, port, useIAM, useSsl);
+        try {
+            final GraphTraversalSource g = traversal().withRemote(DriverRemoteConnection.using(client));
+            return (previous == null) ?
+                    SqlSchemaGrabber.getSchemaSnapshot(g, scanType, new SchemaScanScheduler()) :
+                    SqlSchemaGrabber.refreshSchemaSnapshot(g, scanType, new SchemaScanScheduler(), previous);
+        } finally {
+            // The scan is the only user of this cluster, release its connections once the schema is collected.
+            client.getCluster().close();
+        }
+    }
+
+    /**
+     * Function to get a schema of the graph which only fetches the labels up front. The tables of labels are scanned
+     * on first use, each load opening its own connection so the schema can outlive the connection it was built on.
+     *
+     * @param endpoint Endpoint of database.
+     * @param port     Port of database.
+     * @param useIAM   Boolean for whether or not to use IAM.
+     * @param useSsl   Boolean for whether or not to use SSL.
+     * @param pathType Type of path.
+     * @param scanType Scan type.
+     * @return Lazily loaded graph schema.
+     * @throws SQLException If the labels of the graph cannot be obtained.
+     */
+    public static LazyGremlinSchema getLazyGraphSchema(final String endpoint, final int port, final boolean useIAM,
+                                                       final boolean useSsl,
+                                                       final MetadataCache.PathType pathType,
+                                                       final SqlSchemaGrabber.ScanType scanType)
+            throws SQLException {
+        final String adjustedEndpoint = getAdjustedEndpoint(endpoint, pathType);
+        final Pair<List<String>, List<String>> labels;
+        final Client client = getClient(adjustedEndpoint, port, useIAM, useSsl);
+        try {
+            final GraphTraversalSource g = traversal().withRemote(DriverRemoteConnection.using(client));
+            labels = SqlSchemaGrabber.getLabels(g, new SchemaScanScheduler());
+        } finally {
+            client.getCluster().close();
+        }
+        return new LazyGremlinSchema(labels.getKey(), labels.getValue(), (vertexLabels, edgeLabels) -> {
+            final Client loadClient = getClient(adjustedEndpoint, port, useIAM, useSsl);
+            try {
+                final GraphTraversalSource g = traversal().withRemote(DriverRemoteConnection.using(loadClient));
+                return SqlSchemaGrabber.getSchema(g, scanType, new SchemaScanScheduler(), vertexLabels, edgeLabels);
+            } finally {
+                loadClient.getCluster().close();
+            }
+        });
     }
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.common.gremlindatamodel;
+
+import lombok.Getter;
+import software.aws.neptune.common.gremlindatamodel.resultset.ResultSetGetColumns;
+import software.aws.neptune.common.gremlindatamodel.resultset.ResultSetGetTables;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.LazyGremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Index over the tables of a GremlinSchema which answers the table name patterns of DatabaseMetaData. Labels are
+ * kept in a map sorted by their lower case form, which serves exact lookups as well as the literal prefix of a
+ * pattern, so a lookup only visits the labels it can match. The metadata rows of a pattern are built once and shared
+ * by every result set asking for it.
+ * <p>
+ * Patterns follow JDBC semantics: '%' matches any sequence of characters, '_' matches one character and
+ * SEARCH_STRING_ESCAPE makes the next character literal. Matching ignores case, unless some label matches with the
+ * same case, in which case only such labels are returned.
+ */
+public final class SchemaIndex {
+    // Must match DatabaseMetaData.getSearchStringEscape.
+    public static final char SEARCH_STRING_ESCAPE = '\'';
+    private static final int MAX_CACHED_PATTERNS = 256;
+    @Getter
+    private final GremlinSchema gremlinSchema;
+    private final NavigableMap<String, List<String>> labels = new TreeMap<>();
+    private final Set<String> vertexLabels;
+    private final Map<String, GremlinTableBase> tables = new ConcurrentHashMap<>();
+    private final Map<String, List<Map<String, Object>>> tableRows = new ConcurrentHashMap<>();
+    private final Map<String, List<Map<String, Object>>> columnRows = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for SchemaIndex.
+     *
+     * @param gremlinSchema GremlinSchema to index.
+     */
+    public SchemaIndex(final GremlinSchema gremlinSchema) {
+        this.gremlinSchema = gremlinSchema;
+        this.vertexLabels = new HashSet<>(gremlinSchema.getVertexLabels());
+        final List<String> allLabels = gremlinSchema.getVertexLabels();
+        allLabels.addAll(gremlinSchema.getEdgeLabels());
+        for (final String label : allLabels) {
+            labels.computeIfAbsent(label.toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(label);
+        }
+        // Tables of a lazy schema are only resolved once a pattern matches them.
+        if (!(gremlinSchema instanceof LazyGremlinSchema)) {
+            gremlinSchema.getAllTables().forEach(table -> tables.put(table.getLabel(), table));
+        }
+    }
+
+    /**
+     * Function to get the labels matching a pattern, sorted by label.
+     *
+     * @param pattern Table name pattern, null to match every label.
+     * @return Matching labels.
+     */
+    public List<String> getLabels(final String pattern) {
+        if (pattern == null) {
+            return getLabels("%");
+        }
+        final StringBuilder regex = new StringBuilder();
+        final StringBuilder prefix = new StringBuilder();
+        boolean isLiteral = true;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == SEARCH_STRING_ESCAPE && i + 1 < pattern.length()) {
+                final char escaped = pattern.charAt(++i);
+                regex.append(Pattern.quote(String.valueOf(escaped)));
+                if (isLiteral) {
+                    prefix.append(escaped);
+                }
+            } else if (c == '%' || c == '_') {
+                regex.append(c == '%' ? ".*" : ".");
+                isLiteral = false;
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+                if (isLiteral) {
+                    prefix.append(c);
+                }
+            }
+        }
+
+        final String lowerPrefix = prefix.toString().toLowerCase(Locale.ROOT);
+        final Collection<List<String>> candidates;
+        if (isLiteral) {
+            candidates = labels.containsKey(lowerPrefix) ?
+                    Collections.singletonList(labels.get(lowerPrefix)) : Collections.emptyList();
+        } else {
+            candidates = labels.subMap(lowerPrefix, true, lowerPrefix + Character.MAX_VALUE, false).values();
+        }
+        final Pattern ignoreCase =
+                Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL);
+        final Pattern sameCase = Pattern.compile(regex.toString(), Pattern.DOTALL);
+        final List<String> matches = new ArrayList<>();
+        final List<String> sameCaseMatches = new ArrayList<>();
+        for (final List<String> candidate : candidates) {
+            for (final String label : candidate) {
+                if (ignoreCase.matcher(label).matches()) {
+                    matches.add(label);
+                    if (sameCase.matcher(label).matches()) {
+                        sameCaseMatches.add(label);
+                    }
+                }
+            }
+        }
+        return sameCaseMatches.isEmpty() ? matches : sameCaseMatches;
+    }
+
+    /**
+     * Function to get the schema of the tables matching a pattern.
+     *
+     * @param pattern Table name pattern, null to match every label.
+     * @return GremlinSchema of the matching tables.
+     * @throws SQLException If a table cannot be loaded.
+     */
+    public GremlinSchema getSchema(final String pattern) throws SQLException {
+        final List<GremlinVertexTable> vertices = new ArrayList<>();
+        final List<GremlinEdgeTable> edges = new ArrayList<>();
+        for (final String label : getLabels(pattern)) {
+            final GremlinTableBase table = getTable(label);
+            if (vertexLabels.contains(label)) {
+                vertices.add((GremlinVertexTable) table);
+            } else {
+                edges.add((GremlinEdgeTable) table);
+            }
+        }
+        return new GremlinSchema(vertices, edges);
+    }
+
+    /**
+     * Function to get the getTables rows of the tables matching a pattern.
+     *
+     * @param pattern Table name pattern, null to match every label.
+     * @return Unmodifiable rows, which are shared between calls.
+     * @throws SQLException If a table cannot be loaded.
+     */
+    public List<Map<String, Object>> getTableRows(final String pattern) throws SQLException {
+        final String key = (pattern == null) ? "%" : pattern;
+        List<Map<String, Object>> rows = tableRows.get(key);
+        if (rows == null) {
+            final List<Map<String, Object>> newRows = new ArrayList<>();
+            for (final String label : getLabels(key)) {
+                newRows.add(ResultSetGetTables.getRow(getTable(label)));
+            }
+            rows = Collections.unmodifiableList(newRows);
+            cache(tableRows, key, rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Function to get the getColumns rows of the tables matching a pattern.
+     *
+     * @param pattern Table name pattern, null to match every label.
+     * @return Unmodifiable rows, which are shared between calls.
+     * @throws SQLException If a table cannot be loaded.
+     */
+    public List<Map<String, Object>> getColumnRows(final String pattern) throws SQLException {
+        final String key = (pattern == null) ? "%" : pattern;
+        List<Map<String, Object>> rows = columnRows.get(key);
+        if (rows == null) {
+            final List<Map<String, Object>> newRows = new ArrayList<>();
+            for (final String label : getLabels(key)) {
+                newRows.addAll(ResultSetGetColumns.getRows(getTable(label)));
+            }
+            rows = Collections.unmodifiableList(newRows);
+            cache(columnRows, key, rows);
+        }
+        return rows;
+    }
+
+    private GremlinTableBase getTable(final String label) throws SQLException {
+        GremlinTableBase table = tables.get(label);
+        if (table == null) {
+            table = gremlinSchema.getGremlinTable(label);
+            tables.put(label, table);
+        }
+        return table;
+    }
+
+    private static void cache(final Map<String, List<Map<String, Object>>> cache, final String pattern,
+                              final List<Map<String, Object>> rows) {
+        // Patterns are supplied by applications, so only a bounded number of them is kept.
+        if (cache.size() < MAX_CACHED_PATTERNS) {
+            cache.put(pattern, rows);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package software.aws.neptune.common.gremlindatamodel.resultset;
 
 import software.aws.neptune.jdbc.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLWarning;
 import java.util.List;
 
 /**
@@ -50,6 +51,16 @@ public abstract class GenericResultSet extends ResultSet implements java.sql.Res
         // Do we want to update this or statement?
     }
 
+    /**
+     * Function to add a warning to the result set, for warnings raised while building it.
+     *
+     * @param warning The {@link SQLWarning} to add.
+     */
+    @Override
+    public void addWarning(final SQLWarning warning) {
+        super.addWarning(warning);
+    }
+
     @Override
     public boolean wasNull() throws SQLException {
         return false;
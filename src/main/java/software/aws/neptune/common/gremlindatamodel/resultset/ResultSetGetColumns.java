@@ -33,6 +33,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Time;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -141,7 +142,7 @@ public abstract class ResultSetGetColumns extends ResultSet
         GREMLIN_STRING_TYPE_TO_JAVA_TYPE_CONVERTER_MAP.put("Time", Time.class);
     }
 
-    private final List<Map<String, Object>> rows = new ArrayList<>();
+    private final List<Map<String, Object>> rows;
     private boolean wasNull = false;
 
     /**
@@ -155,52 +156,76 @@ public abstract class ResultSetGetColumns extends ResultSet
                                final ResultSetInfoWithoutRows resultSetInfoWithoutRows)
             throws SQLException {
         super(statement, resultSetInfoWithoutRows.getColumns(), resultSetInfoWithoutRows.getRowCount());
+        rows = new ArrayList<>();
         for (final GremlinTableBase gremlinTableBase : gremlinSchema.getAllTables()) {
-            int i = 1;
-            for (final Map.Entry<String, GremlinProperty> property : gremlinTableBase.getColumns().entrySet()) {
-                // Add defaults.
-                final Map<String, Object> map = new HashMap<>(CONVERSION_MAP);
-
-                // Set table name.
-                map.put("TABLE_NAME", gremlinTableBase.getLabel());
-
-                // Get column type.
-                final String dataType = property.getValue().getType();
-                map.put("TYPE_NAME", dataType);
-                final Optional<? extends Class<?>> javaClassOptional =
-                        GREMLIN_STRING_TYPE_TO_JAVA_TYPE_CONVERTER_MAP.
-                                entrySet().stream().
-                                filter(d -> d.getKey().equalsIgnoreCase(dataType)).
-                                map(Map.Entry::getValue).
-                                findFirst();
-                final Class<?> javaClass = javaClassOptional.isPresent() ? javaClassOptional.get() : String.class;
-                map.put("CHAR_OCTET_LENGTH", (javaClass == String.class) ? Integer.MAX_VALUE : null);
-                final int jdbcType = JavaToJdbcTypeConverter.CLASS_TO_JDBC_ORDINAL
-                        .getOrDefault(javaClass, JdbcType.VARCHAR.getJdbcCode());
-                map.put("DATA_TYPE", jdbcType);
-                map.put("SQL_DATA_TYPE", jdbcType);
-
-                map.put("COLUMN_NAME", property.getKey());
-                map.put("NULLABLE", DatabaseMetaData.columnNullable);
-                map.put("IS_NULLABLE", "YES");
-
-                // TODO: These need to be verified for Tableau.
-                map.put("DECIMAL_DIGITS", null);
-                map.put("NUM_PREC_RADIX", 10);
-                map.put("ORDINAL_POSITION", i++);
-                // TODO AN-839: Fix COLUMN_SIZE.
-                map.put("COLUMN_SIZE", 10);
-
-                if (!map.keySet().equals(new HashSet<>(ORDERED_COLUMNS))) {
-                    throw SqlError.createSQLException(
-                            LOGGER,
-                            SqlState.DATA_TYPE_TRANSFORM_VIOLATION,
-                            SqlError.UNSUPPORTED_TYPE, map.keySet().toString());
-                }
-
-                rows.add(map);
+            rows.addAll(getRows(gremlinTableBase));
+        }
+    }
+
+    /**
+     * ResultSetGetColumns constructor for rows built ahead of time with getRows, which are shared rather than copied.
+     *
+     * @param statement Statement Object.
+     * @param rows      Rows of the result set.
+     */
+    public ResultSetGetColumns(final Statement statement, final List<Map<String, Object>> rows) {
+        super(statement, ORDERED_COLUMNS, rows.size());
+        this.rows = rows;
+    }
+
+    /**
+     * Function to build the rows describing the columns of a table.
+     *
+     * @param gremlinTableBase Table to describe.
+     * @return Unmodifiable rows, one per column.
+     * @throws SQLException If a row does not hold every column of the result set.
+     */
+    public static List<Map<String, Object>> getRows(final GremlinTableBase gremlinTableBase) throws SQLException {
+        final List<Map<String, Object>> tableRows = new ArrayList<>();
+        int i = 1;
+        for (final Map.Entry<String, GremlinProperty> property : gremlinTableBase.getColumns().entrySet()) {
+            // Add defaults.
+            final Map<String, Object> map = new HashMap<>(CONVERSION_MAP);
+
+            // Set table name.
+            map.put("TABLE_NAME", gremlinTableBase.getLabel());
+
+            // Get column type.
+            final String dataType = property.getValue().getType();
+            map.put("TYPE_NAME", dataType);
+            final Optional<? extends Class<?>> javaClassOptional =
+                    GREMLIN_STRING_TYPE_TO_JAVA_TYPE_CONVERTER_MAP.
+                            entrySet().stream().
+                            filter(d -> d.getKey().equalsIgnoreCase(dataType)).
+                            map(Map.Entry::getValue).
+                            findFirst();
+            final Class<?> javaClass = javaClassOptional.isPresent() ? javaClassOptional.get() : String.class;
+            map.put("CHAR_OCTET_LENGTH", (javaClass == String.class) ? Integer.MAX_VALUE : null);
+            final int jdbcType = JavaToJdbcTypeConverter.CLASS_TO_JDBC_ORDINAL
+                    .getOrDefault(javaClass, JdbcType.VARCHAR.getJdbcCode());
+            map.put("DATA_TYPE", jdbcType);
+            map.put("SQL_DATA_TYPE", jdbcType);
+
+            map.put("COLUMN_NAME", property.getKey());
+            map.put("NULLABLE", DatabaseMetaData.columnNullable);
+            map.put("IS_NULLABLE", "YES");
+
+            // TODO: These need to be verified for Tableau.
+            map.put("DECIMAL_DIGITS", null);
+            map.put("NUM_PREC_RADIX", 10);
+            map.put("ORDINAL_POSITION", i++);
+            // TODO AN-839: Fix COLUMN_SIZE.
+            map.put("COLUMN_SIZE", 10);
+
+            if (!map.keySet().equals(new HashSet<>(ORDERED_COLUMNS))) {
+                throw SqlError.createSQLException(
+                        LOGGER,
+                        SqlState.DATA_TYPE_TRANSFORM_VIOLATION,
+                        SqlError.UNSUPPORTED_TYPE, map.keySet().toString());
             }
+            tableRows.add(Collections.unmodifiableMap(map));
         }
+        return Collections.unmodifiableList(tableRows);
     }
 
     public static List<String> getColumns() {
@@ -27,6 +27,7 @@ import software.aws.neptune.jdbc.utilities.SqlState;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -67,7 +68,7 @@ public abstract class ResultSetGetTables extends GenericResultSet implements jav
         MAPPED_KEYS.put("REF_GENERATION", null);
     }
 
-    private final List<Map<String, Object>> rows = new ArrayList<>();
+    private final List<Map<String, Object>> rows;
     private boolean wasNull = false;
 
     /**
@@ -81,14 +82,36 @@ public abstract class ResultSetGetTables extends GenericResultSet implements jav
                               final GremlinSchema gremlinSchema,
                               final ResultSetInfoWithoutRows resultSetInfoWithoutRows) {
         super(statement, resultSetInfoWithoutRows.getColumns(), resultSetInfoWithoutRows.getRowCount());
+        rows = new ArrayList<>();
         for (final GremlinTableBase gremlinTableBase : gremlinSchema.getAllTables()) {
-            // Add defaults, table name, and push into List.
-            final Map<String, Object> map = new HashMap<>(MAPPED_KEYS);
-            map.put(TABLE_NAME, gremlinTableBase.getLabel());
-            rows.add(map);
+            rows.add(getRow(gremlinTableBase));
         }
     }
 
+    /**
+     * ResultSetGetTables constructor for rows built ahead of time with getRow, which are shared rather than copied.
+     *
+     * @param statement Statement Object.
+     * @param rows      Rows of the result set.
+     */
+    public ResultSetGetTables(final Statement statement, final List<Map<String, Object>> rows) {
+        super(statement, ORDERED_COLUMNS, rows.size());
+        this.rows = rows;
+    }
+
+    /**
+     * Function to build the row describing a table.
+     *
+     * @param gremlinTableBase Table to describe.
+     * @return Unmodifiable row.
+     */
+    public static Map<String, Object> getRow(final GremlinTableBase gremlinTableBase) {
+        // Add defaults and table name.
+        final Map<String, Object> map = new HashMap<>(MAPPED_KEYS);
+        map.put(TABLE_NAME, gremlinTableBase.getLabel());
+        return Collections.unmodifiableMap(map);
+    }
+
     /**
      * Function to sort nodes so that node sorting is consistent so that table names which are concatenated node labels
      * are also sorted.
@@ -33,6 +33,8 @@ import software.aws.neptune.gremlin.resultset.GremlinResultSetGetTableTypes;
 import software.aws.neptune.gremlin.resultset.GremlinResultSetGetTables;
 import software.aws.neptune.gremlin.resultset.GremlinResultSetGetTypeInfo;
 import software.aws.neptune.jdbc.utilities.AuthScheme;
+import software.aws.neptune.jdbc.utilities.ConnectionProperties;
+import software.aws.neptune.jdbc.utilities.QueryDeduplicator;
 import software.aws.neptune.jdbc.utilities.QueryExecutor;
 import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.jdbc.utilities.SqlState;
@@ -309,9 +311,10 @@ public class GremlinQueryExecutor extends QueryExecutor {
             }
         }
         MetadataCache.updateCacheIfNotUpdated(gremlinConnectionProperties);
-        return new GremlinResultSetGetTables(statement,
-                MetadataCache.getFilteredCacheNodeColumnInfos(tableName, endpoint),
-                MetadataCache.getFilteredResultSetInfoWithoutRowsForTables(tableName, endpoint));
+        final GremlinResultSetGetTables resultSet =
+                new GremlinResultSetGetTables(statement, MetadataCache.getTableRows(tableName, endpoint));
+        MetadataCache.addSchemaScanWarning(endpoint, resultSet);
+        return resultSet;
     }
 
     /**
@@ -371,9 +374,10 @@ public class GremlinQueryExecutor extends QueryExecutor {
             }
         }
         MetadataCache.updateCacheIfNotUpdated(gremlinConnectionProperties);
-        return new GremlinResultSetGetColumns(statement,
-                MetadataCache.getFilteredCacheNodeColumnInfos(nodes, endpoint),
-                MetadataCache.getFilteredResultSetInfoWithoutRowsForColumns(nodes, endpoint));
+        final GremlinResultSetGetColumns resultSet =
+                new GremlinResultSetGetColumns(statement, MetadataCache.getColumnRows(nodes, endpoint));
+        MetadataCache.addSchemaScanWarning(endpoint, resultSet);
+        return resultSet;
     }
 
     /**
@@ -449,6 +453,20 @@ public class GremlinQueryExecutor extends QueryExecutor {
         return (T) new GremlinResultSet.ResultSetInfoWithRows(rows, columns, listColumns);
     }
 
+    @Override
+    protected ConnectionProperties getConnectionProperties() {
+        return gremlinConnectionProperties;
+    }
+
+    @Override
+    protected String getDeduplicationKey(final String query) {
+        if (!gremlinConnectionProperties.getDeduplicateQueries()) {
+            return null;
+        }
+        return QueryDeduplicator.createKey(gremlinConnectionProperties.getContactPoint() + ":" +
+                gremlinConnectionProperties.getPort(), "gremlin", query);
+    }
+
     @Override
     protected void performCancel() throws SQLException {
         synchronized (completableFutureLock) {
@@ -0,0 +1,250 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.converter;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.apache.calcite.interpreter.Bindables;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Aggregate;
+import org.apache.calcite.rel.core.Filter;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.Project;
+import org.apache.calcite.rel.core.SetOp;
+import org.apache.calcite.rel.core.Sort;
+import org.apache.calcite.rel.core.TableScan;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+import software.aws.neptune.gremlin.adapter.util.SqlGremlinError;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validation of the plans run by HybridQueryExecutor against the semantics of the translated queries. A translated
+ * query filters, sorts and groups on a missing property as if it had the default value of its type, and returns the
+ * edges of a vertex in an edge ID column as one list. Calcite compares a missing property as NULL, and the scans
+ * return a vertex once per edge. A plan whose result could depend on either difference is rejected.
+ */
+final class HybridPlanValidator {
+    // Columns of the scans whose values are compared, sorted, grouped on or computed with.
+    private final Set<ScanColumn> comparedColumns = new LinkedHashSet<>();
+
+    private HybridPlanValidator() {
+    }
+
+    /**
+     * Function to validate a plan before it is run.
+     *
+     * @param relNode Plan with its filters and projections pushed into the scans.
+     * @param g       GraphTraversalSource of the graph, which is checked for elements missing a compared property.
+     * @throws SQLException If the result of the plan could differ from the result of a translated query.
+     */
+    static void validate(final RelNode relNode, final GraphTraversalSource g) throws SQLException {
+        final HybridPlanValidator validator = new HybridPlanValidator();
+        final Set<ScanColumn> usedColumns = new LinkedHashSet<>();
+        validator.getOrigins(relNode).forEach(usedColumns::addAll);
+        usedColumns.addAll(validator.comparedColumns);
+        for (final ScanColumn column : usedColumns) {
+            if (column.isVertexEdgeColumn()) {
+                throw SqlGremlinError.createNotSupported(SqlGremlinError.HYBRID_EDGE_COLUMN, column.column);
+            }
+        }
+        for (final ScanColumn column : validator.comparedColumns) {
+            if (column.column.endsWith(GremlinTableBase.ID)) {
+                continue;
+            }
+            final GraphTraversal<?, ?> elements = column.isVertex ? g.V() : g.E();
+            if (elements.hasLabel(column.label).hasNot(column.column).limit(1).hasNext()) {
+                throw SqlGremlinError.createNotSupported(SqlGremlinError.HYBRID_MISSING_PROPERTY,
+                        column.column, column.label);
+            }
+        }
+    }
+
+    /**
+     * Function to get the scan columns each field of a relational expression is read or computed from, collecting the
+     * columns which are compared on the way.
+     *
+     * @param relNode Relational expression.
+     * @return Scan columns of each field of the expression.
+     */
+    private List<Set<ScanColumn>> getOrigins(final RelNode relNode) {
+        if (relNode instanceof TableScan) {
+            return getScanOrigins((TableScan) relNode);
+        } else if (relNode instanceof Project) {
+            final List<Set<ScanColumn>> input = getOrigins(((Project) relNode).getInput());
+            final List<Set<ScanColumn>> origins = new ArrayList<>();
+            for (final RexNode project : ((Project) relNode).getProjects()) {
+                final Set<ScanColumn> projectOrigins = getOrigins(input, project);
+                if (!(project instanceof RexInputRef)) {
+                    comparedColumns.addAll(projectOrigins);
+                }
+                origins.add(projectOrigins);
+            }
+            return origins;
+        } else if (relNode instanceof Filter) {
+            final List<Set<ScanColumn>> input = getOrigins(((Filter) relNode).getInput());
+            comparedColumns.addAll(getOrigins(input, ((Filter) relNode).getCondition()));
+            return input;
+        } else if (relNode instanceof Join) {
+            return getJoinOrigins((Join) relNode);
+        } else if (relNode instanceof Aggregate) {
+            final Aggregate aggregate = (Aggregate) relNode;
+            final List<Set<ScanColumn>> input = getOrigins(aggregate.getInput());
+            final List<Set<ScanColumn>> origins = new ArrayList<>();
+            for (final int key : aggregate.getGroupSet()) {
+                comparedColumns.addAll(input.get(key));
+                origins.add(input.get(key));
+            }
+            // Aggregate functions skip a missing property in translated queries too.
+            aggregate.getAggCallList().forEach(aggregateCall -> {
+                final Set<ScanColumn> callOrigins = new LinkedHashSet<>();
+                aggregateCall.getArgList().forEach(arg -> callOrigins.addAll(input.get(arg)));
+                if (aggregateCall.filterArg >= 0) {
+                    comparedColumns.addAll(input.get(aggregateCall.filterArg));
+                }
+                origins.add(callOrigins);
+            });
+            return origins;
+        } else if (relNode instanceof Sort) {
+            final List<Set<ScanColumn>> input = getOrigins(((Sort) relNode).getInput());
+            for (final RelFieldCollation collation : ((Sort) relNode).getCollation().getFieldCollations()) {
+                comparedColumns.addAll(input.get(collation.getFieldIndex()));
+            }
+            return input;
+        }
+        return getOtherOrigins(relNode);
+    }
+
+    private List<Set<ScanColumn>> getScanOrigins(final TableScan tableScan) {
+        final int fieldCount = tableScan.getRowType().getFieldCount();
+        final GremlinTableBase table = tableScan.getTable().unwrap(GremlinTableBase.class);
+        if (table == null) {
+            return getEmptyOrigins(fieldCount);
+        }
+        final List<Set<ScanColumn>> tableOrigins = new ArrayList<>();
+        for (final String column : table.getColumns().keySet()) {
+            tableOrigins.add(Collections.singleton(new ScanColumn(table.getLabel(), table.getIsVertex(), column)));
+        }
+        if (!(tableScan instanceof Bindables.BindableTableScan)) {
+            return tableOrigins;
+        }
+        // The filters of a scan refer to the columns of the table, before the scan projects them.
+        final Bindables.BindableTableScan bindableTableScan = (Bindables.BindableTableScan) tableScan;
+        bindableTableScan.filters.forEach(filter -> comparedColumns.addAll(getOrigins(tableOrigins, filter)));
+        final List<Set<ScanColumn>> origins = new ArrayList<>();
+        bindableTableScan.projects.forEach(project -> origins.add(tableOrigins.get(project)));
+        return origins;
+    }
+
+    private List<Set<ScanColumn>> getJoinOrigins(final Join join) {
+        final List<Set<ScanColumn>> left = getOrigins(join.getLeft());
+        final List<Set<ScanColumn>> input = new ArrayList<>(left);
+        input.addAll(getOrigins(join.getRight()));
+        for (final RexNode conjunct : RelOptUtil.conjunctions(join.getCondition())) {
+            final Set<ScanColumn> conjunctOrigins = getOrigins(input, conjunct);
+            if (isEquiJoin(conjunct)) {
+                // Joining on the edge ID columns of vertices joins the vertices the edges connect, once per edge,
+                // like a translated join does.
+                conjunctOrigins.removeIf(ScanColumn::isVertexEdgeColumn);
+            }
+            comparedColumns.addAll(conjunctOrigins);
+        }
+        return join.getJoinType().projectsRight() ? input : left;
+    }
+
+    private List<Set<ScanColumn>> getOtherOrigins(final RelNode relNode) {
+        final List<List<Set<ScanColumn>>> inputs = new ArrayList<>();
+        final Set<ScanColumn> inputOrigins = new LinkedHashSet<>();
+        for (final RelNode input : relNode.getInputs()) {
+            final List<Set<ScanColumn>> origins = getOrigins(input);
+            inputs.add(origins);
+            origins.forEach(inputOrigins::addAll);
+        }
+        // Other expressions may compare any of their input columns.
+        comparedColumns.addAll(inputOrigins);
+        final int fieldCount = relNode.getRowType().getFieldCount();
+        if (!(relNode instanceof SetOp)) {
+            final List<Set<ScanColumn>> origins = new ArrayList<>();
+            for (int i = 0; i < fieldCount; i++) {
+                origins.add(inputOrigins);
+            }
+            return origins;
+        }
+        final List<Set<ScanColumn>> origins = getEmptyOrigins(fieldCount);
+        inputs.forEach(input -> {
+            for (int i = 0; i < fieldCount; i++) {
+                origins.get(i).addAll(input.get(i));
+            }
+        });
+        return origins;
+    }
+
+    private static List<Set<ScanColumn>> getEmptyOrigins(final int fieldCount) {
+        final List<Set<ScanColumn>> origins = new ArrayList<>();
+        for (int i = 0; i < fieldCount; i++) {
+            origins.add(new LinkedHashSet<>());
+        }
+        return origins;
+    }
+
+    private static Set<ScanColumn> getOrigins(final List<Set<ScanColumn>> input, final RexNode rexNode) {
+        final Set<ScanColumn> origins = new LinkedHashSet<>();
+        RelOptUtil.InputFinder.bits(rexNode).forEach(index -> origins.addAll(input.get(index)));
+        return origins;
+    }
+
+    private static boolean isEquiJoin(final RexNode conjunct) {
+        if (conjunct.getKind() != SqlKind.EQUALS) {
+            return false;
+        }
+        for (final RexNode operand : ((RexCall) conjunct).getOperands()) {
+            if (!(RexUtil.removeCast(operand) instanceof RexInputRef)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Column of the table a scan reads.
+     */
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class ScanColumn {
+        private final String label;
+        private final boolean isVertex;
+        private final String column;
+
+        private boolean isVertexEdgeColumn() {
+            return isVertex && (column.endsWith(GremlinTableBase.IN_ID) || column.endsWith(GremlinTableBase.OUT_ID));
+        }
+    }
+}
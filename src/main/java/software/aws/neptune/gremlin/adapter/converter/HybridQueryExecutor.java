@@ -0,0 +1,244 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.converter;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.calcite.DataContext;
+import org.apache.calcite.adapter.java.JavaTypeFactory;
+import org.apache.calcite.avatica.util.DateTimeUtils;
+import org.apache.calcite.interpreter.Interpreter;
+import org.apache.calcite.linq4j.Enumerator;
+import org.apache.calcite.linq4j.QueryProvider;
+import org.apache.calcite.plan.hep.HepPlanner;
+import org.apache.calcite.plan.hep.HepProgram;
+import org.apache.calcite.plan.hep.HepProgramBuilder;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelRoot;
+import org.apache.calcite.rel.core.RelFactories;
+import org.apache.calcite.rel.rules.CoreRules;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.schema.SchemaPlus;
+import org.apache.calcite.sql2rel.RelFieldTrimmer;
+import org.apache.calcite.tools.FrameworkConfig;
+import org.apache.calcite.tools.Frameworks;
+import org.apache.calcite.tools.Planner;
+import org.apache.calcite.tools.RelBuilder;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinScanPushdown;
+import software.aws.neptune.gremlin.adapter.results.SqlGremlinQueryResult;
+import software.aws.neptune.gremlin.adapter.util.SqlGremlinError;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executor of the queries which cannot be translated into a single traversal, such as joins on properties, functions
+ * and subqueries. Calcite plans the query, and its filters and projections are pushed down into the scans of the
+ * tables, which stream the matching elements out of the graph. Calcite's interpreter runs the rest of the query over
+ * the streamed rows inside the driver.
+ */
+public final class HybridQueryExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HybridQueryExecutor.class);
+    private static final int PAGE_SIZE = 1000;
+    // Filters are moved below joins and the projections of the trimmed plan first, so that they reach the scans.
+    private static final HepProgram PUSHDOWN_PROGRAM = new HepProgramBuilder()
+            .addRuleInstance(CoreRules.FILTER_INTO_JOIN)
+            .addRuleInstance(CoreRules.FILTER_PROJECT_TRANSPOSE)
+            .addRuleInstance(CoreRules.FILTER_SCAN)
+            .addRuleInstance(CoreRules.PROJECT_TABLE_SCAN)
+            .build();
+
+    private HybridQueryExecutor() {
+    }
+
+    /**
+     * Function to execute a query in the driver over scans of the graph.
+     *
+     * @param frameworkConfig FrameworkConfig of the schema.
+     * @param g               GraphTraversalSource of the graph.
+     * @param query           Query to execute.
+     * @param parameters      Bound values of the '?' placeholders, keyed by the JDBC parameter index which starts at 1.
+     * @return SqlGremlinQueryResult which is filled as the rows are computed.
+     * @throws SQLException If the query cannot be planned or executed, or if its result could differ from the result
+     *                      of a translated query.
+     */
+    public static SqlGremlinQueryResult execute(final FrameworkConfig frameworkConfig, final GraphTraversalSource g,
+                                                final String query, final Map<Integer, Object> parameters)
+            throws SQLException {
+        final Planner planner = Frameworks.getPlanner(frameworkConfig);
+        final RelRoot relRoot;
+        try {
+            relRoot = planner.rel(planner.validate(planner.parse(query)));
+        } catch (final Exception e) {
+            planner.close();
+            throw SqlGremlinError.create(SqlGremlinError.PARSE_ERROR, e, query);
+        }
+        final List<String> columns = new ArrayList<>();
+        final List<String> columnTypes = new ArrayList<>();
+        for (final RelDataTypeField field : relRoot.validatedRowType.getFieldList()) {
+            columns.add(field.getName());
+            columnTypes.add(getType(field.getType()));
+        }
+        // The scans stop reading the graph once the result is cancelled by its reader or its statement.
+        final AtomicBoolean cancelFlag = new AtomicBoolean();
+        final Interpreter interpreter;
+        try {
+            final HepPlanner hepPlanner = new HepPlanner(PUSHDOWN_PROGRAM);
+            // Trimming projects the columns each scan needs right above it, so the other columns are not read.
+            final RelBuilder relBuilder = RelFactories.LOGICAL_BUILDER.create(relRoot.rel.getCluster(), null);
+            hepPlanner.setRoot(new RelFieldTrimmer(null, relBuilder).trim(relRoot.project()));
+            final RelNode relNode = hepPlanner.findBestExp();
+            HybridPlanValidator.validate(relNode, g);
+            interpreter = new Interpreter(new GremlinDataContext(relNode, g, parameters, cancelFlag), relNode);
+        } catch (final SQLException e) {
+            planner.close();
+            throw e;
+        } catch (final RuntimeException | AssertionError e) {
+            planner.close();
+            throw SqlGremlinError.create(SqlGremlinError.HYBRID_EXECUTION, e, e.getMessage());
+        }
+        LOGGER.debug("Executing query '{}' in the driver.", query);
+
+        final SqlGremlinQueryResult sqlGremlinQueryResult = new SqlGremlinQueryResult(columns, columnTypes);
+        sqlGremlinQueryResult.addCompletionListener(error -> cancelFlag.set(sqlGremlinQueryResult.isCancelled()));
+        final ExecutorService executor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("Hybrid-Insert-Thread-%d").setDaemon(true).build());
+        executor.execute(() -> {
+            try (Enumerator<Object[]> enumerator = interpreter.enumerator()) {
+                final List<List<Object>> rows = new ArrayList<>();
+                while (!cancelFlag.get() && enumerator.moveNext()) {
+                    rows.add(getRow(enumerator.current(), columnTypes));
+                    if (rows.size() == PAGE_SIZE) {
+                        sqlGremlinQueryResult.addResults(new ArrayList<>(rows));
+                        rows.clear();
+                    }
+                }
+                sqlGremlinQueryResult.addResults(rows);
+                sqlGremlinQueryResult.close();
+            } catch (final Exception | AssertionError e) {
+                LOGGER.error("Encountered exception", e);
+                sqlGremlinQueryResult.setPaginationException(
+                        SqlGremlinError.create(SqlGremlinError.HYBRID_EXECUTION, e, e.getMessage()));
+            } finally {
+                interpreter.close();
+                planner.close();
+            }
+        });
+        executor.shutdown();
+        return sqlGremlinQueryResult;
+    }
+
+    private static List<Object> getRow(final Object[] values, final List<String> columnTypes) {
+        final List<Object> row = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            // Calcite holds dates as days, timestamps as milliseconds since the epoch and decimals as BigDecimal.
+            if (values[i] instanceof Integer && "date".equals(columnTypes.get(i))) {
+                row.add(new java.sql.Date((Integer) values[i] * DateTimeUtils.MILLIS_PER_DAY));
+            } else if (values[i] instanceof Long && "timestamp".equals(columnTypes.get(i))) {
+                row.add(new java.sql.Timestamp((Long) values[i]));
+            } else if (values[i] instanceof BigDecimal && "double".equals(columnTypes.get(i))) {
+                row.add(((BigDecimal) values[i]).doubleValue());
+            } else {
+                row.add(values[i]);
+            }
+        }
+        return row;
+    }
+
+    private static String getType(final RelDataType relDataType) {
+        switch (relDataType.getSqlTypeName()) {
+            case BOOLEAN:
+                return "boolean";
+            case TINYINT:
+                return "byte";
+            case SMALLINT:
+                return "short";
+            case INTEGER:
+                return "integer";
+            case BIGINT:
+                return "long";
+            case REAL:
+                return "float";
+            case FLOAT:
+            case DOUBLE:
+            case DECIMAL:
+                return "double";
+            case DATE:
+                return "date";
+            case TIMESTAMP:
+                return "timestamp";
+            default:
+                return "string";
+        }
+    }
+
+    /**
+     * DataContext of a query, holding the GraphTraversalSource the scans run on and the values of the placeholders.
+     */
+    private static class GremlinDataContext implements DataContext {
+        private final JavaTypeFactory typeFactory;
+        private final Map<String, Object> values = new HashMap<>();
+
+        GremlinDataContext(final RelNode relNode, final GraphTraversalSource g, final Map<Integer, Object> parameters,
+                           final AtomicBoolean cancelFlag) {
+            this.typeFactory = (JavaTypeFactory) relNode.getCluster().getTypeFactory();
+            values.put(GremlinScanPushdown.TRAVERSAL_SOURCE, g);
+            // Calcite names the placeholders '?0', '?1', ... while JDBC numbers them from 1.
+            parameters.forEach((index, value) -> values.put("?" + (index - 1), value));
+            final long time = System.currentTimeMillis();
+            final TimeZone timeZone = TimeZone.getDefault();
+            values.put(Variable.UTC_TIMESTAMP.camelName, time);
+            values.put(Variable.CURRENT_TIMESTAMP.camelName, time);
+            values.put(Variable.LOCAL_TIMESTAMP.camelName, time + timeZone.getOffset(time));
+            values.put(Variable.TIME_ZONE.camelName, timeZone);
+            values.put(Variable.LOCALE.camelName, Locale.getDefault());
+            values.put(Variable.CANCEL_FLAG.camelName, cancelFlag);
+        }
+
+        @Override
+        public SchemaPlus getRootSchema() {
+            return null;
+        }
+
+        @Override
+        public JavaTypeFactory getTypeFactory() {
+            return typeFactory;
+        }
+
+        @Override
+        public QueryProvider getQueryProvider() {
+            return null;
+        }
+
+        @Override
+        public Object get(final String name) {
+            return values.get(name);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.converter;
+
+import org.apache.calcite.sql.SqlBasicCall;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlNode;
+
+/**
+ * Chooses where the traversal of a join over an edge starts. Starting from the edges visits every edge of the label
+ * and checks both of its vertices. Starting from the vertices of one side visits every vertex of that label, but only
+ * follows the edges of the vertices which pass the filters pushed down on that side, so a selective filter on a side
+ * makes starting from it cheaper.
+ * <p>
+ * Costs are estimated from the label counts of the schema, and the selectivity of the filters is guessed the way
+ * Calcite guesses it when it has no statistics on the columns. Without label counts the join starts from the edges.
+ */
+public final class JoinPlanner {
+    private static final double EQUALS_SELECTIVITY = 0.15;
+    private static final double COMPARISON_SELECTIVITY = 0.5;
+    private static final double DEFAULT_SELECTIVITY = 0.25;
+
+    private JoinPlanner() {
+    }
+
+    /**
+     * Function to choose where the traversal of a join starts.
+     *
+     * @param edgeCount      Number of edges of the edge label, null if unknown.
+     * @param inVertexCount  Number of vertices of the in vertex label, null if unknown.
+     * @param outVertexCount Number of vertices of the out vertex label, null if unknown.
+     * @param inSelectivity  Fraction of the in vertices which pass the filters pushed down on them.
+     * @param outSelectivity Fraction of the out vertices which pass the filters pushed down on them.
+     * @return Start of the traversal.
+     */
+    public static Start getStart(final Long edgeCount, final Long inVertexCount, final Long outVertexCount,
+                                 final double inSelectivity, final double outSelectivity) {
+        if (edgeCount == null || inVertexCount == null || outVertexCount == null) {
+            return Start.EDGE;
+        }
+        // Every edge is visited and both of its vertices are checked.
+        final double edgeCost = 3.0 * edgeCount;
+        // Every vertex is visited, the edges of the matching vertices are followed and their other vertex checked.
+        final double inCost = inVertexCount + 2.0 * edgeCount * inSelectivity;
+        final double outCost = outVertexCount + 2.0 * edgeCount * outSelectivity;
+        if (inCost < edgeCost && inCost <= outCost) {
+            return Start.IN_VERTEX;
+        } else if (outCost < edgeCost) {
+            return Start.OUT_VERTEX;
+        }
+        return Start.EDGE;
+    }
+
+    /**
+     * Function to guess the fraction of the elements which pass a filter.
+     *
+     * @param filter Filter, null if there is none.
+     * @return Selectivity between 0 and 1.
+     */
+    public static double getSelectivity(final SqlNode filter) {
+        if (filter == null) {
+            return 1.0;
+        } else if (filter instanceof SqlIdentifier) {
+            // Boolean column.
+            return COMPARISON_SELECTIVITY;
+        } else if (!(filter instanceof SqlBasicCall)) {
+            return DEFAULT_SELECTIVITY;
+        }
+        final SqlBasicCall sqlBasicCall = (SqlBasicCall) filter;
+        switch (filter.getKind()) {
+            case AND:
+                double and = 1.0;
+                for (final SqlNode operand : sqlBasicCall.getOperandList()) {
+                    and *= getSelectivity(operand);
+                }
+                return and;
+            case OR:
+                double or = 0.0;
+                for (final SqlNode operand : sqlBasicCall.getOperandList()) {
+                    final double selectivity = getSelectivity(operand);
+                    or = or + selectivity - or * selectivity;
+                }
+                return or;
+            case EQUALS:
+                return EQUALS_SELECTIVITY;
+            case NOT_EQUALS:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                return COMPARISON_SELECTIVITY;
+            default:
+                return DEFAULT_SELECTIVITY;
+        }
+    }
+
+    /**
+     * Start of the traversal of a join.
+     */
+    public enum Start {
+        EDGE,
+        IN_VERTEX,
+        OUT_VERTEX
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.converter;
+
+import org.apache.calcite.sql.SqlBasicCall;
+import org.apache.calcite.sql.SqlBetweenOperator;
+import org.apache.calcite.sql.SqlDynamicParam;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pushes the WHERE clause of a single table query down into has() and hasNot() steps on the elements of the table,
+ * which the database can serve from its property indexes. The filters which are not pushed down are left to the
+ * where().by() projections of GremlinSqlBinaryOperator.
+ * <p>
+ * Comparisons of a property with a literal or a '?' placeholder, IN lists, BETWEEN, IS [NOT] NULL, boolean columns
+ * and AND, OR and NOT combinations of those are pushed down. The where() path compares a missing property as the
+ * default value of its type, so a pushed down filter also keeps the elements without the property when that default
+ * matches.
+ */
+public class PredicatePushdown {
+    private final SqlMetadata sqlMetadata;
+    private final GremlinTableBase gremlinTable;
+
+    /**
+     * Constructor for PredicatePushdown.
+     *
+     * @param sqlMetadata  SqlMetadata of the query.
+     * @param gremlinTable Table the query selects from.
+     */
+    public PredicatePushdown(final SqlMetadata sqlMetadata, final GremlinTableBase gremlinTable) {
+        this.sqlMetadata = sqlMetadata;
+        this.gremlinTable = gremlinTable;
+    }
+
+    /**
+     * Function to push the conditions of a WHERE clause down into the traversal. Each condition of a top level AND is
+     * pushed down on its own.
+     *
+     * @param where          WHERE clause, may be null.
+     * @param graphTraversal Traversal of the elements of the table.
+     * @return The part of the WHERE clause which was not pushed down, null if all of it was.
+     * @throws SQLException If the metadata of a column cannot be read.
+     */
+    public SqlNode apply(final SqlNode where, final GraphTraversal<?, ?> graphTraversal) throws SQLException {
+        if (where == null) {
+            return null;
+        }
+        final List<SqlNode> conditions = new ArrayList<>();
+        addConditions(where, conditions);
+        SqlNode remaining = null;
+        for (final SqlNode condition : conditions) {
+            if (isPushable(condition)) {
+                append(condition, graphTraversal);
+            } else {
+                // The where() path takes binary ANDs only.
+                remaining = (remaining == null) ? condition :
+                        SqlStdOperatorTable.AND.createCall(SqlParserPos.ZERO, remaining, condition);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Function to check whether a WHERE clause can be pushed down completely.
+     *
+     * @param where WHERE clause, may be null.
+     * @return True if apply leaves nothing of the WHERE clause.
+     * @throws SQLException If the metadata of a column cannot be read.
+     */
+    public boolean canApply(final SqlNode where) throws SQLException {
+        return where == null || isPushable(where);
+    }
+
+    private static void addConditions(final SqlNode sqlNode, final List<SqlNode> conditions) {
+        if (sqlNode.getKind() == SqlKind.AND) {
+            for (final SqlNode operand : ((SqlBasicCall) sqlNode).getOperandList()) {
+                addConditions(operand, conditions);
+            }
+        } else {
+            conditions.add(sqlNode);
+        }
+    }
+
+    private boolean isPushable(final SqlNode sqlNode) throws SQLException {
+        if (sqlNode instanceof SqlIdentifier) {
+            return "boolean".equals(getPropertyType(sqlNode));
+        } else if (!(sqlNode instanceof SqlBasicCall)) {
+            return false;
+        }
+        final SqlBasicCall sqlBasicCall = (SqlBasicCall) sqlNode;
+        final List<SqlNode> operands = sqlBasicCall.getOperandList();
+        switch (sqlNode.getKind()) {
+            case AND:
+            case OR:
+            case NOT:
+                for (final SqlNode operand : operands) {
+                    if (!isPushable(operand)) {
+                        return false;
+                    }
+                }
+                return true;
+            case EQUALS:
+            case NOT_EQUALS:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                return getComparison(sqlBasicCall) != null;
+            case IN:
+            case NOT_IN:
+            case BETWEEN:
+            case IS_NULL:
+            case IS_NOT_NULL:
+                return getPredicate(sqlBasicCall) != null || isNullCheck(sqlBasicCall);
+            default:
+                return false;
+        }
+    }
+
+    private boolean isNullCheck(final SqlBasicCall sqlBasicCall) throws SQLException {
+        return (sqlBasicCall.getKind() == SqlKind.IS_NULL || sqlBasicCall.getKind() == SqlKind.IS_NOT_NULL) &&
+                getPropertyType(sqlBasicCall.getOperandList().get(0)) != null;
+    }
+
+    private void append(final SqlNode sqlNode, final GraphTraversal<?, ?> graphTraversal) throws SQLException {
+        if (sqlNode instanceof SqlIdentifier) {
+            appendPredicate(sqlNode, P.eq((Object) true), graphTraversal);
+            return;
+        }
+        final SqlBasicCall sqlBasicCall = (SqlBasicCall) sqlNode;
+        final List<SqlNode> operands = sqlBasicCall.getOperandList();
+        switch (sqlNode.getKind()) {
+            case AND:
+                for (final SqlNode operand : operands) {
+                    append(operand, graphTraversal);
+                }
+                break;
+            case OR:
+                final GraphTraversal<?, ?>[] alternatives = new GraphTraversal[operands.size()];
+                for (int i = 0; i < operands.size(); i++) {
+                    alternatives[i] = __.__();
+                    append(operands.get(i), alternatives[i]);
+                }
+                graphTraversal.or(alternatives);
+                break;
+            case NOT:
+                final GraphTraversal<?, ?> negated = __.__();
+                append(operands.get(0), negated);
+                graphTraversal.not(negated);
+                break;
+            case IS_NULL:
+                graphTraversal.hasNot(getPropertyName(operands.get(0)));
+                break;
+            case IS_NOT_NULL:
+                graphTraversal.has(getPropertyName(operands.get(0)));
+                break;
+            case IN:
+            case NOT_IN:
+            case BETWEEN:
+                appendPredicate(operands.get(0), getPredicate(sqlBasicCall), graphTraversal);
+                break;
+            default:
+                final Comparison comparison = getComparison(sqlBasicCall);
+                appendPredicate(comparison.column, comparison.predicate, graphTraversal);
+        }
+    }
+
+    private void appendPredicate(final SqlNode column, final P<Object> predicate,
+                                 final GraphTraversal<?, ?> graphTraversal) throws SQLException {
+        final String propertyName = getPropertyName(column);
+        if (SqlQueryPlan.hasParameter(predicate)) {
+            // Whether the default matches is only known once the placeholders are bound, so the check runs then.
+            graphTraversal.or(__.has(propertyName, predicate), __.hasNot(propertyName)
+                    .constant(sqlMetadata.getDefaultCoalesceValue(getColumn(column))).is(predicate));
+        } else if (predicate.test(sqlMetadata.getDefaultCoalesceValue(getColumn(column)))) {
+            // The where() path matches a missing property through its default value.
+            graphTraversal.or(__.has(propertyName, predicate), __.hasNot(propertyName));
+        } else {
+            graphTraversal.has(propertyName, predicate);
+        }
+    }
+
+    private Comparison getComparison(final SqlBasicCall sqlBasicCall) throws SQLException {
+        final List<SqlNode> operands = sqlBasicCall.getOperandList();
+        if (operands.size() != 2) {
+            return null;
+        }
+        // A literal on the left flips the comparison, '5 < age' is 'age > 5'.
+        final boolean isFlipped =
+                operands.get(0) instanceof SqlLiteral || operands.get(0) instanceof SqlDynamicParam;
+        final SqlNode column = operands.get(isFlipped ? 1 : 0);
+        final Object value = getValue(column, operands.get(isFlipped ? 0 : 1));
+        if (value == null) {
+            return null;
+        }
+        switch (sqlBasicCall.getKind()) {
+            case EQUALS:
+                return new Comparison(column, P.eq(value));
+            case NOT_EQUALS:
+                return new Comparison(column, P.neq(value));
+            case LESS_THAN:
+                return new Comparison(column, isFlipped ? P.gt(value) : P.lt(value));
+            case LESS_THAN_OR_EQUAL:
+                return new Comparison(column, isFlipped ? P.gte(value) : P.lte(value));
+            case GREATER_THAN:
+                return new Comparison(column, isFlipped ? P.lt(value) : P.gt(value));
+            case GREATER_THAN_OR_EQUAL:
+                return new Comparison(column, isFlipped ? P.lte(value) : P.gte(value));
+            default:
+                return null;
+        }
+    }
+
+    private P<Object> getPredicate(final SqlBasicCall sqlBasicCall) throws SQLException {
+        final List<SqlNode> operands = sqlBasicCall.getOperandList();
+        final SqlNode column = operands.get(0);
+        switch (sqlBasicCall.getKind()) {
+            case IN:
+            case NOT_IN:
+                if (!(operands.get(1) instanceof SqlNodeList)) {
+                    return null;
+                }
+                final List<Object> values = new ArrayList<>();
+                for (final SqlNode operand : (SqlNodeList) operands.get(1)) {
+                    final Object value = getValue(column, operand);
+                    if (value == null) {
+                        return null;
+                    }
+                    values.add(value);
+                }
+                return (sqlBasicCall.getKind() == SqlKind.IN) ? P.within(values) : P.without(values);
+            case BETWEEN:
+                final SqlBetweenOperator sqlBetweenOperator = (SqlBetweenOperator) sqlBasicCall.getOperator();
+                if (sqlBetweenOperator.flag != SqlBetweenOperator.Flag.ASYMMETRIC) {
+                    return null;
+                }
+                final Object lower = getValue(column, operands.get(1));
+                final Object upper = getValue(column, operands.get(2));
+                if (lower == null || upper == null) {
+                    return null;
+                }
+                // P.between excludes its upper bound, SQL BETWEEN includes both bounds.
+                return sqlBetweenOperator.isNegated() ?
+                        P.lt(lower).or(P.gt(upper)) : P.gte(lower).and(P.lte(upper));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Function to get the value of a literal compared with a column, converted to the type of the column. A '?'
+     * placeholder gets a slot which converts the bound value to the type of the column when the query runs.
+     *
+     * @return Converted value, null if the column is not a property or the literal cannot be converted without loss.
+     */
+    private Object getValue(final SqlNode column, final SqlNode literal) throws SQLException {
+        final String type = getPropertyType(column);
+        if (type == null) {
+            return null;
+        } else if (literal instanceof SqlDynamicParam) {
+            return new SqlQueryParameter(((SqlDynamicParam) literal).getIndex(), type);
+        } else if (!(literal instanceof SqlLiteral)) {
+            return null;
+        }
+        final SqlLiteral sqlLiteral = (SqlLiteral) literal;
+        final Object value =
+                (sqlLiteral.getTypeName() == SqlTypeName.CHAR) ? sqlLiteral.toValue() : sqlLiteral.getValue();
+        try {
+            if (value instanceof BigDecimal) {
+                final BigDecimal number = (BigDecimal) value;
+                switch (type) {
+                    case "byte":
+                        return number.byteValueExact();
+                    case "short":
+                        return number.shortValueExact();
+                    case "integer":
+                        return number.intValueExact();
+                    case "long":
+                        return number.longValueExact();
+                    case "float":
+                        return number.floatValue();
+                    case "double":
+                        return number.doubleValue();
+                    default:
+                        return null;
+                }
+            } else if (value instanceof String) {
+                return "string".equals(type) ? value : null;
+            } else if (value instanceof Boolean) {
+                return "boolean".equals(type) ? value : null;
+            }
+        } catch (final ArithmeticException ignored) {
+            // '5.5' cannot be compared as an integer by the index, the where() path compares it.
+        }
+        return null;
+    }
+
+    private static String getColumn(final SqlNode column) {
+        final SqlIdentifier sqlIdentifier = (SqlIdentifier) column;
+        return sqlIdentifier.names.get(sqlIdentifier.names.size() - 1);
+    }
+
+    private GremlinProperty getProperty(final SqlNode column) throws SQLException {
+        if (!(column instanceof SqlIdentifier) || ((SqlIdentifier) column).isStar()) {
+            return null;
+        }
+        final String columnName = getColumn(column);
+        if (!sqlMetadata.getTableHasColumn(gremlinTable, columnName)) {
+            return null;
+        }
+        final String actualColumnName = sqlMetadata.getActualColumnName(gremlinTable, columnName);
+        // Ids and the ids of connected elements are not properties.
+        return actualColumnName.endsWith(GremlinTableBase.ID) ? null : gremlinTable.getColumn(actualColumnName);
+    }
+
+    private String getPropertyType(final SqlNode column) throws SQLException {
+        final GremlinProperty gremlinProperty = getProperty(column);
+        return (gremlinProperty == null) ? null : gremlinProperty.getType();
+    }
+
+    private String getPropertyName(final SqlNode column) throws SQLException {
+        return getProperty(column).getName();
+    }
+
+    private static class Comparison {
+        private final SqlNode column;
+        private final P<Object> predicate;
+
+        Comparison(final SqlNode column, final P<Object> predicate) {
+            this.column = column;
+            this.predicate = predicate;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package software.aws.neptune.gremlin.adapter.converter;
 
 import com.google.common.collect.ImmutableList;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.apache.calcite.avatica.util.Quoting;
 import org.apache.calcite.config.Lex;
@@ -32,8 +33,6 @@ import org.apache.calcite.tools.Frameworks;
 import org.apache.calcite.tools.Planner;
 import org.apache.calcite.tools.Program;
 import org.apache.calcite.tools.Programs;
-import org.apache.tinkerpop.gremlin.process.traversal.translator.GroovyTranslator;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,13 +40,23 @@ import software.aws.neptune.gremlin.adapter.converter.ast.nodes.GremlinSqlFactor
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.select.GremlinSqlSelect;
 import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
 import software.aws.neptune.gremlin.adapter.results.SqlGremlinQueryResult;
+import software.aws.neptune.gremlin.adapter.util.SQLNotSupportedException;
 import software.aws.neptune.gremlin.adapter.util.SqlGremlinError;
 
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This module is the entry point of the SqlGremlin conversion.
+ * <p>
+ * Translated queries are kept in a bounded plan cache, keyed by the schema they were translated against and the
+ * query with its comments removed and its whitespace normalized. A query found in the cache runs a copy of the
+ * cached bytecode without being parsed, validated or translated again. Plans of a schema are dropped once the
+ * schema is replaced in the cache of the driver.
  *
  * @author Lyndon Bauto (lyndonb@bitquilltech.com)
  */
@@ -59,6 +68,16 @@ public class SqlConverter {
             SqlParser.config().withLex(Lex.MYSQL).withQuoting(Quoting.DOUBLE_QUOTE);
     private static final Program PROGRAM =
             Programs.sequence(Programs.ofRules(Programs.RULE_SET), Programs.CALC_PROGRAM);
+    private static final int PLAN_CACHE_CAPACITY = 256;
+    private static final Map<PlanKey, SqlQueryPlan> PLAN_CACHE =
+            new LinkedHashMap<PlanKey, SqlQueryPlan>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<PlanKey, SqlQueryPlan> eldest) {
+                    return size() > PLAN_CACHE_CAPACITY;
+                }
+            };
+    private static final AtomicLong PLAN_CACHE_HITS = new AtomicLong();
+    private static final AtomicLong PLAN_CACHE_MISSES = new AtomicLong();
     private final FrameworkConfig frameworkConfig;
     private final GremlinSchema gremlinSchema;
 
@@ -74,27 +93,166 @@ public class SqlConverter {
     }
 
     private GremlinSqlSelect getSelect(final GraphTraversalSource g, final String query) throws SQLException {
-        GremlinSqlFactory.setSqlMetadata(new SqlMetadata(gremlinSchema));
         final QueryPlanner queryPlanner = new QueryPlanner(frameworkConfig);
         queryPlanner.plan(query);
         final SqlNode sqlNode = queryPlanner.getValidate();
         if (sqlNode instanceof SqlSelect) {
-            return GremlinSqlFactory.createSelect((SqlSelect) sqlNode, g);
+            return GremlinSqlFactory.createSelect((SqlSelect) sqlNode, new SqlMetadata(gremlinSchema), g);
         } else {
             throw SqlGremlinError.createNotSupported(SqlGremlinError.SQL_SELECT_ONLY);
         }
     }
 
     public SqlGremlinQueryResult executeQuery(final GraphTraversalSource g, final String query) throws SQLException {
-        return getSelect(g, query).executeTraversal();
+        return executeQuery(g, query, Collections.emptyMap());
     }
 
-    private GraphTraversal<?, ?> getGraphTraversal(GraphTraversalSource g, final String query) throws SQLException {
-        return getSelect(g, query).generateTraversal();
+    /**
+     * Function to execute a query with '?' placeholders. The query is translated once into a plan whose placeholders
+     * are bound to the given values each time it runs. A query which cannot be translated into a traversal is run by
+     * HybridQueryExecutor instead, and is planned again each time it runs.
+     *
+     * @param g          GraphTraversalSource of the graph.
+     * @param query      Query to execute.
+     * @param parameters Bound values, keyed by the JDBC parameter index which starts at 1.
+     * @return SqlGremlinQueryResult of the query.
+     * @throws SQLException If the query cannot be translated or a placeholder is not bound.
+     */
+    public SqlGremlinQueryResult executeQuery(final GraphTraversalSource g, final String query,
+                                              final Map<Integer, Object> parameters) throws SQLException {
+        final PlanKey planKey = new PlanKey(gremlinSchema, normalize(query));
+        SqlQueryPlan sqlQueryPlan;
+        synchronized (PLAN_CACHE) {
+            sqlQueryPlan = PLAN_CACHE.get(planKey);
+        }
+        if (sqlQueryPlan != null) {
+            PLAN_CACHE_HITS.incrementAndGet();
+            return sqlQueryPlan.execute(g, parameters);
+        }
+        PLAN_CACHE_MISSES.incrementAndGet();
+        try {
+            sqlQueryPlan = getSelect(g, query).generateQueryPlan();
+        } catch (final SQLNotSupportedException e) {
+            // The query is valid SQL which has no translation into a traversal, so Calcite runs it over scans.
+            LOGGER.debug("Query '{}' cannot be translated into a traversal: {}", planKey.getQuery(), e.getMessage());
+            return HybridQueryExecutor.execute(frameworkConfig, g, query, parameters);
+        }
+        synchronized (PLAN_CACHE) {
+            PLAN_CACHE.put(planKey, sqlQueryPlan);
+        }
+        LOGGER.debug("Cached plan of query '{}'.", planKey.getQuery());
+        return sqlQueryPlan.execute(g, parameters);
+    }
+
+    /**
+     * Function to drop the cached plans of a schema, called when the schema is replaced.
+     *
+     * @param gremlinSchema GremlinSchema whose plans are dropped.
+     */
+    public static void invalidatePlans(final GremlinSchema gremlinSchema) {
+        synchronized (PLAN_CACHE) {
+            PLAN_CACHE.keySet().removeIf(planKey -> planKey.getGremlinSchema() == gremlinSchema);
+        }
+    }
+
+    /**
+     * Function to get the number of queries which were run from a cached plan.
+     *
+     * @return Number of plan cache hits.
+     */
+    public static long getPlanCacheHits() {
+        return PLAN_CACHE_HITS.get();
+    }
+
+    /**
+     * Function to get the number of queries which had to be translated.
+     *
+     * @return Number of plan cache misses.
+     */
+    public static long getPlanCacheMisses() {
+        return PLAN_CACHE_MISSES.get();
+    }
+
+    /**
+     * Function to get the number of cached plans.
+     *
+     * @return Number of cached plans.
+     */
+    public static int getPlanCacheSize() {
+        synchronized (PLAN_CACHE) {
+            return PLAN_CACHE.size();
+        }
+    }
+
+    /**
+     * Function to normalize a query for the plan cache: comments outside of quotes are removed, runs of whitespace
+     * outside of quotes are collapsed to one space and leading and trailing whitespace is removed. Comments are
+     * removed before whitespace is collapsed, otherwise a line comment would swallow the lines after it.
+     *
+     * @param query Query to normalize.
+     * @return Normalized query.
+     */
+    static String normalize(final String query) {
+        final StringBuilder normalized = new StringBuilder(query.length());
+        char quote = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < query.length(); i++) {
+            final char c = query.charAt(i);
+            if (quote == 0 && c == '-' && query.startsWith("--", i)) {
+                final int end = query.indexOf('\n', i);
+                i = (end < 0) ? query.length() : end;
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (quote == 0 && c == '/' && query.startsWith("/*", i)) {
+                final int end = query.indexOf("*/", i + 2);
+                i = (end < 0) ? query.length() : end + 1;
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (quote == 0 && Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            normalized.append(c);
+            if (quote == 0 && (c == '\'' || c == '"' || c == '`')) {
+                quote = c;
+            } else if (c == quote) {
+                // A doubled quote is an escaped quote, which ends and reopens the literal.
+                quote = 0;
+            }
+        }
+        return normalized.toString();
     }
 
     public String getStringTraversal(final GraphTraversalSource g, final String query) throws SQLException {
-        return GroovyTranslator.of("g").translate(getGraphTraversal(g, query).asAdmin().getBytecode()).toString();
+        return getSelect(g, query).getStringTraversal();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PlanKey {
+        // Schemas are compared by identity, a schema which is loaded again gets new plans.
+        private final GremlinSchema gremlinSchema;
+        private final String query;
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof PlanKey)) {
+                return false;
+            }
+            final PlanKey planKey = (PlanKey) o;
+            return gremlinSchema == planKey.gremlinSchema && query.equals(planKey.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(gremlinSchema) + query.hashCode();
+        }
     }
 
     @Getter
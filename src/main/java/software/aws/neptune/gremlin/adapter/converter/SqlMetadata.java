@@ -28,7 +28,6 @@ import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSche
 import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
 import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
 import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
-import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
 import software.aws.neptune.gremlin.adapter.util.SqlGremlinError;
 
 import java.sql.SQLException;
@@ -122,26 +121,24 @@ public class SqlMetadata {
         return gremlinTableBase.getLabel();
     }
 
-    public boolean isLeftInRightOut(final String leftVertexLabel, final String rightVertexLabel) {
-        for (final GremlinVertexTable leftVertexTable : gremlinSchema.getVertices()) {
-            for (final GremlinVertexTable rightVertexTable : gremlinSchema.getVertices()) {
-                if (leftVertexTable.hasInEdge(leftVertexLabel) && rightVertexTable.hasOutEdge(rightVertexLabel)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    public boolean isLeftInRightOut(final String leftVertexLabel, final String rightVertexLabel)
+            throws SQLException {
+        return hasVertexWithEdge(leftVertexLabel, GremlinTableBase.IN_ID) &&
+                hasVertexWithEdge(rightVertexLabel, GremlinTableBase.OUT_ID);
     }
 
-    public boolean isRightInLeftOut(final String leftVertexLabel, final String rightVertexLabel) {
-        for (final GremlinVertexTable leftVertexTable : gremlinSchema.getVertices()) {
-            for (final GremlinVertexTable rightVertexTable : gremlinSchema.getVertices()) {
-                if (leftVertexTable.hasOutEdge(leftVertexLabel) && rightVertexTable.hasInEdge(rightVertexLabel)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    public boolean isRightInLeftOut(final String leftVertexLabel, final String rightVertexLabel)
+            throws SQLException {
+        return hasVertexWithEdge(leftVertexLabel, GremlinTableBase.OUT_ID) &&
+                hasVertexWithEdge(rightVertexLabel, GremlinTableBase.IN_ID);
+    }
+
+    private boolean hasVertexWithEdge(final String edgeColumn, final String direction) throws SQLException {
+        // A vertex has an in or out edge of a label exactly when that edge table connects to a vertex, so only the
+        // edge table is resolved rather than every vertex table.
+        final GremlinTableBase gremlinTableBase = gremlinSchema.getGremlinTable(edgeColumn.replace(direction, ""));
+        return gremlinTableBase instanceof GremlinEdgeTable &&
+                !((GremlinEdgeTable) gremlinTableBase).getInOutVertexPairs().isEmpty();
     }
 
     public Set<String> getRenamedColumns() {
@@ -161,28 +158,16 @@ public class SqlMetadata {
     }
 
     public boolean isVertex(final String table) throws SQLException {
-        final String renamedTableName = getRenamedTable(table);
-        for (final GremlinVertexTable gremlinVertexTable : gremlinSchema.getVertices()) {
-            if (gremlinVertexTable.getLabel().equalsIgnoreCase(renamedTableName)) {
-                return true;
-            }
-        }
-        for (final GremlinEdgeTable gremlinEdgeTable : gremlinSchema.getEdges()) {
-            if (gremlinEdgeTable.getLabel().equalsIgnoreCase(renamedTableName)) {
-                return false;
-            }
-        }
-        throw SqlGremlinError.create(SqlGremlinError.TABLE_DOES_NOT_EXIST, renamedTableName);
+        return getGremlinTable(table).getIsVertex();
     }
 
     public GremlinTableBase getGremlinTable(final String table) throws SQLException {
         final String renamedTableName = getRenamedTable(table);
-        for (final GremlinTableBase gremlinTableBase : gremlinSchema.getAllTables()) {
-            if (gremlinTableBase.getLabel().equalsIgnoreCase(renamedTableName)) {
-                return gremlinTableBase;
-            }
+        final GremlinTableBase gremlinTableBase = gremlinSchema.getGremlinTable(renamedTableName);
+        if (gremlinTableBase == null) {
+            throw SqlGremlinError.create(SqlGremlinError.TABLE_DOES_NOT_EXIST, renamedTableName);
         }
-        throw SqlGremlinError.create(SqlGremlinError.TABLE_DOES_NOT_EXIST, renamedTableName);
+        return gremlinTableBase;
     }
 
     public void addRenamedTable(final String actualName, final String renameName) {
@@ -231,18 +216,11 @@ public class SqlMetadata {
     }
 
     public String getActualTableName(final String table) throws SQLException {
-        final String renamedTableName = getRenamedTable(table);
-        for (final GremlinVertexTable gremlinVertexTable : gremlinSchema.getVertices()) {
-            if (gremlinVertexTable.getLabel().equalsIgnoreCase(renamedTableName)) {
-                return gremlinVertexTable.getLabel();
-            }
+        final GremlinTableBase gremlinTableBase = gremlinSchema.getGremlinTable(getRenamedTable(table));
+        if (gremlinTableBase == null) {
+            throw SqlGremlinError.create(SqlGremlinError.ERROR_TABLE, table);
         }
-        for (final GremlinEdgeTable gremlinEdgeTable : gremlinSchema.getEdges()) {
-            if (gremlinEdgeTable.getLabel().equalsIgnoreCase(renamedTableName)) {
-                return gremlinEdgeTable.getLabel();
-            }
-        }
-        throw SqlGremlinError.create(SqlGremlinError.ERROR_TABLE, table);
+        return gremlinTableBase.getLabel();
     }
 
     public void checkAggregate(final SqlNodeList sqlNodeList) {
@@ -0,0 +1,160 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.converter;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import software.aws.neptune.gremlin.adapter.util.SqlGremlinError;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Slot of a '?' placeholder in a translated query. Slots take the place of the literal in the traversal and are
+ * replaced by the bound value, converted to the type of the column the placeholder is compared with, each time the
+ * query runs.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SqlQueryParameter {
+    // Index of the placeholder in the query, starting at 0.
+    private final int index;
+    // Type of the column the placeholder is compared with, null if it is not compared with a column.
+    private final String type;
+
+    /**
+     * Function to get the value bound to the slot, converted to the type of the slot.
+     *
+     * @param parameters Bound values, keyed by the JDBC parameter index which starts at 1.
+     * @return Converted value.
+     * @throws SQLException If the parameter is not bound or cannot be converted.
+     */
+    public Object bind(final Map<Integer, Object> parameters) throws SQLException {
+        if (!parameters.containsKey(index + 1)) {
+            throw SqlGremlinError.create(SqlGremlinError.PARAMETER_NOT_SET, index + 1);
+        }
+        final Object value = parameters.get(index + 1);
+        if (value == null || type == null) {
+            return value;
+        }
+        try {
+            switch (type) {
+                case "string":
+                    return value.toString();
+                case "boolean":
+                    return toBoolean(value);
+                case "byte":
+                    return toBigDecimal(value).byteValueExact();
+                case "short":
+                    return toBigDecimal(value).shortValueExact();
+                case "integer":
+                    return toBigDecimal(value).intValueExact();
+                case "long":
+                    return toBigDecimal(value).longValueExact();
+                case "float":
+                    final float floatValue = (value instanceof Number) ?
+                            ((Number) value).floatValue() : Float.parseFloat(value.toString());
+                    checkFloatingPoint(value, floatValue);
+                    return floatValue;
+                case "double":
+                    final double doubleValue = (value instanceof Number) ?
+                            ((Number) value).doubleValue() : Double.parseDouble(value.toString());
+                    checkFloatingPoint(value, doubleValue);
+                    return doubleValue;
+                case "date":
+                    // The graph holds java.util.Date, which java.sql.Date and Timestamp do not compare equal to.
+                    if (value instanceof Date) {
+                        return new Date(((Date) value).getTime());
+                    } else if (value instanceof Number) {
+                        return new Date(toBigDecimal(value).longValueExact());
+                    }
+                    break;
+                default:
+                    return value;
+            }
+        } catch (final NumberFormatException | ArithmeticException e) {
+            // Like literals pushed down by PredicatePushdown, a value which loses data when converted is rejected.
+            throw SqlGremlinError.create(SqlGremlinError.PARAMETER_TYPE_MISMATCH, value, index + 1, type);
+        }
+        throw SqlGremlinError.create(SqlGremlinError.PARAMETER_TYPE_MISMATCH, value, index + 1, type);
+    }
+
+    private Boolean toBoolean(final Object value) throws SQLException {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Number) {
+            // JDBC maps the numbers 0 and 1 to false and true, any other number is not a boolean.
+            final BigDecimal number = toBigDecimal(value);
+            if (number.compareTo(BigDecimal.ZERO) == 0 || number.compareTo(BigDecimal.ONE) == 0) {
+                return number.compareTo(BigDecimal.ONE) == 0;
+            }
+        } else {
+            final String string = value.toString().trim();
+            if ("true".equalsIgnoreCase(string) || "false".equalsIgnoreCase(string)) {
+                return Boolean.valueOf(string);
+            }
+        }
+        throw SqlGremlinError.create(SqlGremlinError.PARAMETER_TYPE_MISMATCH, value, index + 1, type);
+    }
+
+    private static BigDecimal toBigDecimal(final Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof Byte || value instanceof Short || value instanceof Integer ||
+                value instanceof Long) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        // Doubles are converted through their shortest decimal representation, so 3.0 is exactly 3.
+        return new BigDecimal(value.toString().trim());
+    }
+
+    private static void checkFloatingPoint(final Object value, final double converted) {
+        if (Double.isInfinite(converted) && !isInfinite(value)) {
+            throw new ArithmeticException("Value overflows the floating point type.");
+        }
+        // Whole numbers must convert exactly, a fraction is rounded to the nearest value of the type.
+        if (!Double.isNaN(converted) && !Double.isInfinite(converted) && isWholeNumber(value) &&
+                new BigDecimal(converted).compareTo(toBigDecimal(value)) != 0) {
+            throw new ArithmeticException("Value cannot be represented exactly by the floating point type.");
+        }
+    }
+
+    private static boolean isInfinite(final Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            return Double.isInfinite(((Number) value).doubleValue());
+        }
+        return value.toString().trim().replace("+", "").replace("-", "").equals("Infinity");
+    }
+
+    private static boolean isWholeNumber(final Object value) {
+        return value instanceof Byte || value instanceof Short || value instanceof Integer ||
+                value instanceof Long || value instanceof BigInteger;
+    }
+
+    @Override
+    public String toString() {
+        return "?" + (index + 1);
+    }
+}
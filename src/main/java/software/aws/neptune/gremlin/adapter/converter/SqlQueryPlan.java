@@ -0,0 +1,189 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.converter;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Getter;
+import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import software.aws.neptune.gremlin.adapter.results.SqlGremlinQueryResult;
+import software.aws.neptune.gremlin.adapter.results.pagination.GetRowFromMap;
+import software.aws.neptune.gremlin.adapter.results.pagination.Pagination;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Translation of a SQL query, holding everything needed to run it again without going through Calcite: the bytecode
+ * of the traversal, the columns of the result and the reader which turns traversal results into rows.
+ * <p>
+ * The bytecode of a query with '?' placeholders holds SqlQueryParameter slots in place of the literals, which are
+ * replaced by the bound values in the copy of the bytecode made for each execution.
+ */
+@Getter
+public class SqlQueryPlan {
+    private final Bytecode bytecode;
+    private final List<String> columns;
+    private final List<String> columnTypes;
+    private final GetRowFromMap rowReader;
+    private final boolean parameterized;
+
+    /**
+     * Constructor for SqlQueryPlan.
+     *
+     * @param bytecode    Bytecode of the traversal.
+     * @param columns     Columns of the result.
+     * @param columnTypes Types of the columns.
+     * @param rowReader   Reader which turns traversal results into rows.
+     */
+    public SqlQueryPlan(final Bytecode bytecode, final List<String> columns, final List<String> columnTypes,
+                        final GetRowFromMap rowReader) {
+        this.bytecode = bytecode;
+        this.columns = columns;
+        this.columnTypes = columnTypes;
+        this.rowReader = rowReader;
+        this.parameterized = hasParameter(bytecode);
+    }
+
+    /**
+     * Function to execute the plan on a graph, rebuilding its traversal from a copy of the bytecode.
+     *
+     * @param g GraphTraversalSource of the graph.
+     * @return SqlGremlinQueryResult which is filled as the traversal is paginated.
+     * @throws SQLException If the plan has placeholders.
+     */
+    public SqlGremlinQueryResult execute(final GraphTraversalSource g) throws SQLException {
+        return execute(g, Collections.emptyMap());
+    }
+
+    /**
+     * Function to execute the plan on a graph with values bound to its placeholders.
+     *
+     * @param g          GraphTraversalSource of the graph.
+     * @param parameters Bound values, keyed by the JDBC parameter index which starts at 1.
+     * @return SqlGremlinQueryResult which is filled as the traversal is paginated.
+     * @throws SQLException If a placeholder is not bound or its value cannot be converted.
+     */
+    public SqlGremlinQueryResult execute(final GraphTraversalSource g, final Map<Integer, Object> parameters)
+            throws SQLException {
+        final Bytecode boundBytecode = parameterized ? bind(bytecode, parameters) : bytecode.clone();
+        return execute((GraphTraversal<?, ?>) JavaTranslator.of(g).translate(boundBytecode));
+    }
+
+    /**
+     * Function to execute the plan with a traversal already built for it.
+     *
+     * @param graphTraversal Traversal of the plan.
+     * @return SqlGremlinQueryResult which is filled as the traversal is paginated.
+     */
+    public SqlGremlinQueryResult execute(final GraphTraversal<?, ?> graphTraversal) {
+        final SqlGremlinQueryResult sqlGremlinQueryResult = new SqlGremlinQueryResult(columns, columnTypes);
+        // Launch thread to continue grabbing results.
+        final ExecutorService executor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("Data-Insert-Thread-%d").setDaemon(true).build());
+        executor.execute(new Pagination(rowReader, graphTraversal, sqlGremlinQueryResult));
+        executor.shutdown();
+        return sqlGremlinQueryResult;
+    }
+
+    static boolean hasParameter(final Object argument) {
+        if (argument instanceof SqlQueryParameter) {
+            return true;
+        } else if (argument instanceof Bytecode) {
+            final Bytecode bytecode = (Bytecode) argument;
+            for (final Bytecode.Instruction instruction : bytecode.getInstructions()) {
+                for (final Object instructionArgument : instruction.getArguments()) {
+                    if (hasParameter(instructionArgument)) {
+                        return true;
+                    }
+                }
+            }
+        } else if (argument instanceof ConnectiveP) {
+            for (final P<?> predicate : ((ConnectiveP<?>) argument).getPredicates()) {
+                if (hasParameter(predicate)) {
+                    return true;
+                }
+            }
+        } else if (argument instanceof P) {
+            return hasParameter(((P<?>) argument).getValue());
+        } else if (argument instanceof List) {
+            for (final Object element : (List<?>) argument) {
+                if (hasParameter(element)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Bytecode bind(final Bytecode bytecode, final Map<Integer, Object> parameters)
+            throws SQLException {
+        final Bytecode boundBytecode = new Bytecode();
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            boundBytecode.addSource(instruction.getOperator(), bind(instruction.getArguments(), parameters));
+        }
+        for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            boundBytecode.addStep(instruction.getOperator(), bind(instruction.getArguments(), parameters));
+        }
+        return boundBytecode;
+    }
+
+    private static Object[] bind(final Object[] arguments, final Map<Integer, Object> parameters)
+            throws SQLException {
+        final Object[] boundArguments = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            boundArguments[i] = bind(arguments[i], parameters);
+        }
+        return boundArguments;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object bind(final Object argument, final Map<Integer, Object> parameters) throws SQLException {
+        if (argument instanceof SqlQueryParameter) {
+            return ((SqlQueryParameter) argument).bind(parameters);
+        } else if (argument instanceof Bytecode) {
+            return bind((Bytecode) argument, parameters);
+        } else if (argument instanceof ConnectiveP) {
+            final List<P<?>> predicates = new ArrayList<>();
+            for (final P<?> predicate : ((ConnectiveP<?>) argument).getPredicates()) {
+                predicates.add((P<?>) bind(predicate, parameters));
+            }
+            return (argument instanceof AndP) ? new AndP(predicates) : new OrP(predicates);
+        } else if (argument instanceof P) {
+            final P<?> predicate = (P<?>) argument;
+            return new P(predicate.getBiPredicate(), bind(predicate.getValue(), parameters));
+        } else if (argument instanceof List) {
+            final List<Object> elements = new ArrayList<>();
+            for (final Object element : (List<?>) argument) {
+                elements.add(bind(element, parameters));
+            }
+            return elements;
+        }
+        return argument;
+    }
+}
@@ -16,6 +16,7 @@
 
 package software.aws.neptune.gremlin.adapter.converter;
 
+import org.apache.calcite.sql.SqlNode;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
@@ -55,6 +56,22 @@ public class SqlTraversalEngine {
         return graphTraversal;
     }
 
+    /**
+     * Function to push the WHERE clause of a single table query down into has() steps of its traversal.
+     *
+     * @param where          WHERE clause, may be null.
+     * @param label          Label of the table.
+     * @param sqlMetadata    SqlMetadata of the query.
+     * @param graphTraversal Traversal of the table, ending with hasLabel().
+     * @return The part of the WHERE clause which was not pushed down, null if all of it was.
+     * @throws SQLException If the table or the metadata of a column cannot be read.
+     */
+    public static SqlNode applyPredicatePushdown(final SqlNode where, final String label,
+                                                 final SqlMetadata sqlMetadata,
+                                                 final GraphTraversal<?, ?> graphTraversal) throws SQLException {
+        return new PredicatePushdown(sqlMetadata, sqlMetadata.getGremlinTable(label)).apply(where, graphTraversal);
+    }
+
     public static void applyAggregateFold(final SqlMetadata sqlMetadata, final GraphTraversal<?, ?> graphTraversal) {
         if (sqlMetadata.getIsProjectFoldRequired()) {
             graphTraversal.fold();
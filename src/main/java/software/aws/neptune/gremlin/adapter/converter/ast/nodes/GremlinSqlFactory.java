@@ -21,6 +21,7 @@ import org.apache.calcite.sql.SqlAsOperator;
 import org.apache.calcite.sql.SqlBasicCall;
 import org.apache.calcite.sql.SqlBinaryOperator;
 import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlDynamicParam;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlJoin;
 import org.apache.calcite.sql.SqlLiteral;
@@ -41,6 +42,7 @@ import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operator.aggrega
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operator.logic.GremlinSqlBinaryOperator;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operator.logic.GremlinSqlLiteral;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.select.GremlinSqlSelect;
+import software.aws.neptune.gremlin.adapter.converter.ast.nodes.select.GremlinSqlSelectJoinChain;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.select.GremlinSqlSelectMulti;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.select.GremlinSqlSelectSingle;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.select.join.GremlinSqlJoinComparison;
@@ -52,91 +54,89 @@ import java.util.List;
 
 /**
  * This factory converts different types of Calcite's SqlNode/SqlOperator's to SqlGremlin equivalents.
+ * <p>
+ * The factory holds no state. The SqlMetadata of the query being translated is passed to every node it creates, so
+ * queries can be translated concurrently.
  *
  * @author Lyndon Bauto (lyndonb@bitquilltech.com)
  * @author Adapted from implementation by twilmes (https://github.com/twilmes/sql-gremlin)
  */
 public class GremlinSqlFactory {
-    private static SqlMetadata sqlMetadata = null;
-
-    public static void setSqlMetadata(final SqlMetadata sqlMetadata1) {
-        sqlMetadata = sqlMetadata1;
-    }
-
-    public static SqlMetadata getGremlinSqlMetadata() throws SQLException {
-        if (sqlMetadata == null) {
-            throw SqlGremlinError.create(SqlGremlinError.SCHEMA_NOT_SET);
-        }
-        return sqlMetadata;
-    }
-
-    public static GremlinSqlJoinComparison createJoinEquality(final SqlNode sqlNode)
-            throws SQLException {
+    public static GremlinSqlJoinComparison createJoinEquality(final SqlNode sqlNode,
+                                                              final SqlMetadata sqlMetadata) throws SQLException {
         if (sqlNode instanceof SqlBasicCall) {
             final SqlBasicCall sqlBasicCall = (SqlBasicCall) sqlNode;
             if (sqlBasicCall.getOperator() instanceof SqlBinaryOperator) {
                 return new GremlinSqlJoinComparison((SqlBasicCall) sqlNode,
-                        (SqlBinaryOperator) sqlBasicCall.getOperator(), createNodeList(sqlBasicCall.getOperandList()),
-                        getGremlinSqlMetadata());
+                        (SqlBinaryOperator) sqlBasicCall.getOperator(),
+                        createNodeList(sqlBasicCall.getOperandList(), sqlMetadata), sqlMetadata);
             }
         }
         throw SqlGremlinError.create(SqlGremlinError.UNKNOWN_NODE, sqlNode.getClass().getName());
     }
 
-    public static GremlinSqlOperator createOperator(final SqlOperator sqlOperator, final List<SqlNode> sqlOperands)
-            throws SQLException {
+    public static GremlinSqlOperator createOperator(final SqlOperator sqlOperator, final List<SqlNode> sqlOperands,
+                                                    final SqlMetadata sqlMetadata) throws SQLException {
         if (sqlOperator instanceof SqlAsOperator) {
-            return new GremlinSqlAsOperator((SqlAsOperator) sqlOperator, createNodeList(sqlOperands),
-                    getGremlinSqlMetadata());
+            return new GremlinSqlAsOperator((SqlAsOperator) sqlOperator, createNodeList(sqlOperands, sqlMetadata),
+                    sqlMetadata);
         } else if (sqlOperator instanceof SqlAggFunction) {
-            return new GremlinSqlAggFunction((SqlAggFunction) sqlOperator, createNodeList(sqlOperands),
-                    getGremlinSqlMetadata());
+            return new GremlinSqlAggFunction((SqlAggFunction) sqlOperator, createNodeList(sqlOperands, sqlMetadata),
+                    sqlMetadata);
         } else if (sqlOperator instanceof SqlBinaryOperator) {
-            return new GremlinSqlBinaryOperator((SqlBinaryOperator) sqlOperator, createNodeList(sqlOperands),
-                    getGremlinSqlMetadata());
+            return new GremlinSqlBinaryOperator((SqlBinaryOperator) sqlOperator,
+                    createNodeList(sqlOperands, sqlMetadata), sqlMetadata);
         } else if (sqlOperator instanceof SqlPostfixOperator) {
-            return new GremlinSqlPostfixOperator((SqlPostfixOperator) sqlOperator, createNodeList(sqlOperands),
-                    getGremlinSqlMetadata());
+            return new GremlinSqlPostfixOperator((SqlPostfixOperator) sqlOperator,
+                    createNodeList(sqlOperands, sqlMetadata), sqlMetadata);
         } else if (sqlOperator instanceof SqlPrefixOperator) {
-            return new GremlinSqlPrefixOperator((SqlPrefixOperator) sqlOperator, createNodeList(sqlOperands),
-                    getGremlinSqlMetadata());
+            return new GremlinSqlPrefixOperator((SqlPrefixOperator) sqlOperator,
+                    createNodeList(sqlOperands, sqlMetadata), sqlMetadata);
         }
-        throw SqlGremlinError.create(SqlGremlinError.UNKNOWN_OPERATOR, sqlOperator.getKind().sql);
+        throw SqlGremlinError.createNotSupported(SqlGremlinError.UNKNOWN_OPERATOR, sqlOperator.getKind().sql);
     }
 
-    public static GremlinSqlNode createNode(final SqlNode sqlNode) throws SQLException {
+    public static GremlinSqlNode createNode(final SqlNode sqlNode, final SqlMetadata sqlMetadata)
+            throws SQLException {
         if (sqlNode instanceof SqlBasicCall) {
-            return new GremlinSqlBasicCall((SqlBasicCall) sqlNode, getGremlinSqlMetadata());
+            return new GremlinSqlBasicCall((SqlBasicCall) sqlNode, sqlMetadata);
         } else if (sqlNode instanceof SqlIdentifier) {
-            return new GremlinSqlIdentifier((SqlIdentifier) sqlNode, getGremlinSqlMetadata());
+            return new GremlinSqlIdentifier((SqlIdentifier) sqlNode, sqlMetadata);
         } else if (sqlNode instanceof SqlLiteral) {
-            return new GremlinSqlLiteral((SqlLiteral) sqlNode, getGremlinSqlMetadata());
+            return new GremlinSqlLiteral((SqlLiteral) sqlNode, sqlMetadata);
+        } else if (sqlNode instanceof SqlDynamicParam) {
+            return new GremlinSqlLiteral((SqlDynamicParam) sqlNode, sqlMetadata);
         }
         throw SqlGremlinError.create(SqlGremlinError.UNKNOWN_NODE, sqlNode.getClass().getName());
     }
 
-    public static List<GremlinSqlNode> createNodeList(final List<SqlNode> sqlNodes) throws SQLException {
+    public static List<GremlinSqlNode> createNodeList(final List<SqlNode> sqlNodes,
+                                                      final SqlMetadata sqlMetadata) throws SQLException {
         final List<GremlinSqlNode> gremlinSqlNodes = new ArrayList<>();
         for (final SqlNode sqlNode : sqlNodes) {
-            gremlinSqlNodes.add(createNode(sqlNode));
+            gremlinSqlNodes.add(createNode(sqlNode, sqlMetadata));
         }
         return gremlinSqlNodes;
     }
 
     @SuppressWarnings("unchecked")
-    public static <T> T createNodeCheckType(final SqlNode sqlNode, final Class<T> clazz) throws SQLException {
-        final GremlinSqlNode gremlinSqlNode = createNode(sqlNode);
+    public static <T> T createNodeCheckType(final SqlNode sqlNode, final Class<T> clazz,
+                                            final SqlMetadata sqlMetadata) throws SQLException {
+        final GremlinSqlNode gremlinSqlNode = createNode(sqlNode, sqlMetadata);
         if (!gremlinSqlNode.getClass().equals(clazz)) {
             throw SqlGremlinError.create(SqlGremlinError.TYPE_MISMATCH);
         }
         return (T) gremlinSqlNode;
     }
 
-    public static GremlinSqlSelect createSelect(final SqlSelect selectRoot, final GraphTraversalSource g)
-            throws SQLException {
+    public static GremlinSqlSelect createSelect(final SqlSelect selectRoot, final SqlMetadata sqlMetadata,
+                                                final GraphTraversalSource g) throws SQLException {
         if (selectRoot.getFrom() == null) {
             throw SqlGremlinError.createNotSupported(SqlGremlinError.UNSUPPORTED_LITERAL_EXPRESSION);
         } else if (selectRoot.getFrom() instanceof SqlJoin) {
+            if (GremlinSqlSelectJoinChain.isJoinChain((SqlJoin) selectRoot.getFrom())) {
+                return new GremlinSqlSelectJoinChain(selectRoot, (SqlJoin) selectRoot.getFrom(), sqlMetadata, g);
+            }
             return new GremlinSqlSelectMulti(selectRoot, (SqlJoin) selectRoot.getFrom(), sqlMetadata, g);
         } else if (selectRoot.getFrom() instanceof SqlBasicCall) {
             return new GremlinSqlSelectSingle(selectRoot, (SqlBasicCall) selectRoot.getFrom(), sqlMetadata, g);
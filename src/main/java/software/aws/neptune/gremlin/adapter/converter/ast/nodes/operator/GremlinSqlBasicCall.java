@@ -50,8 +50,9 @@ public class GremlinSqlBasicCall extends GremlinSqlNode {
         super(sqlBasicCall, sqlMetadata);
         this.sqlBasicCall = sqlBasicCall;
         gremlinSqlOperator =
-                GremlinSqlFactory.createOperator(sqlBasicCall.getOperator(), sqlBasicCall.getOperandList());
-        gremlinSqlNodes = GremlinSqlFactory.createNodeList(sqlBasicCall.getOperandList());
+                GremlinSqlFactory.createOperator(sqlBasicCall.getOperator(), sqlBasicCall.getOperandList(),
+                        sqlMetadata);
+        gremlinSqlNodes = GremlinSqlFactory.createNodeList(sqlBasicCall.getOperandList(), sqlMetadata);
     }
 
     void validate() throws SQLException {
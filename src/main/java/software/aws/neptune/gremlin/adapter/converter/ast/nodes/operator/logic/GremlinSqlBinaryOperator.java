@@ -200,7 +200,9 @@ public class GremlinSqlBinaryOperator extends GremlinSqlOperator {
                 graphTraversals[i] = __.coalesce(graphTraversals[i],
                         __.constant(sqlMetadata.getDefaultCoalesceValue(gremlinSqlBasicCall.getActual())));
             } else if (operands.get(i) instanceof GremlinSqlLiteral) {
-                ((GremlinSqlLiteral) operands.get(i)).appendTraversal(graphTraversals[i]);
+                final GremlinSqlLiteral gremlinSqlLiteral = (GremlinSqlLiteral) operands.get(i);
+                gremlinSqlLiteral.inferParameterType(operands.get((i == 0) ? 1 : 0));
+                gremlinSqlLiteral.appendTraversal(graphTraversals[i]);
             }
         }
         return graphTraversals;
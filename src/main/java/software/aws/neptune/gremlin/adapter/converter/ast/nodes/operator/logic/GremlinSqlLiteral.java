@@ -16,25 +16,43 @@
 
 package software.aws.neptune.gremlin.adapter.converter.ast.nodes.operator.logic;
 
+import org.apache.calcite.sql.SqlDynamicParam;
 import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.type.SqlTypeName;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import software.aws.neptune.gremlin.adapter.converter.SqlMetadata;
+import software.aws.neptune.gremlin.adapter.converter.SqlQueryParameter;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.GremlinSqlNode;
+import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operands.GremlinSqlIdentifier;
 
 import java.sql.SQLException;
 
 /**
- * This module is a GremlinSql equivalent of Calcite's SqlLiteral.
+ * This module is a GremlinSql equivalent of Calcite's SqlLiteral. A '?' placeholder is a literal as well, whose value
+ * is a SqlQueryParameter slot which is bound when the query runs.
  *
  * @author Lyndon Bauto (lyndonb@bitquilltech.com)
  */
 public class GremlinSqlLiteral extends GremlinSqlNode {
     final SqlLiteral sqlLiteral;
+    private final SqlDynamicParam sqlDynamicParam;
+    private final SqlMetadata sqlMetadata;
+    private String parameterType = null;
+
     public GremlinSqlLiteral(final SqlLiteral sqlLiteral,
                              final SqlMetadata sqlMetadata) {
         super(sqlLiteral, sqlMetadata);
         this.sqlLiteral = sqlLiteral;
+        this.sqlDynamicParam = null;
+        this.sqlMetadata = sqlMetadata;
+    }
+
+    public GremlinSqlLiteral(final SqlDynamicParam sqlDynamicParam,
+                             final SqlMetadata sqlMetadata) {
+        super(sqlDynamicParam, sqlMetadata);
+        this.sqlLiteral = null;
+        this.sqlDynamicParam = sqlDynamicParam;
+        this.sqlMetadata = sqlMetadata;
     }
 
     public void appendTraversal(final GraphTraversal<?, ?> graphTraversal) throws SQLException {
@@ -42,6 +60,26 @@ public class GremlinSqlLiteral extends GremlinSqlNode {
     }
 
     public Object getValue() {
+        if (sqlDynamicParam != null) {
+            return new SqlQueryParameter(sqlDynamicParam.getIndex(), parameterType);
+        }
         return (sqlLiteral.getTypeName().equals(SqlTypeName.CHAR)) ? sqlLiteral.toValue() : sqlLiteral.getValue();
     }
+
+    public boolean isParameter() {
+        return sqlDynamicParam != null;
+    }
+
+    /**
+     * Function to type a placeholder after the column it is compared with, so the bound value can be converted to
+     * the type of the column.
+     *
+     * @param operand Operand the literal is compared with.
+     * @throws SQLException If the type of the column cannot be determined.
+     */
+    public void inferParameterType(final GremlinSqlNode operand) throws SQLException {
+        if (isParameter() && operand instanceof GremlinSqlIdentifier) {
+            parameterType = sqlMetadata.getType(((GremlinSqlIdentifier) operand).getColumn());
+        }
+    }
 }
@@ -16,6 +16,8 @@
 
 package software.aws.neptune.gremlin.adapter.converter.ast.nodes.select;
 
+import org.apache.calcite.sql.SqlDynamicParam;
+import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNumericLiteral;
 import org.apache.calcite.sql.SqlSelect;
 import org.apache.tinkerpop.gremlin.process.traversal.translator.GroovyTranslator;
@@ -24,11 +26,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.aws.neptune.gremlin.adapter.converter.SqlMetadata;
+import software.aws.neptune.gremlin.adapter.converter.SqlQueryParameter;
+import software.aws.neptune.gremlin.adapter.converter.SqlQueryPlan;
 import software.aws.neptune.gremlin.adapter.converter.SqlTraversalEngine;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.GremlinSqlNode;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operands.GremlinSqlIdentifier;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operator.GremlinSqlBasicCall;
 import software.aws.neptune.gremlin.adapter.results.SqlGremlinQueryResult;
+import software.aws.neptune.gremlin.adapter.results.pagination.GetRowFromMap;
 import software.aws.neptune.gremlin.adapter.util.SqlGremlinError;
 
 import java.sql.SQLException;
@@ -54,40 +59,80 @@ public abstract class GremlinSqlSelect extends GremlinSqlNode {
     }
 
     public SqlGremlinQueryResult executeTraversal() throws SQLException {
+        final GraphTraversal<?, ?> graphTraversal = generateQueryTraversal();
+        final SqlQueryPlan sqlQueryPlan = getQueryPlan(graphTraversal);
+        if (sqlQueryPlan.isParameterized()) {
+            // Placeholders are bound in a copy of the bytecode, this fails on the placeholders which are not bound.
+            closeTraversal(graphTraversal);
+            return sqlQueryPlan.execute(g);
+        }
+        return sqlQueryPlan.execute(graphTraversal);
+    }
+
+    /**
+     * Function to translate the query into a plan, which can be executed again without translating the query.
+     *
+     * @return SqlQueryPlan of the query.
+     * @throws SQLException If the query cannot be translated.
+     */
+    public SqlQueryPlan generateQueryPlan() throws SQLException {
+        final GraphTraversal<?, ?> graphTraversal = generateQueryTraversal();
+        final SqlQueryPlan sqlQueryPlan = getQueryPlan(graphTraversal);
+        closeTraversal(graphTraversal);
+        return sqlQueryPlan;
+    }
+
+    private GraphTraversal<?, ?> generateQueryTraversal() throws SQLException {
         GraphTraversal<?, ?> graphTraversal = null;
         try {
             sqlMetadata.checkAggregate(sqlSelect.getSelectList());
             sqlMetadata.checkGroupByNodeIsNull(sqlSelect.getGroup());
             graphTraversal = generateTraversal();
             applyDistinct(graphTraversal);
-            applyOffset(graphTraversal);
-            applyLimit(graphTraversal);
-            final SqlGremlinQueryResult sqlGremlinQueryResult = generateSqlGremlinQueryResult();
-            runTraversalExecutor(graphTraversal, sqlGremlinQueryResult);
-            return sqlGremlinQueryResult;
-        } catch (final SQLException e) {
-            if (graphTraversal != null) {
-                try {
-                    graphTraversal.close();
-                } catch (final Exception ignored) {
-                }
+            if (!isRangePushedDown()) {
+                applyRange(graphTraversal);
             }
+            return graphTraversal;
+        } catch (final SQLException e) {
+            closeTraversal(graphTraversal);
             throw e;
         }
     }
 
-    private SqlGremlinQueryResult generateSqlGremlinQueryResult() throws SQLException {
-        final List<String> columns = new ArrayList<>();
-        sqlMetadata.getColumnOutputListMap().forEach((key, value) -> columns.addAll(value));
-        return new SqlGremlinQueryResult(columns, sqlMetadata);
+    private SqlQueryPlan getQueryPlan(final GraphTraversal<?, ?> graphTraversal) throws SQLException {
+        try {
+            final List<String> columns = new ArrayList<>();
+            sqlMetadata.getColumnOutputListMap().forEach((key, value) -> columns.addAll(value));
+            final List<String> columnTypes = new ArrayList<>();
+            for (final String column : columns) {
+                columnTypes.add(sqlMetadata.getType(column));
+            }
+            return new SqlQueryPlan(graphTraversal.asAdmin().getBytecode().clone(), columns, columnTypes,
+                    getRowReader());
+        } catch (final SQLException e) {
+            closeTraversal(graphTraversal);
+            throw e;
+        }
+    }
 
+    private static void closeTraversal(final GraphTraversal<?, ?> graphTraversal) {
+        if (graphTraversal != null) {
+            try {
+                graphTraversal.close();
+            } catch (final Exception ignored) {
+            }
+        }
     }
 
-    protected abstract void runTraversalExecutor(GraphTraversal<?, ?> traversal,
-                                                 SqlGremlinQueryResult sqlGremlinQueryResult) throws SQLException;
+    protected abstract GetRowFromMap getRowReader() throws SQLException;
 
     public String getStringTraversal() throws SQLException {
-        return GroovyTranslator.of("g").translate(generateTraversal().asAdmin().getBytecode()).toString();
+        final GraphTraversal<?, ?> graphTraversal = generateQueryTraversal();
+        try {
+            return GroovyTranslator.of("g").translate(graphTraversal.asAdmin().getBytecode()).toString();
+        } finally {
+            closeTraversal(graphTraversal);
+        }
     }
 
     public abstract GraphTraversal<?, ?> generateTraversal() throws SQLException;
@@ -118,7 +163,20 @@ public abstract class GremlinSqlSelect extends GremlinSqlNode {
             graphTraversal.by();
             return;
         }
+        SqlTraversalEngine.applyTraversal(graphTraversal, getColumnRetrieval(table, sqlNodeList, stepDirection));
+    }
 
+    /**
+     * Function to get the traversal which projects the columns of a table out of its element.
+     *
+     * @param table         Table of the columns.
+     * @param sqlNodeList   Columns to project, may not be empty.
+     * @param stepDirection Step from the traversed element to the element of the table.
+     * @return Traversal of the projected columns.
+     * @throws SQLException If a column cannot be projected.
+     */
+    protected GraphTraversal<?, ?> getColumnRetrieval(final String table, final List<GremlinSqlNode> sqlNodeList,
+                                                      final StepDirection stepDirection) throws SQLException {
         final GraphTraversal<?, ?> subGraphTraversal = applyColumnRenames(sqlNodeList, table);
         for (final GremlinSqlNode gremlinSqlNode : sqlNodeList) {
             if (gremlinSqlNode instanceof GremlinSqlIdentifier) {
@@ -136,7 +194,7 @@ public abstract class GremlinSqlSelect extends GremlinSqlNode {
                 throw SqlGremlinError.create(SqlGremlinError.UNKNOWN_NODE_SELECTLIST, gremlinSqlNode.getClass().getName());
             }
         }
-        SqlTraversalEngine.applyTraversal(graphTraversal, subGraphTraversal);
+        return subGraphTraversal;
     }
 
     protected void applyColumnRetrieval(final GraphTraversal<?, ?> graphTraversal, final String table,
@@ -144,23 +202,63 @@ public abstract class GremlinSqlSelect extends GremlinSqlNode {
         applyColumnRetrieval(graphTraversal, table, sqlNodeList, StepDirection.None);
     }
 
-    private void applyOffset(final GraphTraversal<?, ?> graphTraversal) throws SQLException {
-        // TODO: AN-885 implement OFFSET
-        // Gremlin doesn't seem to directly support offset,
-        // we probably need to inject numeric literal value
-        // into the pagination and have it know to jump the
-        // first X number of results.
-        if (sqlSelect.getOffset() != null) {
-            throw SqlGremlinError.createNotSupported(SqlGremlinError.OFFSET_NOT_SUPPORTED);
+    /**
+     * Function to check whether OFFSET and LIMIT are applied by generateTraversal, close to the source of the
+     * traversal, instead of at its end.
+     *
+     * @return True if generateTraversal applies the range.
+     */
+    protected boolean isRangePushedDown() {
+        return false;
+    }
+
+    /**
+     * Function to apply OFFSET and LIMIT to the traversal as a range of its results.
+     *
+     * @param graphTraversal Traversal to apply the range to.
+     * @throws SQLException If OFFSET or LIMIT is neither a numeric literal nor a placeholder.
+     */
+    protected void applyRange(final GraphTraversal<?, ?> graphTraversal) throws SQLException {
+        final Object offset = getRangeBound(sqlSelect.getOffset(), SqlGremlinError.OFFSET_NOT_SUPPORTED);
+        final Object limit = getRangeBound(sqlSelect.getFetch(), SqlGremlinError.LIMIT_NOT_SUPPORTED);
+        if (offset instanceof SqlQueryParameter || limit instanceof SqlQueryParameter) {
+            // The bounds of a placeholder are only known when the plan runs, so they cannot be added into one range
+            // step. Separate steps holding the slots are written to the bytecode, which is what a parameterized plan
+            // runs once its slots are bound.
+            if (offset != null) {
+                graphTraversal.asAdmin().getBytecode().addStep(GraphTraversal.Symbols.skip, offset);
+            }
+            if (limit != null) {
+                graphTraversal.asAdmin().getBytecode().addStep(GraphTraversal.Symbols.limit, limit);
+            }
+            return;
+        }
+        if (offset == null) {
+            if (limit != null) {
+                graphTraversal.limit((Long) limit);
+            }
+            return;
+        }
+        if (limit == null) {
+            graphTraversal.skip((Long) offset);
+        } else {
+            // An upper bound of -1 is the end of the results, which avoids overflowing for huge limits.
+            final long low = (Long) offset;
+            final long count = (Long) limit;
+            graphTraversal.range(low, (count > Long.MAX_VALUE - low) ? -1 : low + count);
         }
     }
 
-    private void applyLimit(final GraphTraversal<?, ?> graphTraversal) {
-        if (sqlSelect.getFetch() instanceof SqlNumericLiteral) {
-            final SqlNumericLiteral limit = (SqlNumericLiteral) sqlSelect.getFetch();
-            final Long limitValue = limit.getValueAs(Long.class);
-            graphTraversal.limit(limitValue);
+    private static Object getRangeBound(final SqlNode bound, final SqlGremlinError notSupported)
+            throws SQLException {
+        if (bound == null) {
+            return null;
+        } else if (bound instanceof SqlNumericLiteral) {
+            return ((SqlNumericLiteral) bound).getValueAs(Long.class);
+        } else if (bound instanceof SqlDynamicParam) {
+            return new SqlQueryParameter(((SqlDynamicParam) bound).getIndex(), "long");
         }
+        throw SqlGremlinError.createNotSupported(notSupported);
     }
 
     private void applyDistinct(final GraphTraversal<?, ?> graphTraversal) {
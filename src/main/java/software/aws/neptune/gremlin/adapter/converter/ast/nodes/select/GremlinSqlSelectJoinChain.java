@@ -0,0 +1,390 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.converter.ast.nodes.select;
+
+import org.apache.calcite.sql.JoinConditionType;
+import org.apache.calcite.sql.JoinType;
+import org.apache.calcite.sql.SqlBasicCall;
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlJoin;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlSelect;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import software.aws.neptune.gremlin.adapter.converter.PredicatePushdown;
+import software.aws.neptune.gremlin.adapter.converter.SqlMetadata;
+import software.aws.neptune.gremlin.adapter.converter.ast.nodes.GremlinSqlFactory;
+import software.aws.neptune.gremlin.adapter.converter.ast.nodes.GremlinSqlNode;
+import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operator.GremlinSqlAsOperator;
+import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operator.GremlinSqlBasicCall;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+import software.aws.neptune.gremlin.adapter.results.SqlGremlinQueryResult;
+import software.aws.neptune.gremlin.adapter.results.pagination.GetRowFromMap;
+import software.aws.neptune.gremlin.adapter.results.pagination.JoinDataReader;
+import software.aws.neptune.gremlin.adapter.util.SqlGremlinError;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This module is a GremlinSql equivalent of Calcite's SqlSelect for a chain of JOIN operations over edges, or a LEFT
+ * JOIN. The tables are visited in the order of the FROM clause by a single traversal, which steps from a table it
+ * already visited to the next one over the edge of the join condition and labels the vertex of each table with the
+ * name of the table. A LEFT joined table without a connected vertex is labelled with the null value instead.
+ * <p>
+ * Such joins support column projections, WHERE conditions on the columns of one INNER joined table, ORDER BY columns
+ * of INNER joined tables, DISTINCT, LIMIT and OFFSET.
+ */
+public class GremlinSqlSelectJoinChain extends GremlinSqlSelect {
+    private final SqlSelect sqlSelect;
+    private final SqlMetadata sqlMetadata;
+    private final GraphTraversalSource g;
+    private final SqlJoin sqlJoin;
+    private final Map<String, JoinedTable> joinedTables = new LinkedHashMap<>();
+
+    public GremlinSqlSelectJoinChain(final SqlSelect sqlSelect, final SqlJoin sqlJoin,
+                                     final SqlMetadata sqlMetadata, final GraphTraversalSource g) {
+        super(sqlSelect, sqlMetadata, g);
+        this.sqlSelect = sqlSelect;
+        this.sqlMetadata = sqlMetadata;
+        this.g = g;
+        this.sqlJoin = sqlJoin;
+    }
+
+    /**
+     * Function to check whether a join is translated as a chain, which is the case for joins of more than two tables
+     * and for LEFT joins.
+     *
+     * @param sqlJoin Join of the FROM clause.
+     * @return True if the join is translated by GremlinSqlSelectJoinChain.
+     */
+    public static boolean isJoinChain(final SqlJoin sqlJoin) {
+        return sqlJoin.getLeft() instanceof SqlJoin || sqlJoin.getJoinType() == JoinType.LEFT;
+    }
+
+    @Override
+    protected GetRowFromMap getRowReader() {
+        return new JoinDataReader(sqlMetadata.getColumnOutputListMap());
+    }
+
+    @Override
+    public GraphTraversal<?, ?> generateTraversal() throws SQLException {
+        if (sqlMetadata.getIsAggregate() || sqlSelect.getGroup() != null) {
+            throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_CHAIN_UNSUPPORTED, "GROUP BY");
+        }
+        if (sqlSelect.getHaving() != null) {
+            throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_CHAIN_UNSUPPORTED, "HAVING");
+        }
+        joinedTables.clear();
+        addJoinedTables(sqlJoin);
+        final Map<String, List<SqlNode>> filters = getFilters();
+
+        GraphTraversal<?, ?> graphTraversal = null;
+        try {
+            String current = null;
+            for (final JoinedTable joinedTable : joinedTables.values()) {
+                if (current == null) {
+                    graphTraversal = g.V().hasLabel(joinedTable.label);
+                    applyFilters(graphTraversal, joinedTable, filters);
+                } else if (joinedTable.isOptional) {
+                    final GraphTraversal<?, ?> hop = getHop(joinedTable, current);
+                    graphTraversal.coalesce((Traversal) hop,
+                            (Traversal) __.constant(SqlGremlinQueryResult.NULL_VALUE));
+                } else {
+                    graphTraversal = appendHop(graphTraversal, joinedTable, current);
+                    applyFilters(graphTraversal, joinedTable, filters);
+                }
+                graphTraversal.as(joinedTable.alias);
+                current = joinedTable.alias;
+            }
+            applyOrderBy(graphTraversal);
+            sqlMetadata.setIsDoneFilters(true);
+            applyProjection(graphTraversal);
+            return graphTraversal;
+        } catch (final SQLException e) {
+            if (graphTraversal != null) {
+                try {
+                    graphTraversal.close();
+                } catch (final Exception ignored) {
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void addJoinedTables(final SqlNode sqlNode) throws SQLException {
+        if (!(sqlNode instanceof SqlJoin)) {
+            addJoinedTable(sqlNode, null, false);
+            return;
+        }
+        final SqlJoin join = (SqlJoin) sqlNode;
+        addJoinedTables(join.getLeft());
+        if (join.getJoinType() != JoinType.INNER && join.getJoinType() != JoinType.LEFT) {
+            throw SqlGremlinError.createNotSupported(SqlGremlinError.INNER_JOIN_ONLY);
+        }
+        if (!join.getConditionType().equals(JoinConditionType.ON)) {
+            throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_ON_ONLY);
+        }
+        addJoinedTable(join.getRight(), join.getCondition(), join.getJoinType() == JoinType.LEFT);
+    }
+
+    private void addJoinedTable(final SqlNode sqlNode, final SqlNode condition, final boolean isOptional)
+            throws SQLException {
+        if (sqlNode instanceof SqlJoin) {
+            // Joins nested on the right side, 'a JOIN (b JOIN c)', are not chains.
+            throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_CHAIN_UNSUPPORTED, "A nested join");
+        }
+        final GremlinSqlBasicCall table =
+                GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlBasicCall.class, sqlMetadata);
+        if (!(table.getGremlinSqlOperator() instanceof GremlinSqlAsOperator)) {
+            throw SqlGremlinError.create(SqlGremlinError.LEFT_RIGHT_AS_OPERATOR);
+        }
+        final GremlinSqlAsOperator asOperator = (GremlinSqlAsOperator) table.getGremlinSqlOperator();
+        final String alias = asOperator.getRename();
+        sqlMetadata.addRenamedTable(asOperator.getActual(), alias);
+        final JoinedTable joinedTable =
+                new JoinedTable(alias, sqlMetadata.getGremlinTable(alias).getLabel(), isOptional);
+        if (condition != null) {
+            setEdge(joinedTable, condition);
+        }
+        joinedTables.put(alias, joinedTable);
+    }
+
+    /**
+     * Function to set the edge which connects a table to a table joined before it, from a condition of the form
+     * 'a.edge_OUT_ID = b.edge_IN_ID'.
+     */
+    private void setEdge(final JoinedTable joinedTable, final SqlNode condition) throws SQLException {
+        if (condition.getKind() != SqlKind.EQUALS) {
+            throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_EDGELESS_VERTICES);
+        }
+        final List<SqlNode> operands = ((SqlBasicCall) condition).getOperandList();
+        if (operands.size() != 2 || !isColumn(operands.get(0)) || !isColumn(operands.get(1))) {
+            throw SqlGremlinError.create(SqlGremlinError.LEFT_RIGHT_CONDITION_OPERANDS);
+        }
+        final boolean isLeftTable = ((SqlIdentifier) operands.get(0)).names.get(0).equals(joinedTable.alias);
+        final SqlIdentifier column = (SqlIdentifier) operands.get(isLeftTable ? 0 : 1);
+        final SqlIdentifier fromColumn = (SqlIdentifier) operands.get(isLeftTable ? 1 : 0);
+        final String from = fromColumn.names.get(0);
+        if (!column.names.get(0).equals(joinedTable.alias) || !joinedTables.containsKey(from)) {
+            throw SqlGremlinError.create(SqlGremlinError.NO_JOIN_COLUMN);
+        }
+        final String columnName = column.names.get(1);
+        final String fromColumnName = fromColumn.names.get(1);
+        if (!sqlMetadata.getIsColumnEdge(joinedTable.alias, columnName) ||
+                !sqlMetadata.getIsColumnEdge(from, fromColumnName)) {
+            throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_EDGELESS_VERTICES);
+        }
+        final String edgeLabel = getEdgeLabel(columnName);
+        final String fromEdgeLabel = getEdgeLabel(fromColumnName);
+        if (!edgeLabel.equals(fromEdgeLabel)) {
+            throw SqlGremlinError.create(SqlGremlinError.CANNOT_JOIN_DIFFERENT_EDGES, fromEdgeLabel, edgeLabel);
+        }
+        // 'a.edge_OUT_ID = b.edge_IN_ID' is an edge going out of a and into b.
+        if (fromColumnName.endsWith(GremlinTableBase.OUT_ID) && columnName.endsWith(GremlinTableBase.IN_ID)) {
+            joinedTable.isOut = true;
+        } else if (!fromColumnName.endsWith(GremlinTableBase.IN_ID) ||
+                !columnName.endsWith(GremlinTableBase.OUT_ID)) {
+            throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_EDGELESS_VERTICES);
+        }
+        joinedTable.from = from;
+        joinedTable.edgeLabel = sqlMetadata.getColumnEdgeLabel(fromColumnName);
+    }
+
+    private static boolean isColumn(final SqlNode sqlNode) {
+        return sqlNode instanceof SqlIdentifier && ((SqlIdentifier) sqlNode).names.size() == 2;
+    }
+
+    private static String getEdgeLabel(final String column) {
+        return column.replaceAll(GremlinTableBase.IN_ID, "").replaceAll(GremlinTableBase.OUT_ID, "");
+    }
+
+    /**
+     * Function to get the traversal from the vertex of a table joined before to the vertex of the given table.
+     */
+    private GraphTraversal<?, ?> getHop(final JoinedTable joinedTable, final String current) {
+        return appendHop(__.__(), joinedTable, current);
+    }
+
+    private GraphTraversal<?, ?> appendHop(final GraphTraversal<?, ?> graphTraversal, final JoinedTable joinedTable,
+                                           final String current) {
+        final JoinedTable fromTable = joinedTables.get(joinedTable.from);
+        GraphTraversal<?, ?> hop = graphTraversal;
+        if (!fromTable.alias.equals(current) || fromTable.isOptional) {
+            hop = hop.select(fromTable.alias);
+        }
+        if (fromTable.isOptional) {
+            // A table joined to a missing vertex has no vertex either.
+            hop = hop.not(__.is(SqlGremlinQueryResult.NULL_VALUE));
+        }
+        return (joinedTable.isOut ? hop.out(joinedTable.edgeLabel) : hop.in(joinedTable.edgeLabel))
+                .hasLabel(joinedTable.label);
+    }
+
+    /**
+     * Function to assign each condition of the WHERE clause to the INNER joined table whose columns it filters.
+     *
+     * @return Conditions of each table.
+     * @throws SQLException If a condition filters more than one table, a LEFT joined table, or cannot be pushed down.
+     */
+    private Map<String, List<SqlNode>> getFilters() throws SQLException {
+        final Map<String, List<SqlNode>> filters = new HashMap<>();
+        if (sqlSelect.getWhere() == null) {
+            return filters;
+        }
+        final List<SqlNode> conditions = new ArrayList<>();
+        addConditions(sqlSelect.getWhere(), conditions);
+        for (final SqlNode condition : conditions) {
+            final List<String> aliases = new ArrayList<>();
+            addAliases(condition, aliases);
+            final JoinedTable joinedTable = (aliases.size() == 1) ? joinedTables.get(aliases.get(0)) : null;
+            if (joinedTable == null || joinedTable.isOptional || !new PredicatePushdown(sqlMetadata,
+                    sqlMetadata.getGremlinTable(joinedTable.alias)).canApply(condition)) {
+                throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_CHAIN_WHERE);
+            }
+            filters.computeIfAbsent(joinedTable.alias, k -> new ArrayList<>()).add(condition);
+        }
+        return filters;
+    }
+
+    private static void addConditions(final SqlNode sqlNode, final List<SqlNode> conditions) {
+        if (sqlNode.getKind() == SqlKind.AND) {
+            for (final SqlNode operand : ((SqlBasicCall) sqlNode).getOperandList()) {
+                addConditions(operand, conditions);
+            }
+        } else {
+            conditions.add(sqlNode);
+        }
+    }
+
+    private static void addAliases(final SqlNode sqlNode, final List<String> aliases) {
+        if (sqlNode instanceof SqlIdentifier) {
+            // An unqualified column is added as an alias which matches no table.
+            final SqlIdentifier sqlIdentifier = (SqlIdentifier) sqlNode;
+            final String alias = (sqlIdentifier.names.size() == 2) ? sqlIdentifier.names.get(0) : "";
+            if (!aliases.contains(alias)) {
+                aliases.add(alias);
+            }
+        } else if (sqlNode instanceof SqlCall) {
+            for (final SqlNode operand : ((SqlCall) sqlNode).getOperandList()) {
+                if (operand != null) {
+                    addAliases(operand, aliases);
+                }
+            }
+        } else if (sqlNode instanceof SqlNodeList) {
+            for (final SqlNode operand : (SqlNodeList) sqlNode) {
+                addAliases(operand, aliases);
+            }
+        }
+    }
+
+    private void applyFilters(final GraphTraversal<?, ?> graphTraversal, final JoinedTable joinedTable,
+                              final Map<String, List<SqlNode>> filters) throws SQLException {
+        final PredicatePushdown predicatePushdown =
+                new PredicatePushdown(sqlMetadata, sqlMetadata.getGremlinTable(joinedTable.alias));
+        for (final SqlNode condition : filters.getOrDefault(joinedTable.alias, new ArrayList<>())) {
+            predicatePushdown.apply(condition, graphTraversal);
+        }
+    }
+
+    private void applyOrderBy(final GraphTraversal<?, ?> graphTraversal) throws SQLException {
+        if (sqlSelect.getOrderList() == null || sqlSelect.getOrderList().getList().isEmpty()) {
+            return;
+        }
+        graphTraversal.order();
+        for (final SqlNode sqlNode : sqlSelect.getOrderList().getList()) {
+            final boolean isDescending = sqlNode.getKind() == SqlKind.DESCENDING;
+            final SqlNode column = isDescending ? ((SqlBasicCall) sqlNode).getOperandList().get(0) : sqlNode;
+            final JoinedTable joinedTable =
+                    isColumn(column) ? joinedTables.get(((SqlIdentifier) column).names.get(0)) : null;
+            if (joinedTable == null || joinedTable.isOptional) {
+                throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_CHAIN_UNSUPPORTED,
+                        "ORDER BY " + sqlNode);
+            }
+            final String columnName = sqlMetadata.getActualColumnName(
+                    sqlMetadata.getGremlinTable(joinedTable.alias), ((SqlIdentifier) column).names.get(1));
+            if (columnName.endsWith(GremlinTableBase.ID)) {
+                throw SqlGremlinError.create(SqlGremlinError.CANNOT_GROUP_EDGES);
+            }
+            // A vertex without the property sorts by the default value, as in a query of a single table, instead of
+            // failing the comparison.
+            graphTraversal.by(__.coalesce(__.select(joinedTable.alias).values(columnName),
+                    __.constant(sqlMetadata.getDefaultCoalesceValue(columnName))),
+                    isDescending ? Order.desc : Order.asc);
+        }
+    }
+
+    private void applyProjection(final GraphTraversal<?, ?> graphTraversal) throws SQLException {
+        final Map<String, List<GremlinSqlNode>> tableColumns = new LinkedHashMap<>();
+        for (final SqlNode sqlNode : sqlSelect.getSelectList().getList()) {
+            final String alias = joinedTables.keySet().stream()
+                    .filter(table -> isTable(sqlNode, table))
+                    .findFirst()
+                    .orElseThrow(() -> SqlGremlinError.createNotSupported(
+                            SqlGremlinError.JOIN_CHAIN_UNSUPPORTED, "Selecting " + sqlNode));
+            tableColumns.computeIfAbsent(alias, k -> new ArrayList<>())
+                    .add(GremlinSqlFactory.createNode(sqlNode, sqlMetadata));
+        }
+        final List<String> aliases = new ArrayList<>(tableColumns.keySet());
+        graphTraversal.project(aliases.get(0), aliases.subList(1, aliases.size()).toArray(new String[0]));
+        for (final Map.Entry<String, List<GremlinSqlNode>> entry : tableColumns.entrySet()) {
+            final GraphTraversal<?, ?> tableTraversal = __.select(entry.getKey());
+            if (joinedTables.get(entry.getKey()).isOptional) {
+                // A missing vertex leaves its table out of the row, which reads its columns as null.
+                tableTraversal.not(__.is(SqlGremlinQueryResult.NULL_VALUE));
+            }
+            tableTraversal.map(getColumnRetrieval(entry.getKey(), entry.getValue(), StepDirection.None));
+            graphTraversal.by(tableTraversal);
+        }
+    }
+
+    private static boolean isTable(final SqlNode sqlNode, final String alias) {
+        try {
+            return GremlinSqlFactory.isTable(sqlNode, alias);
+        } catch (final SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Table of the join, along with the edge which connects it to the table it is joined to.
+     */
+    private static class JoinedTable {
+        private final String alias;
+        private final String label;
+        private final boolean isOptional;
+        private String from;
+        private String edgeLabel;
+        private boolean isOut;
+
+        JoinedTable(final String alias, final String label, final boolean isOptional) {
+            this.alias = alias;
+            this.label = label;
+            this.isOptional = isOptional;
+        }
+    }
+}
@@ -16,17 +16,19 @@
 
 package software.aws.neptune.gremlin.adapter.converter.ast.nodes.select;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.calcite.sql.JoinConditionType;
 import org.apache.calcite.sql.JoinType;
 import org.apache.calcite.sql.SqlBasicCall;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlJoin;
 import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlOperator;
 import org.apache.calcite.sql.SqlPrefixOperator;
 import org.apache.calcite.sql.SqlSelect;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.parser.SqlParserPos;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -34,6 +36,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Column;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.aws.neptune.gremlin.adapter.converter.JoinPlanner;
+import software.aws.neptune.gremlin.adapter.converter.PredicatePushdown;
 import software.aws.neptune.gremlin.adapter.converter.SqlMetadata;
 import software.aws.neptune.gremlin.adapter.converter.SqlTraversalEngine;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.GremlinSqlFactory;
@@ -44,9 +48,8 @@ import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operator.Gremlin
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operator.logic.GremlinSqlLiteral;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.select.join.GremlinSqlJoinComparison;
 import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
-import software.aws.neptune.gremlin.adapter.results.SqlGremlinQueryResult;
+import software.aws.neptune.gremlin.adapter.results.pagination.GetRowFromMap;
 import software.aws.neptune.gremlin.adapter.results.pagination.JoinDataReader;
-import software.aws.neptune.gremlin.adapter.results.pagination.Pagination;
 import software.aws.neptune.gremlin.adapter.util.SQLNotSupportedException;
 import software.aws.neptune.gremlin.adapter.util.SqlGremlinError;
 
@@ -54,8 +57,6 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 import static software.aws.neptune.gremlin.adapter.converter.ast.nodes.GremlinSqlFactory.createNode;
@@ -83,17 +84,12 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
     }
 
     @Override
-    protected void runTraversalExecutor(final GraphTraversal<?, ?> graphTraversal,
-                                        final SqlGremlinQueryResult sqlGremlinQueryResult) throws SQLException {
-        // Launch thread to continue grabbing results.
-        final ExecutorService executor = Executors.newSingleThreadExecutor(
-                new ThreadFactoryBuilder().setNameFormat("Data-Insert-Thread-%d").setDaemon(true).build());
+    protected GetRowFromMap getRowReader() throws SQLException {
         final Map<String, List<String>> tableColumns = sqlMetadata.getColumnOutputListMap();
         if (tableColumns.keySet().size() > 2) {
             throw SqlGremlinError.create(SqlGremlinError.JOIN_TABLE_COUNT);
         }
-        executor.execute(new Pagination(new JoinDataReader(tableColumns), graphTraversal, sqlGremlinQueryResult));
-        executor.shutdown();
+        return new JoinDataReader(tableColumns);
     }
 
     @Override
@@ -102,11 +98,11 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
         final JoinConditionType conditionType = sqlJoin.getConditionType();
 
         final GremlinSqlBasicCall left =
-                GremlinSqlFactory.createNodeCheckType(sqlJoin.getLeft(), GremlinSqlBasicCall.class);
+                GremlinSqlFactory.createNodeCheckType(sqlJoin.getLeft(), GremlinSqlBasicCall.class, sqlMetadata);
         final GremlinSqlBasicCall right =
-                GremlinSqlFactory.createNodeCheckType(sqlJoin.getRight(), GremlinSqlBasicCall.class);
+                GremlinSqlFactory.createNodeCheckType(sqlJoin.getRight(), GremlinSqlBasicCall.class, sqlMetadata);
         final GremlinSqlJoinComparison gremlinSqlJoinComparison =
-                GremlinSqlFactory.createJoinEquality(sqlJoin.getCondition());
+                GremlinSqlFactory.createJoinEquality(sqlJoin.getCondition(), sqlMetadata);
 
         if (!joinType.name().equals(JoinType.INNER.name())) {
             throw SqlGremlinError.createNotSupported(SqlGremlinError.INNER_JOIN_ONLY);
@@ -135,7 +131,7 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
 
         if (!sqlMetadata.getIsColumnEdge(leftTableRename, leftColumn) ||
                 !sqlMetadata.getIsColumnEdge(rightTableRename, rightColumn)) {
-            throw SqlGremlinError.create(SqlGremlinError.JOIN_EDGELESS_VERTICES);
+            throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_EDGELESS_VERTICES);
         }
 
         final String edgeLabelRight =
@@ -148,14 +144,14 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
 
         if (rightColumn.endsWith(GremlinTableBase.IN_ID)) {
             if (!leftColumn.endsWith(GremlinTableBase.OUT_ID)) {
-                throw SqlGremlinError.create(SqlGremlinError.JOIN_EDGELESS_VERTICES);
+                throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_EDGELESS_VERTICES);
             }
         } else if (rightColumn.endsWith(GremlinTableBase.OUT_ID)) {
             if (!leftColumn.endsWith(GremlinTableBase.IN_ID)) {
-                throw SqlGremlinError.create(SqlGremlinError.JOIN_EDGELESS_VERTICES);
+                throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_EDGELESS_VERTICES);
             }
         } else {
-            throw SqlGremlinError.create(SqlGremlinError.JOIN_EDGELESS_VERTICES);
+            throw SqlGremlinError.createNotSupported(SqlGremlinError.JOIN_EDGELESS_VERTICES);
         }
 
         final String edgeLabel = sqlMetadata.getColumnEdgeLabel(leftColumn);
@@ -207,17 +203,15 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
         final List<GremlinSqlNode> gremlinSqlNodesOut = new ArrayList<>();
         for (final SqlNode sqlNode : sqlSelect.getSelectList().getList()) {
             if (GremlinSqlFactory.isTable(sqlNode, inVRename)) {
-                gremlinSqlNodesIn.add(GremlinSqlFactory.createNode(sqlNode));
+                gremlinSqlNodesIn.add(GremlinSqlFactory.createNode(sqlNode, sqlMetadata));
             } else if (GremlinSqlFactory.isTable(sqlNode, outVRename)) {
-                gremlinSqlNodesOut.add(GremlinSqlFactory.createNode(sqlNode));
+                gremlinSqlNodesOut.add(GremlinSqlFactory.createNode(sqlNode, sqlMetadata));
             }
         }
 
         GraphTraversal<?, ?> graphTraversal = null;
         try {
-            graphTraversal = g.E().hasLabel(edgeLabel)
-                    .where(__.inV().hasLabel(inVLabel))
-                    .where(__.outV().hasLabel(outVLabel));
+            graphTraversal = getJoinStart(edgeLabel, inVLabel, outVLabel, inVRename, outVRename);
             applyWhere(graphTraversal, inVRename, outVRename);
             applyGroupBy(graphTraversal, edgeLabel, inVRename, outVRename);
             applySelectValues(graphTraversal);
@@ -240,6 +234,109 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
         }
     }
 
+    /**
+     * Function to get the traversal of the edges joining the two tables. The traversal starts from the edges, or from
+     * the vertices of one side with the filters of that side pushed down on them, whichever JoinPlanner estimates to
+     * be the cheapest. The pushed down filters keep every vertex the WHERE clause keeps, which is still applied to
+     * the edges afterwards.
+     *
+     * @return Traversal of the edges of the join.
+     * @throws SQLException If the tables of the join cannot be found.
+     */
+    private GraphTraversal<?, ?> getJoinStart(final String edgeLabel, final String inVLabel, final String outVLabel,
+                                              final String inVRename, final String outVRename) throws SQLException {
+        final SqlNode inVFilter = getVertexFilter(inVRename);
+        final SqlNode outVFilter = getVertexFilter(outVRename);
+        final JoinPlanner.Start start = inVRename.isEmpty() ? JoinPlanner.Start.EDGE :
+                JoinPlanner.getStart(getRowCount(edgeLabel), getRowCount(inVRename), getRowCount(outVRename),
+                        JoinPlanner.getSelectivity(inVFilter), JoinPlanner.getSelectivity(outVFilter));
+        LOGGER.debug("Join over edge '{}' starts from {}.", edgeLabel, start);
+        switch (start) {
+            case IN_VERTEX:
+                final GraphTraversal<?, ?> inVTraversal = g.V().hasLabel(inVLabel);
+                new PredicatePushdown(sqlMetadata, sqlMetadata.getGremlinTable(inVRename))
+                        .apply(inVFilter, inVTraversal);
+                return inVTraversal.inE(edgeLabel).where(__.outV().hasLabel(outVLabel));
+            case OUT_VERTEX:
+                final GraphTraversal<?, ?> outVTraversal = g.V().hasLabel(outVLabel);
+                new PredicatePushdown(sqlMetadata, sqlMetadata.getGremlinTable(outVRename))
+                        .apply(outVFilter, outVTraversal);
+                return outVTraversal.outE(edgeLabel).where(__.inV().hasLabel(inVLabel));
+            default:
+                return g.E().hasLabel(edgeLabel)
+                        .where(__.inV().hasLabel(inVLabel))
+                        .where(__.outV().hasLabel(outVLabel));
+        }
+    }
+
+    private Long getRowCount(final String table) throws SQLException {
+        return sqlMetadata.getGremlinTable(table).getRowCount();
+    }
+
+    /**
+     * Function to get the conditions of the WHERE clause which only filter the vertices of one table and can be
+     * pushed down on them.
+     *
+     * @param tableRename Name of the table in the query.
+     * @return AND of the conditions, null if there are none.
+     * @throws SQLException If the table cannot be found.
+     */
+    private SqlNode getVertexFilter(final String tableRename) throws SQLException {
+        if (sqlSelect.getWhere() == null || tableRename.isEmpty()) {
+            return null;
+        }
+        final PredicatePushdown predicatePushdown =
+                new PredicatePushdown(sqlMetadata, sqlMetadata.getGremlinTable(tableRename));
+        final List<SqlNode> conditions = new ArrayList<>();
+        addConditions(sqlSelect.getWhere(), conditions);
+        SqlNode filter = null;
+        for (final SqlNode condition : conditions) {
+            if (isVertexCondition(condition, tableRename) && predicatePushdown.canApply(condition)) {
+                filter = (filter == null) ? condition :
+                        SqlStdOperatorTable.AND.createCall(SqlParserPos.ZERO, filter, condition);
+            }
+        }
+        return filter;
+    }
+
+    private static void addConditions(final SqlNode sqlNode, final List<SqlNode> conditions) {
+        if (sqlNode.getKind() == SqlKind.AND) {
+            for (final SqlNode operand : ((SqlBasicCall) sqlNode).getOperandList()) {
+                addConditions(operand, conditions);
+            }
+        } else {
+            conditions.add(sqlNode);
+        }
+    }
+
+    private static boolean isVertexCondition(final SqlNode sqlNode, final String tableRename) {
+        // Only the forms applySqlFilter applies are pushed down. NOT is left out, since the pushed down filter keeps
+        // elements without the property where applySqlFilter negates a has() which drops them.
+        if (sqlNode instanceof SqlIdentifier) {
+            final SqlIdentifier sqlIdentifier = (SqlIdentifier) sqlNode;
+            return sqlIdentifier.names.size() == 2 && sqlIdentifier.names.get(0).equals(tableRename);
+        } else if (!(sqlNode instanceof SqlBasicCall)) {
+            return false;
+        }
+        final List<SqlNode> operands = ((SqlBasicCall) sqlNode).getOperandList();
+        switch (sqlNode.getKind()) {
+            case AND:
+            case OR:
+                return operands.size() == 2 && isVertexCondition(operands.get(0), tableRename) &&
+                        isVertexCondition(operands.get(1), tableRename);
+            case EQUALS:
+            case NOT_EQUALS:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                return operands.size() == 2 && isVertexCondition(operands.get(0), tableRename) &&
+                        operands.get(1) instanceof SqlLiteral;
+            default:
+                return false;
+        }
+    }
+
     private void applySelectValues(final GraphTraversal<?, ?> graphTraversal) {
         graphTraversal.select(Column.values);
     }
@@ -253,7 +350,8 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
         } else {
             final List<GremlinSqlIdentifier> gremlinSqlIdentifiers = new ArrayList<>();
             for (final SqlNode sqlNode : sqlSelect.getGroup().getList()) {
-                gremlinSqlIdentifiers.add(GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class));
+                gremlinSqlIdentifiers.add(
+                        GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class, sqlMetadata));
             }
             graphTraversal.group();
             final List<GraphTraversal> byUnion = new ArrayList<>();
@@ -293,7 +391,8 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
         }
         final List<GremlinSqlIdentifier> gremlinSqlIdentifiers = new ArrayList<>();
         for (final SqlNode sqlNode : sqlSelect.getOrderList().getList()) {
-            gremlinSqlIdentifiers.add(GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class));
+            gremlinSqlIdentifiers.add(
+                    GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class, sqlMetadata));
         }
         final GremlinTableBase outVTable = sqlMetadata.getGremlinTable(outVRename);
         final GremlinTableBase inVTable = sqlMetadata.getGremlinTable(inVRename);
@@ -368,19 +467,22 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
                     }
                     return;
                 }
-                GremlinSqlNode op1 = createNode(sqlBasicCall.getOperandList().get(0));
+                GremlinSqlNode op1 = createNode(sqlBasicCall.getOperandList().get(0), sqlMetadata);
                 final GremlinSqlLiteral gremlinSqlLiteral;
                 try {
                     gremlinSqlLiteral = GremlinSqlFactory
-                            .createNodeCheckType(sqlBasicCall.getOperandList().get(1), GremlinSqlLiteral.class);
+                            .createNodeCheckType(sqlBasicCall.getOperandList().get(1), GremlinSqlLiteral.class,
+                                    sqlMetadata);
                 } catch (SQLException e) {
                     throw SqlGremlinError.createNotSupported(SqlGremlinError.UNSUPPORTED_BASIC_LITERALS);
                 }
+                gremlinSqlLiteral.inferParameterType(op1);
                 P<Object> value = getPBySqlComparison(sqlBasicCall, gremlinSqlLiteral.getValue());
                 if (op1 instanceof GremlinSqlIdentifier) {
                     // if the first operand == GremlinSqlIdentifier => then a request of the form "op1 OPERATOR value"
                     final GremlinSqlIdentifier gremlinSqlIdentifier = GremlinSqlFactory
-                            .createNodeCheckType(sqlBasicCall.getOperandList().get(0), GremlinSqlIdentifier.class);
+                            .createNodeCheckType(sqlBasicCall.getOperandList().get(0), GremlinSqlIdentifier.class,
+                                    sqlMetadata);
                     generateTraversal(graphTraversal, gremlinSqlIdentifier, inVRename, outVRename, value);
                 } else if (op1 instanceof GremlinSqlBasicCall) {
                     // if the first operand == GremlinSqlBasicCall =>
@@ -389,7 +491,7 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
                     final GremlinSqlIdentifier gremlinSqlIdentifier = GremlinSqlFactory
                             .createNodeCheckType(
                                     gremlinSqlBasicCall.getSqlBasicCall().getOperandList().get(0),
-                                    GremlinSqlIdentifier.class);
+                                    GremlinSqlIdentifier.class, sqlMetadata);
                     final SqlOperator operator = gremlinSqlBasicCall.getSqlBasicCall().getOperator();
                     Function<GraphTraversal<?, ?>, GraphTraversal<?, ?>> function =
                             getTraversalFunctionByOperator(operator);
@@ -416,7 +518,7 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
             return;
         } else if (sqlNode instanceof SqlIdentifier) {
             final GremlinSqlIdentifier gremlinSqlIdentifier = GremlinSqlFactory
-                    .createNodeCheckType(sqlNode, GremlinSqlIdentifier.class);
+                    .createNodeCheckType(sqlNode, GremlinSqlIdentifier.class, sqlMetadata);
             generateTraversal(graphTraversal, gremlinSqlIdentifier, inVRename, outVRename, true);
             return;
         }
@@ -16,20 +16,22 @@
 
 package software.aws.neptune.gremlin.adapter.converter.ast.nodes.select;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.calcite.sql.SqlAggFunction;
 import org.apache.calcite.sql.SqlBasicCall;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlPrefixOperator;
 import org.apache.calcite.sql.SqlSelect;
-import org.apache.tinkerpop.gremlin.process.traversal.translator.GroovyTranslator;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
 import org.apache.tinkerpop.gremlin.structure.Column;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.aws.neptune.gremlin.adapter.converter.PredicatePushdown;
 import software.aws.neptune.gremlin.adapter.converter.SqlMetadata;
 import software.aws.neptune.gremlin.adapter.converter.SqlTraversalEngine;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.GremlinSqlFactory;
@@ -42,17 +44,18 @@ import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operator.Gremlin
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operator.logic.GremlinSqlBinaryOperator;
 import software.aws.neptune.gremlin.adapter.converter.ast.nodes.operator.logic.GremlinSqlLiteral;
 import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
-import software.aws.neptune.gremlin.adapter.results.SqlGremlinQueryResult;
-import software.aws.neptune.gremlin.adapter.results.pagination.Pagination;
+import software.aws.neptune.gremlin.adapter.results.pagination.GetRowFromMap;
+import software.aws.neptune.gremlin.adapter.results.pagination.PropertyMapDataReader;
 import software.aws.neptune.gremlin.adapter.results.pagination.SimpleDataReader;
 import software.aws.neptune.gremlin.adapter.util.SqlGremlinError;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Set;
 
 /**
  * This module is a GremlinSql equivalent of Calcite's SqlSelect for a non-JOIN operation.
@@ -61,10 +64,15 @@ import java.util.concurrent.Executors;
  */
 public class GremlinSqlSelectSingle extends GremlinSqlSelect {
     private static final Logger LOGGER = LoggerFactory.getLogger(GremlinSqlSelectSingle.class);
+    private static final Set<SqlKind> SIMPLE_AGGREGATES =
+            EnumSet.of(SqlKind.COUNT, SqlKind.SUM, SqlKind.MIN, SqlKind.MAX, SqlKind.AVG);
     private final SqlSelect sqlSelect;
     private final SqlMetadata sqlMetadata;
     private final GraphTraversalSource g;
     private final SqlBasicCall sqlBasicCall;
+    // Keys read by PropertyMapDataReader, null when the columns are retrieved through project().
+    private List<Object> propertyMapKeys = null;
+    private final Map<String, SqlIdentifier> traversedColumns = new LinkedHashMap<>();
 
     public GremlinSqlSelectSingle(final SqlSelect sqlSelect,
                                   final SqlBasicCall sqlBasicCall,
@@ -77,19 +85,16 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
     }
 
     @Override
-    protected void runTraversalExecutor(final GraphTraversal<?, ?> graphTraversal,
-                                        final SqlGremlinQueryResult sqlGremlinQueryResult) throws SQLException {
-        // Launch thread to continue grabbing results.
-        final ExecutorService executor = Executors.newSingleThreadExecutor(
-                new ThreadFactoryBuilder().setNameFormat("Data-Insert-Thread-%d").setDaemon(true).build());
+    protected GetRowFromMap getRowReader() throws SQLException {
         final List<List<String>> columns = new ArrayList<>(sqlMetadata.getColumnOutputListMap().values());
         if (columns.size() != 1) {
             throw SqlGremlinError.create(SqlGremlinError.SINGLE_SELECT_MULTI_RETURN);
         }
-        executor.execute(new Pagination(new SimpleDataReader(
-                sqlMetadata.getRenameFromActual(sqlMetadata.getTables().iterator().next().getLabel()), columns.get(0)),
-                graphTraversal, sqlGremlinQueryResult));
-        executor.shutdown();
+        if (propertyMapKeys != null) {
+            return new PropertyMapDataReader(propertyMapKeys, new ArrayList<>(traversedColumns.keySet()));
+        }
+        return new SimpleDataReader(
+                sqlMetadata.getRenameFromActual(sqlMetadata.getTables().iterator().next().getLabel()), columns.get(0));
     }
 
     @Override
@@ -99,11 +104,13 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         }
 
         final GremlinSqlOperator gremlinSqlOperator =
-                GremlinSqlFactory.createOperator(sqlBasicCall.getOperator(), sqlBasicCall.getOperandList());
+                GremlinSqlFactory.createOperator(sqlBasicCall.getOperator(), sqlBasicCall.getOperandList(),
+                        sqlMetadata);
         if (!(gremlinSqlOperator instanceof GremlinSqlAsOperator)) {
             throw SqlGremlinError.create(SqlGremlinError.UNEXPECTED_FROM_FORMAT);
         }
-        final List<GremlinSqlNode> gremlinSqlOperands = GremlinSqlFactory.createNodeList(sqlBasicCall.getOperandList());
+        final List<GremlinSqlNode> gremlinSqlOperands =
+                GremlinSqlFactory.createNodeList(sqlBasicCall.getOperandList(), sqlMetadata);
         final List<GremlinSqlIdentifier> gremlinSqlIdentifiers = new ArrayList<>();
         for (final GremlinSqlNode gremlinSqlOperand : gremlinSqlOperands) {
             if (!(gremlinSqlOperand instanceof GremlinSqlIdentifier)) {
@@ -113,10 +120,16 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         }
 
         GraphTraversal<?, ?> graphTraversal = null;
+        propertyMapKeys = null;
+        traversedColumns.clear();
         try {
             graphTraversal =
                     SqlTraversalEngine.generateInitialSql(gremlinSqlIdentifiers, sqlMetadata, g);
             final String label = sqlMetadata.getActualTableName(gremlinSqlIdentifiers.get(0).getName(1));
+            if (isAggregateFastPath(label)) {
+                applyAggregateFastPath(gremlinSqlIdentifiers, graphTraversal, label);
+                return graphTraversal;
+            }
 
             // This function basically generates the latter parts of the traversal, by doing this it prepares all the
             // renamed labels in the metadata so that queries like 'SELECT foo AS bar FROM baz ORDER BY bar'
@@ -125,13 +138,24 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
             generateDataRetrieval(gremlinSqlIdentifiers, __.__());
 
             // Generate actual traversal.
-            applyWhere(graphTraversal);
-            applyGroupBy(graphTraversal, label);
-            applySelectValues(graphTraversal);
+            applyWhere(graphTraversal, label);
+            if (!isPlainProjection()) {
+                applyGroupBy(graphTraversal, label);
+                applySelectValues(graphTraversal);
+            }
             applyOrderBy(graphTraversal, label);
+            if (isRangePushedDown()) {
+                // Elements outside of the range are dropped before their columns are retrieved.
+                applyRange(graphTraversal);
+            }
             applyHaving(graphTraversal);
             sqlMetadata.setIsDoneFilters(true);
-            generateDataRetrieval(gremlinSqlIdentifiers, graphTraversal);
+            propertyMapKeys = getPropertyMapKeys(label);
+            if (propertyMapKeys != null) {
+                applyPropertyMapRetrieval(graphTraversal);
+            } else {
+                generateDataRetrieval(gremlinSqlIdentifiers, graphTraversal);
+            }
 
             if (sqlMetadata.getRenamedColumns() == null) {
                 throw SqlGremlinError.create(SqlGremlinError.COLUMN_RENAME_LIST_EMPTY);
@@ -151,6 +175,193 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         }
     }
 
+    /**
+     * Function to check whether the query is a simple aggregate which can skip the generic grouping and projection.
+     * This is the case when every column is COUNT, SUM, MIN, MAX or AVG of a property (or COUNT(*)) or the single
+     * GROUP BY property, the WHERE clause can be pushed down completely and there is no HAVING or ORDER BY.
+     *
+     * @param label Label of the table.
+     * @return True if applyAggregateFastPath can translate the query.
+     * @throws SQLException If the metadata of a column cannot be read.
+     */
+    private boolean isAggregateFastPath(final String label) throws SQLException {
+        if (!sqlMetadata.getIsAggregate() || sqlSelect.getHaving() != null ||
+                (sqlSelect.getOrderList() != null && !sqlSelect.getOrderList().getList().isEmpty())) {
+            return false;
+        }
+        final GremlinTableBase gremlinTable = sqlMetadata.getGremlinTable(label);
+        String groupColumn = null;
+        if (sqlSelect.getGroup() != null && !sqlSelect.getGroup().getList().isEmpty()) {
+            if (sqlSelect.getGroup().getList().size() != 1) {
+                return false;
+            }
+            groupColumn = getPropertyColumn(gremlinTable, sqlSelect.getGroup().getList().get(0));
+            if (groupColumn == null) {
+                return false;
+            }
+        }
+        for (SqlNode sqlNode : sqlSelect.getSelectList().getList()) {
+            if (sqlNode.getKind() == SqlKind.AS) {
+                sqlNode = ((SqlBasicCall) sqlNode).getOperandList().get(0);
+            }
+            if (sqlNode instanceof SqlIdentifier) {
+                if (groupColumn == null || !groupColumn.equals(getPropertyColumn(gremlinTable, sqlNode))) {
+                    return false;
+                }
+            } else if (!isSimpleAggregate(gremlinTable, sqlNode)) {
+                return false;
+            }
+        }
+        return new PredicatePushdown(sqlMetadata, gremlinTable).canApply(sqlSelect.getWhere());
+    }
+
+    private boolean isSimpleAggregate(final GremlinTableBase gremlinTable, final SqlNode sqlNode)
+            throws SQLException {
+        if (!(sqlNode instanceof SqlBasicCall) || !(((SqlBasicCall) sqlNode).getOperator() instanceof SqlAggFunction)) {
+            return false;
+        }
+        final SqlBasicCall sqlBasicCall = (SqlBasicCall) sqlNode;
+        if (!SIMPLE_AGGREGATES.contains(sqlBasicCall.getKind()) || sqlBasicCall.getFunctionQuantifier() != null ||
+                sqlBasicCall.getOperandList().size() != 1) {
+            return false;
+        }
+        final SqlNode operand = sqlBasicCall.getOperandList().get(0);
+        if (operand instanceof SqlIdentifier && ((SqlIdentifier) operand).isStar()) {
+            return sqlBasicCall.getKind() == SqlKind.COUNT;
+        }
+        return getPropertyColumn(gremlinTable, operand) != null;
+    }
+
+    private String getPropertyColumn(final GremlinTableBase gremlinTable, final SqlNode sqlNode) throws SQLException {
+        if (!(sqlNode instanceof SqlIdentifier) || ((SqlIdentifier) sqlNode).isStar()) {
+            return null;
+        }
+        final SqlIdentifier sqlIdentifier = (SqlIdentifier) sqlNode;
+        final String column = sqlIdentifier.names.get(sqlIdentifier.names.size() - 1);
+        if (!sqlMetadata.getTableHasColumn(gremlinTable, column)) {
+            return null;
+        }
+        final String actualColumn = sqlMetadata.getActualColumnName(gremlinTable, column);
+        return actualColumn.endsWith(GremlinTableBase.ID) ? null : actualColumn;
+    }
+
+    /**
+     * Function to translate a simple aggregate into a fold(), or a single group() for GROUP BY, of the filtered
+     * elements followed by one projection of the aggregates:
+     * g.V().hasLabel(x).has(...).fold().project(t).by(project(c).by(unfold().values(k).sum())).
+     *
+     * @param gremlinSqlIdentifiers Identifiers of the table and its alias.
+     * @param graphTraversal        Traversal of the elements of the table.
+     * @param label                 Label of the table.
+     * @throws SQLException If the aggregates cannot be translated.
+     */
+    private void applyAggregateFastPath(final List<GremlinSqlIdentifier> gremlinSqlIdentifiers,
+                                        final GraphTraversal<?, ?> graphTraversal, final String label)
+            throws SQLException {
+        final String projectLabel = gremlinSqlIdentifiers.get(1).getName(0);
+        final List<GremlinSqlNode> gremlinSqlNodes =
+                GremlinSqlFactory.createNodeList(sqlSelect.getSelectList().getList(), sqlMetadata);
+        // Renaming the columns first registers their output types, which the pushed down filters depend on.
+        final GraphTraversal<?, ?> columnTraversal = applyColumnRenames(gremlinSqlNodes, projectLabel);
+        for (final GremlinSqlNode gremlinSqlNode : gremlinSqlNodes) {
+            final GraphTraversal<?, ?> aggregateTraversal = __.unfold();
+            if (gremlinSqlNode instanceof GremlinSqlIdentifier) {
+                SqlTraversalEngine.applySqlIdentifier((GremlinSqlIdentifier) gremlinSqlNode, sqlMetadata,
+                        aggregateTraversal);
+            } else {
+                ((GremlinSqlBasicCall) gremlinSqlNode).generateTraversal(aggregateTraversal);
+            }
+            // An aggregate without values, like the SUM of no elements, leaves its column out, which reads as NULL.
+            SqlTraversalEngine.applyTraversal(columnTraversal, aggregateTraversal);
+        }
+        SqlTraversalEngine.applyPredicatePushdown(sqlSelect.getWhere(), label, sqlMetadata, graphTraversal);
+        final boolean isGrouped = sqlSelect.getGroup() != null && !sqlSelect.getGroup().getList().isEmpty();
+        final GraphTraversal<?, ?> rowTraversal = isGrouped ? __.fold() : graphTraversal.fold();
+        SqlTraversalEngine.addProjection(gremlinSqlIdentifiers, sqlMetadata, rowTraversal);
+        SqlTraversalEngine.applyTraversal(rowTraversal, columnTraversal);
+        if (isGrouped) {
+            // Elements without the property are grouped together, as the NULL group.
+            final String groupColumn =
+                    getPropertyColumn(sqlMetadata.getGremlinTable(label), sqlSelect.getGroup().getList().get(0));
+            graphTraversal.group().by(__.values(groupColumn).fold()).by(rowTraversal).select(Column.values).unfold();
+        }
+        sqlMetadata.setIsDoneFilters(true);
+    }
+
+    /**
+     * Function to get the keys of the columns of a plain projection, which retrieves all properties with a single
+     * valueMap() step per element instead of a project() with a traversal per column. Ids of connected elements
+     * still need a traversal each, they are collected in traversedColumns.
+     *
+     * @param label Label of the table.
+     * @return Key of each column, a property name, T.id or a traversed column, null if valueMap() does not apply.
+     * @throws SQLException If the metadata of a column cannot be read.
+     */
+    private List<Object> getPropertyMapKeys(final String label) throws SQLException {
+        if (!isPlainProjection()) {
+            return null;
+        }
+        final GremlinTableBase gremlinTable = sqlMetadata.getGremlinTable(label);
+        final List<Object> keys = new ArrayList<>();
+        boolean hasProperty = false;
+        for (SqlNode sqlNode : sqlSelect.getSelectList().getList()) {
+            if (sqlNode.getKind() == SqlKind.AS) {
+                sqlNode = ((SqlBasicCall) sqlNode).getOperandList().get(0);
+            }
+            if (!(sqlNode instanceof SqlIdentifier) || ((SqlIdentifier) sqlNode).isStar()) {
+                return null;
+            }
+            final SqlIdentifier sqlIdentifier = (SqlIdentifier) sqlNode;
+            final String column = sqlIdentifier.names.get(sqlIdentifier.names.size() - 1);
+            if (!gremlinTable.hasColumn(column)) {
+                return null;
+            }
+            final String actualColumn = sqlMetadata.getActualColumnName(gremlinTable, column);
+            if (!actualColumn.endsWith(GremlinTableBase.ID)) {
+                keys.add(actualColumn);
+                hasProperty = true;
+            } else if (actualColumn.equalsIgnoreCase(gremlinTable.getLabel() + GremlinTableBase.ID)) {
+                keys.add(T.id);
+            } else {
+                keys.add(actualColumn);
+                traversedColumns.put(actualColumn, sqlIdentifier);
+            }
+        }
+        // valueMap() without keys would retrieve every property.
+        if (!hasProperty) {
+            traversedColumns.clear();
+            return null;
+        }
+        return keys;
+    }
+
+    private void applyPropertyMapRetrieval(final GraphTraversal<?, ?> graphTraversal) throws SQLException {
+        final List<String> propertyKeys = new ArrayList<>();
+        for (final Object key : propertyMapKeys) {
+            if (key instanceof String && !traversedColumns.containsKey(key) && !propertyKeys.contains(key)) {
+                propertyKeys.add((String) key);
+            }
+        }
+        final GraphTraversal<?, ?> propertyMapTraversal =
+                traversedColumns.isEmpty() ? graphTraversal : __.__();
+        propertyMapTraversal.valueMap(propertyKeys.toArray(new String[0]));
+        if (propertyMapKeys.contains(T.id)) {
+            propertyMapTraversal.with(WithOptions.tokens, WithOptions.ids);
+        }
+        if (traversedColumns.isEmpty()) {
+            return;
+        }
+        graphTraversal.project(PropertyMapDataReader.PROPERTIES_KEY, traversedColumns.keySet().toArray(new String[0]))
+                .by(propertyMapTraversal);
+        for (final SqlIdentifier sqlIdentifier : traversedColumns.values()) {
+            final GraphTraversal<?, ?> columnTraversal = __.__();
+            SqlTraversalEngine.applySqlIdentifier(
+                    (GremlinSqlIdentifier) GremlinSqlFactory.createNode(sqlIdentifier, sqlMetadata), sqlMetadata,
+                    columnTraversal);
+            graphTraversal.by(columnTraversal);
+        }
+    }
+
     private void generateDataRetrieval(final List<GremlinSqlIdentifier> gremlinSqlIdentifiers,
                                        GraphTraversal<?, ?> graphTraversal) throws SQLException {
         final String projectLabel = gremlinSqlIdentifiers.get(1).getName(0);
@@ -158,7 +369,7 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         final GraphTraversal<?, Map<String, ?>> graphTraversalDataPath = __.__();
         SqlTraversalEngine.addProjection(gremlinSqlIdentifiers, sqlMetadata, graphTraversalDataPath);
         applyColumnRetrieval(graphTraversalDataPath, projectLabel,
-                GremlinSqlFactory.createNodeList(sqlSelect.getSelectList().getList()));
+                GremlinSqlFactory.createNodeList(sqlSelect.getSelectList().getList(), sqlMetadata));
 
         SqlTraversalEngine.applyAggregateFold(sqlMetadata, graphTraversal);
         final GraphTraversal<?, ?> graphTraversalChoosePredicate = __.unfold();
@@ -166,10 +377,6 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         graphTraversal.choose(graphTraversalChoosePredicate, graphTraversalDataPath, __.__());
     }
 
-    public String getStringTraversal() throws SQLException {
-        return GroovyTranslator.of("g").translate(generateTraversal().asAdmin().getBytecode()).toString();
-    }
-
     private void applySelectValues(final GraphTraversal<?, ?> graphTraversal) {
         graphTraversal.select(Column.values);
     }
@@ -181,7 +388,8 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         } else {
             final List<GremlinSqlNode> gremlinSqlNodes = new ArrayList<>();
             for (final SqlNode sqlNode : sqlSelect.getGroup().getList()) {
-                gremlinSqlNodes.add(GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class));
+                gremlinSqlNodes.add(
+                        GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class, sqlMetadata));
             }
             graphTraversal.group();
             final List<GraphTraversal> byUnion = new ArrayList<>();
@@ -194,15 +402,36 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         }
     }
 
+    /**
+     * Function to check whether the query only filters and projects the elements of its table. Such a query is
+     * translated without group() and order() barriers, so the rows stream from the database as they are found.
+     *
+     * @return True if the query has no GROUP BY, HAVING or aggregate.
+     */
+    private boolean isPlainProjection() {
+        return (sqlSelect.getGroup() == null || sqlSelect.getGroup().getList().isEmpty()) &&
+                sqlSelect.getHaving() == null && !sqlMetadata.getIsAggregate();
+    }
+
+    @Override
+    protected boolean isRangePushedDown() {
+        // Each element is one row unless rows are grouped or deduplicated, so the range can be taken from the
+        // elements, directly after order() if the query is ordered.
+        return isPlainProjection() && !sqlSelect.isDistinct();
+    }
+
     protected void applyOrderBy(final GraphTraversal<?, ?> graphTraversal, final String table) throws SQLException {
-        graphTraversal.order();
         if (sqlSelect.getOrderList() == null || sqlSelect.getOrderList().getList().isEmpty()) {
-            graphTraversal.by(__.unfold().id());
+            // Without ORDER BY the order of the rows is undefined, groups are still ordered to keep them stable.
+            if (!isPlainProjection()) {
+                graphTraversal.order().by(__.unfold().id());
+            }
             return;
         }
+        graphTraversal.order();
         final List<GremlinSqlNode> gremlinSqlIdentifiers = new ArrayList<>();
         for (final SqlNode sqlNode : sqlSelect.getOrderList().getList()) {
-            gremlinSqlIdentifiers.add(GremlinSqlFactory.createNode(sqlNode));
+            gremlinSqlIdentifiers.add(GremlinSqlFactory.createNode(sqlNode, sqlMetadata));
         }
         for (final GremlinSqlNode gremlinSqlNode : gremlinSqlIdentifiers) {
             appendByGraphTraversal(gremlinSqlNode, table, graphTraversal);
@@ -262,7 +491,8 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
             if (gremlinSqlLiteral.getValue() instanceof Number) {
                 final Number value = (Number) gremlinSqlLiteral.getValue();
                 if (sqlNodeList.size() <= value.intValue() || value.intValue() <= 0) {
-                    appendByGraphTraversal(GremlinSqlFactory.createNode(sqlNodeList.get(value.intValue() - 1)), table,
+                    appendByGraphTraversal(
+                            GremlinSqlFactory.createNode(sqlNodeList.get(value.intValue() - 1), sqlMetadata), table,
                             graphTraversal);
                 } else {
                     throw SqlGremlinError.create(SqlGremlinError.ORDER_BY_ORDINAL_VALUE);
@@ -280,8 +510,11 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         applySqlFilter(sqlSelect.getHaving(), graphTraversal);
     }
 
-    protected void applyWhere(final GraphTraversal<?, ?> graphTraversal) throws SQLException {
-        applySqlFilter(sqlSelect.getWhere(), graphTraversal);
+    protected void applyWhere(final GraphTraversal<?, ?> graphTraversal, final String table) throws SQLException {
+        // The pushed down has() steps directly follow hasLabel(), the rest is filtered through where() projections.
+        final SqlNode remainingWhere =
+                SqlTraversalEngine.applyPredicatePushdown(sqlSelect.getWhere(), table, sqlMetadata, graphTraversal);
+        applySqlFilter(remainingWhere, graphTraversal);
     }
 
     void applySqlFilter(SqlNode sqlNode, GraphTraversal<?, ?> graphTraversal) throws SQLException {
@@ -304,12 +537,12 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
                 }
                 throw SqlGremlinError.createNotSupported(SqlGremlinError.WHERE_UNSUPPORTED_PREFIX);
             }
-            GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlBasicCall.class)
+            GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlBasicCall.class, sqlMetadata)
                     .generateTraversal(graphTraversal);
             return;
         } else if (sqlNode instanceof SqlIdentifier) {
             GremlinSqlBinaryOperator.appendBooleanEquals(sqlMetadata, graphTraversal,
-                    GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class), true);
+                    GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class, sqlMetadata), true);
             return;
         }
         throw SqlGremlinError.createNotSupported(SqlGremlinError.WHERE_BASIC_LITERALS);
@@ -0,0 +1,250 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.converter.schema;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduler for the Gremlin queries issued during a schema scan.
+ * <p>
+ * All scans share two bounded daemon thread pools: one of DEFAULT_MAX_LIMIT threads running the queries, and a
+ * smaller one running the tasks which coordinate them, so that waiting coordinators never hold the threads their
+ * queries need. Each scan gets its own scheduler instance which bounds the number of queries in flight with an
+ * additive-increase/multiplicative-decrease (AIMD) limit: the limit grows by roughly one permit per round of fast
+ * queries and is halved when a query is slow or the server reports throttling. Queries of concurrent scans beyond
+ * the size of the pool wait for a thread.
+ */
+public class SchemaScanScheduler {
+    public static final int DEFAULT_INITIAL_LIMIT = 8;
+    public static final int DEFAULT_MAX_LIMIT = 64;
+    public static final long DEFAULT_LATENCY_THRESHOLD_MILLIS = 5000;
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaScanScheduler.class);
+    private static final int MIN_LIMIT = 1;
+    private static final int MAX_THROTTLE_RETRIES = 5;
+    private static final long THROTTLE_BACKOFF_MILLIS = 100;
+    private static final int PROGRESS_LOG_INTERVAL = 100;
+    private static final List<String> THROTTLING_ERRORS = ImmutableList.of(
+            "ThrottlingException", "TooManyRequestsException", "MemoryLimitExceededException");
+    private static final int COORDINATOR_THREADS = 8;
+    private static final long IDLE_THREAD_SECONDS = 60;
+    private static final ExecutorService QUERY_EXECUTOR = createExecutor("SchemaScanRunner-%d", DEFAULT_MAX_LIMIT);
+    private static final ExecutorService COORDINATOR_EXECUTOR =
+            createExecutor("SchemaScanCoordinator-%d", COORDINATOR_THREADS);
+
+    private final Object lock = new Object();
+    private final int maxLimit;
+    private final long latencyThresholdMillis;
+    private final AtomicInteger submittedQueries = new AtomicInteger();
+    private final AtomicInteger completedQueries = new AtomicInteger();
+    private double limit;
+    private int inFlight = 0;
+
+    /**
+     * Constructor for SchemaScanScheduler using the default limits.
+     */
+    public SchemaScanScheduler() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_LATENCY_THRESHOLD_MILLIS);
+    }
+
+    /**
+     * Constructor for SchemaScanScheduler.
+     *
+     * @param initialLimit           Number of queries allowed in flight when the scan starts.
+     * @param maxLimit               Upper bound of queries allowed in flight.
+     * @param latencyThresholdMillis Query latency above which the limit is decreased.
+     */
+    public SchemaScanScheduler(final int initialLimit, final int maxLimit, final long latencyThresholdMillis) {
+        this.maxLimit = Math.max(MIN_LIMIT, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(MIN_LIMIT, initialLimit));
+        this.latencyThresholdMillis = latencyThresholdMillis;
+    }
+
+    private static ExecutorService createExecutor(final String nameFormat, final int threads) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, IDLE_THREAD_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build());
+        // Threads are only kept while scans run.
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Function to submit a task which coordinates other queries. Such tasks do not count against the limit, since
+     * they spend their time waiting on the queries they submit.
+     *
+     * @param task Task to run.
+     * @param <T>  Result type of task.
+     * @return Future of the task result.
+     */
+    public <T> Future<T> submit(final Callable<T> task) {
+        return COORDINATOR_EXECUTOR.submit(task);
+    }
+
+    /**
+     * Function to submit a query. Blocks the caller until the limit allows another query to be in flight.
+     *
+     * @param query Query to run.
+     * @param <T>   Result type of query.
+     * @return Future of the query result.
+     * @throws InterruptedException If interrupted while waiting for the limit.
+     */
+    public <T> Future<T> submitQuery(final Callable<T> query) throws InterruptedException {
+        acquire();
+        try {
+            return QUERY_EXECUTOR.submit(() -> {
+                try {
+                    return execute(query);
+                } finally {
+                    release();
+                }
+            });
+        } catch (final RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    /**
+     * Function to run a query on the calling thread, subject to the limit.
+     *
+     * @param query Query to run.
+     * @param <T>   Result type of query.
+     * @return Query result.
+     * @throws Exception If the query fails or the caller is interrupted.
+     */
+    public <T> T runQuery(final Callable<T> query) throws Exception {
+        acquire();
+        try {
+            return execute(query);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Function to get the number of queries submitted so far.
+     *
+     * @return Number of submitted queries.
+     */
+    public int getSubmittedQueries() {
+        return submittedQueries.get();
+    }
+
+    /**
+     * Function to get the number of queries completed so far.
+     *
+     * @return Number of completed queries.
+     */
+    public int getCompletedQueries() {
+        return completedQueries.get();
+    }
+
+    /**
+     * Function to get the current concurrency limit.
+     *
+     * @return Number of queries currently allowed in flight.
+     */
+    public int getConcurrencyLimit() {
+        synchronized (lock) {
+            return (int) limit;
+        }
+    }
+
+    private <T> T execute(final Callable<T> query) throws Exception {
+        submittedQueries.incrementAndGet();
+        int attempt = 0;
+        while (true) {
+            final long start = System.currentTimeMillis();
+            try {
+                final T result = query.call();
+                onSuccess(System.currentTimeMillis() - start);
+                return result;
+            } catch (final Exception e) {
+                if (!isThrottlingError(e) || attempt++ >= MAX_THROTTLE_RETRIES) {
+                    throw e;
+                }
+                onThrottled();
+                Thread.sleep(THROTTLE_BACKOFF_MILLIS << attempt);
+            }
+        }
+    }
+
+    private void acquire() throws InterruptedException {
+        synchronized (lock) {
+            while (inFlight >= (int) limit) {
+                lock.wait();
+            }
+            inFlight++;
+        }
+    }
+
+    private void release() {
+        synchronized (lock) {
+            inFlight--;
+            lock.notifyAll();
+        }
+    }
+
+    private void onSuccess(final long latencyMillis) {
+        synchronized (lock) {
+            if (latencyMillis > latencyThresholdMillis) {
+                decrease();
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+                lock.notifyAll();
+            }
+        }
+        final int completed = completedQueries.incrementAndGet();
+        if (completed % PROGRESS_LOG_INTERVAL == 0) {
+            LOGGER.info(String.format("Schema scan progress: %d of %d queries completed, concurrency limit %d.",
+                    completed, submittedQueries.get(), getConcurrencyLimit()));
+        }
+    }
+
+    private void onThrottled() {
+        synchronized (lock) {
+            decrease();
+        }
+        LOGGER.debug(String.format("Schema scan throttled, concurrency limit reduced to %d.", getConcurrencyLimit()));
+    }
+
+    private void decrease() {
+        limit = Math.max(MIN_LIMIT, limit / 2);
+    }
+
+    private static boolean isThrottlingError(final Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            final String message = cause.getMessage();
+            if (message != null && THROTTLING_ERRORS.stream().anyMatch(message::contains)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
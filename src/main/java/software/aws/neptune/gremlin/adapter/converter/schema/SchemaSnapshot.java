@@ -0,0 +1,78 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+package software.aws.neptune.gremlin.adapter.converter.schema;
+
+import lombok.Getter;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schema of a graph together with the element count of each label at the time it was scanned, which lets a later
+ * refresh tell which labels changed. The schema holds tables carrying the counts, where the planner reads them to
+ * estimate the cost of a query.
+ */
+@Getter
+public class SchemaSnapshot {
+    private final GremlinSchema schema;
+    private final Map<String, Long> vertexLabelCounts;
+    private final Map<String, Long> edgeLabelCounts;
+
+    /**
+     * Constructor for SchemaSnapshot.
+     *
+     * @param schema            Schema of the graph.
+     * @param vertexLabelCounts Number of vertices of each vertex label.
+     * @param edgeLabelCounts   Number of edges of each edge label.
+     */
+    public SchemaSnapshot(final GremlinSchema schema, final Map<String, Long> vertexLabelCounts,
+                          final Map<String, Long> edgeLabelCounts) {
+        // The schema may share tables with the previous snapshot, so the counts are set on copies of them.
+        this.schema = schema.withLabelCounts(vertexLabelCounts, edgeLabelCounts);
+        this.vertexLabelCounts = vertexLabelCounts;
+        this.edgeLabelCounts = edgeLabelCounts;
+    }
+
+    /**
+     * Function to rebuild the snapshot of a schema whose tables carry the element count of their label, such as a
+     * schema loaded from the schema cache directory.
+     *
+     * @param schema Schema of the graph.
+     * @return SchemaSnapshot, or null if a table has no count.
+     */
+    public static SchemaSnapshot fromRowCounts(final GremlinSchema schema) {
+        final Map<String, Long> vertexLabelCounts = getRowCounts(schema.getVertices());
+        final Map<String, Long> edgeLabelCounts = getRowCounts(schema.getEdges());
+        if (vertexLabelCounts == null || edgeLabelCounts == null) {
+            return null;
+        }
+        return new SchemaSnapshot(schema, vertexLabelCounts, edgeLabelCounts);
+    }
+
+    private static Map<String, Long> getRowCounts(final List<? extends GremlinTableBase> tables) {
+        final Map<String, Long> counts = new HashMap<>();
+        for (final GremlinTableBase table : tables) {
+            if (table.getRowCount() == null) {
+                return null;
+            }
+            counts.put(table.getLabel(), table.getRowCount());
+        }
+        return counts;
+    }
+}
@@ -16,13 +16,14 @@
 
 package software.aws.neptune.gremlin.adapter.converter.schema;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import org.apache.calcite.util.Pair;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
@@ -31,29 +32,46 @@ import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinProp
 import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
 
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public final class SqlSchemaGrabber {
     private static final Logger LOGGER = LoggerFactory.getLogger(SqlSchemaGrabber.class);
     private static final Map<Class<?>, String> TYPE_MAP = new HashMap<>();
-    private static final String VERTEX_EDGES_LABEL_QUERY = "g.V().hasLabel('%s').%sE().label().dedup()";
-    private static final String PROPERTIES_VALUE_QUERY = "g.%s().hasLabel('%s').values('%s').%s";
-    private static final String PROPERTY_KEY_QUERY = "g.%s().hasLabel('%s').properties().key().dedup()";
+    // Labels are queried in batches, so that each grouped traversal stays bounded and batches run concurrently.
+    private static final int LABEL_BATCH_SIZE = 16;
+    // Sampled scans infer types from this many distinct values of each key, so they do not transfer every value.
+    private static final int VALUES_PER_KEY = 100;
+    private static final String VERTEX_EDGES_LABEL_QUERY =
+            "g.V().hasLabel(%s).group().by(label).by(%sE().label().dedup().fold())";
+    private static final String PROPERTIES_VALUE_QUERY = "g.%s().hasLabel('%s').values('%s').next(1)";
+    private static final String PROPERTIES_VALUES_QUERY =
+            "g.%s().hasLabel('%s')%s.properties().group().by(key).by(value().dedup()%s.fold())";
+    private static final String PROPERTY_KEY_QUERY =
+            "g.%s().hasLabel(%s).group().by(label).by(properties().key().dedup().fold())";
+    private static final String LABEL_COUNTS_QUERY = "g.%s().groupCount().by(label)";
     private static final String LABELS_QUERY = "g.%s().label().dedup()";
-    private static final String IN_OUT_VERTEX_QUERY =
-            "g.E().hasLabel('%s').project('in','out').by(inV().label()).by(outV().label()).dedup()";
+    private static final String IN_OUT_VERTEX_QUERY = "g.E().hasLabel(%s).group().by(label)"
+            + ".by(project('in','out').by(inV().label()).by(outV().label()).dedup().fold())";
 
     static {
         TYPE_MAP.put(String.class, "String");
@@ -65,35 +83,299 @@ public final class SqlSchemaGrabber {
         TYPE_MAP.put(Float.class, "Float");
         TYPE_MAP.put(Double.class, "Double");
         TYPE_MAP.put(Date.class, "Date");
+        TYPE_MAP.put(LocalDate.class, "Date");
+        TYPE_MAP.put(LocalDateTime.class, "Date");
+        TYPE_MAP.put(OffsetDateTime.class, "Date");
+        TYPE_MAP.put(ZonedDateTime.class, "Date");
     }
 
     private SqlSchemaGrabber() {
     }
 
     public static GremlinSchema getSchema(final GraphTraversalSource g, final ScanType scanType) throws SQLException {
-        final ExecutorService executor = Executors.newFixedThreadPool(96,
-                new ThreadFactoryBuilder().setNameFormat("RxSessionRunner-%d").setDaemon(true).build());
+        return getSchema(g, scanType, new SchemaScanScheduler());
+    }
+
+    /**
+     * Function to get the schema of the graph, running the scan queries through the given scheduler.
+     *
+     * @param g         GraphTraversalSource of the graph.
+     * @param scanType  Scan type.
+     * @param scheduler SchemaScanScheduler which bounds the number of queries in flight.
+     * @return Graph schema.
+     * @throws SQLException If the schema cannot be collected.
+     */
+    public static GremlinSchema getSchema(final GraphTraversalSource g, final ScanType scanType,
+                                          final SchemaScanScheduler scheduler) throws SQLException {
+        return getSchemaSnapshot(g, scanType, scheduler).getSchema();
+    }
+
+    /**
+     * Function to get the schema of the graph along with the element count of each label.
+     *
+     * @param g         GraphTraversalSource of the graph.
+     * @param scanType  Scan type.
+     * @param scheduler SchemaScanScheduler which bounds the number of queries in flight.
+     * @return Graph schema snapshot.
+     * @throws SQLException If the schema cannot be collected.
+     */
+    public static SchemaSnapshot getSchemaSnapshot(final GraphTraversalSource g, final ScanType scanType,
+                                                   final SchemaScanScheduler scheduler) throws SQLException {
+        final long start = System.currentTimeMillis();
+        try {
+            final Future<Map<String, Long>> vertexLabelCountsFuture =
+                    scheduler.submitQuery(new RunGremlinQueryLabelCounts(true, g));
+            final Future<Map<String, Long>> edgeLabelCountsFuture =
+                    scheduler.submitQuery(new RunGremlinQueryLabelCounts(false, g));
+            final Map<String, Long> vertexLabelCounts = vertexLabelCountsFuture.get();
+            final Map<String, Long> edgeLabelCounts = edgeLabelCountsFuture.get();
+
+            final Future<List<GremlinVertexTable>> gremlinVertexTablesFuture = scheduler.submit(
+                    new RunGremlinQueryVertices(g, scheduler, scanType, new ArrayList<>(vertexLabelCounts.keySet())));
+            final Future<List<GremlinEdgeTable>> gremlinEdgeTablesFuture = scheduler.submit(
+                    new RunGremlinQueryEdges(g, scheduler, scanType, new ArrayList<>(edgeLabelCounts.keySet())));
+            final GremlinSchema gremlinSchema =
+                    new GremlinSchema(gremlinVertexTablesFuture.get(), gremlinEdgeTablesFuture.get());
+            LOGGER.info(String.format("Schema scan completed %d queries in %d ms.",
+                    scheduler.getCompletedQueries(), System.currentTimeMillis() - start));
+            return new SchemaSnapshot(gremlinSchema, vertexLabelCounts, edgeLabelCounts);
+        } catch (final ExecutionException | InterruptedException e) {
+            e.printStackTrace();
+            throw new SQLException("Error occurred during schema collection. '" + e.getMessage() + "'.");
+        }
+    }
+
+    /**
+     * Function to get the vertex and edge labels of the graph without scanning their tables.
+     *
+     * @param g         GraphTraversalSource of the graph.
+     * @param scheduler SchemaScanScheduler which bounds the number of queries in flight.
+     * @return Pair of the vertex labels and the edge labels.
+     * @throws SQLException If the labels cannot be collected.
+     */
+    public static Pair<List<String>, List<String>> getLabels(final GraphTraversalSource g,
+                                                             final SchemaScanScheduler scheduler)
+            throws SQLException {
+        try {
+            final Future<List<String>> vertexLabelsFuture = scheduler.submitQuery(new RunGremlinQueryLabels(true, g));
+            final Future<List<String>> edgeLabelsFuture = scheduler.submitQuery(new RunGremlinQueryLabels(false, g));
+            return new Pair<>(vertexLabelsFuture.get(), edgeLabelsFuture.get());
+        } catch (final ExecutionException | InterruptedException e) {
+            LOGGER.error("Failed to get the labels of the graph.", e);
+            throw new SQLException("Error occurred during schema collection. '" + e.getMessage() + "'.");
+        }
+    }
+
+    /**
+     * Function to get the schema of the given labels only.
+     *
+     * @param g            GraphTraversalSource of the graph.
+     * @param scanType     Scan type.
+     * @param scheduler    SchemaScanScheduler which bounds the number of queries in flight.
+     * @param vertexLabels Vertex labels to scan.
+     * @param edgeLabels   Edge labels to scan.
+     * @return Graph schema holding the tables of the given labels.
+     * @throws SQLException If the schema cannot be collected.
+     */
+    public static GremlinSchema getSchema(final GraphTraversalSource g, final ScanType scanType,
+                                          final SchemaScanScheduler scheduler, final List<String> vertexLabels,
+                                          final List<String> edgeLabels) throws SQLException {
+        final long start = System.currentTimeMillis();
         try {
             final Future<List<GremlinVertexTable>> gremlinVertexTablesFuture =
-                    executor.submit(new RunGremlinQueryVertices(g, executor, scanType));
+                    scheduler.submit(new RunGremlinQueryVertices(g, scheduler, scanType, vertexLabels));
             final Future<List<GremlinEdgeTable>> gremlinEdgeTablesFuture =
-                    executor.submit(new RunGremlinQueryEdges(g, executor, scanType));
+                    scheduler.submit(new RunGremlinQueryEdges(g, scheduler, scanType, edgeLabels));
             final GremlinSchema gremlinSchema =
                     new GremlinSchema(gremlinVertexTablesFuture.get(), gremlinEdgeTablesFuture.get());
-            executor.shutdown();
+            LOGGER.info(String.format("Scanned tables %s and %s with %d queries in %d ms.", vertexLabels,
+                    edgeLabels, scheduler.getCompletedQueries(), System.currentTimeMillis() - start));
             return gremlinSchema;
         } catch (final ExecutionException | InterruptedException e) {
-            e.printStackTrace();
-            executor.shutdown();
+            LOGGER.error("Failed to scan the tables of the graph.", e);
             throw new SQLException("Error occurred during schema collection. '" + e.getMessage() + "'.");
         }
     }
 
-    private static String getType(final Set<?> data) {
+    /**
+     * Function to refresh a schema snapshot, rescanning only the labels whose element count changed since it was
+     * taken. Vertex labels connected to a changed edge label are rescanned as well since their in and out edges may
+     * have changed. Changes which leave the count of a label unchanged, such as updating a property in place, are not
+     * detected.
+     *
+     * @param g         GraphTraversalSource of the graph.
+     * @param scanType  Scan type.
+     * @param scheduler SchemaScanScheduler which bounds the number of queries in flight.
+     * @param previous  Snapshot to refresh.
+     * @return Refreshed graph schema snapshot.
+     * @throws SQLException If the schema cannot be collected.
+     */
+    public static SchemaSnapshot refreshSchemaSnapshot(final GraphTraversalSource g, final ScanType scanType,
+                                                       final SchemaScanScheduler scheduler,
+                                                       final SchemaSnapshot previous) throws SQLException {
+        final long start = System.currentTimeMillis();
+        try {
+            final Future<Map<String, Long>> vertexLabelCountsFuture =
+                    scheduler.submitQuery(new RunGremlinQueryLabelCounts(true, g));
+            final Future<Map<String, Long>> edgeLabelCountsFuture =
+                    scheduler.submitQuery(new RunGremlinQueryLabelCounts(false, g));
+            final Map<String, Long> vertexLabelCounts = vertexLabelCountsFuture.get();
+            final Map<String, Long> edgeLabelCounts = edgeLabelCountsFuture.get();
+
+            final Map<String, GremlinEdgeTable> previousEdges = new HashMap<>();
+            previous.getSchema().getEdges().forEach(table -> previousEdges.put(table.getLabel(), table));
+            final Map<String, GremlinVertexTable> previousVertices = new HashMap<>();
+            previous.getSchema().getVertices().forEach(table -> previousVertices.put(table.getLabel(), table));
+
+            final List<String> changedEdgeLabels = getChangedLabels(previous.getEdgeLabelCounts(), edgeLabelCounts);
+            final List<GremlinEdgeTable> rescannedEdges =
+                    new RunGremlinQueryEdges(g, scheduler, scanType, changedEdgeLabels).call();
+
+            // Edges which changed, appeared or disappeared may change the in and out edges of their vertices.
+            final Set<String> affectedVertexLabels =
+                    new HashSet<>(getChangedLabels(previous.getVertexLabelCounts(), vertexLabelCounts));
+            final List<GremlinEdgeTable> touchedEdges = new ArrayList<>(rescannedEdges);
+            previousEdges.forEach((label, table) -> {
+                if (!edgeLabelCounts.containsKey(label) || changedEdgeLabels.contains(label)) {
+                    touchedEdges.add(table);
+                }
+            });
+            for (final GremlinEdgeTable table : touchedEdges) {
+                for (final Pair<String, String> inOutPair : table.getInOutVertexPairs()) {
+                    affectedVertexLabels.add(inOutPair.getKey());
+                    affectedVertexLabels.add(inOutPair.getValue());
+                }
+            }
+            final List<String> changedVertexLabels = vertexLabelCounts.keySet().stream()
+                    .filter(affectedVertexLabels::contains)
+                    .collect(Collectors.toList());
+            final List<GremlinVertexTable> rescannedVertices =
+                    new RunGremlinQueryVertices(g, scheduler, scanType, changedVertexLabels).call();
+
+            rescannedEdges.forEach(table -> previousEdges.put(table.getLabel(), table));
+            rescannedVertices.forEach(table -> previousVertices.put(table.getLabel(), table));
+            final List<GremlinVertexTable> vertices = vertexLabelCounts.keySet().stream()
+                    .map(previousVertices::get)
+                    .collect(Collectors.toList());
+            final List<GremlinEdgeTable> edges = edgeLabelCounts.keySet().stream()
+                    .map(previousEdges::get)
+                    .collect(Collectors.toList());
+            LOGGER.info(String.format("Incremental schema refresh rescanned %d of %d vertex labels and %d of %d "
+                            + "edge labels with %d queries in %d ms.",
+                    changedVertexLabels.size(), vertexLabelCounts.size(), changedEdgeLabels.size(),
+                    edgeLabelCounts.size(), scheduler.getCompletedQueries(), System.currentTimeMillis() - start));
+            return new SchemaSnapshot(new GremlinSchema(vertices, edges), vertexLabelCounts, edgeLabelCounts);
+        } catch (final Exception e) {
+            LOGGER.error("Failed to refresh the schema incrementally.", e);
+            throw new SQLException("Error occurred during schema collection. '" + e.getMessage() + "'.");
+        }
+    }
+
+    private static List<String> getChangedLabels(final Map<String, Long> previousCounts,
+                                                 final Map<String, Long> currentCounts) {
+        return currentCounts.entrySet().stream()
+                .filter(entry -> !entry.getValue().equals(previousCounts.get(entry.getKey())))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static List<List<GremlinProperty>> getProperties(final boolean isVertex, final List<String> labels,
+                                                             final GraphTraversalSource g, final ScanType scanType,
+                                                             final SchemaScanScheduler scheduler)
+            throws ExecutionException, InterruptedException {
+        final List<List<GremlinProperty>> columns = new ArrayList<>();
+        if (scanType.equals(ScanType.All) || scanType.isSampled()) {
+            // A single traversal per label returns every key with a bounded number of its distinct values, over all or
+            // sampled elements.
+            final List<Future<Map<String, String>>> propertyTypes = new ArrayList<>();
+            for (final String label : labels) {
+                propertyTypes.add(scheduler.submitQuery(
+                        new RunGremlinQueryPropertyTypes(isVertex, label, g, scanType)));
+            }
+            for (final Future<Map<String, String>> types : propertyTypes) {
+                final List<GremlinProperty> labelColumns = new ArrayList<>();
+                types.get().forEach((property, type) ->
+                        labelColumns.add(new GremlinProperty(property, type.toLowerCase(Locale.getDefault()))));
+                columns.add(labelColumns);
+            }
+            return columns;
+        }
+
+        final Map<String, List<String>> propertyKeys = collectBatches(submitBatches(labels,
+                batch -> new RunGremlinQueryPropertyKeys(isVertex, batch, g), scheduler));
+        final List<List<Future<String>>> propertyTypes = new ArrayList<>();
+        for (final String label : labels) {
+            final List<Future<String>> types = new ArrayList<>();
+            for (final String property : propertyKeys.getOrDefault(label, new ArrayList<>())) {
+                types.add(scheduler.submitQuery(new RunGremlinQueryPropertyType(isVertex, label, property, g)));
+            }
+            propertyTypes.add(types);
+        }
+        for (int i = 0; i < labels.size(); i++) {
+            final List<String> keys = propertyKeys.getOrDefault(labels.get(i), new ArrayList<>());
+            final List<GremlinProperty> labelColumns = new ArrayList<>();
+            for (int j = 0; j < keys.size(); j++) {
+                labelColumns.add(new GremlinProperty(keys.get(j),
+                        propertyTypes.get(i).get(j).get().toLowerCase(Locale.getDefault())));
+            }
+            columns.add(labelColumns);
+        }
+        return columns;
+    }
+
+    private static <T> List<Future<Map<String, List<T>>>> submitBatches(
+            final List<String> labels, final Function<List<String>, Callable<Map<String, List<T>>>> query,
+            final SchemaScanScheduler scheduler) throws InterruptedException {
+        final List<Future<Map<String, List<T>>>> futures = new ArrayList<>();
+        for (int i = 0; i < labels.size(); i += LABEL_BATCH_SIZE) {
+            futures.add(scheduler.submitQuery(query.apply(
+                    new ArrayList<>(labels.subList(i, Math.min(labels.size(), i + LABEL_BATCH_SIZE))))));
+        }
+        return futures;
+    }
+
+    private static <T> Map<String, List<T>> collectBatches(final List<Future<Map<String, List<T>>>> futures)
+            throws ExecutionException, InterruptedException {
+        final Map<String, List<T>> results = new HashMap<>();
+        for (final Future<Map<String, List<T>>> future : futures) {
+            results.putAll(future.get());
+        }
+        return results;
+    }
+
+    private static String toLabelArguments(final List<String> labels) {
+        return labels.stream().map(label -> "'" + label + "'").collect(Collectors.joining(","));
+    }
+
+    private static <T> Map<String, List<T>> toLabelMap(final Map<Object, List<T>> result) {
+        final Map<String, List<T>> labelMap = new HashMap<>();
+        result.forEach((label, values) -> labelMap.put(label.toString(), values));
+        return labelMap;
+    }
+
+    /**
+     * Function to get the SQL type of a property from its values, promoting mixed numeric types to the widest one
+     * and any other mix to String.
+     *
+     * @param data Distinct values of the property.
+     * @return Type name.
+     */
+    public static String getType(final Set<?> data) {
         final Set<String> types = new HashSet<>();
         for (final Object d : data) {
             types.add(TYPE_MAP.getOrDefault(d.getClass(), "String"));
         }
+        return getPromotedType(types);
+    }
+
+    /**
+     * Function to get the single SQL type covering a set of SQL types, promoting mixed numeric types to the widest
+     * one and any other mix to String.
+     *
+     * @param types Type names.
+     * @return Type name.
+     */
+    public static String getPromotedType(final Set<String> types) {
         if (types.size() == 1) {
             return types.iterator().next();
         } else if (types.size() > 1) {
@@ -116,34 +398,179 @@ public final class SqlSchemaGrabber {
         return "String";
     }
 
-    public enum ScanType {
-        First("First"),
-        All("All");
+    /**
+     * Strategy used to discover the properties of each label and infer their types.
+     * <p>
+     * First reads the first value of each property, All reads every element and infers the type of each property from
+     * up to 100 of its distinct values, Sample(n) reads the properties of n elements per label picked at random and
+     * Coin(p) reads the properties of each element with probability p. Keys which only occur on elements outside of a
+     * sample are not discovered.
+     */
+    public static final class ScanType {
+        @SuppressWarnings("checkstyle:ConstantName")
+        public static final ScanType First = new ScanType(Strategy.First, 0);
+        @SuppressWarnings("checkstyle:ConstantName")
+        public static final ScanType All = new ScanType(Strategy.All, 0);
+        private static final Pattern PARAMETERIZED_PATTERN =
+                Pattern.compile("^\\s*(\\w+)\\s*\\(\\s*([0-9.]+)\\s*\\)\\s*$");
+
+        private final Strategy strategy;
+        private final double parameter;
+
+        private ScanType(@NonNull final Strategy strategy, final double parameter) {
+            this.strategy = strategy;
+            this.parameter = parameter;
+        }
 
-        private final String stringValue;
+        /**
+         * Function to create a scan type which samples a fixed number of elements per label.
+         *
+         * @param sampleSize Number of elements sampled per label.
+         * @return ScanType sampling the given number of elements.
+         */
+        public static ScanType sample(final int sampleSize) {
+            if (sampleSize < 1) {
+                throw new IllegalArgumentException("Sample size must be positive.");
+            }
+            return new ScanType(Strategy.Sample, sampleSize);
+        }
 
-        ScanType(@NonNull final String stringValue) {
-            this.stringValue = stringValue;
+        /**
+         * Function to create a scan type which samples each element with a fixed probability.
+         *
+         * @param probability Probability of an element being sampled.
+         * @return ScanType sampling elements with the given probability.
+         */
+        public static ScanType coin(final double probability) {
+            if (!(probability > 0 && probability <= 1)) {
+                throw new IllegalArgumentException("Coin probability must be greater than 0 and at most 1.");
+            }
+            return new ScanType(Strategy.Coin, probability);
         }
 
         /**
-         * Converts case-insensitive string to enum value.
+         * Converts case-insensitive string to scan type, e.g. 'All', 'First', 'Sample(1000)' or 'Coin(0.01)'.
          *
-         * @param in The case-insensitive string to be converted to enum.
-         * @return The enum value if string is recognized as a valid value, otherwise null.
+         * @param in The case-insensitive string to be converted to a scan type.
+         * @return The scan type if string is recognized as a valid value, otherwise null.
          */
         public static ScanType fromString(@NonNull final String in) {
-            for (final ScanType scheme : ScanType.values()) {
-                if (scheme.stringValue.equalsIgnoreCase(in)) {
-                    return scheme;
+            if (Strategy.First.name().equalsIgnoreCase(in.trim())) {
+                return First;
+            } else if (Strategy.All.name().equalsIgnoreCase(in.trim())) {
+                return All;
+            }
+            final Matcher matcher = PARAMETERIZED_PATTERN.matcher(in);
+            if (!matcher.matches()) {
+                return null;
+            }
+            try {
+                if (Strategy.Sample.name().equalsIgnoreCase(matcher.group(1))) {
+                    return sample(Integer.parseInt(matcher.group(2)));
+                } else if (Strategy.Coin.name().equalsIgnoreCase(matcher.group(1))) {
+                    return coin(Double.parseDouble(matcher.group(2)));
                 }
+            } catch (final IllegalArgumentException e) {
+                // Malformed or out of range parameter.
+                return null;
             }
             return null;
         }
 
+        /**
+         * Function to convert a string to a scan type, replacing valueOf of the enum ScanType used to be.
+         *
+         * @param in The case-insensitive string to be converted to a scan type.
+         * @return The scan type.
+         * @throws IllegalArgumentException If the string is not a valid scan type.
+         */
+        public static ScanType valueOf(@NonNull final String in) {
+            final ScanType scanType = fromString(in);
+            if (scanType == null) {
+                throw new IllegalArgumentException("No scan type " + in + ".");
+            }
+            return scanType;
+        }
+
+        /**
+         * Function to check whether the scan type reads a sample of the elements of each label.
+         *
+         * @return True for Sample and Coin scan types, false otherwise.
+         */
+        public boolean isSampled() {
+            return strategy == Strategy.Sample || strategy == Strategy.Coin;
+        }
+
+        /**
+         * Function to get the number of elements sampled per label.
+         *
+         * @return Sample size, or 0 if the scan type does not sample a fixed number of elements.
+         */
+        public int getSampleSize() {
+            return (strategy == Strategy.Sample) ? (int) parameter : 0;
+        }
+
+        /**
+         * Function to get the probability of an element being sampled.
+         *
+         * @return Probability, or 0 if the scan type does not sample elements with a fixed probability.
+         */
+        public double getProbability() {
+            return (strategy == Strategy.Coin) ? parameter : 0;
+        }
+
+        private String getSampleStep() {
+            if (strategy == Strategy.Sample) {
+                return String.format(".sample(%d)", (int) parameter);
+            } else if (strategy == Strategy.Coin) {
+                return String.format(".coin(%s)", parameter);
+            }
+            return "";
+        }
+
+        private <S, E> GraphTraversal<S, E> applySample(final GraphTraversal<S, E> graphTraversal) {
+            if (strategy == Strategy.Sample) {
+                return graphTraversal.sample((int) parameter);
+            } else if (strategy == Strategy.Coin) {
+                return graphTraversal.coin(parameter);
+            }
+            return graphTraversal;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ScanType)) {
+                return false;
+            }
+            final ScanType scanType = (ScanType) o;
+            return strategy == scanType.strategy && Double.compare(parameter, scanType.parameter) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(strategy, parameter);
+        }
+
         @Override
         public String toString() {
-            return this.stringValue;
+            switch (strategy) {
+                case Sample:
+                    return String.format("Sample(%d)", (int) parameter);
+                case Coin:
+                    return String.format("Coin(%s)", parameter);
+                default:
+                    return strategy.name();
+            }
+        }
+
+        private enum Strategy {
+            First,
+            All,
+            Sample,
+            Coin
         }
     }
 
@@ -151,27 +578,26 @@ public final class SqlSchemaGrabber {
     static
     class RunGremlinQueryVertices implements Callable<List<GremlinVertexTable>> {
         private final GraphTraversalSource g;
-        private final ExecutorService service;
+        private final SchemaScanScheduler scheduler;
         private final ScanType scanType;
+        private final List<String> labels;
 
         @Override
         public List<GremlinVertexTable> call() throws Exception {
-            final List<Future<List<GremlinProperty>>> gremlinProperties = new ArrayList<>();
-            final List<Future<List<String>>> gremlinVertexInEdgeLabels = new ArrayList<>();
-            final List<Future<List<String>>> gremlinVertexOutEdgeLabels = new ArrayList<>();
-            final List<String> labels = service.submit(new RunGremlinQueryLabels(true, g)).get();
-
-            for (final String label : labels) {
-                gremlinProperties.add(service.submit(
-                        new RunGremlinQueryPropertiesList(true, label, g, scanType, service)));
-                gremlinVertexInEdgeLabels.add(service.submit(new RunGremlinQueryVertexEdges(g, label, "in")));
-                gremlinVertexOutEdgeLabels.add(service.submit(new RunGremlinQueryVertexEdges(g, label, "out")));
-            }
+            final List<Future<Map<String, List<String>>>> inEdgeLabelsFutures =
+                    submitBatches(labels, batch -> new RunGremlinQueryVertexEdges(g, batch, "in"), scheduler);
+            final List<Future<Map<String, List<String>>>> outEdgeLabelsFutures =
+                    submitBatches(labels, batch -> new RunGremlinQueryVertexEdges(g, batch, "out"), scheduler);
+            final List<List<GremlinProperty>> gremlinProperties = getProperties(true, labels, g, scanType, scheduler);
+            final Map<String, List<String>> inEdgeLabels = collectBatches(inEdgeLabelsFutures);
+            final Map<String, List<String>> outEdgeLabels = collectBatches(outEdgeLabelsFutures);
 
             final List<GremlinVertexTable> gremlinVertexTables = new ArrayList<>();
             for (int i = 0; i < labels.size(); i++) {
-                gremlinVertexTables.add(new GremlinVertexTable(labels.get(i), gremlinProperties.get(i).get(),
-                        gremlinVertexInEdgeLabels.get(i).get(), gremlinVertexOutEdgeLabels.get(i).get()));
+                // Labels without any in or out edges are absent from the grouped results.
+                gremlinVertexTables.add(new GremlinVertexTable(labels.get(i), gremlinProperties.get(i),
+                        inEdgeLabels.getOrDefault(labels.get(i), new ArrayList<>()),
+                        outEdgeLabels.getOrDefault(labels.get(i), new ArrayList<>())));
             }
             return gremlinVertexTables;
         }
@@ -180,44 +606,46 @@ public final class SqlSchemaGrabber {
     @AllArgsConstructor
     static class RunGremlinQueryEdges implements Callable<List<GremlinEdgeTable>> {
         private final GraphTraversalSource g;
-        private final ExecutorService service;
+        private final SchemaScanScheduler scheduler;
         private final ScanType scanType;
+        private final List<String> labels;
 
         @Override
         public List<GremlinEdgeTable> call() throws Exception {
-            final List<Future<List<GremlinProperty>>> futureTableColumns = new ArrayList<>();
-            final List<Future<List<Pair<String, String>>>> inOutLabels = new ArrayList<>();
-            final List<String> labels = service.submit(new RunGremlinQueryLabels(false, g)).get();
-
-            for (final String label : labels) {
-                futureTableColumns.add(service.submit(
-                        new RunGremlinQueryPropertiesList(false, label, g, scanType, service)));
-                inOutLabels.add(service.submit(new RunGremlinQueryInOutV(g, label)));
-            }
+            final List<Future<Map<String, List<Pair<String, String>>>>> inOutLabelsFutures =
+                    submitBatches(labels, batch -> new RunGremlinQueryInOutV(g, batch), scheduler);
+            final List<List<GremlinProperty>> tableColumns = getProperties(false, labels, g, scanType, scheduler);
+            final Map<String, List<Pair<String, String>>> inOutLabels = collectBatches(inOutLabelsFutures);
 
             final List<GremlinEdgeTable> gremlinEdgeTables = new ArrayList<>();
             for (int i = 0; i < labels.size(); i++) {
-                gremlinEdgeTables.add(new GremlinEdgeTable(labels.get(i), futureTableColumns.get(i).get(),
-                        inOutLabels.get(i).get()));
+                gremlinEdgeTables.add(new GremlinEdgeTable(labels.get(i), tableColumns.get(i),
+                        inOutLabels.getOrDefault(labels.get(i), new ArrayList<>())));
             }
             return gremlinEdgeTables;
         }
     }
 
     @AllArgsConstructor
-    static class RunGremlinQueryVertexEdges implements Callable<List<String>> {
+    static class RunGremlinQueryVertexEdges implements Callable<Map<String, List<String>>> {
         private final GraphTraversalSource g;
-        private final String label;
+        private final List<String> labels;
         private final String direction;
 
         @Override
-        public List<String> call() throws Exception {
-            final String query = String.format(VERTEX_EDGES_LABEL_QUERY, label, direction);
+        public Map<String, List<String>> call() {
+            final String query = String.format(VERTEX_EDGES_LABEL_QUERY, toLabelArguments(labels), direction);
             LOGGER.debug(String.format("Start %s%n", query));
-            final List<String> labels = "in".equals(direction) ? g.V().hasLabel(label).inE().label().dedup().toList() :
-                    g.V().hasLabel(label).outE().label().dedup().toList();
+            final String[] otherLabels = labels.subList(1, labels.size()).toArray(new String[0]);
+            final Map<Object, List<String>> result = g.V().hasLabel(labels.get(0), otherLabels)
+                    .<Object, List<String>>group()
+                    .by(T.label)
+                    .by("in".equals(direction) ?
+                            __.inE().label().dedup().fold() :
+                            __.outE().label().dedup().fold())
+                    .next();
             LOGGER.debug(String.format("End %s%n", query));
-            return labels;
+            return toLabelMap(result);
         }
     }
 
@@ -227,51 +655,88 @@ public final class SqlSchemaGrabber {
         private final String label;
         private final String property;
         private final GraphTraversalSource g;
-        private final ScanType strategy;
 
         @Override
         public String call() {
-            final String query = String.format(PROPERTIES_VALUE_QUERY, isVertex ? "V" : "E", label, property,
-                    strategy.equals(ScanType.First) ? "next(1)" : "toSet()");
+            final String query = String.format(PROPERTIES_VALUE_QUERY, isVertex ? "V" : "E", label, property);
             LOGGER.debug(String.format("Start %s%n", query));
             final GraphTraversal<?, ?> graphTraversal = isVertex ? g.V() : g.E();
             graphTraversal.hasLabel(label).values(property);
-            final HashSet<?> data =
-                    new HashSet<>(strategy.equals(ScanType.First) ? graphTraversal.next(1) : graphTraversal.toList());
+            final HashSet<?> data = new HashSet<>(graphTraversal.next(1));
             LOGGER.debug(String.format("End %s%n", query));
             return getType(data);
         }
     }
 
     @AllArgsConstructor
-    static class RunGremlinQueryPropertiesList implements Callable<List<GremlinProperty>> {
+    static class RunGremlinQueryPropertyTypes implements Callable<Map<String, String>> {
         private final boolean isVertex;
         private final String label;
         private final GraphTraversalSource g;
         private final ScanType scanType;
-        private final ExecutorService service;
 
         @Override
-        public List<GremlinProperty> call() throws ExecutionException, InterruptedException {
-            final String query = String.format(PROPERTY_KEY_QUERY, isVertex ? "V" : "E", label);
+        public Map<String, String> call() {
+            final String query = String.format(PROPERTIES_VALUES_QUERY, isVertex ? "V" : "E", label,
+                    scanType.getSampleStep(), scanType.isSampled() ? String.format(".limit(%d)", VALUES_PER_KEY) : "");
             LOGGER.debug(String.format("Start %s%n", query));
-            final List<String> properties = isVertex ?
-                    g.V().hasLabel(label).properties().key().dedup().toList() :
-                    g.E().hasLabel(label).properties().key().dedup().toList();
-
-            final List<Future<String>> propertyTypes = new ArrayList<>();
-            for (final String property : properties) {
-                propertyTypes.add(service
-                        .submit(new RunGremlinQueryPropertyType(isVertex, label, property, g, scanType)));
+            // Values are deduplicated on the server. A sampled scan also limits them, since its types are an estimate
+            // anyway, while a full scan sees every distinct value so that each type present is promoted.
+            final GraphTraversal<?, Object> values = __.value().dedup();
+            if (scanType.isSampled()) {
+                values.limit(VALUES_PER_KEY);
             }
+            final GraphTraversal<?, ? extends Element> graphTraversal = isVertex ? g.V() : g.E();
+            final Map<Object, List<Object>> result = scanType.applySample(graphTraversal.hasLabel(label)).properties()
+                    .<Object, List<Object>>group()
+                    .by(T.key)
+                    .by(values.fold())
+                    .next();
+            final Map<String, String> types = new LinkedHashMap<>();
+            result.forEach((key, values) -> types.put(key.toString(), getType(new HashSet<>(values))));
+            LOGGER.debug(String.format("End %s%n", query));
+            return types;
+        }
+    }
 
-            final List<GremlinProperty> columns = new ArrayList<>();
-            for (int i = 0; i < properties.size(); i++) {
-                columns.add(new GremlinProperty(properties.get(i), propertyTypes.get(i).get().toLowerCase(Locale.getDefault())));
-            }
+    @AllArgsConstructor
+    static class RunGremlinQueryPropertyKeys implements Callable<Map<String, List<String>>> {
+        private final boolean isVertex;
+        private final List<String> labels;
+        private final GraphTraversalSource g;
 
+        @Override
+        public Map<String, List<String>> call() {
+            final String query = String.format(PROPERTY_KEY_QUERY, isVertex ? "V" : "E", toLabelArguments(labels));
+            LOGGER.debug(String.format("Start %s%n", query));
+            final String[] otherLabels = labels.subList(1, labels.size()).toArray(new String[0]);
+            final GraphTraversal<?, ? extends Element> graphTraversal = isVertex ? g.V() : g.E();
+            final Map<Object, List<String>> result = graphTraversal.hasLabel(labels.get(0), otherLabels)
+                    .<Object, List<String>>group()
+                    .by(T.label)
+                    .by(__.properties().key().dedup().fold())
+                    .next();
             LOGGER.debug(String.format("End %s%n", query));
-            return columns;
+            return toLabelMap(result);
+        }
+    }
+
+    @AllArgsConstructor
+    static class RunGremlinQueryLabelCounts implements Callable<Map<String, Long>> {
+        private final boolean isVertex;
+        private final GraphTraversalSource g;
+
+        @Override
+        public Map<String, Long> call() {
+            final String query = String.format(LABEL_COUNTS_QUERY, isVertex ? "V" : "E");
+            LOGGER.debug(String.format("Start %s%n", query));
+            final Map<Object, Long> result = isVertex ?
+                    g.V().groupCount().by(T.label).next() :
+                    g.E().groupCount().by(T.label).next();
+            final Map<String, Long> labelCounts = new LinkedHashMap<>();
+            result.forEach((label, count) -> labelCounts.put(label.toString(), count));
+            LOGGER.debug(String.format("End %s%n", query));
+            return labelCounts;
         }
     }
 
@@ -284,32 +749,38 @@ public final class SqlSchemaGrabber {
         public List<String> call() {
             final String query = String.format(LABELS_QUERY, isVertex ? "V" : "E");
             LOGGER.debug(String.format("Start %s%n", query));
-            final List<String> labels = isVertex ? g.V().label().dedup().toList() : g.E().label().dedup().toList();
+            final List<String> labels = isVertex ?
+                    g.V().label().dedup().toList() :
+                    g.E().label().dedup().toList();
             LOGGER.debug(String.format("End %s%n", query));
             return labels;
         }
     }
 
     @AllArgsConstructor
-    static class RunGremlinQueryInOutV implements Callable<List<Pair<String, String>>> {
+    static class RunGremlinQueryInOutV implements Callable<Map<String, List<Pair<String, String>>>> {
         private final GraphTraversalSource g;
-        private final String label;
+        private final List<String> labels;
 
         @Override
-        public List<Pair<String, String>> call() {
-            final String query = String.format(IN_OUT_VERTEX_QUERY, label);
+        public Map<String, List<Pair<String, String>>> call() {
+            final String query = String.format(IN_OUT_VERTEX_QUERY, toLabelArguments(labels));
             LOGGER.debug(String.format("Start %s%n", query));
-            final List<Map<String, Object>> result = g.E().hasLabel(label).
-                    project("in", "out").
-                    by(__.inV().label()).
-                    by(__.outV().label()).
-                    dedup().toList();
-            final List<Pair<String, String>> labels = new ArrayList<>();
-            result.stream().iterator().forEachRemaining(map -> map.forEach((key, value) -> {
-                labels.add(new Pair<>(map.get("in").toString(), map.get("out").toString()));
-            }));
+            final String[] otherLabels = labels.subList(1, labels.size()).toArray(new String[0]);
+            final Map<Object, List<Map<String, Object>>> result = g.E().hasLabel(labels.get(0), otherLabels)
+                    .<Object, List<Map<String, Object>>>group()
+                    .by(T.label)
+                    .by(__.project("in", "out")
+                            .by(__.inV().label())
+                            .by(__.outV().label())
+                            .dedup().fold())
+                    .next();
+            final Map<String, List<Pair<String, String>>> inOutLabels = new HashMap<>();
+            result.forEach((label, inOutMaps) -> inOutLabels.put(label.toString(), inOutMaps.stream()
+                    .map(map -> new Pair<>(map.get("in").toString(), map.get("out").toString()))
+                    .collect(Collectors.toList())));
             LOGGER.debug(String.format("End %s%n", query));
-            return labels;
+            return inOutLabels;
         }
     }
 }
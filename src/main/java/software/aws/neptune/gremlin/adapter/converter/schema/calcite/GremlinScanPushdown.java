@@ -0,0 +1,413 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.converter.schema.calcite;
+
+import org.apache.calcite.DataContext;
+import org.apache.calcite.avatica.util.DateTimeUtils;
+import org.apache.calcite.linq4j.AbstractEnumerable;
+import org.apache.calcite.linq4j.Enumerable;
+import org.apache.calcite.linq4j.Enumerator;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Scan of the elements of a table for queries which Calcite executes in the driver. The filters Calcite hands to the
+ * scan are pushed down into the traversal where they compare a property with a literal, and only the requested
+ * columns are projected, so only the matching elements and their needed columns leave the graph. The elements are
+ * streamed: the traversal is iterated as Calcite reads the rows, and stops when Calcite stops reading, for example
+ * once the rows of a LIMIT were read, or when the query is cancelled.
+ */
+public final class GremlinScanPushdown {
+    // Name of the GraphTraversalSource in the DataContext of the query.
+    public static final String TRAVERSAL_SOURCE = "gremlinTraversalSource";
+
+    private GremlinScanPushdown() {
+    }
+
+    /**
+     * Function to scan a table.
+     *
+     * @param table    Table to scan.
+     * @param root     DataContext of the query, holding the GraphTraversalSource.
+     * @param filters  Filters on the rows of the table, the filters which are pushed down completely are removed.
+     * @param projects Indexes of the columns to return, null for all columns.
+     * @return Rows of the projected columns.
+     */
+    public static Enumerable<Object[]> scan(final GremlinTableBase table, final DataContext root,
+                                            final List<RexNode> filters, final int[] projects) {
+        final GraphTraversalSource g = (GraphTraversalSource) root.get(TRAVERSAL_SOURCE);
+        final AtomicBoolean cancelFlag = (AtomicBoolean) root.get(DataContext.Variable.CANCEL_FLAG.camelName);
+        final List<String> columns = new ArrayList<>(table.getColumns().keySet());
+        final List<String> projectedColumns = new ArrayList<>();
+        if (projects == null) {
+            projectedColumns.addAll(columns);
+        } else {
+            for (final int project : projects) {
+                projectedColumns.add(columns.get(project));
+            }
+        }
+
+        final List<GraphTraversal<?, ?>> conditions = new ArrayList<>();
+        final RexBuilder rexBuilder = new RexBuilder(root.getTypeFactory());
+        final Iterator<RexNode> iterator = filters.iterator();
+        while (iterator.hasNext()) {
+            boolean isPushedDown = true;
+            // Ranges and IN lists come as SEARCH calls, which are expanded into comparisons.
+            for (final RexNode conjunct : getConjuncts(RexUtil.expandSearch(rexBuilder, null, iterator.next()))) {
+                final GraphTraversal<?, ?> condition = getCondition(table, columns, conjunct);
+                if (condition == null) {
+                    isPushedDown = false;
+                } else {
+                    // A part of a filter only drops rows which the whole filter drops too.
+                    conditions.add(condition);
+                }
+            }
+            if (isPushedDown) {
+                iterator.remove();
+            }
+        }
+
+        return new AbstractEnumerable<Object[]>() {
+            @Override
+            public Enumerator<Object[]> enumerator() {
+                return new ScanEnumerator(table, projectedColumns, cancelFlag, () -> {
+                    final GraphTraversal<?, ?> graphTraversal = table.getIsVertex() ?
+                            g.V().hasLabel(table.getLabel()) : g.E().hasLabel(table.getLabel());
+                    conditions.forEach(condition -> graphTraversal.filter(condition.asAdmin().clone()));
+                    return project(table, projectedColumns, graphTraversal);
+                });
+            }
+        };
+    }
+
+    private static List<RexNode> getConjuncts(final RexNode rexNode) {
+        final List<RexNode> conjuncts = new ArrayList<>();
+        if (rexNode.getKind() == SqlKind.AND) {
+            for (final RexNode operand : ((RexCall) rexNode).getOperands()) {
+                conjuncts.addAll(getConjuncts(operand));
+            }
+        } else {
+            conjuncts.add(rexNode);
+        }
+        return conjuncts;
+    }
+
+    /**
+     * Function to get the filter traversal of a condition.
+     *
+     * @return Filter traversal, null if the condition cannot be pushed down.
+     */
+    private static GraphTraversal<?, ?> getCondition(final GremlinTableBase table, final List<String> columns,
+                                                     final RexNode rexNode) {
+        if (rexNode instanceof RexInputRef) {
+            final String property = getProperty(columns, rexNode);
+            return (property != null && isType(table, property, "boolean")) ? __.has(property, true) : null;
+        } else if (!(rexNode instanceof RexCall)) {
+            return null;
+        }
+        final List<RexNode> operands = ((RexCall) rexNode).getOperands();
+        switch (rexNode.getKind()) {
+            case AND:
+            case OR:
+                final List<GraphTraversal<?, ?>> conditions = new ArrayList<>();
+                for (final RexNode operand : operands) {
+                    final GraphTraversal<?, ?> condition = getCondition(table, columns, operand);
+                    if (condition == null) {
+                        return null;
+                    }
+                    conditions.add(condition);
+                }
+                final GraphTraversal<?, ?>[] traversals = conditions.toArray(new GraphTraversal<?, ?>[0]);
+                return (rexNode.getKind() == SqlKind.AND) ? __.and(traversals) : __.or(traversals);
+            case NOT:
+                final String negated = getProperty(columns, operands.get(0));
+                return (negated != null && isType(table, negated, "boolean")) ? __.has(negated, false) : null;
+            case IS_NULL:
+            case IS_NOT_NULL:
+                final String property = getProperty(columns, operands.get(0));
+                if (property == null) {
+                    return null;
+                }
+                return (rexNode.getKind() == SqlKind.IS_NULL) ? __.hasNot(property) : __.has(property);
+            case EQUALS:
+            case NOT_EQUALS:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                // A literal on the left flips the comparison.
+                final boolean isFlipped = operands.get(0) instanceof RexLiteral;
+                final String column = getProperty(columns, operands.get(isFlipped ? 1 : 0));
+                final RexNode literal = operands.get(isFlipped ? 0 : 1);
+                if (column == null || !(literal instanceof RexLiteral)) {
+                    return null;
+                }
+                final Object value = getValue(table, column, (RexLiteral) literal);
+                if (value == null) {
+                    return null;
+                }
+                final SqlKind kind = isFlipped ? rexNode.getKind().reverse() : rexNode.getKind();
+                return __.has(column, getPredicate(kind, value));
+            default:
+                return null;
+        }
+    }
+
+    private static P<Object> getPredicate(final SqlKind kind, final Object value) {
+        switch (kind) {
+            case EQUALS:
+                return P.eq(value);
+            case NOT_EQUALS:
+                return P.neq(value);
+            case LESS_THAN:
+                return P.lt(value);
+            case LESS_THAN_OR_EQUAL:
+                return P.lte(value);
+            case GREATER_THAN:
+                return P.gt(value);
+            default:
+                return P.gte(value);
+        }
+    }
+
+    /**
+     * Function to get the property of a column reference. ID columns are not properties and are not pushed down.
+     */
+    private static String getProperty(final List<String> columns, final RexNode rexNode) {
+        if (!(rexNode instanceof RexInputRef)) {
+            return null;
+        }
+        final String column = columns.get(((RexInputRef) rexNode).getIndex());
+        return column.endsWith(GremlinTableBase.ID) ? null : column;
+    }
+
+    private static boolean isType(final GremlinTableBase table, final String column, final String type) {
+        final GremlinProperty property = table.getColumns().get(column);
+        return property != null && type.equalsIgnoreCase(property.getType());
+    }
+
+    /**
+     * Function to get the value of a literal as the type of the property it is compared with.
+     *
+     * @return Value of the literal, null if it cannot be converted to the type of the property exactly.
+     */
+    private static Object getValue(final GremlinTableBase table, final String column, final RexLiteral literal) {
+        final String type = table.getColumns().get(column).getType().toLowerCase(Locale.ROOT);
+        try {
+            switch (type) {
+                case "string":
+                    return literal.getValueAs(String.class);
+                case "boolean":
+                    return literal.getValueAs(Boolean.class);
+                case "byte":
+                    return literal.getValueAs(BigDecimal.class).byteValueExact();
+                case "short":
+                    return literal.getValueAs(BigDecimal.class).shortValueExact();
+                case "integer":
+                    return literal.getValueAs(BigDecimal.class).intValueExact();
+                case "long":
+                    return literal.getValueAs(BigDecimal.class).longValueExact();
+                case "float":
+                    return literal.getValueAs(BigDecimal.class).floatValue();
+                case "double":
+                    return literal.getValueAs(BigDecimal.class).doubleValue();
+                default:
+                    // Dates are compared by Calcite.
+                    return null;
+            }
+        } catch (final RuntimeException e) {
+            // The literal does not fit the type of the property, or is not a literal of a comparable type.
+            return null;
+        }
+    }
+
+    private static GraphTraversal<?, ?> project(final GremlinTableBase table, final List<String> projectedColumns,
+                                                final GraphTraversal<?, ?> graphTraversal) {
+        if (projectedColumns.isEmpty()) {
+            // Only the number of rows is needed, the elements themselves stay in the graph.
+            return graphTraversal.constant(true);
+        }
+        graphTraversal.project(projectedColumns.get(0),
+                projectedColumns.subList(1, projectedColumns.size()).toArray(new String[0]));
+        for (final String column : projectedColumns) {
+            graphTraversal.by(getColumnTraversal(table, column));
+        }
+        return graphTraversal;
+    }
+
+    private static GraphTraversal<?, ?> getColumnTraversal(final GremlinTableBase table, final String column) {
+        if (!column.endsWith(GremlinTableBase.ID)) {
+            // A missing property leaves the column out of the projected map.
+            return __.values(column);
+        } else if (column.equalsIgnoreCase(table.getLabel() + GremlinTableBase.ID)) {
+            return __.id();
+        } else if (column.endsWith(GremlinTableBase.IN_ID)) {
+            final String label = column.substring(0, column.length() - GremlinTableBase.IN_ID.length());
+            // A vertex can have many edges of a label, an edge has one vertex on each side.
+            return table.getIsVertex() ? __.inE(label).id().fold() : __.inV().hasLabel(label).id();
+        } else if (column.endsWith(GremlinTableBase.OUT_ID)) {
+            final String label = column.substring(0, column.length() - GremlinTableBase.OUT_ID.length());
+            return table.getIsVertex() ? __.outE(label).id().fold() : __.outV().hasLabel(label).id();
+        }
+        return __.constant(new ArrayList<>());
+    }
+
+    /**
+     * Enumerator over the projected maps of a traversal, which converts the values to the types of their columns.
+     * The edges of a vertex column are returned one per row, like the rows of a foreign key, so that joining on the
+     * column joins the vertices the edges connect. A vertex without edges of the label has a null column.
+     */
+    private static class ScanEnumerator implements Enumerator<Object[]> {
+        private final GremlinTableBase table;
+        private final List<String> columns;
+        private final AtomicBoolean cancelFlag;
+        private final Supplier<GraphTraversal<?, ?>> traversalSupplier;
+        private final Deque<Object[]> pendingRows = new ArrayDeque<>();
+        private GraphTraversal<?, ?> graphTraversal;
+        private Object[] current;
+
+        ScanEnumerator(final GremlinTableBase table, final List<String> columns, final AtomicBoolean cancelFlag,
+                       final Supplier<GraphTraversal<?, ?>> traversalSupplier) {
+            this.table = table;
+            this.columns = columns;
+            this.cancelFlag = cancelFlag;
+            this.traversalSupplier = traversalSupplier;
+            this.graphTraversal = traversalSupplier.get();
+        }
+
+        @Override
+        public Object[] current() {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext() {
+            while (pendingRows.isEmpty()) {
+                if ((cancelFlag != null && cancelFlag.get()) || !graphTraversal.hasNext()) {
+                    return false;
+                }
+                final Object next = graphTraversal.next();
+                pendingRows.add(new Object[columns.size()]);
+                if (next instanceof Map) {
+                    final Map<?, ?> map = (Map<?, ?>) next;
+                    for (int i = 0; i < columns.size(); i++) {
+                        setColumn(i, map.get(columns.get(i)));
+                    }
+                }
+            }
+            current = pendingRows.poll();
+            return true;
+        }
+
+        private void setColumn(final int index, final Object value) {
+            final GremlinProperty property = table.getColumns().get(columns.get(index));
+            if (!(value instanceof Collection) || ((Collection<?>) value).size() <= 1) {
+                final Object single = (value instanceof Collection) ?
+                        ((Collection<?>) value).stream().findFirst().orElse(null) : value;
+                pendingRows.forEach(row -> row[index] = convert(property, single));
+                return;
+            }
+            final List<Object[]> rows = new ArrayList<>();
+            for (final Object[] row : pendingRows) {
+                for (final Object element : (Collection<?>) value) {
+                    final Object[] copy = row.clone();
+                    copy[index] = convert(property, element);
+                    rows.add(copy);
+                }
+            }
+            pendingRows.clear();
+            pendingRows.addAll(rows);
+        }
+
+        /**
+         * Function to go back to before the first row. A traversal cannot be rewound, so the scan is issued again.
+         */
+        @Override
+        public void reset() {
+            close();
+            pendingRows.clear();
+            current = null;
+            graphTraversal = traversalSupplier.get();
+        }
+
+        @Override
+        public void close() {
+            try {
+                graphTraversal.close();
+            } catch (final Exception ignored) {
+            }
+        }
+    }
+
+    /**
+     * Function to convert a value read from the graph to the Java type Calcite holds its column in.
+     */
+    private static Object convert(final GremlinProperty property, final Object value) {
+        if (value == null) {
+            return null;
+        }
+        switch (property.getType().toLowerCase(Locale.ROOT)) {
+            case "string":
+                return (value instanceof String) ? value : String.valueOf(value);
+            case "byte":
+                return (value instanceof Number) ? ((Number) value).byteValue() : value;
+            case "short":
+                return (value instanceof Number) ? ((Number) value).shortValue() : value;
+            case "integer":
+                return (value instanceof Number) ? ((Number) value).intValue() : value;
+            case "long":
+                return (value instanceof Number) ? ((Number) value).longValue() : value;
+            case "float":
+                return (value instanceof Number) ? ((Number) value).floatValue() : value;
+            case "double":
+                return (value instanceof Number) ? ((Number) value).doubleValue() : value;
+            case "date":
+            case "long_date":
+                // Calcite holds dates as days and timestamps as milliseconds since the epoch.
+                return (value instanceof java.util.Date) ?
+                        (int) Math.floorDiv(((java.util.Date) value).getTime(), DateTimeUtils.MILLIS_PER_DAY) : value;
+            case "timestamp":
+            case "long_timestamp":
+                return (value instanceof java.util.Date) ? ((java.util.Date) value).getTime() : value;
+            default:
+                return value;
+        }
+    }
+}
@@ -24,9 +24,11 @@ import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinEdge
 import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
 import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -41,8 +43,8 @@ public class GremlinSchema extends AbstractSchema {
     @Override
     protected Map<String, Table> getTableMap() {
         final ImmutableMap.Builder<String, Table> builder = ImmutableMap.builder();
-        builder.putAll(vertices.stream().collect(Collectors.toMap(GremlinTableBase::getLabel, t -> t)));
-        builder.putAll(edges.stream().collect(Collectors.toMap(GremlinTableBase::getLabel, t -> t)));
+        builder.putAll(getVertices().stream().collect(Collectors.toMap(GremlinTableBase::getLabel, t -> t)));
+        builder.putAll(getEdges().stream().collect(Collectors.toMap(GremlinTableBase::getLabel, t -> t)));
         final Map<String, Table> tableMap = builder.build();
         return tableMap;
     }
@@ -55,10 +57,72 @@ public class GremlinSchema extends AbstractSchema {
         return new ArrayList<>(edges);
     }
 
+    /**
+     * Function to get the labels of the vertex tables.
+     *
+     * @return Vertex labels.
+     */
+    public List<String> getVertexLabels() {
+        return getVertices().stream().map(GremlinTableBase::getLabel).collect(Collectors.toList());
+    }
+
+    /**
+     * Function to get the labels of the edge tables.
+     *
+     * @return Edge labels.
+     */
+    public List<String> getEdgeLabels() {
+        return getEdges().stream().map(GremlinTableBase::getLabel).collect(Collectors.toList());
+    }
+
+    /**
+     * Function to get the schema with the number of elements of each table set from the label counts taken when the
+     * schema was scanned. Tables without a count are left unknown. Tables whose count changes are copied, so the
+     * tables this schema shares with other schemas are not modified.
+     *
+     * @param vertexLabelCounts Number of vertices of each vertex label.
+     * @param edgeLabelCounts   Number of edges of each edge label.
+     * @return This schema if every count is already set, otherwise a schema with the counted tables.
+     */
+    public GremlinSchema withLabelCounts(final Map<String, Long> vertexLabelCounts,
+                                         final Map<String, Long> edgeLabelCounts) {
+        final List<GremlinVertexTable> countedVertices = vertices.stream()
+                .map(table -> withRowCount(table, vertexLabelCounts.get(table.getLabel())))
+                .collect(Collectors.toList());
+        final List<GremlinEdgeTable> countedEdges = edges.stream()
+                .map(table -> withRowCount(table, edgeLabelCounts.get(table.getLabel())))
+                .collect(Collectors.toList());
+        if (countedVertices.equals(vertices) && countedEdges.equals(edges)) {
+            return this;
+        }
+        return new GremlinSchema(countedVertices, countedEdges);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends GremlinTableBase> T withRowCount(final T table, final Long count) {
+        return Objects.equals(table.getRowCount(), count) ? table : (T) table.withRowCount(count);
+    }
+
     public List<GremlinTableBase> getAllTables() {
         final List<GremlinTableBase> gremlinTableBases = new ArrayList<>();
-        gremlinTableBases.addAll(vertices);
-        gremlinTableBases.addAll(edges);
+        gremlinTableBases.addAll(getVertices());
+        gremlinTableBases.addAll(getEdges());
         return gremlinTableBases;
     }
+
+    /**
+     * Function to get the table of a label, ignoring case.
+     *
+     * @param label Label of the table.
+     * @return GremlinTableBase of the label, or null if the schema has no such table.
+     * @throws SQLException If the table cannot be loaded.
+     */
+    public GremlinTableBase getGremlinTable(final String label) throws SQLException {
+        for (final GremlinTableBase gremlinTableBase : getAllTables()) {
+            if (gremlinTableBase.getLabel().equalsIgnoreCase(label)) {
+                return gremlinTableBase;
+            }
+        }
+        return null;
+    }
 }
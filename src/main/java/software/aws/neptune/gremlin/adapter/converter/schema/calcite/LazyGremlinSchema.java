@@ -0,0 +1,232 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.converter.schema.calcite;
+
+import lombok.NonNull;
+import org.apache.calcite.schema.Table;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * GremlinSchema which only knows the labels of the graph up front. The columns and edges of a table are loaded the
+ * first time the table is resolved and are kept afterwards, so planning a query only scans the labels it references.
+ * Listing all vertices or edges loads every table which is not loaded yet.
+ * <p>
+ * Loaded tables are read without locking, so tables loaded in the background through loadTables can be served while
+ * other tables are still being loaded.
+ */
+public class LazyGremlinSchema extends GremlinSchema {
+    private final List<String> vertexLabels;
+    private final List<String> edgeLabels;
+    private final TableLoader tableLoader;
+    private final Map<String, GremlinVertexTable> vertexTables = new ConcurrentHashMap<>();
+    private final Map<String, GremlinEdgeTable> edgeTables = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for LazyGremlinSchema.
+     *
+     * @param vertexLabels Vertex labels of the graph.
+     * @param edgeLabels   Edge labels of the graph.
+     * @param tableLoader  TableLoader used to load the tables of labels.
+     */
+    public LazyGremlinSchema(@NonNull final List<String> vertexLabels, @NonNull final List<String> edgeLabels,
+                             @NonNull final TableLoader tableLoader) {
+        super(new ArrayList<>(), new ArrayList<>());
+        this.vertexLabels = new ArrayList<>(vertexLabels);
+        this.edgeLabels = new ArrayList<>(edgeLabels);
+        this.tableLoader = tableLoader;
+    }
+
+    @Override
+    protected Map<String, Table> getTableMap() {
+        // Calcite lists the table names to resolve a table and then gets that table only.
+        return new AbstractMap<String, Table>() {
+            @Override
+            public Set<String> keySet() {
+                final Set<String> tableNames = new LinkedHashSet<>(vertexLabels);
+                tableNames.addAll(edgeLabels);
+                return tableNames;
+            }
+
+            @Override
+            public boolean containsKey(final Object key) {
+                return vertexLabels.contains(key) || edgeLabels.contains(key);
+            }
+
+            @Override
+            public Table get(final Object key) {
+                if (!containsKey(key)) {
+                    return null;
+                }
+                try {
+                    return getGremlinTable((String) key);
+                } catch (final SQLException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            }
+
+            @Override
+            public Set<Entry<String, Table>> entrySet() {
+                final Set<Entry<String, Table>> entries = new LinkedHashSet<>();
+                getAllTables().forEach(table -> entries.add(new SimpleImmutableEntry<>(table.getLabel(), table)));
+                return entries;
+            }
+        };
+    }
+
+    @Override
+    public List<GremlinVertexTable> getVertices() {
+        try {
+            loadTables(vertexLabels, Collections.emptyList());
+        } catch (final SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return vertexLabels.stream().map(vertexTables::get).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<GremlinEdgeTable> getEdges() {
+        try {
+            loadTables(Collections.emptyList(), edgeLabels);
+        } catch (final SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return edgeLabels.stream().map(edgeTables::get).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> getVertexLabels() {
+        return new ArrayList<>(vertexLabels);
+    }
+
+    @Override
+    public List<String> getEdgeLabels() {
+        return new ArrayList<>(edgeLabels);
+    }
+
+    @Override
+    public GremlinTableBase getGremlinTable(final String label) throws SQLException {
+        final String vertexLabel = findLabel(vertexLabels, label);
+        if (vertexLabel != null) {
+            loadTables(Collections.singletonList(vertexLabel), Collections.emptyList());
+            return vertexTables.get(vertexLabel);
+        }
+        final String edgeLabel = findLabel(edgeLabels, label);
+        if (edgeLabel != null) {
+            loadTables(Collections.emptyList(), Collections.singletonList(edgeLabel));
+            return edgeTables.get(edgeLabel);
+        }
+        return null;
+    }
+
+    /**
+     * Function to get the number of tables loaded so far.
+     *
+     * @return Number of loaded tables.
+     */
+    public int getLoadedTableCount() {
+        return vertexTables.size() + edgeTables.size();
+    }
+
+    /**
+     * Function to get the number of tables of the schema, loaded or not.
+     *
+     * @return Number of tables.
+     */
+    public int getTableCount() {
+        return vertexLabels.size() + edgeLabels.size();
+    }
+
+    private static String findLabel(final List<String> labels, final String label) {
+        // An exact match wins over a match which ignores case.
+        if (labels.contains(label)) {
+            return label;
+        }
+        return labels.stream().filter(l -> l.equalsIgnoreCase(label)).findFirst().orElse(null);
+    }
+
+    /**
+     * Function to load the tables of the given labels which are not loaded yet.
+     *
+     * @param requestedVertexLabels Vertex labels to load.
+     * @param requestedEdgeLabels   Edge labels to load.
+     * @throws SQLException If the tables cannot be loaded.
+     */
+    public void loadTables(final List<String> requestedVertexLabels, final List<String> requestedEdgeLabels)
+            throws SQLException {
+        if (isLoaded(requestedVertexLabels, vertexTables) && isLoaded(requestedEdgeLabels, edgeTables)) {
+            return;
+        }
+        // Loads are serialized so a table is never loaded twice.
+        synchronized (this) {
+            load(requestedVertexLabels, requestedEdgeLabels);
+        }
+    }
+
+    private static boolean isLoaded(final List<String> labels, final Map<String, ?> tables) {
+        return labels.stream().allMatch(tables::containsKey);
+    }
+
+    private void load(final List<String> requestedVertexLabels, final List<String> requestedEdgeLabels)
+            throws SQLException {
+        final List<String> missingVertexLabels = requestedVertexLabels.stream()
+                .filter(label -> !vertexTables.containsKey(label))
+                .collect(Collectors.toList());
+        final List<String> missingEdgeLabels = requestedEdgeLabels.stream()
+                .filter(label -> !edgeTables.containsKey(label))
+                .collect(Collectors.toList());
+        if (missingVertexLabels.isEmpty() && missingEdgeLabels.isEmpty()) {
+            return;
+        }
+        final GremlinSchema loaded = tableLoader.load(missingVertexLabels, missingEdgeLabels);
+        loaded.getVertices().forEach(table -> vertexTables.put(table.getLabel(), table));
+        loaded.getEdges().forEach(table -> edgeTables.put(table.getLabel(), table));
+        // A label which disappeared since the label list was fetched becomes an empty table.
+        missingVertexLabels.forEach(label -> vertexTables.computeIfAbsent(label, l ->
+                new GremlinVertexTable(l, new ArrayList<>(), new ArrayList<>(), new ArrayList<>())));
+        missingEdgeLabels.forEach(label -> edgeTables.computeIfAbsent(label, l ->
+                new GremlinEdgeTable(l, new ArrayList<>(), new ArrayList<>())));
+    }
+
+    /**
+     * Interface used to load the tables of a set of labels.
+     */
+    @FunctionalInterface
+    public interface TableLoader {
+        /**
+         * Function to load the tables of the given labels.
+         *
+         * @param vertexLabels Vertex labels to load.
+         * @param edgeLabels   Edge labels to load.
+         * @return GremlinSchema holding the loaded tables.
+         * @throws SQLException If the tables cannot be loaded.
+         */
+        GremlinSchema load(List<String> vertexLabels, List<String> edgeLabels) throws SQLException;
+    }
+}
@@ -37,6 +37,16 @@ public class GremlinEdgeTable extends GremlinTableBase {
         this.inOutVertexPairs = inOutVertexPairs;
     }
 
+    private GremlinEdgeTable(final GremlinEdgeTable table, final Long rowCount) {
+        super(table.getLabel(), false, table.getColumns(), rowCount);
+        this.inOutVertexPairs = table.inOutVertexPairs;
+    }
+
+    @Override
+    public GremlinEdgeTable withRowCount(final Long count) {
+        return new GremlinEdgeTable(this, count);
+    }
+
     private static Map<String, GremlinProperty> convert(
             final String label, final List<GremlinProperty> columns,
             final List<Pair<String, String>> inOutTablePairs) {
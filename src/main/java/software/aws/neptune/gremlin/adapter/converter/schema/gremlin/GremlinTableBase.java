@@ -16,18 +16,26 @@
 
 package software.aws.neptune.gremlin.adapter.converter.schema.gremlin;
 
+import com.google.common.collect.ImmutableList;
 import lombok.Getter;
+import org.apache.calcite.DataContext;
 import org.apache.calcite.adapter.java.AbstractQueryableTable;
+import org.apache.calcite.linq4j.Enumerable;
 import org.apache.calcite.linq4j.QueryProvider;
 import org.apache.calcite.linq4j.Queryable;
 import org.apache.calcite.plan.RelOptTable;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.schema.ProjectableFilterableTable;
 import org.apache.calcite.schema.SchemaPlus;
+import org.apache.calcite.schema.Statistic;
+import org.apache.calcite.schema.Statistics;
 import org.apache.calcite.schema.TranslatableTable;
 import org.apache.calcite.util.Pair;
 import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinRel;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinScanPushdown;
 import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinTableScan;
 import software.aws.neptune.gremlin.adapter.util.SqlGremlinError;
 
@@ -37,20 +45,29 @@ import java.util.List;
 import java.util.Map;
 
 @Getter
-public class GremlinTableBase extends AbstractQueryableTable implements TranslatableTable {
+public class GremlinTableBase extends AbstractQueryableTable
+        implements TranslatableTable, ProjectableFilterableTable {
     private final String label;
     private final Boolean isVertex;
     private final Map<String, GremlinProperty> columns;
     public static final String ID = "_ID";
     public static final String IN_ID = "_IN" + ID;
     public static final String OUT_ID = "_OUT" + ID;
+    // Number of elements of the label when the schema was scanned, null if unknown.
+    private final Long rowCount;
 
     public GremlinTableBase(final String label, final Boolean isVertex,
                             final Map<String, GremlinProperty> columns) {
+        this(label, isVertex, columns, null);
+    }
+
+    protected GremlinTableBase(final String label, final Boolean isVertex,
+                               final Map<String, GremlinProperty> columns, final Long rowCount) {
         super(Object[].class);
         this.label = label;
         this.isVertex = isVertex;
         this.columns = columns;
+        this.rowCount = rowCount;
     }
 
     public GremlinProperty getColumn(final String column) throws SQLException {
@@ -62,6 +79,23 @@ public class GremlinTableBase extends AbstractQueryableTable implements Translat
         throw SqlGremlinError.create(SqlGremlinError.COLUMN_NOT_FOUND, column, isVertex ? "vertex" : "edge", label);
     }
 
+    /**
+     * Function to get a copy of the table with the number of elements of the label, which the planner uses to
+     * estimate the cost of a query. Tables are shared by the schemas built from one another, so they are never
+     * modified.
+     *
+     * @param count Number of elements, null if unknown.
+     * @return Copy of the table with the count.
+     */
+    public GremlinTableBase withRowCount(final Long count) {
+        return new GremlinTableBase(label, isVertex, columns, count);
+    }
+
+    @Override
+    public Statistic getStatistic() {
+        return (rowCount == null) ? Statistics.UNKNOWN : Statistics.of(rowCount.doubleValue(), ImmutableList.of());
+    }
+
     public boolean hasColumn(final String column) {
         for (final Map.Entry<String, GremlinProperty> entry : columns.entrySet()) {
             if (entry.getKey().equalsIgnoreCase(column)) {
@@ -85,6 +119,11 @@ public class GremlinTableBase extends AbstractQueryableTable implements Translat
         return new GremlinTableScan(context.getCluster(), context.getCluster().traitSetOf(GremlinRel.CONVENTION), relOptTable, fields);
     }
 
+    @Override
+    public Enumerable<Object[]> scan(final DataContext root, final List<RexNode> filters, final int[] projects) {
+        return GremlinScanPushdown.scan(this, root, filters, projects);
+    }
+
     @Override
     public RelDataType getRowType(final RelDataTypeFactory relDataTypeFactory) {
         final List<String> names = new ArrayList<>();
@@ -33,6 +33,17 @@ public class GremlinVertexTable extends GremlinTableBase {
         this.outEdges = outEdges;
     }
 
+    private GremlinVertexTable(final GremlinVertexTable table, final Long rowCount) {
+        super(table.getLabel(), true, table.getColumns(), rowCount);
+        this.inEdges = table.inEdges;
+        this.outEdges = table.outEdges;
+    }
+
+    @Override
+    public GremlinVertexTable withRowCount(final Long count) {
+        return new GremlinVertexTable(this, count);
+    }
+
     // String for edges because 1 vertex can be connected to many edges (may required representation like '[1, 2, 3]"
     // Long type for vertices because an edge can only be connected to one vertex (on each side).
     private static Map<String, GremlinProperty> convert(
@@ -16,52 +16,219 @@
 
 package software.aws.neptune.gremlin.adapter.results;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import software.aws.neptune.gremlin.adapter.converter.SqlMetadata;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Getter
 public class SqlGremlinQueryResult implements AutoCloseable {
     public static final String EMPTY_MESSAGE = "No more results.";
     public static final String NULL_VALUE = "$%#NULL#%$";
+    // SQLSTATE of the exception passed to completion listeners when the result is cancelled.
+    public static final String CANCELLED_SQL_STATE = "HY008";
+    // Rows held for the reader of a streamed result, the thread producing them waits once this many are unread
+    // unless the result is unbound.
+    public static final int DEFAULT_CAPACITY = 10000;
+    private static final long POLL_MILLIS = 100;
     private final List<String> columns;
     private final List<String> columnTypes = new ArrayList<>();
-    private final BlockingQueue<List<Object>> blockingQueueRows = new LinkedBlockingQueue<>();
+    private final BlockingQueue<List<Object>> blockingQueueRows;
+    // Number of unread rows after which adding rows waits for the reader, the queue itself is unbounded.
+    @Getter(AccessLevel.NONE)
+    private volatile int capacity;
     private SQLException paginationException = null;
+    @Getter(AccessLevel.NONE)
+    private final List<Consumer<SQLException>> completionListeners = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private boolean completed = false;
+    @Getter(AccessLevel.NONE)
+    private SQLException completionError = null;
+    private volatile boolean cancelled = false;
+    // Whether the rows were materialised when the result was created, rather than streamed into it.
+    private final boolean materialized;
 
-    public SqlGremlinQueryResult(final List<String> columns, final SqlMetadata sqlMetadata) throws SQLException {
+    /**
+     * Constructor for a streamed result whose column types are already known.
+     *
+     * @param columns     Column names.
+     * @param columnTypes Column types.
+     */
+    public SqlGremlinQueryResult(final List<String> columns, final List<String> columnTypes) {
+        this(columns, columnTypes, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for a streamed result which holds at most a number of unread rows.
+     *
+     * @param columns     Column names.
+     * @param columnTypes Column types.
+     * @param capacity    Number of unread rows after which adding rows waits for the reader.
+     */
+    public SqlGremlinQueryResult(final List<String> columns, final List<String> columnTypes, final int capacity) {
         this.columns = columns;
-        for (final String column : columns) {
-            columnTypes.add(sqlMetadata.getType(column));
-        }
+        this.columnTypes.addAll(columnTypes);
+        this.blockingQueueRows = new LinkedBlockingQueue<>();
+        this.capacity = capacity;
+        this.materialized = false;
+    }
+
+    /**
+     * Constructor for a completed result holding already materialised rows.
+     *
+     * @param columns     Column names.
+     * @param columnTypes Column types.
+     * @param rows        Materialised rows.
+     */
+    public SqlGremlinQueryResult(final List<String> columns, final List<String> columnTypes,
+                                 final List<List<Object>> rows) {
+        this.columns = columns;
+        this.columnTypes.addAll(columnTypes);
+        this.blockingQueueRows = new LinkedBlockingQueue<>(rows);
+        this.capacity = Integer.MAX_VALUE;
+        this.materialized = true;
+        close();
     }
 
     public void setPaginationException(final SQLException e) {
         paginationException = e;
-        close();
+        put(new EmptyResult());
+        complete(e);
     }
 
     @Override
     public void close() {
-        blockingQueueRows.add(new EmptyResult());
+        put(new EmptyResult());
+        complete(null);
+    }
+
+    /**
+     * Function to cancel the result when its reader is closed or its statement is cancelled. The thread producing
+     * the rows stops at its next page, the unread rows are dropped, and the completion listeners are called with an
+     * exception whose SQLSTATE is CANCELLED_SQL_STATE.
+     */
+    public void cancel() {
+        cancelled = true;
+        blockingQueueRows.clear();
+        signalProducer();
+        complete(new SQLException("Query result was cancelled before it was complete.", CANCELLED_SQL_STATE));
+    }
+
+    /**
+     * Function to let the result hold any number of unread rows, so the thread producing them never waits for the
+     * reader and the result completes when the graph is no longer queried for it, however slowly it is read. The
+     * unread rows are held in memory instead.
+     */
+    public void unbound() {
+        capacity = Integer.MAX_VALUE;
+        signalProducer();
+    }
+
+    /**
+     * Function to run a listener once the result is complete, failed or cancelled, which is when the graph is no
+     * longer queried for it. The listener runs right away if the result is already complete.
+     *
+     * @param listener Listener called with null on success, or with the exception of the failure or cancellation.
+     */
+    public void addCompletionListener(final Consumer<SQLException> listener) {
+        final SQLException error;
+        synchronized (completionListeners) {
+            if (!completed) {
+                completionListeners.add(listener);
+                return;
+            }
+            error = completionError;
+        }
+        listener.accept(error);
+    }
+
+    /**
+     * Function to wait until the result is complete, failed or cancelled, or until it holds more than a number of
+     * unread rows.
+     *
+     * @param maxRows Number of unread rows after which the wait stops.
+     * @return True if the result is complete, false if it holds more than maxRows unread rows.
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    public boolean awaitCompletion(final int maxRows) throws InterruptedException {
+        synchronized (completionListeners) {
+            while (!completed && blockingQueueRows.size() <= maxRows) {
+                completionListeners.wait(POLL_MILLIS);
+            }
+            return completed;
+        }
+    }
+
+    private void complete(final SQLException error) {
+        final List<Consumer<SQLException>> listeners;
+        synchronized (completionListeners) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            completionError = error;
+            listeners = new ArrayList<>(completionListeners);
+            completionListeners.clear();
+            completionListeners.notifyAll();
+        }
+        listeners.forEach(listener -> listener.accept(error));
     }
 
     public void addResults(final List<List<Object>> rows) {
         // This is a workaround for Gremlin null support not being in any version of Gremlin that is
         // widely supported by database vendors.
         rows.forEach(row -> row.replaceAll(col -> (col instanceof String && col.equals(NULL_VALUE) ? null : col)));
-        blockingQueueRows.addAll(rows);
+        rows.forEach(this::put);
+    }
+
+    /**
+     * Function to add a row, waiting while the result is full until the reader takes a row, the result is unbound or
+     * the result is cancelled.
+     */
+    private void put(final List<Object> row) {
+        synchronized (blockingQueueRows) {
+            while (!cancelled && blockingQueueRows.size() >= capacity) {
+                try {
+                    blockingQueueRows.wait(POLL_MILLIS);
+                } catch (final InterruptedException ignored) {
+                }
+            }
+        }
+        if (cancelled) {
+            return;
+        }
+        blockingQueueRows.add(row);
+        if (cancelled) {
+            // The result was cancelled while the row was added, so nobody reads it.
+            blockingQueueRows.clear();
+        }
+    }
+
+    private void signalProducer() {
+        synchronized (blockingQueueRows) {
+            blockingQueueRows.notifyAll();
+        }
     }
 
     public List<Object> getResult() throws SQLException {
         while (true) {
+            if (cancelled) {
+                throw new SQLException("Query result was cancelled before it was complete.", CANCELLED_SQL_STATE);
+            }
             try {
-                final List<Object> result = blockingQueueRows.take();
+                final List<Object> result = blockingQueueRows.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (result == null) {
+                    continue;
+                }
+                if (capacity != Integer.MAX_VALUE) {
+                    signalProducer();
+                }
 
                 // If a pagination exception occurs, an EmptyResult Object will be inserted into the BlockingQueue.
                 // The pagination exception needs to be checked before returning.
@@ -74,6 +241,23 @@ public class SqlGremlinQueryResult implements AutoCloseable {
         }
     }
 
+    /**
+     * Function to read all remaining rows, blocking until the result is complete.
+     *
+     * @return All remaining rows.
+     * @throws SQLException If the traversal producing the rows failed.
+     */
+    public List<List<Object>> getAllResults() throws SQLException {
+        final List<List<Object>> rows = new ArrayList<>();
+        while (true) {
+            final List<Object> row = getResult();
+            if (row instanceof EmptyResult) {
+                return rows;
+            }
+            rows.add(row);
+        }
+    }
+
     public static class EmptyResult extends ArrayList<Object> {
     }
 }
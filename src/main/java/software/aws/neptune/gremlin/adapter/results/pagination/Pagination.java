@@ -45,7 +45,8 @@ public class Pagination implements Runnable {
         try {
             LOGGER.info("Graph traversal: " +
                     GroovyTranslator.of("g").translate(traversal.asAdmin().getBytecode()));
-            while (traversal.hasNext()) {
+            // A cancelled result is no longer read, so the traversal stops at the next page.
+            while (!sqlGremlinQueryResult.isCancelled() && traversal.hasNext()) {
                 final List<Object> rows = new ArrayList<>();
                 traversal.next(pageSize).forEach(map -> {
                     // Our choose(<predicate>, <expected>, <empty>) returns an empty list.
@@ -63,7 +64,7 @@ public class Pagination implements Runnable {
             final PrintWriter pw = new PrintWriter(sw);
             e.printStackTrace(pw);
             LOGGER.error("Encountered exception", e);
-            sqlGremlinQueryResult.setPaginationException(new SQLException(e + sw.toString()));
+            sqlGremlinQueryResult.setPaginationException(new SQLException(e + sw.toString(), e));
         } finally {
             closeTraversal();
         }
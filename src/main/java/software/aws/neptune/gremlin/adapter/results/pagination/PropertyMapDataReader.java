@@ -0,0 +1,66 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.results.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reader for rows retrieved with a single valueMap() step per element. The map of an element only holds the
+ * properties it has, the columns of missing properties are filled with null.
+ * <p>
+ * Columns which need a traversal, like the ids of connected edges, are projected next to the property map, which is
+ * then found under PROPERTIES_KEY.
+ */
+public class PropertyMapDataReader implements GetRowFromMap {
+    public static final String PROPERTIES_KEY = "$%#PROPERTIES#%$";
+    private final List<Object> keys;
+    private final List<String> traversedColumns;
+
+    /**
+     * Constructor for PropertyMapDataReader.
+     *
+     * @param keys             Key of each column, a property name, T.id or the name of a traversed column.
+     * @param traversedColumns Columns which are projected next to the property map.
+     */
+    public PropertyMapDataReader(final List<Object> keys, final List<String> traversedColumns) {
+        this.keys = new ArrayList<>(keys);
+        this.traversedColumns = new ArrayList<>(traversedColumns);
+    }
+
+    @Override
+    public Object[] execute(final Map<String, Object> map) {
+        final Map<?, ?> properties = traversedColumns.isEmpty() ? map : (Map<?, ?>) map.get(PROPERTIES_KEY);
+        final Object[] row = new Object[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            if (traversedColumns.contains(keys.get(i))) {
+                row[i] = map.get(keys.get(i));
+                continue;
+            }
+            final Object value = properties.get(keys.get(i));
+            if (value instanceof List) {
+                // Vertex properties are lists of values, of which the first one is read like values() does.
+                final List<?> values = (List<?>) value;
+                row[i] = values.isEmpty() ? null : values.get(0);
+            } else {
+                row[i] = value;
+            }
+        }
+        return row;
+    }
+}
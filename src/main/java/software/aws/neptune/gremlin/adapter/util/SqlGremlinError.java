@@ -32,7 +32,6 @@ public enum SqlGremlinError {
     OPERANDS_EMPTY,
     IDENTIFIER_SIZE_INCORRECT,
     ID_BASED_APPEND,
-    SCHEMA_NOT_SET,
     SQL_SELECT_ONLY,
     PARSE_ERROR,
     EDGE_LABEL_END_MISMATCH,
@@ -86,11 +85,19 @@ public enum SqlGremlinError {
     NO_JOIN_COLUMN,
     NOT_LOGICAL_FILTER,
     OFFSET_NOT_SUPPORTED,
+    LIMIT_NOT_SUPPORTED,
     UNSUPPORTED_LITERAL_EXPRESSION,
     CANNOT_JOIN_DIFFERENT_EDGES,
+    JOIN_CHAIN_UNSUPPORTED,
+    JOIN_CHAIN_WHERE,
     UNSUPPORTED_OPERAND_TYPE,
     UNRECOGNIZED_TYPE,
-    UNSUPPORTED_BASIC_LITERALS;
+    UNSUPPORTED_BASIC_LITERALS,
+    PARAMETER_NOT_SET,
+    PARAMETER_TYPE_MISMATCH,
+    HYBRID_EXECUTION,
+    HYBRID_EDGE_COLUMN,
+    HYBRID_MISSING_PROPERTY;
 
     private static final ResourceBundle RESOURCE;
 
@@ -74,6 +74,16 @@ public class GremlinResultSetGetColumns extends ResultSetGetColumns implements j
         super(statement, gremlinSchema, resultSetInfoWithoutRows);
     }
 
+    /**
+     * GremlinResultSetGetColumns constructor for rows built ahead of time.
+     *
+     * @param statement Statement Object.
+     * @param rows      Rows of the result set.
+     */
+    public GremlinResultSetGetColumns(final Statement statement, final List<Map<String, Object>> rows) {
+        super(statement, rows);
+    }
+
     @Override
     protected ResultSetMetaData getResultMetadata() {
         final List<String> orderedColumns = getColumns();
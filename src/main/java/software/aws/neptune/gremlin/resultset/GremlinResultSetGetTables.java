@@ -59,6 +59,16 @@ public class GremlinResultSetGetTables extends ResultSetGetTables implements jav
         super(statement, gremlinSchema, resultSetInfoWithoutRows);
     }
 
+    /**
+     * GremlinResultSetGetTables constructor for rows built ahead of time.
+     *
+     * @param statement Statement Object.
+     * @param rows      Rows of the result set.
+     */
+    public GremlinResultSetGetTables(final Statement statement, final List<Map<String, Object>> rows) {
+        super(statement, rows);
+    }
+
     @Override
     protected ResultSetMetaData getResultMetadata() {
         final List<String> orderedColumns = getColumns();
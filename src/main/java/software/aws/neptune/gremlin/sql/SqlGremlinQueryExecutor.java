@@ -22,18 +22,24 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.aws.neptune.gremlin.adapter.converter.SqlConverter;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
 import software.aws.neptune.gremlin.adapter.results.SqlGremlinQueryResult;
 import software.aws.neptune.common.gremlindatamodel.MetadataCache;
 import software.aws.neptune.gremlin.GremlinConnectionProperties;
 import software.aws.neptune.gremlin.GremlinQueryExecutor;
 import software.aws.neptune.gremlin.resultset.GremlinResultSetGetColumns;
 import software.aws.neptune.gremlin.resultset.GremlinResultSetGetTables;
+import software.aws.neptune.jdbc.utilities.QueryDeduplicator;
 import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.jdbc.utilities.SqlState;
 import java.lang.reflect.Constructor;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 
@@ -43,7 +49,10 @@ import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalS
 public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
     private static final Logger LOGGER = LoggerFactory.getLogger(SqlGremlinQueryExecutor.class);
     private static final Object TRAVERSAL_LOCK = new Object();
+    // Rows a shared result is materialised up to, it stays below the rows a streamed result holds for its reader.
+    private static final int MAX_SHARED_ROWS = 1000;
     private SqlConverter gremlinSqlConverter = null;
+    private GremlinSchema gremlinSqlConverterSchema = null;
     private static GraphTraversalSource graphTraversalSource = null;
     private final GremlinConnectionProperties gremlinConnectionProperties;
 
@@ -90,9 +99,12 @@ public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
     private SqlConverter getGremlinSqlConverter(final GremlinConnectionProperties gremlinConnectionProperties)
             throws SQLException {
         MetadataCache.updateCacheIfNotUpdated(gremlinConnectionProperties);
-        if (gremlinSqlConverter == null) {
-            gremlinSqlConverter = new SqlConverter(MetadataCache.getGremlinSchema(
-                    gremlinConnectionProperties.getContactPoint()));
+        final GremlinSchema gremlinSchema =
+                MetadataCache.getGremlinSchema(gremlinConnectionProperties.getContactPoint());
+        // The cached schema is swapped when it is refreshed, the converter is rebuilt to pick it up.
+        if (gremlinSqlConverter == null || gremlinSqlConverterSchema != gremlinSchema) {
+            gremlinSqlConverter = new SqlConverter(gremlinSchema);
+            gremlinSqlConverterSchema = gremlinSchema;
         }
         return gremlinSqlConverter;
     }
@@ -115,8 +127,10 @@ public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
             }
         }
         MetadataCache.updateCacheIfNotUpdated(gremlinConnectionProperties);
-        return new GremlinResultSetGetColumns(statement, MetadataCache.getFilteredCacheNodeColumnInfos(nodes, endpoint),
-                MetadataCache.getFilteredResultSetInfoWithoutRowsForColumns(nodes, endpoint));
+        final GremlinResultSetGetColumns resultSet =
+                new GremlinResultSetGetColumns(statement, MetadataCache.getColumnRows(nodes, endpoint));
+        MetadataCache.addSchemaScanWarning(endpoint, resultSet);
+        return resultSet;
     }
 
     /**
@@ -138,9 +152,10 @@ public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
             }
         }
         MetadataCache.updateCacheIfNotUpdated(gremlinConnectionProperties);
-        return new GremlinResultSetGetTables(statement,
-                MetadataCache.getFilteredCacheNodeColumnInfos(tableName, endpoint),
-                MetadataCache.getFilteredResultSetInfoWithoutRowsForTables(tableName, endpoint));
+        final GremlinResultSetGetTables resultSet =
+                new GremlinResultSetGetTables(statement, MetadataCache.getTableRows(tableName, endpoint));
+        MetadataCache.addSchemaScanWarning(endpoint, resultSet);
+        return resultSet;
     }
 
     /**
@@ -153,6 +168,26 @@ public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
      */
     @Override
     public ResultSet executeQuery(final String sql, final Statement statement) throws SQLException {
+        return executeQuery(sql, Collections.emptyMap(), statement);
+    }
+
+    @Override
+    public boolean supportsParameters() {
+        return true;
+    }
+
+    /**
+     * Function to execute a query with values bound to its '?' placeholders.
+     *
+     * @param sql        Query to execute.
+     * @param parameters Bound values, keyed by the parameter index which starts at 1.
+     * @param statement  java.sql.Statement Object required for result set.
+     * @return java.sql.ResultSet object returned from query execution.
+     * @throws SQLException if query execution fails, or it was cancelled.
+     */
+    @Override
+    public ResultSet executeQuery(final String sql, final Map<Integer, Object> parameters,
+                                  final Statement statement) throws SQLException {
         final Constructor<?> constructor;
         try {
             constructor = SqlGremlinResultSet.class
@@ -163,7 +198,7 @@ public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
                     SqlState.DATA_EXCEPTION,
                     SqlError.QUERY_FAILED, e);
         }
-        return runCancellableQuery(constructor, statement, sql);
+        return runCancellableQuery(constructor, statement, sql, parameters);
     }
 
     @SneakyThrows
@@ -173,6 +208,86 @@ public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
         return (T) getGremlinSqlConverter(gremlinConnectionProperties).executeQuery(getGraphTraversalSource(gremlinConnectionProperties), query);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> T runQuery(final String query, final Map<Integer, Object> parameters) throws SQLException {
+        return (T) getGremlinSqlConverter(gremlinConnectionProperties)
+                .executeQuery(getGraphTraversalSource(gremlinConnectionProperties), query, parameters);
+    }
+
+    @Override
+    protected String getDeduplicationKey(final String query) {
+        if (!gremlinConnectionProperties.getDeduplicateQueries()) {
+            return null;
+        }
+        return QueryDeduplicator.createKey(gremlinConnectionProperties.getContactPoint() + ":" +
+                gremlinConnectionProperties.getPort(), "sql-gremlin", query);
+    }
+
+    /**
+     * Function to run a shared query. The streamed result can only be consumed once, so it is materialised before
+     * being handed out to every caller, unless it has more than MAX_SHARED_ROWS rows. A larger result is streamed to
+     * the caller which ran it alone.
+     *
+     * @param query Query to execute.
+     * @return Materialised SqlGremlinQueryResult, or the streamed one if it has too many rows to share.
+     * @throws SQLException if query execution fails.
+     */
+    @Override
+    protected Object runSharedQuery(final String query) throws SQLException {
+        final SqlGremlinQueryResult result = runQuery(query);
+        try {
+            if (!result.awaitCompletion(MAX_SHARED_ROWS)) {
+                return result;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel();
+            throw SqlError.createSQLException(LOGGER, SqlState.OPERATION_CANCELED, SqlError.QUERY_CANCELED);
+        }
+        return new SqlGremlinQueryResult(result.getColumns(), result.getColumnTypes(), result.getAllResults());
+    }
+
+    @Override
+    protected boolean isShareable(final Object sharedResult) {
+        return ((SqlGremlinQueryResult) sharedResult).isMaterialized();
+    }
+
+    @Override
+    protected Object shareResult(final Object sharedResult) {
+        final SqlGremlinQueryResult result = (SqlGremlinQueryResult) sharedResult;
+        return new SqlGremlinQueryResult(result.getColumns(), result.getColumnTypes(),
+                result.getBlockingQueueRows().stream()
+                        .filter(row -> !(row instanceof SqlGremlinQueryResult.EmptyResult))
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    protected boolean addCompletionListener(final Object result, final Consumer<Exception> onComplete) {
+        if (!(result instanceof SqlGremlinQueryResult)) {
+            return false;
+        }
+        // The traversal runs on its own thread after runQuery returns the streamed result.
+        ((SqlGremlinQueryResult) result).addCompletionListener(onComplete::accept);
+        return true;
+    }
+
+    @Override
+    protected void unboundResult(final Object result) {
+        if (result instanceof SqlGremlinQueryResult) {
+            // The traversal thread no longer waits for the reader, so the slot and breaker see it finish.
+            ((SqlGremlinQueryResult) result).unbound();
+        }
+    }
+
+    @Override
+    protected void cancelResult(final Object result) {
+        if (result instanceof SqlGremlinQueryResult) {
+            // The thread producing the rows stops, and the reader gets the cancellation from the result set.
+            ((SqlGremlinQueryResult) result).cancel();
+        }
+    }
+
     // TODO AN-540: Look into query cancellation.
     @Override
     protected void performCancel() {
@@ -73,6 +73,8 @@ public class SqlGremlinResultSet extends ResultSet implements java.sql.ResultSet
 
     @Override
     protected void doClose() throws SQLException {
+        // Stops the traversal if the rows were not all read, which also completes the query for admission control.
+        sqlQueryResult.cancel();
     }
 
     @Override
@@ -911,7 +911,7 @@ public abstract class DatabaseMetaData implements java.sql.DatabaseMetaData {
     public ResultSet getTables(final String catalog, final String schemaPattern, final String tableNamePattern,
                                final String[] types)
             throws SQLException {
-        // Only tableNamePattern is supported as an exact node label semicolon delimited String.
+        // Only tableNamePattern is supported, as a JDBC pattern matched against the table names ignoring case.
         LOGGER.info("Getting database tables.");
         return connection.getQueryExecutor().executeGetTables(getConnection().createStatement(), tableNamePattern);
     }
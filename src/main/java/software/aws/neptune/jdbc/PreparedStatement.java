@@ -21,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.aws.neptune.jdbc.utilities.QueryExecutor;
 import software.aws.neptune.jdbc.utilities.SqlError;
+import software.aws.neptune.jdbc.utilities.SqlState;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
@@ -41,6 +42,8 @@ import java.sql.SQLXML;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Implementation of PreparedStatement for JDBC Driver.
@@ -51,6 +54,8 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
     @Getter
     private final QueryExecutor queryExecutor;
     private ResultSet resultSet;
+    // Values bound to the '?' placeholders of the query, keyed by parameter index.
+    private final Map<Integer, Object> parameters = new HashMap<>();
 
     /**
      * Constructor for seeding the prepared statement with the parent connection.
@@ -94,7 +99,10 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
     @Override
     public void clearParameters() throws SQLException {
         verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        if (!queryExecutor.supportsParameters()) {
+            throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        }
+        parameters.clear();
     }
 
     @Override
@@ -137,8 +145,7 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setBigDecimal(final int parameterIndex, final BigDecimal x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -183,14 +190,12 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setBoolean(final int parameterIndex, final boolean x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setByte(final int parameterIndex, final byte x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -241,8 +246,7 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setDate(final int parameterIndex, final Date x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -254,26 +258,22 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setDouble(final int parameterIndex, final double x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setFloat(final int parameterIndex, final float x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setInt(final int parameterIndex, final int x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setLong(final int parameterIndex, final long x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -311,42 +311,36 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setNString(final int parameterIndex, final String value) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, value);
     }
 
     @Override
     public void setNull(final int parameterIndex, final int sqlType) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, null);
     }
 
     @Override
     public void setNull(final int parameterIndex, final int sqlType, final String typeName)
             throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, null);
     }
 
     @Override
     public void setObject(final int parameterIndex, final Object x, final int targetSqlType)
             throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setObject(final int parameterIndex, final Object x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setObject(final int parameterIndex, final Object x, final int targetSqlType,
                           final int scaleOrLength)
             throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -369,20 +363,17 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setShort(final int parameterIndex, final short x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setString(final int parameterIndex, final String x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setTime(final int parameterIndex, final Time x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -394,8 +385,7 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setTimestamp(final int parameterIndex, final Timestamp x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -433,10 +423,24 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public java.sql.ResultSet executeQuery() throws SQLException {
-        resultSet = queryExecutor.executeQuery(sql, this);
+        resultSet = queryExecutor.executeQuery(sql, new HashMap<>(parameters), this);
         return resultSet;
     }
 
+    private void setParameter(final int parameterIndex, final Object value) throws SQLException {
+        verifyOpen();
+        if (!queryExecutor.supportsParameters()) {
+            throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        }
+        if (parameterIndex < 1) {
+            throw SqlError.createSQLException(
+                    LOGGER,
+                    SqlState.DATA_EXCEPTION,
+                    SqlError.INVALID_PARAMETER_INDEX, parameterIndex);
+        }
+        parameters.put(parameterIndex, value);
+    }
+
     @Override
     public ResultSetMetaData getMetaData() throws SQLException {
         return (resultSet == null) ? null : resultSet.getMetaData();
@@ -54,6 +54,20 @@ public abstract class ConnectionProperties extends Properties {
     public static final String SSH_STRICT_HOST_KEY_CHECKING = "sshStrictHostKeyChecking";
     public static final String SSH_KNOWN_HOSTS_FILE = "sshKnownHostsFile";
     public static final String SERVICE_REGION_KEY = "serviceRegion";
+    public static final String DEDUPLICATE_QUERIES_KEY = "deduplicateQueries";
+    public static final String MAX_CONCURRENT_QUERIES_KEY = "maxConcurrentQueries";
+    public static final String QUERY_WEIGHT_KEY = "queryWeight";
+    public static final String MAX_QUERIES_PER_SECOND_KEY = "maxQueriesPerSecond";
+    public static final String CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY = "circuitBreakerFailureThreshold";
+    public static final String CIRCUIT_BREAKER_LATENCY_THRESHOLD_MILLIS_KEY = "circuitBreakerLatencyThresholdMillis";
+    public static final String CIRCUIT_BREAKER_OPEN_MILLIS_KEY = "circuitBreakerOpenMillis";
+    public static final String SCHEMA_CACHE_DIRECTORY_KEY = "schemaCacheDirectory";
+    public static final String SCHEMA_CACHE_TTL_SECONDS_KEY = "schemaCacheTtlSeconds";
+    public static final String SCHEMA_CACHE_CAPACITY_KEY = "schemaCacheCapacity";
+    public static final String SCHEMA_REFRESH_SECONDS_KEY = "schemaRefreshSeconds";
+    public static final String INCREMENTAL_SCHEMA_REFRESH_KEY = "incrementalSchemaRefresh";
+    public static final String LAZY_SCHEMA_KEY = "lazySchema";
+    public static final String PROGRESSIVE_SCHEMA_KEY = "progressiveSchema";
     public static final AuthScheme DEFAULT_AUTH_SCHEME = AuthScheme.IAMSigV4;
     public static final SqlSchemaGrabber.ScanType DEFAULT_SCAN_TYPE = SqlSchemaGrabber.ScanType.All;
     public static final int DEFAULT_CONNECTION_TIMEOUT_MILLIS = 5000;
@@ -61,6 +75,19 @@ public abstract class ConnectionProperties extends Properties {
     public static final String DEFAULT_SSH_STRICT_CHECKING = "true";
     public static final Level DEFAULT_LOG_LEVEL = Level.OFF;
     public static final String DEFAULT_SERVICE_REGION = "";
+    public static final boolean DEFAULT_DEDUPLICATE_QUERIES = false;
+    public static final int DEFAULT_MAX_CONCURRENT_QUERIES = 0;
+    public static final int DEFAULT_QUERY_WEIGHT = 1;
+    public static final int DEFAULT_MAX_QUERIES_PER_SECOND = 0;
+    public static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 0;
+    public static final int DEFAULT_CIRCUIT_BREAKER_LATENCY_THRESHOLD_MILLIS = 0;
+    public static final int DEFAULT_CIRCUIT_BREAKER_OPEN_MILLIS = 30000;
+    public static final int DEFAULT_SCHEMA_CACHE_TTL_SECONDS = 86400;
+    public static final int DEFAULT_SCHEMA_CACHE_CAPACITY = 3;
+    public static final int DEFAULT_SCHEMA_REFRESH_SECONDS = 0;
+    public static final boolean DEFAULT_INCREMENTAL_SCHEMA_REFRESH = true;
+    public static final boolean DEFAULT_LAZY_SCHEMA = false;
+    public static final boolean DEFAULT_PROGRESSIVE_SCHEMA = false;
 
     public static final Map<String, Object> DEFAULT_PROPERTIES_MAP = new HashMap<>();
     private static final Map<String, ConnectionProperties.PropertyConverter<?>> PROPERTY_CONVERTER_MAP =
@@ -75,6 +102,20 @@ public abstract class ConnectionProperties extends Properties {
         PROPERTY_CONVERTER_MAP.put(CONNECTION_RETRY_COUNT_KEY, ConnectionProperties::toUnsigned);
         PROPERTY_CONVERTER_MAP.put(LOG_LEVEL_KEY, ConnectionProperties::toLogLevel);
         PROPERTY_CONVERTER_MAP.put(SERVICE_REGION_KEY, (key, value) -> value);
+        PROPERTY_CONVERTER_MAP.put(DEDUPLICATE_QUERIES_KEY, ConnectionProperties::toBoolean);
+        PROPERTY_CONVERTER_MAP.put(MAX_CONCURRENT_QUERIES_KEY, ConnectionProperties::toUnsigned);
+        PROPERTY_CONVERTER_MAP.put(QUERY_WEIGHT_KEY, ConnectionProperties::toUnsigned);
+        PROPERTY_CONVERTER_MAP.put(MAX_QUERIES_PER_SECOND_KEY, ConnectionProperties::toUnsigned);
+        PROPERTY_CONVERTER_MAP.put(CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY, ConnectionProperties::toUnsigned);
+        PROPERTY_CONVERTER_MAP.put(CIRCUIT_BREAKER_LATENCY_THRESHOLD_MILLIS_KEY, ConnectionProperties::toUnsigned);
+        PROPERTY_CONVERTER_MAP.put(CIRCUIT_BREAKER_OPEN_MILLIS_KEY, ConnectionProperties::toUnsigned);
+        PROPERTY_CONVERTER_MAP.put(SCHEMA_CACHE_DIRECTORY_KEY, (key, value) -> value);
+        PROPERTY_CONVERTER_MAP.put(SCHEMA_CACHE_TTL_SECONDS_KEY, ConnectionProperties::toUnsigned);
+        PROPERTY_CONVERTER_MAP.put(SCHEMA_CACHE_CAPACITY_KEY, ConnectionProperties::toUnsigned);
+        PROPERTY_CONVERTER_MAP.put(SCHEMA_REFRESH_SECONDS_KEY, ConnectionProperties::toUnsigned);
+        PROPERTY_CONVERTER_MAP.put(INCREMENTAL_SCHEMA_REFRESH_KEY, ConnectionProperties::toBoolean);
+        PROPERTY_CONVERTER_MAP.put(LAZY_SCHEMA_KEY, ConnectionProperties::toBoolean);
+        PROPERTY_CONVERTER_MAP.put(PROGRESSIVE_SCHEMA_KEY, ConnectionProperties::toBoolean);
         PROPERTY_CONVERTER_MAP.put(SSH_USER, (key, value) -> value);
         PROPERTY_CONVERTER_MAP.put(SSH_HOSTNAME, (key, value) -> value);
         PROPERTY_CONVERTER_MAP.put(SSH_PRIVATE_KEY_FILE, (key, value) -> value);
@@ -90,6 +131,20 @@ public abstract class ConnectionProperties extends Properties {
         DEFAULT_PROPERTIES_MAP.put(AUTH_SCHEME_KEY, DEFAULT_AUTH_SCHEME);
         DEFAULT_PROPERTIES_MAP.put(LOG_LEVEL_KEY, DEFAULT_LOG_LEVEL);
         DEFAULT_PROPERTIES_MAP.put(SERVICE_REGION_KEY, DEFAULT_SERVICE_REGION);
+        DEFAULT_PROPERTIES_MAP.put(DEDUPLICATE_QUERIES_KEY, DEFAULT_DEDUPLICATE_QUERIES);
+        DEFAULT_PROPERTIES_MAP.put(MAX_CONCURRENT_QUERIES_KEY, DEFAULT_MAX_CONCURRENT_QUERIES);
+        DEFAULT_PROPERTIES_MAP.put(QUERY_WEIGHT_KEY, DEFAULT_QUERY_WEIGHT);
+        DEFAULT_PROPERTIES_MAP.put(MAX_QUERIES_PER_SECOND_KEY, DEFAULT_MAX_QUERIES_PER_SECOND);
+        DEFAULT_PROPERTIES_MAP.put(CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY, DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD);
+        DEFAULT_PROPERTIES_MAP.put(CIRCUIT_BREAKER_LATENCY_THRESHOLD_MILLIS_KEY,
+                DEFAULT_CIRCUIT_BREAKER_LATENCY_THRESHOLD_MILLIS);
+        DEFAULT_PROPERTIES_MAP.put(CIRCUIT_BREAKER_OPEN_MILLIS_KEY, DEFAULT_CIRCUIT_BREAKER_OPEN_MILLIS);
+        DEFAULT_PROPERTIES_MAP.put(SCHEMA_CACHE_TTL_SECONDS_KEY, DEFAULT_SCHEMA_CACHE_TTL_SECONDS);
+        DEFAULT_PROPERTIES_MAP.put(SCHEMA_CACHE_CAPACITY_KEY, DEFAULT_SCHEMA_CACHE_CAPACITY);
+        DEFAULT_PROPERTIES_MAP.put(SCHEMA_REFRESH_SECONDS_KEY, DEFAULT_SCHEMA_REFRESH_SECONDS);
+        DEFAULT_PROPERTIES_MAP.put(INCREMENTAL_SCHEMA_REFRESH_KEY, DEFAULT_INCREMENTAL_SCHEMA_REFRESH);
+        DEFAULT_PROPERTIES_MAP.put(LAZY_SCHEMA_KEY, DEFAULT_LAZY_SCHEMA);
+        DEFAULT_PROPERTIES_MAP.put(PROGRESSIVE_SCHEMA_KEY, DEFAULT_PROGRESSIVE_SCHEMA);
     }
 
     /**
@@ -415,6 +470,294 @@ public abstract class ConnectionProperties extends Properties {
         put(SERVICE_REGION_KEY, region);
     }
 
+    /**
+     * Gets whether identical in flight queries share one execution.
+     *
+     * @return True if query deduplication is enabled, false otherwise.
+     */
+    public boolean getDeduplicateQueries() {
+        return (boolean) get(DEDUPLICATE_QUERIES_KEY);
+    }
+
+    /**
+     * Sets whether identical in flight queries share one execution.
+     *
+     * @param deduplicateQueries True to enable query deduplication.
+     */
+    public void setDeduplicateQueries(final boolean deduplicateQueries) {
+        put(DEDUPLICATE_QUERIES_KEY, deduplicateQueries);
+    }
+
+    /**
+     * Gets the maximum number of queries in flight against the endpoint, 0 meaning unlimited.
+     *
+     * @return The maximum number of concurrent queries.
+     */
+    public int getMaxConcurrentQueries() {
+        return (int) get(MAX_CONCURRENT_QUERIES_KEY);
+    }
+
+    /**
+     * Sets the maximum number of queries in flight against the endpoint, 0 meaning unlimited.
+     *
+     * @param maxConcurrentQueries The maximum number of concurrent queries.
+     * @throws SQLException if value is invalid.
+     */
+    public void setMaxConcurrentQueries(final int maxConcurrentQueries) throws SQLException {
+        if (maxConcurrentQueries < 0) {
+            throw invalidConnectionPropertyError(MAX_CONCURRENT_QUERIES_KEY, maxConcurrentQueries);
+        }
+        put(MAX_CONCURRENT_QUERIES_KEY, maxConcurrentQueries);
+    }
+
+    /**
+     * Gets the weight of this application or connection when queries wait for admission.
+     *
+     * @return The query weight.
+     */
+    public int getQueryWeight() {
+        return (int) get(QUERY_WEIGHT_KEY);
+    }
+
+    /**
+     * Sets the weight of this application or connection when queries wait for admission.
+     *
+     * @param queryWeight The query weight.
+     * @throws SQLException if value is invalid.
+     */
+    public void setQueryWeight(final int queryWeight) throws SQLException {
+        if (queryWeight < 1) {
+            throw invalidConnectionPropertyError(QUERY_WEIGHT_KEY, queryWeight);
+        }
+        put(QUERY_WEIGHT_KEY, queryWeight);
+    }
+
+    /**
+     * Gets the maximum number of queries per second sent to the endpoint, 0 meaning unlimited.
+     *
+     * @return The maximum number of queries per second.
+     */
+    public int getMaxQueriesPerSecond() {
+        return (int) get(MAX_QUERIES_PER_SECOND_KEY);
+    }
+
+    /**
+     * Sets the maximum number of queries per second sent to the endpoint, 0 meaning unlimited.
+     *
+     * @param maxQueriesPerSecond The maximum number of queries per second.
+     * @throws SQLException if value is invalid.
+     */
+    public void setMaxQueriesPerSecond(final int maxQueriesPerSecond) throws SQLException {
+        if (maxQueriesPerSecond < 0) {
+            throw invalidConnectionPropertyError(MAX_QUERIES_PER_SECOND_KEY, maxQueriesPerSecond);
+        }
+        put(MAX_QUERIES_PER_SECOND_KEY, maxQueriesPerSecond);
+    }
+
+    /**
+     * Gets the number of consecutive failures which open the circuit breaker, 0 meaning disabled.
+     *
+     * @return The circuit breaker failure threshold.
+     */
+    public int getCircuitBreakerFailureThreshold() {
+        return (int) get(CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY);
+    }
+
+    /**
+     * Sets the number of consecutive failures which open the circuit breaker, 0 meaning disabled.
+     *
+     * @param failureThreshold The circuit breaker failure threshold.
+     * @throws SQLException if value is invalid.
+     */
+    public void setCircuitBreakerFailureThreshold(final int failureThreshold) throws SQLException {
+        if (failureThreshold < 0) {
+            throw invalidConnectionPropertyError(CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY, failureThreshold);
+        }
+        put(CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY, failureThreshold);
+    }
+
+    /**
+     * Gets the query latency above which the circuit breaker counts a failure, 0 meaning disabled.
+     *
+     * @return The circuit breaker latency threshold in milliseconds.
+     */
+    public int getCircuitBreakerLatencyThresholdMillis() {
+        return (int) get(CIRCUIT_BREAKER_LATENCY_THRESHOLD_MILLIS_KEY);
+    }
+
+    /**
+     * Sets the query latency above which the circuit breaker counts a failure, 0 meaning disabled.
+     *
+     * @param latencyThresholdMillis The circuit breaker latency threshold in milliseconds.
+     * @throws SQLException if value is invalid.
+     */
+    public void setCircuitBreakerLatencyThresholdMillis(final int latencyThresholdMillis) throws SQLException {
+        if (latencyThresholdMillis < 0) {
+            throw invalidConnectionPropertyError(CIRCUIT_BREAKER_LATENCY_THRESHOLD_MILLIS_KEY, latencyThresholdMillis);
+        }
+        put(CIRCUIT_BREAKER_LATENCY_THRESHOLD_MILLIS_KEY, latencyThresholdMillis);
+    }
+
+    /**
+     * Gets the time the circuit breaker stays open before sending a probe query.
+     *
+     * @return The circuit breaker open time in milliseconds.
+     */
+    public int getCircuitBreakerOpenMillis() {
+        return (int) get(CIRCUIT_BREAKER_OPEN_MILLIS_KEY);
+    }
+
+    /**
+     * Sets the time the circuit breaker stays open before sending a probe query.
+     *
+     * @param openMillis The circuit breaker open time in milliseconds.
+     * @throws SQLException if value is invalid.
+     */
+    public void setCircuitBreakerOpenMillis(final int openMillis) throws SQLException {
+        if (openMillis < 0) {
+            throw invalidConnectionPropertyError(CIRCUIT_BREAKER_OPEN_MILLIS_KEY, openMillis);
+        }
+        put(CIRCUIT_BREAKER_OPEN_MILLIS_KEY, openMillis);
+    }
+
+    /**
+     * Gets the directory the schema is persisted to between processes, null meaning the schema is not persisted.
+     *
+     * @return The schema cache directory.
+     */
+    public String getSchemaCacheDirectory() {
+        return getProperty(SCHEMA_CACHE_DIRECTORY_KEY);
+    }
+
+    /**
+     * Sets the directory the schema is persisted to between processes.
+     *
+     * @param schemaCacheDirectory The schema cache directory.
+     */
+    public void setSchemaCacheDirectory(@NonNull final String schemaCacheDirectory) {
+        setProperty(SCHEMA_CACHE_DIRECTORY_KEY, schemaCacheDirectory);
+    }
+
+    /**
+     * Gets the time a persisted schema stays valid, 0 meaning it never expires.
+     *
+     * @return The schema cache time to live in seconds.
+     */
+    public int getSchemaCacheTtlSeconds() {
+        return (int) get(SCHEMA_CACHE_TTL_SECONDS_KEY);
+    }
+
+    /**
+     * Sets the time a persisted schema stays valid, 0 meaning it never expires.
+     *
+     * @param schemaCacheTtlSeconds The schema cache time to live in seconds.
+     * @throws SQLException if value is invalid.
+     */
+    public void setSchemaCacheTtlSeconds(final int schemaCacheTtlSeconds) throws SQLException {
+        if (schemaCacheTtlSeconds < 0) {
+            throw invalidConnectionPropertyError(SCHEMA_CACHE_TTL_SECONDS_KEY, schemaCacheTtlSeconds);
+        }
+        put(SCHEMA_CACHE_TTL_SECONDS_KEY, schemaCacheTtlSeconds);
+    }
+
+    /**
+     * Gets the number of endpoints whose schema is kept in memory.
+     *
+     * @return The schema cache capacity.
+     */
+    public int getSchemaCacheCapacity() {
+        return (int) get(SCHEMA_CACHE_CAPACITY_KEY);
+    }
+
+    /**
+     * Sets the number of endpoints whose schema is kept in memory.
+     *
+     * @param schemaCacheCapacity The schema cache capacity.
+     * @throws SQLException if value is invalid.
+     */
+    public void setSchemaCacheCapacity(final int schemaCacheCapacity) throws SQLException {
+        if (schemaCacheCapacity < 1) {
+            throw invalidConnectionPropertyError(SCHEMA_CACHE_CAPACITY_KEY, schemaCacheCapacity);
+        }
+        put(SCHEMA_CACHE_CAPACITY_KEY, schemaCacheCapacity);
+    }
+
+    /**
+     * Gets the age after which a cached schema is refreshed in the background, 0 meaning it is never refreshed.
+     *
+     * @return The schema refresh interval in seconds.
+     */
+    public int getSchemaRefreshSeconds() {
+        return (int) get(SCHEMA_REFRESH_SECONDS_KEY);
+    }
+
+    /**
+     * Sets the age after which a cached schema is refreshed in the background, 0 meaning it is never refreshed.
+     *
+     * @param schemaRefreshSeconds The schema refresh interval in seconds.
+     * @throws SQLException if value is invalid.
+     */
+    public void setSchemaRefreshSeconds(final int schemaRefreshSeconds) throws SQLException {
+        if (schemaRefreshSeconds < 0) {
+            throw invalidConnectionPropertyError(SCHEMA_REFRESH_SECONDS_KEY, schemaRefreshSeconds);
+        }
+        put(SCHEMA_REFRESH_SECONDS_KEY, schemaRefreshSeconds);
+    }
+
+    /**
+     * Gets whether a schema refresh rescans only the labels whose element count changed.
+     *
+     * @return True if schema refresh is incremental, false otherwise.
+     */
+    public boolean getIncrementalSchemaRefresh() {
+        return (boolean) get(INCREMENTAL_SCHEMA_REFRESH_KEY);
+    }
+
+    /**
+     * Sets whether a schema refresh rescans only the labels whose element count changed.
+     *
+     * @param incrementalSchemaRefresh True to make schema refresh incremental.
+     */
+    public void setIncrementalSchemaRefresh(final boolean incrementalSchemaRefresh) {
+        put(INCREMENTAL_SCHEMA_REFRESH_KEY, incrementalSchemaRefresh);
+    }
+
+    /**
+     * Gets whether the schema only lists the labels up front and scans each table when a query first references it.
+     *
+     * @return True if the schema is loaded lazily, false otherwise.
+     */
+    public boolean getLazySchema() {
+        return (boolean) get(LAZY_SCHEMA_KEY);
+    }
+
+    /**
+     * Sets whether the schema only lists the labels up front and scans each table when a query first references it.
+     *
+     * @param lazySchema True to load the schema lazily.
+     */
+    public void setLazySchema(final boolean lazySchema) {
+        put(LAZY_SCHEMA_KEY, lazySchema);
+    }
+
+    /**
+     * Gets whether the labels are served as soon as they are listed while their tables are scanned in the background.
+     *
+     * @return True if the schema is published progressively, false otherwise.
+     */
+    public boolean getProgressiveSchema() {
+        return (boolean) get(PROGRESSIVE_SCHEMA_KEY);
+    }
+
+    /**
+     * Sets whether the labels are served as soon as they are listed while their tables are scanned in the background.
+     *
+     * @param progressiveSchema True to publish the schema progressively.
+     */
+    public void setProgressiveSchema(final boolean progressiveSchema) {
+        put(PROGRESSIVE_SCHEMA_KEY, progressiveSchema);
+    }
+
     /**
      * Validate properties.
      */
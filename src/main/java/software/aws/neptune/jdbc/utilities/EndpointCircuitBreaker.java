@@ -0,0 +1,242 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.jdbc.utilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Circuit breaker shared by all executors querying the same endpoint.
+ * <p>
+ * The breaker opens after a configured number of consecutive failures, where a query slower than the latency
+ * threshold also counts as a failure. While open, queries fail fast. Once the open period has elapsed a single probe
+ * query is let through: if it succeeds the breaker closes, otherwise it opens again.
+ */
+public final class EndpointCircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EndpointCircuitBreaker.class);
+    private static final Map<String, EndpointCircuitBreaker> CIRCUIT_BREAKERS = new ConcurrentHashMap<>();
+    // SQLSTATE class of connection exceptions.
+    private static final String CONNECTION_SQL_STATE_CLASS = "08";
+    // Server errors which mean the endpoint is overloaded or timing out, matched against exception names and
+    // messages since the Gremlin and Bolt drivers report them as generic exceptions.
+    private static final List<String> ENDPOINT_FAILURE_MARKERS = Arrays.asList("TimeLimitExceededException",
+            "ThrottlingException", "TooManyRequestsException", "MemoryLimitExceededException",
+            "ServiceUnavailable", "ConnectionException", "TimeoutException", "timed out", "Timed out");
+
+    private final String endpoint;
+    private int failureThreshold;
+    private long latencyThresholdMillis;
+    private long openMillis;
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAtMillis = 0;
+    private boolean probeInFlight = false;
+    private long timesOpened = 0;
+    private long rejectedQueries = 0;
+
+    private EndpointCircuitBreaker(final String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Function to get the circuit breaker of an endpoint, applying the given configuration.
+     *
+     * @param endpoint               Endpoint queries are sent to.
+     * @param failureThreshold       Consecutive failures which open the breaker.
+     * @param latencyThresholdMillis Latency above which a query counts as failed, 0 to disable.
+     * @param openMillis             Time the breaker stays open before letting a probe through.
+     * @return EndpointCircuitBreaker of the endpoint.
+     */
+    public static EndpointCircuitBreaker getCircuitBreaker(final String endpoint, final int failureThreshold,
+                                                           final long latencyThresholdMillis,
+                                                           final long openMillis) {
+        final EndpointCircuitBreaker circuitBreaker =
+                CIRCUIT_BREAKERS.computeIfAbsent(endpoint, EndpointCircuitBreaker::new);
+        circuitBreaker.configure(failureThreshold, latencyThresholdMillis, openMillis);
+        return circuitBreaker;
+    }
+
+    /**
+     * Function to get the circuit breaker of an endpoint if one exists.
+     *
+     * @param endpoint Endpoint queries are sent to.
+     * @return EndpointCircuitBreaker of the endpoint, or null if none was created.
+     */
+    public static EndpointCircuitBreaker getCircuitBreaker(final String endpoint) {
+        return CIRCUIT_BREAKERS.get(endpoint);
+    }
+
+    /**
+     * Function to check whether a query may be sent to the endpoint.
+     *
+     * @return True if the query is the half-open probe, false if it is a regular query.
+     * @throws SQLException If the breaker is open.
+     */
+    public synchronized boolean allowQuery() throws SQLException {
+        if (state == State.OPEN) {
+            final long remainingMillis = openedAtMillis + openMillis - System.currentTimeMillis();
+            if (remainingMillis > 0) {
+                rejectedQueries++;
+                throw SqlError.createSQLException(LOGGER, SqlState.CONNECTION_FAILURE, SqlError.CIRCUIT_BREAKER_OPEN,
+                        endpoint, remainingMillis);
+            }
+            state = State.HALF_OPEN;
+            LOGGER.info(String.format("Circuit breaker for '%s' is half-open, sending probe query.", endpoint));
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                rejectedQueries++;
+                throw SqlError.createSQLException(LOGGER, SqlState.CONNECTION_FAILURE, SqlError.CIRCUIT_BREAKER_OPEN,
+                        endpoint, 0);
+            }
+            probeInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Function to record the outcome of a query which was allowed through.
+     *
+     * @param isProbe       Value returned by allowQuery for the query.
+     * @param succeeded     Whether the query succeeded.
+     * @param latencyMillis Latency of the query.
+     */
+    public synchronized void recordResult(final boolean isProbe, final boolean succeeded, final long latencyMillis) {
+        final boolean failed = !succeeded || (latencyThresholdMillis > 0 && latencyMillis > latencyThresholdMillis);
+        if (isProbe) {
+            probeInFlight = false;
+        }
+        if (!failed) {
+            consecutiveFailures = 0;
+            if (state != State.CLOSED && isProbe) {
+                state = State.CLOSED;
+                LOGGER.info(String.format("Circuit breaker for '%s' closed.", endpoint));
+            }
+            return;
+        }
+
+        consecutiveFailures++;
+        if (isProbe || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAtMillis = System.currentTimeMillis();
+            timesOpened++;
+            LOGGER.warn(String.format("Circuit breaker for '%s' opened after %d consecutive failures.",
+                    endpoint, consecutiveFailures));
+        }
+    }
+
+    /**
+     * Function to check whether a query failure is caused by the endpoint: a connection failure, a timeout or
+     * throttling. Client errors, such as invalid or unsupported queries and unbound parameters, are not.
+     *
+     * @param error Failure of the query.
+     * @return True if the failure counts against the endpoint.
+     */
+    public static boolean isEndpointFailure(final Throwable error) {
+        for (Throwable cause = error; cause != null; cause = (cause.getCause() == cause) ? null : cause.getCause()) {
+            if (cause instanceof SQLTimeoutException || cause instanceof SQLTransientConnectionException ||
+                    cause instanceof SQLNonTransientConnectionException || cause instanceof IOException ||
+                    cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                final String sqlState = ((SQLException) cause).getSQLState();
+                if (sqlState != null && sqlState.startsWith(CONNECTION_SQL_STATE_CLASS)) {
+                    return true;
+                }
+            }
+            final String name = cause.getClass().getSimpleName();
+            final String message = (cause.getMessage() == null) ? "" : cause.getMessage();
+            if (ENDPOINT_FAILURE_MARKERS.stream()
+                    .anyMatch(marker -> name.contains(marker) || message.contains(marker))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Function to record that a query which was allowed through was cancelled, without counting it as an outcome.
+     *
+     * @param isProbe Value returned by allowQuery for the query.
+     */
+    public synchronized void recordCancelled(final boolean isProbe) {
+        if (isProbe) {
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * Function to get the state of the breaker.
+     *
+     * @return Breaker state.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Function to get the number of consecutive failed queries.
+     *
+     * @return Number of consecutive failures.
+     */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Function to get the number of times the breaker opened.
+     *
+     * @return Number of times opened.
+     */
+    public synchronized long getTimesOpened() {
+        return timesOpened;
+    }
+
+    /**
+     * Function to get the number of queries rejected while the breaker was open.
+     *
+     * @return Number of rejected queries.
+     */
+    public synchronized long getRejectedQueries() {
+        return rejectedQueries;
+    }
+
+    private synchronized void configure(final int newFailureThreshold, final long newLatencyThresholdMillis,
+                                        final long newOpenMillis) {
+        this.failureThreshold = newFailureThreshold;
+        this.latencyThresholdMillis = newLatencyThresholdMillis;
+        this.openMillis = newOpenMillis;
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
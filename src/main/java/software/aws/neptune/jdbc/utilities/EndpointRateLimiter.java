@@ -0,0 +1,137 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.jdbc.utilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token bucket rate limiter shared by all executors querying the same endpoint.
+ * <p>
+ * The bucket holds up to one second worth of tokens, so short bursts up to the configured rate go through
+ * immediately and sustained load is smoothed to the rate.
+ */
+public final class EndpointRateLimiter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EndpointRateLimiter.class);
+    private static final Map<String, EndpointRateLimiter> RATE_LIMITERS = new ConcurrentHashMap<>();
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private int queriesPerSecond;
+    private double tokens;
+    private long lastRefillNanos;
+    private long throttledQueries = 0;
+    private long totalWaitMillis = 0;
+
+    private EndpointRateLimiter(final int queriesPerSecond) {
+        this.queriesPerSecond = queriesPerSecond;
+        this.tokens = queriesPerSecond;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Function to get the rate limiter of an endpoint, applying the given rate.
+     *
+     * @param endpoint         Endpoint queries are sent to.
+     * @param queriesPerSecond Maximum sustained number of queries per second.
+     * @return EndpointRateLimiter of the endpoint.
+     */
+    public static EndpointRateLimiter getRateLimiter(final String endpoint, final int queriesPerSecond) {
+        final EndpointRateLimiter rateLimiter =
+                RATE_LIMITERS.computeIfAbsent(endpoint, key -> new EndpointRateLimiter(queriesPerSecond));
+        rateLimiter.setQueriesPerSecond(queriesPerSecond);
+        return rateLimiter;
+    }
+
+    /**
+     * Function to get the rate limiter of an endpoint if one exists.
+     *
+     * @param endpoint Endpoint queries are sent to.
+     * @return EndpointRateLimiter of the endpoint, or null if none was created.
+     */
+    public static EndpointRateLimiter getRateLimiter(final String endpoint) {
+        return RATE_LIMITERS.get(endpoint);
+    }
+
+    /**
+     * Function to take a token, waiting until one is available.
+     *
+     * @throws SQLException If interrupted while waiting.
+     */
+    public void acquire() throws SQLException {
+        final long waitNanos;
+        synchronized (this) {
+            refill();
+            tokens -= 1;
+            if (tokens >= 0) {
+                return;
+            }
+            // The token is reserved, the caller waits until the bucket has refilled past it.
+            waitNanos = (long) (-tokens / queriesPerSecond * NANOS_PER_SECOND);
+            throttledQueries++;
+            totalWaitMillis += waitNanos / 1_000_000;
+        }
+        try {
+            Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SqlError.createSQLException(LOGGER, SqlState.OPERATION_CANCELED, SqlError.QUERY_CANCELED);
+        }
+    }
+
+    /**
+     * Function to get the number of tokens currently available.
+     *
+     * @return Number of available tokens, negative if queries are waiting.
+     */
+    public synchronized double getAvailableTokens() {
+        refill();
+        return tokens;
+    }
+
+    /**
+     * Function to get the number of queries which had to wait for a token.
+     *
+     * @return Number of throttled queries.
+     */
+    public synchronized long getThrottledQueries() {
+        return throttledQueries;
+    }
+
+    /**
+     * Function to get the total time queries waited for a token.
+     *
+     * @return Total wait time in milliseconds.
+     */
+    public synchronized long getTotalWaitMillis() {
+        return totalWaitMillis;
+    }
+
+    private synchronized void setQueriesPerSecond(final int newQueriesPerSecond) {
+        refill();
+        this.queriesPerSecond = newQueriesPerSecond;
+        tokens = Math.min(tokens, newQueriesPerSecond);
+    }
+
+    private void refill() {
+        final long now = System.nanoTime();
+        tokens = Math.min(queriesPerSecond, tokens + (now - lastRefillNanos) / NANOS_PER_SECOND * queriesPerSecond);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.jdbc.utilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limits the number of queries in flight against an endpoint.
+ * <p>
+ * Queries that cannot be admitted immediately are queued and admitted in weighted fair order between flows, where a
+ * flow is an application name or a connection. Each flow's queries are tagged with a virtual finish time that
+ * advances by the inverse of the flow's weight, so a flow with weight 2 is admitted twice as often as a flow with
+ * weight 1 while both have queries waiting, and no flow can starve another.
+ */
+public final class QueryAdmissionController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryAdmissionController.class);
+    private static final Map<String, QueryAdmissionController> CONTROLLERS = new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+    private final String endpoint;
+    private final Map<String, Double> flowFinishTags = new HashMap<>();
+    private final PriorityQueue<Ticket> waiting = new PriorityQueue<>(
+            Comparator.comparingDouble((Ticket ticket) -> ticket.finishTag)
+                    .thenComparingLong(ticket -> ticket.sequence));
+    private int maxInFlight;
+    private int inFlight = 0;
+    private double virtualTime = 0;
+    private long sequence = 0;
+    private long admittedQueries = 0;
+    private long queuedQueries = 0;
+    private long totalQueueTimeMillis = 0;
+    private long maxQueueTimeMillis = 0;
+
+    private QueryAdmissionController(final String endpoint, final int maxInFlight) {
+        this.endpoint = endpoint;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Function to get the admission controller of an endpoint. Connections to the same endpoint share its controller,
+     * and the smallest maximum requested by any of them applies to all, so no connection can raise the limit another
+     * one relies on.
+     *
+     * @param endpoint    Endpoint queries are sent to.
+     * @param maxInFlight Maximum number of queries in flight against the endpoint.
+     * @return QueryAdmissionController of the endpoint.
+     */
+    public static QueryAdmissionController getController(final String endpoint, final int maxInFlight) {
+        final QueryAdmissionController controller =
+                CONTROLLERS.computeIfAbsent(endpoint, key -> new QueryAdmissionController(key, maxInFlight));
+        controller.lowerMaxInFlight(maxInFlight);
+        return controller;
+    }
+
+    /**
+     * Function to get the admission controller of an endpoint if one exists.
+     *
+     * @param endpoint Endpoint queries are sent to.
+     * @return QueryAdmissionController of the endpoint, or null if no query has been admitted against it.
+     */
+    public static QueryAdmissionController getController(final String endpoint) {
+        return CONTROLLERS.get(endpoint);
+    }
+
+    /**
+     * Function to queue a query of the given flow. The query is admitted immediately if the endpoint has capacity and
+     * no other query is waiting.
+     *
+     * @param flow   Flow the query belongs to.
+     * @param weight Weight of the flow.
+     * @return Ticket to wait on, which must be released once the query completes.
+     */
+    public Ticket enqueue(final String flow, final int weight) {
+        synchronized (lock) {
+            final double startTag = Math.max(virtualTime, flowFinishTags.getOrDefault(flow, 0.0));
+            final Ticket ticket = new Ticket(startTag, startTag + 1.0 / Math.max(1, weight), sequence++,
+                    System.currentTimeMillis());
+            flowFinishTags.put(flow, ticket.finishTag);
+            if (waiting.isEmpty() && inFlight < maxInFlight) {
+                admit(ticket);
+            } else {
+                queuedQueries++;
+                waiting.add(ticket);
+            }
+            return ticket;
+        }
+    }
+
+    /**
+     * Function to wait until a queued query is admitted.
+     *
+     * @param ticket Ticket returned by enqueue.
+     * @throws SQLException If the wait is cancelled or interrupted.
+     */
+    public void await(final Ticket ticket) throws SQLException {
+        synchronized (lock) {
+            try {
+                while (!ticket.admitted) {
+                    if (ticket.cancelled) {
+                        throw SqlError.createSQLException(LOGGER, SqlState.OPERATION_CANCELED,
+                                SqlError.QUERY_CANCELED);
+                    }
+                    lock.wait();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                waiting.remove(ticket);
+                release(ticket);
+                throw SqlError.createSQLException(LOGGER, SqlState.OPERATION_CANCELED, SqlError.QUERY_CANCELED);
+            }
+            final long queueTimeMillis = ticket.admittedMillis - ticket.enqueuedMillis;
+            if (queueTimeMillis > 0) {
+                LOGGER.debug(String.format("Query waited %d ms for admission to '%s'.", queueTimeMillis, endpoint));
+            }
+        }
+    }
+
+    /**
+     * Function to release a ticket once its query has completed.
+     *
+     * @param ticket Ticket returned by enqueue.
+     */
+    public void release(final Ticket ticket) {
+        synchronized (lock) {
+            if (!ticket.admitted || ticket.released) {
+                return;
+            }
+            ticket.released = true;
+            inFlight--;
+            dispatch();
+            if (waiting.isEmpty()) {
+                // Flows which are not ahead of the virtual time would restart from it anyway.
+                flowFinishTags.values().removeIf(finishTag -> finishTag <= virtualTime);
+            }
+        }
+    }
+
+    /**
+     * Function to cancel a ticket which is still waiting for admission.
+     *
+     * @param ticket Ticket to cancel.
+     */
+    public void cancel(final Ticket ticket) {
+        synchronized (lock) {
+            if (!ticket.admitted && waiting.remove(ticket)) {
+                ticket.cancelled = true;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Function to get the number of queries currently in flight.
+     *
+     * @return Number of queries in flight.
+     */
+    public int getInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    /**
+     * Function to get the number of queries currently waiting for admission.
+     *
+     * @return Number of waiting queries.
+     */
+    public int getWaiting() {
+        synchronized (lock) {
+            return waiting.size();
+        }
+    }
+
+    /**
+     * Function to get the number of queries admitted so far.
+     *
+     * @return Number of admitted queries.
+     */
+    public long getAdmittedQueries() {
+        synchronized (lock) {
+            return admittedQueries;
+        }
+    }
+
+    /**
+     * Function to get the number of queries which had to wait for admission.
+     *
+     * @return Number of queued queries.
+     */
+    public long getQueuedQueries() {
+        synchronized (lock) {
+            return queuedQueries;
+        }
+    }
+
+    /**
+     * Function to get the total time queries spent waiting for admission.
+     *
+     * @return Total queue time in milliseconds.
+     */
+    public long getTotalQueueTimeMillis() {
+        synchronized (lock) {
+            return totalQueueTimeMillis;
+        }
+    }
+
+    /**
+     * Function to get the longest time a query spent waiting for admission.
+     *
+     * @return Maximum queue time in milliseconds.
+     */
+    public long getMaxQueueTimeMillis() {
+        synchronized (lock) {
+            return maxQueueTimeMillis;
+        }
+    }
+
+    private void lowerMaxInFlight(final int maxInFlight) {
+        synchronized (lock) {
+            // Queries already in flight complete, lowering the limit only delays the next admissions.
+            this.maxInFlight = Math.min(this.maxInFlight, maxInFlight);
+        }
+    }
+
+    private void admit(final Ticket ticket) {
+        ticket.admitted = true;
+        ticket.admittedMillis = System.currentTimeMillis();
+        inFlight++;
+        admittedQueries++;
+        virtualTime = Math.max(virtualTime, ticket.startTag);
+        final long queueTimeMillis = ticket.admittedMillis - ticket.enqueuedMillis;
+        totalQueueTimeMillis += queueTimeMillis;
+        maxQueueTimeMillis = Math.max(maxQueueTimeMillis, queueTimeMillis);
+    }
+
+    private void dispatch() {
+        boolean admitted = false;
+        while (inFlight < maxInFlight && !waiting.isEmpty()) {
+            admit(waiting.poll());
+            admitted = true;
+        }
+        if (admitted) {
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Admission ticket of a single query.
+     */
+    public static final class Ticket {
+        private final double startTag;
+        private final double finishTag;
+        private final long sequence;
+        private final long enqueuedMillis;
+        private long admittedMillis;
+        private boolean admitted = false;
+        private boolean released = false;
+        private boolean cancelled = false;
+
+        private Ticket(final double startTag, final double finishTag, final long sequence,
+                       final long enqueuedMillis) {
+            this.startTag = startTag;
+            this.finishTag = finishTag;
+            this.sequence = sequence;
+            this.enqueuedMillis = enqueuedMillis;
+        }
+    }
+}
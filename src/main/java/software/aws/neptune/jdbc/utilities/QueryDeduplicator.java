@@ -0,0 +1,195 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.jdbc.utilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Shares one backend execution between identical queries that are in flight at the same time.
+ * <p>
+ * The first caller for a key runs the query; callers arriving with the same key before it completes wait for and
+ * receive the same result. The key is removed as soon as the execution completes, so results are never cached.
+ * <p>
+ * If the shared execution is cancelled, times out, or returns a result which cannot be shared, the waiting callers are
+ * not failed with it: the first of them runs the query again and the others join that execution.
+ */
+public final class QueryDeduplicator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryDeduplicator.class);
+    private static final Map<String, CompletableFuture<Object>> IN_FLIGHT_QUERIES = new ConcurrentHashMap<>();
+    // Completes an execution whose waiting callers have to run the query again.
+    private static final Object RERUN = new Object();
+    private static final long POLL_MILLIS = 100;
+
+    private QueryDeduplicator() {
+    }
+
+    /**
+     * Function to build the deduplication key of a query.
+     *
+     * @param endpoint Endpoint the query is sent to.
+     * @param language Query language.
+     * @param query    Query text.
+     * @return Deduplication key.
+     */
+    public static String createKey(final String endpoint, final String language, final String query) {
+        return String.format("%s|%s|%s", endpoint, language, normalize(query));
+    }
+
+    /**
+     * Function to normalise a query by trimming it and collapsing whitespace outside quoted literals. A run of
+     * whitespace containing a line break collapses to a line break, since it ends a line comment in every supported
+     * language and the queries on either side of it differ.
+     *
+     * @param query Query text.
+     * @return Normalised query text.
+     */
+    public static String normalize(final String query) {
+        final StringBuilder builder = new StringBuilder(query.length());
+        char quote = 0;
+        char pendingSpace = 0;
+        for (final char c : query.trim().toCharArray()) {
+            if (quote == 0 && Character.isWhitespace(c)) {
+                if (pendingSpace != '\n') {
+                    pendingSpace = (c == '\n' || c == '\r') ? '\n' : ' ';
+                }
+                continue;
+            }
+            if (pendingSpace != 0) {
+                builder.append(pendingSpace);
+                pendingSpace = 0;
+            }
+            if (quote == 0 && (c == '\'' || c == '"' || c == '`')) {
+                quote = c;
+            } else if (c == quote) {
+                quote = 0;
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Function to run a query, sharing the execution with identical queries already in flight.
+     *
+     * @param key   Deduplication key of the query.
+     * @param query Query execution.
+     * @return Result of the shared execution.
+     * @throws SQLException If the shared execution fails.
+     */
+    public static Object execute(final String key, final SharedQuery query) throws SQLException {
+        return execute(key, query, result -> true, () -> false);
+    }
+
+    /**
+     * Function to run a query, sharing the execution with identical queries already in flight.
+     *
+     * @param key         Deduplication key of the query.
+     * @param query       Query execution.
+     * @param isShareable Whether a result can be handed out to the waiting callers.
+     * @param isCancelled Whether the caller's query was cancelled, checked while it waits for a shared execution and
+     *                    when its own execution fails.
+     * @return Result of the shared execution, or of the caller's own execution.
+     * @throws SQLException If the shared execution fails, or the caller's query is cancelled while it waits.
+     */
+    public static Object execute(final String key, final SharedQuery query, final Predicate<Object> isShareable,
+                                 final BooleanSupplier isCancelled) throws SQLException {
+        while (true) {
+            final CompletableFuture<Object> future = new CompletableFuture<>();
+            final CompletableFuture<Object> inFlight = IN_FLIGHT_QUERIES.putIfAbsent(key, future);
+            if (inFlight == null) {
+                return lead(key, future, query, isShareable, isCancelled);
+            }
+
+            LOGGER.debug("Joining in flight execution of identical query.");
+            final Object result = await(inFlight, isCancelled);
+            if (result != RERUN) {
+                return result;
+            }
+            LOGGER.debug("In flight execution of identical query was not shared, running the query again.");
+            IN_FLIGHT_QUERIES.remove(key, inFlight);
+        }
+    }
+
+    private static Object lead(final String key, final CompletableFuture<Object> future, final SharedQuery query,
+                               final Predicate<Object> isShareable, final BooleanSupplier isCancelled)
+            throws SQLException {
+        try {
+            final Object result = query.run();
+            future.complete(isShareable.test(result) ? result : RERUN);
+            return result;
+        } catch (final Throwable e) {
+            // A cancelled or timed out execution says nothing about the query, so the waiting callers run it again.
+            if (isCancelled.getAsBoolean() || e instanceof SQLTimeoutException) {
+                future.complete(RERUN);
+            } else {
+                future.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            IN_FLIGHT_QUERIES.remove(key, future);
+        }
+    }
+
+    private static Object await(final CompletableFuture<Object> future, final BooleanSupplier isCancelled)
+            throws SQLException {
+        try {
+            while (true) {
+                if (isCancelled.getAsBoolean()) {
+                    throw SqlError.createSQLException(LOGGER, SqlState.OPERATION_CANCELED, SqlError.QUERY_CANCELED);
+                }
+                try {
+                    return future.get(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (final TimeoutException ignored) {
+                }
+            }
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw SqlError.createSQLException(LOGGER, SqlState.OPERATION_CANCELED, SqlError.QUERY_FAILED,
+                    e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SqlError.createSQLException(LOGGER, SqlState.OPERATION_CANCELED, SqlError.QUERY_CANCELED);
+        }
+    }
+
+    /**
+     * Query execution which can be shared between callers.
+     */
+    @FunctionalInterface
+    public interface SharedQuery {
+        /**
+         * Function to run the query.
+         *
+         * @return Query result.
+         * @throws SQLException If the query fails.
+         */
+        Object run() throws SQLException;
+    }
+}
@@ -24,7 +24,10 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.reflect.Constructor;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Properties;
+import java.util.function.Consumer;
 
 public abstract class QueryExecutor {
     private static final Logger LOGGER = LoggerFactory.getLogger(QueryExecutor.class);
@@ -36,6 +39,10 @@ public abstract class QueryExecutor {
     @Getter
     private int fetchSize = Integer.MAX_VALUE;
     private QueryState queryState = QueryState.NOT_STARTED;
+    private QueryAdmissionController admissionController = null;
+    private QueryAdmissionController.Ticket admissionTicket = null;
+    // Result of the last query whose rows are still streamed from the database, null once it is complete.
+    private Object streamedResult = null;
 
     protected static boolean propertiesEqual(
             final ConnectionProperties connectionProperties1,
@@ -79,6 +86,32 @@ public abstract class QueryExecutor {
     public abstract java.sql.ResultSet executeQuery(final String sql, final java.sql.Statement statement) throws
             SQLException;
 
+    /**
+     * Function to check whether queries can have '?' placeholders bound through a PreparedStatement.
+     *
+     * @return True if placeholders are supported.
+     */
+    public boolean supportsParameters() {
+        return false;
+    }
+
+    /**
+     * Function to execute a query with values bound to its '?' placeholders.
+     *
+     * @param sql        Query to execute.
+     * @param parameters Bound values, keyed by the parameter index which starts at 1.
+     * @param statement  java.sql.Statement Object required for result set.
+     * @return java.sql.ResultSet object returned from query execution.
+     * @throws SQLException if query execution fails, it was cancelled or the query language has no placeholders.
+     */
+    public java.sql.ResultSet executeQuery(final String sql, final Map<Integer, Object> parameters,
+                                           final java.sql.Statement statement) throws SQLException {
+        if (!parameters.isEmpty()) {
+            throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        }
+        return executeQuery(sql, statement);
+    }
+
     /**
      * Function to get tables.
      *
@@ -149,9 +182,30 @@ public abstract class QueryExecutor {
      * @return Target ResultSet Object.
      * @throws SQLException if query execution fails, or it was cancelled.
      */
+    @SuppressWarnings("unchecked")
     protected <T> java.sql.ResultSet runCancellableQuery(final Constructor<?> constructor,
                                                          final java.sql.Statement statement,
                                                          final String query) throws SQLException {
+        return runCancellableQuery(constructor, statement, query, Collections.emptyMap());
+    }
+
+    /**
+     * This function is supposed to run the queries with bound parameters and construct the target ResultSet using
+     * reflection.
+     *
+     * @param constructor Target ResultSet type.
+     * @param statement   Statement which is issuing query.
+     * @param query       Query to execute.
+     * @param parameters  Bound values, keyed by the parameter index which starts at 1.
+     * @return Target ResultSet Object.
+     * @throws SQLException if query execution fails, or it was cancelled.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> java.sql.ResultSet runCancellableQuery(final Constructor<?> constructor,
+                                                         final java.sql.Statement statement,
+                                                         final String query,
+                                                         final Map<Integer, Object> parameters)
+            throws SQLException {
         synchronized (lock) {
             if (queryState.equals(QueryState.IN_PROGRESS)) {
                 throw SqlError.createSQLException(
@@ -163,16 +217,26 @@ public abstract class QueryExecutor {
         }
 
         try {
-            final T intermediateResult = runQuery(query);
+            // Only queries without bound values are shared, the key does not cover the values.
+            final String deduplicationKey = parameters.isEmpty() ? getDeduplicationKey(query) : null;
+            final T intermediateResult = (deduplicationKey == null) ?
+                    (T) runAdmittedQuery(statement, () -> runQuery(query, parameters)) :
+                    (T) runDeduplicatedQuery(statement, query, deduplicationKey);
             synchronized (lock) {
                 if (queryState.equals(QueryState.CANCELLED)) {
                     resetQueryState();
+                    cancelResult(intermediateResult);
                     throw SqlError.createSQLException(
                             LOGGER,
                             SqlState.OPERATION_CANCELED,
                             SqlError.QUERY_CANCELED);
                 }
                 resetQueryState();
+                streamedResult = intermediateResult;
+            }
+            // The result can be cancelled through the statement until all of its rows were streamed.
+            if (!addCompletionListener(intermediateResult, error -> clearStreamedResult(intermediateResult))) {
+                clearStreamedResult(intermediateResult);
             }
             return (java.sql.ResultSet) constructor.newInstance(statement, intermediateResult);
         } catch (final SQLException e) {
@@ -199,12 +263,231 @@ public abstract class QueryExecutor {
         }
     }
 
+    private Object runDeduplicatedQuery(final java.sql.Statement statement, final String query,
+                                        final String deduplicationKey) throws SQLException {
+        final Object result = QueryDeduplicator.execute(deduplicationKey,
+                () -> runAdmittedQuery(statement, () -> runSharedQuery(query)), this::isShareable, this::isCancelled);
+        // A result which cannot be shared was run for this caller alone.
+        return isShareable(result) ? shareResult(result) : result;
+    }
+
+    private boolean isCancelled() {
+        synchronized (lock) {
+            return queryState.equals(QueryState.CANCELLED);
+        }
+    }
+
+    private Object runAdmittedQuery(final java.sql.Statement statement, final QueryDeduplicator.SharedQuery query)
+            throws SQLException {
+        final ConnectionProperties connectionProperties = getConnectionProperties();
+        if (connectionProperties == null) {
+            return query.run();
+        }
+        final String endpoint = connectionProperties.getHostname() + ":" + connectionProperties.getPort();
+        // The rate limiter is waited on before taking a slot, so a throttled flow does not hold up the other flows.
+        if (connectionProperties.getMaxQueriesPerSecond() > 0) {
+            EndpointRateLimiter.getRateLimiter(endpoint, connectionProperties.getMaxQueriesPerSecond()).acquire();
+        }
+        if (connectionProperties.getMaxConcurrentQueries() == 0) {
+            if (connectionProperties.getCircuitBreakerFailureThreshold() == 0) {
+                // Nothing waits for the result to complete, so a streamed result keeps waiting for its reader.
+                return query.run();
+            }
+            return runGuardedQuery(connectionProperties, endpoint, query, error -> {
+            });
+        }
+
+        final QueryAdmissionController controller =
+                QueryAdmissionController.getController(endpoint, connectionProperties.getMaxConcurrentQueries());
+        final String applicationName = connectionProperties.getApplicationName();
+        final String flow = (applicationName == null || applicationName.isEmpty()) ?
+                "connection-" + System.identityHashCode(statement.getConnection()) : applicationName;
+        final QueryAdmissionController.Ticket ticket =
+                controller.enqueue(flow, connectionProperties.getQueryWeight());
+        synchronized (lock) {
+            admissionController = controller;
+            admissionTicket = ticket;
+        }
+        try {
+            controller.await(ticket);
+        } catch (final SQLException e) {
+            controller.release(ticket);
+            throw e;
+        } finally {
+            synchronized (lock) {
+                admissionController = null;
+                admissionTicket = null;
+            }
+        }
+        // The slot is held until the graph is no longer queried, which for a streamed result is after this returns.
+        // The result is unbound, so the slot is not held for longer by a reader which is slow or stops reading.
+        return runGuardedQuery(connectionProperties, endpoint, query, error -> controller.release(ticket));
+    }
+
+    private Object runGuardedQuery(final ConnectionProperties connectionProperties, final String endpoint,
+                                   final QueryDeduplicator.SharedQuery query,
+                                   final Consumer<Exception> onComplete) throws SQLException {
+        if (connectionProperties.getCircuitBreakerFailureThreshold() == 0) {
+            return runQueryToCompletion(query, onComplete);
+        }
+
+        final EndpointCircuitBreaker circuitBreaker = EndpointCircuitBreaker.getCircuitBreaker(endpoint,
+                connectionProperties.getCircuitBreakerFailureThreshold(),
+                connectionProperties.getCircuitBreakerLatencyThresholdMillis(),
+                connectionProperties.getCircuitBreakerOpenMillis());
+        final boolean isProbe = circuitBreaker.allowQuery();
+        final long start = System.currentTimeMillis();
+        // The outcome is recorded once the endpoint is no longer queried, so a streamed result is measured in full.
+        return runQueryToCompletion(query, error -> {
+            final boolean cancelled;
+            synchronized (lock) {
+                cancelled = queryState.equals(QueryState.CANCELLED);
+            }
+            if (error == null) {
+                circuitBreaker.recordResult(isProbe, true, System.currentTimeMillis() - start);
+            } else if (!cancelled && EndpointCircuitBreaker.isEndpointFailure(error)) {
+                circuitBreaker.recordResult(isProbe, false, System.currentTimeMillis() - start);
+            } else {
+                // A cancelled query or a client error says nothing about the health of the endpoint.
+                circuitBreaker.recordCancelled(isProbe);
+            }
+            onComplete.accept(error);
+        });
+    }
+
+    /**
+     * Function to run a query and call a listener once the endpoint is no longer queried for it: right away for a
+     * result which is complete when returned, or once a streamed result is complete, failed or closed. A streamed
+     * result is unbound, so it completes when the endpoint has returned all of its rows rather than when they are read.
+     */
+    private Object runQueryToCompletion(final QueryDeduplicator.SharedQuery query,
+                                        final Consumer<Exception> onComplete) throws SQLException {
+        final Object result;
+        try {
+            result = query.run();
+        } catch (final Exception e) {
+            onComplete.accept(e);
+            throw e;
+        }
+        if (addCompletionListener(result, onComplete)) {
+            unboundResult(result);
+        } else {
+            onComplete.accept(null);
+        }
+        return result;
+    }
+
     private void resetQueryState() {
         queryState = QueryState.NOT_STARTED;
     }
 
+    private void clearStreamedResult(final Object result) {
+        synchronized (lock) {
+            if (streamedResult == result) {
+                streamedResult = null;
+            }
+        }
+    }
+
     protected abstract <T> T runQuery(final String query) throws SQLException;
 
+    /**
+     * Function to run a query with values bound to its placeholders.
+     *
+     * @param query      Query to execute.
+     * @param parameters Bound values, keyed by the parameter index which starts at 1.
+     * @return Intermediate result used to construct the ResultSet.
+     * @throws SQLException if query execution fails or the query language has no placeholders.
+     */
+    protected <T> T runQuery(final String query, final Map<Integer, Object> parameters) throws SQLException {
+        if (!parameters.isEmpty()) {
+            throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        }
+        return runQuery(query);
+    }
+
+    /**
+     * Function to call a listener once a streamed result is complete, failed or closed. Executors whose results are
+     * complete when runQuery returns keep the default.
+     *
+     * @param result     Result returned by runQuery.
+     * @param onComplete Listener called with null on success, or with the exception of the failure or cancellation.
+     * @return True if the listener will be called by the result, false if the result is already complete.
+     */
+    protected boolean addCompletionListener(final Object result, final Consumer<Exception> onComplete) {
+        return false;
+    }
+
+    /**
+     * Function to let a streamed result hold all of its unread rows, so the database is not left waiting for the
+     * reader. Results whose completion releases an admission slot or is measured by the circuit breaker are unbound.
+     * Executors whose results are complete when runQuery returns keep the default.
+     *
+     * @param result Result returned by runQuery.
+     */
+    protected void unboundResult(final Object result) {
+    }
+
+    /**
+     * Function to stop a streamed result from querying the database, when its query is cancelled after runQuery
+     * returned it. Executors whose results are complete when runQuery returns keep the default.
+     *
+     * @param result Result returned by runQuery.
+     */
+    protected void cancelResult(final Object result) {
+    }
+
+    /**
+     * Function to get the connection properties used by the executor.
+     *
+     * @return ConnectionProperties of the executor, or null if queries are not subject to admission control.
+     */
+    protected ConnectionProperties getConnectionProperties() {
+        return null;
+    }
+
+    /**
+     * Function to get the key under which identical in flight queries share one execution.
+     *
+     * @param query Query to execute.
+     * @return Deduplication key, or null if the query should not be shared.
+     */
+    protected String getDeduplicationKey(final String query) {
+        return null;
+    }
+
+    /**
+     * Function to run a query whose result is shared between identical in flight queries.
+     *
+     * @param query Query to execute.
+     * @return Result which can be handed out to every caller through {@link #shareResult(Object)}.
+     * @throws SQLException if query execution fails.
+     */
+    protected Object runSharedQuery(final String query) throws SQLException {
+        return runQuery(query);
+    }
+
+    /**
+     * Function to check whether a result returned by {@link #runSharedQuery(String)} can be handed out to every
+     * caller. Identical queries waiting for a result which cannot be shared run the query again.
+     *
+     * @param sharedResult Result returned by {@link #runSharedQuery(String)}.
+     * @return True if the result can be shared.
+     */
+    protected boolean isShareable(final Object sharedResult) {
+        return true;
+    }
+
+    /**
+     * Function to get the intermediate result for one caller from a shared query result.
+     *
+     * @param sharedResult Result returned by {@link #runSharedQuery(String)}.
+     * @return Intermediate result used to construct the caller's ResultSet.
+     */
+    protected Object shareResult(final Object sharedResult) {
+        return sharedResult;
+    }
+
     /**
      * Function to cancel running query.
      * This has to be run in the different thread from the one running the query.
@@ -214,6 +497,13 @@ public abstract class QueryExecutor {
     public void cancelQuery(final boolean isClosing) throws SQLException {
         synchronized (lock) {
             if (queryState.equals(QueryState.NOT_STARTED)) {
+                if (streamedResult != null) {
+                    // The query was planned, but its rows are still streamed from the database.
+                    cancelResult(streamedResult);
+                    streamedResult = null;
+                    LOGGER.debug("Cancel query succeeded.");
+                    return;
+                }
                 if (isClosing) {
                     return;
                 }
@@ -228,6 +518,9 @@ public abstract class QueryExecutor {
                         SqlError.QUERY_CANCELED);
             }
 
+            if (admissionTicket != null) {
+                admissionController.cancel(admissionTicket);
+            }
             performCancel();
             queryState = QueryState.CANCELLED;
             LOGGER.debug("Cancel query succeeded.");
@@ -34,6 +34,7 @@ public enum SqlError {
     CANNOT_UNWRAP,
     CANNOT_CONVERT_STRING_TO_RESULT_SET,
     CANNOT_SLICE_A_STRING,
+    CIRCUIT_BREAKER_OPEN,
     CONN_CLOSED,
     CONN_FAILED,
     FAILED_TO_BUFFER_RESULT_SET,
@@ -64,6 +65,7 @@ public enum SqlError {
     INVALID_ROW_VALUE,
     INVALID_COLUMN_INDEX,
     INVALID_INDEX,
+    INVALID_PARAMETER_INDEX,
     INVALID_TYPE_CONVERSION,
     INVALID_TIMEOUT,
     KNOWN_HOSTS_FILE_NOT_FOUND,
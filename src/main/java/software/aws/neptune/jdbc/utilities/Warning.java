@@ -27,6 +27,7 @@ public enum Warning {
     VALUE_TRUNCATED,
     NULL_PROPERTY,
     NULL_URL,
+    SCHEMA_SCAN_IN_PROGRESS,
     UNSUPPORTED_PROPERTY,
     UNSUPPORTED_URL_PREFIX;
 
@@ -237,4 +237,22 @@ public class OpenCypherDataSource extends DataSource
     public void setUseEncryption(final boolean useEncryption) throws SQLClientInfoException {
         connectionProperties.setUseEncryption(useEncryption);
     }
+
+    /**
+     * Gets whether identical in flight queries share one execution.
+     *
+     * @return True if query deduplication is enabled, false otherwise.
+     */
+    public boolean getDeduplicateQueries() {
+        return connectionProperties.getDeduplicateQueries();
+    }
+
+    /**
+     * Sets whether identical in flight queries share one execution.
+     *
+     * @param deduplicateQueries True to enable query deduplication.
+     */
+    public void setDeduplicateQueries(final boolean deduplicateQueries) {
+        connectionProperties.setDeduplicateQueries(deduplicateQueries);
+    }
 }
@@ -28,6 +28,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.aws.neptune.common.gremlindatamodel.MetadataCache;
 import software.aws.neptune.jdbc.utilities.AuthScheme;
+import software.aws.neptune.jdbc.utilities.ConnectionProperties;
+import software.aws.neptune.jdbc.utilities.QueryDeduplicator;
 import software.aws.neptune.jdbc.utilities.QueryExecutor;
 import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.jdbc.utilities.SqlState;
@@ -115,7 +117,8 @@ public class OpenCypherQueryExecutor extends QueryExecutor {
      */
     public boolean isValid(final int timeout) {
         try {
-            final Config config = createConfigBuilder().withConnectionTimeout(timeout, TimeUnit.SECONDS).build();
+            final Config config = createConfigBuilder(openCypherConnectionProperties)
+                    .withConnectionTimeout(timeout, TimeUnit.SECONDS).build();
             final Driver tempDriver;
             synchronized (DRIVER_LOCK) {
                 tempDriver = getDriver(config, openCypherConnectionProperties, true);
@@ -128,7 +131,24 @@ public class OpenCypherQueryExecutor extends QueryExecutor {
         }
     }
 
-    private Config.ConfigBuilder createConfigBuilder() {
+    /**
+     * Function to get the driver shared by openCypher connections, creating it if needed.
+     *
+     * @param openCypherConnectionProperties OpenCypherConnectionProperties of the connection.
+     * @return Shared driver.
+     * @throws SQLException If the driver cannot be created.
+     */
+    static Driver getSharedDriver(final OpenCypherConnectionProperties openCypherConnectionProperties)
+            throws SQLException {
+        synchronized (DRIVER_LOCK) {
+            driver = getDriver(createConfigBuilder(openCypherConnectionProperties).build(),
+                    openCypherConnectionProperties, false);
+            return driver;
+        }
+    }
+
+    private static Config.ConfigBuilder createConfigBuilder(
+            final OpenCypherConnectionProperties openCypherConnectionProperties) {
         final Config.ConfigBuilder configBuilder = Config.builder();
         final boolean useEncryption = openCypherConnectionProperties.getUseEncryption();
         if (useEncryption) {
@@ -184,9 +204,10 @@ public class OpenCypherQueryExecutor extends QueryExecutor {
             throws SQLException {
         final String endpoint = this.openCypherConnectionProperties.getEndpoint();
         MetadataCache.updateCacheIfNotUpdated(openCypherConnectionProperties);
-        return new OpenCypherResultSetGetTables(statement,
-                MetadataCache.getFilteredCacheNodeColumnInfos(tableName, endpoint),
-                MetadataCache.getFilteredResultSetInfoWithoutRowsForTables(tableName, endpoint));
+        final OpenCypherResultSetGetTables resultSet =
+                new OpenCypherResultSetGetTables(statement, MetadataCache.getTableRows(tableName, endpoint));
+        MetadataCache.addSchemaScanWarning(endpoint, resultSet);
+        return resultSet;
     }
 
     /**
@@ -236,9 +257,10 @@ public class OpenCypherQueryExecutor extends QueryExecutor {
             throws SQLException {
         final String endpoint = this.openCypherConnectionProperties.getEndpoint();
         MetadataCache.updateCacheIfNotUpdated(openCypherConnectionProperties);
-        return new OpenCypherResultSetGetColumns(statement,
-                MetadataCache.getFilteredCacheNodeColumnInfos(nodes, endpoint),
-                MetadataCache.getFilteredResultSetInfoWithoutRowsForColumns(nodes, endpoint));
+        final OpenCypherResultSetGetColumns resultSet =
+                new OpenCypherResultSetGetColumns(statement, MetadataCache.getColumnRows(nodes, endpoint));
+        MetadataCache.addSchemaScanWarning(endpoint, resultSet);
+        return resultSet;
     }
 
     /**
@@ -258,7 +280,8 @@ public class OpenCypherQueryExecutor extends QueryExecutor {
     protected <T> T runQuery(final String query) throws SQLException {
         synchronized (sessionLock) {
             synchronized (DRIVER_LOCK) {
-                driver = getDriver(createConfigBuilder().build(), openCypherConnectionProperties, false);
+                driver = getDriver(createConfigBuilder(openCypherConnectionProperties).build(),
+                        openCypherConnectionProperties, false);
             }
             session = driver.session();
         }
@@ -274,6 +297,36 @@ public class OpenCypherQueryExecutor extends QueryExecutor {
         return (T) openCypherResultSet;
     }
 
+    @Override
+    protected ConnectionProperties getConnectionProperties() {
+        return openCypherConnectionProperties;
+    }
+
+    @Override
+    protected String getDeduplicationKey(final String query) {
+        if (!openCypherConnectionProperties.getDeduplicateQueries()) {
+            return null;
+        }
+        return QueryDeduplicator.createKey(openCypherConnectionProperties.getEndpoint(), "opencypher", query);
+    }
+
+    /**
+     * Function to run a shared query. The rows are fully materialised by runQuery, so the session is released here
+     * instead of by each ResultSet.
+     *
+     * @param query Query to execute.
+     * @return ResultSetInfoWithRows without session.
+     * @throws SQLException if query execution fails.
+     */
+    @Override
+    protected Object runSharedQuery(final String query) throws SQLException {
+        final OpenCypherResultSet.ResultSetInfoWithRows resultSetInfo = runQuery(query);
+        resultSetInfo.getResult().consume();
+        resultSetInfo.getSession().close();
+        return new OpenCypherResultSet.ResultSetInfoWithRows(null, null, resultSetInfo.getRows(),
+                resultSetInfo.getColumns());
+    }
+
     @Override
     protected void performCancel() throws SQLException {
         synchronized (sessionLock) {
@@ -0,0 +1,334 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.opencypher;
+
+import org.apache.calcite.util.Pair;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.aws.neptune.common.gremlindatamodel.MetadataCache;
+import software.aws.neptune.gremlin.adapter.converter.schema.SchemaSnapshot;
+import software.aws.neptune.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.LazyGremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the schema of an openCypher endpoint with aggregate openCypher queries over the Bolt driver of the
+ * connection. Each distinct combination of node labels is a vertex table named after its sorted labels joined by
+ * '::', as Neptune names the vertices with multiple labels in Gremlin, and each relationship type is an edge table.
+ */
+public class OpenCypherSchemaGrabber implements MetadataCache.SchemaLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OpenCypherSchemaGrabber.class);
+    private static final String LABEL_DELIMITER = "::";
+    private static final String VERTEX_LABEL_COUNTS_QUERY = "MATCH (n) RETURN labels(n) AS label, count(n) AS count";
+    private static final String EDGE_LABEL_COUNTS_QUERY =
+            "MATCH ()-[n]->() RETURN type(n) AS label, count(n) AS count";
+    private static final String IN_OUT_VERTEX_QUERY =
+            "MATCH (a)-[n%s]->(b) RETURN DISTINCT type(n) AS label, labels(b) AS inLabel, labels(a) AS outLabel";
+    private static final String VERTEX_EDGES_QUERY = "%s MATCH (n)%s() RETURN DISTINCT type(r) AS label";
+    private static final String VERTEX_MATCH = "MATCH (n%s) WHERE size(labels(n)) = %d";
+    private static final String EDGE_MATCH = "MATCH ()-[n%s]->()";
+    private static final String SAMPLE_CLAUSE = " WITH n ORDER BY rand() LIMIT %d";
+    private static final String COIN_CLAUSE = " WITH n WHERE rand() < %s";
+    private static final String PROPERTIES_QUERY =
+            "%s%s UNWIND keys(n) AS key WITH n, key, n[key] AS value RETURN %s AS label, key, %s AS types";
+    // Infers the type of a value on the server, so that only the distinct types of each key are transferred. The
+    // names match the ones SqlSchemaGrabber gives to the values the Bolt driver returns.
+    private static final String VALUE_TYPE_EXPRESSION = "CASE"
+            + " WHEN value IN [true, false] THEN 'Boolean'"
+            + " WHEN value = toString(value) THEN 'String'"
+            + " WHEN toString(value) =~ '-?[0-9]+' THEN 'Long'"
+            + " WHEN toString(value) =~ '-?([0-9]+[.][0-9]+(E-?[0-9]+)?|NaN|Infinity)' THEN 'Double'"
+            + " WHEN toString(value) =~ '[0-9]{4}-.*' THEN 'Date'"
+            + " ELSE 'String' END";
+    private final OpenCypherConnectionProperties openCypherConnectionProperties;
+
+    /**
+     * Constructor for OpenCypherSchemaGrabber.
+     *
+     * @param openCypherConnectionProperties OpenCypherConnectionProperties of the connection.
+     */
+    public OpenCypherSchemaGrabber(final OpenCypherConnectionProperties openCypherConnectionProperties) {
+        this.openCypherConnectionProperties = openCypherConnectionProperties;
+    }
+
+    @Override
+    public SchemaSnapshot getSchemaSnapshot(final SqlSchemaGrabber.ScanType scanType, final SchemaSnapshot previous)
+            throws SQLException {
+        try (Session session = OpenCypherQueryExecutor.getSharedDriver(openCypherConnectionProperties).session()) {
+            return getSchemaSnapshot(session, scanType, previous);
+        } catch (final RuntimeException e) {
+            throw new SQLException("Error occurred during schema collection. '" + e.getMessage() + "'.", e);
+        }
+    }
+
+    @Override
+    public LazyGremlinSchema getLazySchema(final SqlSchemaGrabber.ScanType scanType) throws SQLException {
+        final List<String> vertexLabels;
+        final List<String> edgeLabels;
+        try (Session session = OpenCypherQueryExecutor.getSharedDriver(openCypherConnectionProperties).session()) {
+            vertexLabels = new ArrayList<>(getLabelCounts(session, VERTEX_LABEL_COUNTS_QUERY).keySet());
+            edgeLabels = new ArrayList<>(getLabelCounts(session, EDGE_LABEL_COUNTS_QUERY).keySet());
+        } catch (final RuntimeException e) {
+            throw new SQLException("Error occurred during schema collection. '" + e.getMessage() + "'.", e);
+        }
+        return new LazyGremlinSchema(vertexLabels, edgeLabels, (loadVertexLabels, loadEdgeLabels) -> {
+            try (Session session =
+                         OpenCypherQueryExecutor.getSharedDriver(openCypherConnectionProperties).session()) {
+                return getSchema(session, scanType, loadVertexLabels, loadEdgeLabels);
+            } catch (final RuntimeException e) {
+                throw new SQLException("Error occurred during schema collection. '" + e.getMessage() + "'.", e);
+            }
+        });
+    }
+
+    /**
+     * Function to get the schema of the graph along with the element count of each label. Tables of a previous
+     * snapshot whose count and connected labels did not change are reused rather than rescanned.
+     *
+     * @param session  Session to run the queries in.
+     * @param scanType Scan type.
+     * @param previous Snapshot to refresh, null to scan the whole graph.
+     * @return Graph schema snapshot.
+     */
+    static SchemaSnapshot getSchemaSnapshot(final Session session, final SqlSchemaGrabber.ScanType scanType,
+                                            final SchemaSnapshot previous) {
+        final long start = System.currentTimeMillis();
+        final Map<String, Long> vertexLabelCounts = getLabelCounts(session, VERTEX_LABEL_COUNTS_QUERY);
+        final Map<String, Long> edgeLabelCounts = getLabelCounts(session, EDGE_LABEL_COUNTS_QUERY);
+
+        // A single query returns the endpoints of every relationship type, the edges of each vertex follow from it.
+        final Map<String, List<Pair<String, String>>> inOutVertices = getInOutVertices(session, "");
+        final Map<String, Set<String>> inEdges = new HashMap<>();
+        final Map<String, Set<String>> outEdges = new HashMap<>();
+        inOutVertices.forEach((label, pairs) -> pairs.forEach(pair -> {
+            inEdges.computeIfAbsent(pair.getKey(), k -> new LinkedHashSet<>()).add(label);
+            outEdges.computeIfAbsent(pair.getValue(), k -> new LinkedHashSet<>()).add(label);
+        }));
+
+        final Map<String, GremlinVertexTable> previousVertices = new HashMap<>();
+        final Map<String, GremlinEdgeTable> previousEdges = new HashMap<>();
+        if (previous != null) {
+            previous.getSchema().getVertices().forEach(table -> previousVertices.put(table.getLabel(), table));
+            previous.getSchema().getEdges().forEach(table -> previousEdges.put(table.getLabel(), table));
+        }
+        final List<String> scannedVertexLabels = vertexLabelCounts.keySet().stream()
+                .filter(label -> previous == null
+                        || !vertexLabelCounts.get(label).equals(previous.getVertexLabelCounts().get(label))
+                        || !previousVertices.containsKey(label)
+                        || !new HashSet<>(previousVertices.get(label).getInEdges())
+                        .equals(inEdges.getOrDefault(label, new HashSet<>()))
+                        || !new HashSet<>(previousVertices.get(label).getOutEdges())
+                        .equals(outEdges.getOrDefault(label, new HashSet<>())))
+                .collect(Collectors.toList());
+        final List<String> scannedEdgeLabels = edgeLabelCounts.keySet().stream()
+                .filter(label -> previous == null
+                        || !edgeLabelCounts.get(label).equals(previous.getEdgeLabelCounts().get(label))
+                        || !previousEdges.containsKey(label)
+                        || !new HashSet<>(previousEdges.get(label).getInOutVertexPairs())
+                        .equals(new HashSet<>(inOutVertices.getOrDefault(label, new ArrayList<>()))))
+                .collect(Collectors.toList());
+
+        final Map<String, List<GremlinProperty>> vertexColumns = getColumns(session, scanType, true,
+                scannedVertexLabels, scannedVertexLabels.size() == vertexLabelCounts.size());
+        final Map<String, List<GremlinProperty>> edgeColumns = getColumns(session, scanType, false,
+                scannedEdgeLabels, scannedEdgeLabels.size() == edgeLabelCounts.size());
+        final List<GremlinVertexTable> vertices = new ArrayList<>();
+        for (final String label : vertexLabelCounts.keySet()) {
+            vertices.add(vertexColumns.containsKey(label) ?
+                    new GremlinVertexTable(label, vertexColumns.get(label),
+                            new ArrayList<>(inEdges.getOrDefault(label, new HashSet<>())),
+                            new ArrayList<>(outEdges.getOrDefault(label, new HashSet<>()))) :
+                    previousVertices.get(label));
+        }
+        final List<GremlinEdgeTable> edges = new ArrayList<>();
+        for (final String label : edgeLabelCounts.keySet()) {
+            edges.add(edgeColumns.containsKey(label) ?
+                    new GremlinEdgeTable(label, edgeColumns.get(label),
+                            inOutVertices.getOrDefault(label, new ArrayList<>())) :
+                    previousEdges.get(label));
+        }
+        LOGGER.info(String.format(
+                "openCypher schema scan read %d of %d vertex tables and %d of %d edge tables in %d ms.",
+                scannedVertexLabels.size(), vertexLabelCounts.size(), scannedEdgeLabels.size(),
+                edgeLabelCounts.size(), System.currentTimeMillis() - start));
+        return new SchemaSnapshot(new GremlinSchema(vertices, edges), vertexLabelCounts, edgeLabelCounts);
+    }
+
+    /**
+     * Function to get the schema of the given tables only.
+     *
+     * @param session      Session to run the queries in.
+     * @param scanType     Scan type.
+     * @param vertexLabels Vertex tables to scan.
+     * @param edgeLabels   Edge tables to scan.
+     * @return Graph schema holding the given tables.
+     */
+    static GremlinSchema getSchema(final Session session, final SqlSchemaGrabber.ScanType scanType,
+                                   final List<String> vertexLabels, final List<String> edgeLabels) {
+        final Map<String, List<GremlinProperty>> vertexColumns =
+                getColumns(session, scanType, true, vertexLabels, false);
+        final List<GremlinVertexTable> vertices = new ArrayList<>();
+        for (final String label : vertexLabels) {
+            vertices.add(new GremlinVertexTable(label, vertexColumns.get(label),
+                    getVertexEdges(session, label, "<-[r]-"), getVertexEdges(session, label, "-[r]->")));
+        }
+        final Map<String, List<GremlinProperty>> edgeColumns =
+                getColumns(session, scanType, false, edgeLabels, false);
+        final List<GremlinEdgeTable> edges = new ArrayList<>();
+        for (final String label : edgeLabels) {
+            edges.add(new GremlinEdgeTable(label, edgeColumns.get(label),
+                    getInOutVertices(session, ":" + escape(label))
+                            .getOrDefault(label, new ArrayList<>())));
+        }
+        return new GremlinSchema(vertices, edges);
+    }
+
+    private static Map<String, Long> getLabelCounts(final Session session, final String query) {
+        LOGGER.debug(String.format("Start %s%n", query));
+        final Map<String, Long> labelCounts = new LinkedHashMap<>();
+        for (final Record record : session.run(query).list()) {
+            final String label = toLabel(record.get("label"));
+            // Nodes without any label do not belong to a table.
+            if (!label.isEmpty()) {
+                labelCounts.merge(label, record.get("count").asLong(), Long::sum);
+            }
+        }
+        LOGGER.debug(String.format("End %s%n", query));
+        return labelCounts;
+    }
+
+    private static Map<String, List<Pair<String, String>>> getInOutVertices(final Session session,
+                                                                          final String edgeLabel) {
+        final String query = String.format(IN_OUT_VERTEX_QUERY, edgeLabel);
+        LOGGER.debug(String.format("Start %s%n", query));
+        final Map<String, Set<Pair<String, String>>> inOutVertices = new LinkedHashMap<>();
+        for (final Record record : session.run(query).list()) {
+            inOutVertices.computeIfAbsent(record.get("label").asString(), k -> new LinkedHashSet<>())
+                    .add(new Pair<>(toLabel(record.get("inLabel")), toLabel(record.get("outLabel"))));
+        }
+        LOGGER.debug(String.format("End %s%n", query));
+        final Map<String, List<Pair<String, String>>> result = new LinkedHashMap<>();
+        inOutVertices.forEach((label, pairs) -> result.put(label, new ArrayList<>(pairs)));
+        return result;
+    }
+
+    private static List<String> getVertexEdges(final Session session, final String vertexLabel,
+                                               final String direction) {
+        final String query = String.format(VERTEX_EDGES_QUERY, getMatchClause(true, vertexLabel), direction);
+        LOGGER.debug(String.format("Start %s%n", query));
+        final List<String> edges = session.run(query).list().stream()
+                .map(record -> record.get("label").asString())
+                .collect(Collectors.toList());
+        LOGGER.debug(String.format("End %s%n", query));
+        return edges;
+    }
+
+    private static Map<String, List<GremlinProperty>> getColumns(final Session session,
+                                                                 final SqlSchemaGrabber.ScanType scanType,
+                                                                 final boolean isVertex, final List<String> labels,
+                                                                 final boolean allLabels) {
+        final Map<String, Map<String, Set<String>>> types = new HashMap<>();
+        if (allLabels && scanType.getSampleSize() == 0) {
+            // A single grouped query covers every table, unless a fixed number of elements is sampled per table.
+            collectTypes(session, getPropertiesQuery(isVertex, isVertex ? "MATCH (n)" : "MATCH ()-[n]->()",
+                    scanType), types);
+        } else {
+            for (final String label : labels) {
+                collectTypes(session, getPropertiesQuery(isVertex, getMatchClause(isVertex, label), scanType),
+                        types);
+            }
+        }
+        final Map<String, List<GremlinProperty>> columns = new HashMap<>();
+        for (final String label : labels) {
+            columns.put(label, types.getOrDefault(label, new HashMap<>()).entrySet().stream()
+                    .map(entry -> new GremlinProperty(entry.getKey(),
+                            SqlSchemaGrabber.getPromotedType(entry.getValue()).toLowerCase(Locale.getDefault())))
+                    .collect(Collectors.toList()));
+        }
+        return columns;
+    }
+
+    private static void collectTypes(final Session session, final String query,
+                                     final Map<String, Map<String, Set<String>>> types) {
+        LOGGER.debug(String.format("Start %s%n", query));
+        for (final Record record : session.run(query).list()) {
+            types.computeIfAbsent(toLabel(record.get("label")), k -> new HashMap<>())
+                    .computeIfAbsent(record.get("key").asString(), k -> new HashSet<>())
+                    .addAll(record.get("types").asList(Value::asString));
+        }
+        LOGGER.debug(String.format("End %s%n", query));
+    }
+
+    private static String getPropertiesQuery(final boolean isVertex, final String matchClause,
+                                             final SqlSchemaGrabber.ScanType scanType) {
+        final String sampleClause;
+        if (scanType.getSampleSize() > 0) {
+            sampleClause = String.format(SAMPLE_CLAUSE, scanType.getSampleSize());
+        } else if (scanType.getProbability() > 0) {
+            sampleClause = String.format(COIN_CLAUSE, scanType.getProbability());
+        } else {
+            sampleClause = "";
+        }
+        // First only transfers the type of one value of each key, the other scan types transfer its distinct types.
+        final String typesExpression = scanType.equals(SqlSchemaGrabber.ScanType.First) ?
+                "collect(" + VALUE_TYPE_EXPRESSION + ")[0..1]" : "collect(DISTINCT " + VALUE_TYPE_EXPRESSION + ")";
+        return String.format(PROPERTIES_QUERY, matchClause, sampleClause, isVertex ? "labels(n)" : "type(n)",
+                typesExpression);
+    }
+
+    private static String getMatchClause(final boolean isVertex, final String label) {
+        if (!isVertex) {
+            return String.format(EDGE_MATCH, ":" + escape(label));
+        }
+        // Matching every label of the table and no other label selects exactly the nodes of the table.
+        final List<String> labels = Arrays.asList(label.split(LABEL_DELIMITER));
+        return String.format(VERTEX_MATCH,
+                labels.stream().map(l -> ":" + escape(l)).collect(Collectors.joining()), labels.size());
+    }
+
+    private static String escape(final String label) {
+        return "`" + label.replace("`", "``") + "`";
+    }
+
+    private static String toLabel(final Value value) {
+        final Object label = value.asObject();
+        if (label instanceof List) {
+            return ((List<?>) label).stream().map(Object::toString).sorted()
+                    .collect(Collectors.joining(LABEL_DELIMITER));
+        }
+        return label.toString();
+    }
+}
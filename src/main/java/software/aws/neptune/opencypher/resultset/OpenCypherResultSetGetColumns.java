@@ -76,6 +76,16 @@ public class OpenCypherResultSetGetColumns extends ResultSetGetColumns implement
         super(statement, gremlinSchema, resultSetInfoWithoutRows);
     }
 
+    /**
+     * OpenCypherResultSetGetColumns constructor for rows built ahead of time.
+     *
+     * @param statement Statement Object.
+     * @param rows      Rows of the result set.
+     */
+    public OpenCypherResultSetGetColumns(final Statement statement, final List<Map<String, Object>> rows) {
+        super(statement, rows);
+    }
+
     @Override
     protected ResultSetMetaData getResultMetadata() {
         final List<String> orderedColumns = getColumns();
@@ -61,6 +61,16 @@ public class OpenCypherResultSetGetTables extends ResultSetGetTables implements
         super(statement, gremlinSchema, resultSetInfoWithoutRows);
     }
 
+    /**
+     * OpenCypherResultSetGetTables constructor for rows built ahead of time.
+     *
+     * @param statement Statement Object.
+     * @param rows      Rows of the result set.
+     */
+    public OpenCypherResultSetGetTables(final Statement statement, final List<Map<String, Object>> rows) {
+        super(statement, rows);
+    }
+
     @Override
     protected ResultSetMetaData getResultMetadata() {
         final List<String> orderedColumns = getColumns();
@@ -255,4 +255,22 @@ public class SparqlDataSource extends DataSource
     public void setAuthScheme(final AuthScheme authScheme) throws SQLException {
         connectionProperties.setAuthScheme(authScheme);
     }
+
+    /**
+     * Gets whether identical in flight queries share one execution.
+     *
+     * @return True if query deduplication is enabled, false otherwise.
+     */
+    public boolean getDeduplicateQueries() {
+        return connectionProperties.getDeduplicateQueries();
+    }
+
+    /**
+     * Sets whether identical in flight queries share one execution.
+     *
+     * @param deduplicateQueries True to enable query deduplication.
+     */
+    public void setDeduplicateQueries(final boolean deduplicateQueries) {
+        connectionProperties.setDeduplicateQueries(deduplicateQueries);
+    }
 }
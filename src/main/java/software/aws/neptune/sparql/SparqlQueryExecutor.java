@@ -41,10 +41,10 @@ import org.apache.jena.rdfconnection.RDFConnectionRemote;
 import org.apache.jena.rdfconnection.RDFConnectionRemoteBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
-import software.aws.neptune.common.ResultSetInfoWithoutRows;
-import software.aws.neptune.common.gremlindatamodel.resultset.ResultSetGetTables;
+import software.aws.neptune.common.gremlindatamodel.MetadataCache;
 import software.aws.neptune.jdbc.utilities.AuthScheme;
+import software.aws.neptune.jdbc.utilities.ConnectionProperties;
+import software.aws.neptune.jdbc.utilities.QueryDeduplicator;
 import software.aws.neptune.jdbc.utilities.QueryExecutor;
 import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.jdbc.utilities.SqlState;
@@ -287,8 +287,12 @@ public class SparqlQueryExecutor extends QueryExecutor {
      */
     @Override
     public java.sql.ResultSet executeGetTables(final Statement statement, final String tableName) throws SQLException {
-        return new SparqlResultSetGetTables(statement, new GremlinSchema(new ArrayList<>(), new ArrayList<>()),
-                new ResultSetInfoWithoutRows(0, ResultSetGetTables.getColumns()));
+        final String destination = sparqlConnectionProperties.getDestination();
+        MetadataCache.updateCacheIfNotUpdated(sparqlConnectionProperties);
+        final SparqlResultSetGetTables resultSet =
+                new SparqlResultSetGetTables(statement, MetadataCache.getTableRows(tableName, destination));
+        MetadataCache.addSchemaScanWarning(destination, resultSet);
+        return resultSet;
     }
 
     /**
@@ -334,8 +338,12 @@ public class SparqlQueryExecutor extends QueryExecutor {
      */
     @Override
     public java.sql.ResultSet executeGetColumns(final Statement statement, final String nodes) throws SQLException {
-        return new SparqlResultSetGetColumns(statement, new GremlinSchema(new ArrayList<>(), new ArrayList<>()),
-                new ResultSetInfoWithoutRows(0, ResultSetGetTables.getColumns()));
+        final String destination = sparqlConnectionProperties.getDestination();
+        MetadataCache.updateCacheIfNotUpdated(sparqlConnectionProperties);
+        final SparqlResultSetGetColumns resultSet =
+                new SparqlResultSetGetColumns(statement, MetadataCache.getColumnRows(nodes, destination));
+        MetadataCache.addSchemaScanWarning(destination, resultSet);
+        return resultSet;
     }
 
     /**
@@ -371,6 +379,21 @@ public class SparqlQueryExecutor extends QueryExecutor {
         return (T) sparqlResultSet;
     }
 
+    @Override
+    protected ConnectionProperties getConnectionProperties() {
+        return sparqlConnectionProperties;
+    }
+
+    @Override
+    protected String getDeduplicationKey(final String query) {
+        if (!sparqlConnectionProperties.getDeduplicateQueries()) {
+            return null;
+        }
+        return QueryDeduplicator.createKey(sparqlConnectionProperties.getEndpoint() + ":" +
+                sparqlConnectionProperties.getPort() + "/" + sparqlConnectionProperties.getQueryEndpoint(),
+                "sparql", query);
+    }
+
     /**
      * Private function to get result set based on the given query type
      */
@@ -0,0 +1,266 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.sparql;
+
+import org.apache.jena.datatypes.RDFDatatype;
+import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.apache.jena.vocabulary.RDF;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.aws.neptune.common.gremlindatamodel.MetadataCache;
+import software.aws.neptune.gremlin.adapter.converter.schema.SchemaSnapshot;
+import software.aws.neptune.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.LazyGremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a relational view of an RDF dataset with aggregate SPARQL queries. Each rdf:type class is a table named
+ * after the local name of the class, and each predicate used by instances of the class is a column named after the
+ * local name of the predicate. Column types follow the XSD datatypes of the literals, resources are String columns
+ * holding their IRI. A local name shared by several classes or predicates falls back to the full IRI.
+ */
+public class SparqlSchemaGrabber implements MetadataCache.SchemaLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SparqlSchemaGrabber.class);
+    private static final Map<Class<?>, String> TYPE_MAP = new HashMap<>();
+    private static final String CLASS_COUNTS_QUERY =
+            "SELECT ?class (COUNT(?s) AS ?count) WHERE { ?s a ?class FILTER(isIRI(?class)) } GROUP BY ?class";
+    private static final String PREDICATES_QUERY = "SELECT DISTINCT ?class ?p ?datatype WHERE { %s " +
+            "?s ?p ?o FILTER(?p != <%s>) BIND(IF(isLiteral(?o), STR(DATATYPE(?o)), \"\") AS ?datatype) }";
+    private static final String FIRST_PREDICATES_QUERY = "SELECT ?class ?p (SAMPLE(?type) AS ?datatype) WHERE { %s " +
+            "?s ?p ?o FILTER(?p != <%s>) BIND(IF(isLiteral(?o), STR(DATATYPE(?o)), \"\") AS ?type) } " +
+            "GROUP BY ?class ?p";
+    private static final String ALL_SUBJECTS = "?s a ?class FILTER(isIRI(?class)) .";
+    private static final String CLASS_SUBJECTS = "VALUES ?class { <%s> } ?s a ?class .";
+    private static final String SAMPLED_CLASS_SUBJECTS =
+            "VALUES ?class { <%1$s> } { SELECT ?s WHERE { ?s a <%1$s> } ORDER BY RAND() LIMIT %2$d }";
+    private static final String COIN_FILTER = " FILTER(RAND() < %s)";
+
+    static {
+        TYPE_MAP.put(String.class, "String");
+        TYPE_MAP.put(Boolean.class, "Boolean");
+        TYPE_MAP.put(Byte.class, "Byte");
+        TYPE_MAP.put(Short.class, "Short");
+        TYPE_MAP.put(Integer.class, "Integer");
+        TYPE_MAP.put(Long.class, "Long");
+        TYPE_MAP.put(BigInteger.class, "Long");
+        TYPE_MAP.put(Float.class, "Float");
+        TYPE_MAP.put(Double.class, "Double");
+        TYPE_MAP.put(BigDecimal.class, "Double");
+        TYPE_MAP.put(Date.class, "Date");
+        TYPE_MAP.put(Timestamp.class, "Date");
+        TYPE_MAP.put(Time.class, "Time");
+    }
+
+    private final SparqlConnectionProperties sparqlConnectionProperties;
+
+    /**
+     * Constructor for SparqlSchemaGrabber.
+     *
+     * @param sparqlConnectionProperties SparqlConnectionProperties of the connection.
+     */
+    public SparqlSchemaGrabber(final SparqlConnectionProperties sparqlConnectionProperties) {
+        this.sparqlConnectionProperties = sparqlConnectionProperties;
+    }
+
+    @Override
+    public SchemaSnapshot getSchemaSnapshot(final SqlSchemaGrabber.ScanType scanType, final SchemaSnapshot previous)
+            throws SQLException {
+        try (RDFConnection rdfConnection = SparqlQueryExecutor.createRDFBuilder(sparqlConnectionProperties).build()) {
+            return getSchemaSnapshot(rdfConnection, scanType, previous);
+        } catch (final RuntimeException e) {
+            throw new SQLException("Error occurred during schema collection. '" + e.getMessage() + "'.", e);
+        }
+    }
+
+    @Override
+    public LazyGremlinSchema getLazySchema(final SqlSchemaGrabber.ScanType scanType) throws SQLException {
+        final Map<String, String> classes;
+        try (RDFConnection rdfConnection = SparqlQueryExecutor.createRDFBuilder(sparqlConnectionProperties).build()) {
+            classes = getLocalNames(getClassCounts(rdfConnection).keySet());
+        } catch (final RuntimeException e) {
+            throw new SQLException("Error occurred during schema collection. '" + e.getMessage() + "'.", e);
+        }
+        return new LazyGremlinSchema(new ArrayList<>(classes.keySet()), new ArrayList<>(),
+                (vertexLabels, edgeLabels) -> {
+                    try (RDFConnection rdfConnection =
+                                 SparqlQueryExecutor.createRDFBuilder(sparqlConnectionProperties).build()) {
+                        final Map<String, String> loadClasses = new LinkedHashMap<>();
+                        vertexLabels.forEach(label -> loadClasses.put(label, classes.get(label)));
+                        return new GremlinSchema(getTables(rdfConnection, scanType, loadClasses, false),
+                                new ArrayList<>());
+                    } catch (final RuntimeException e) {
+                        throw new SQLException(
+                                "Error occurred during schema collection. '" + e.getMessage() + "'.", e);
+                    }
+                });
+    }
+
+    /**
+     * Function to get the schema of the dataset along with the instance count of each class. Tables of a previous
+     * snapshot whose instance count did not change are reused rather than rescanned.
+     *
+     * @param rdfConnection RDFConnection to run the queries on.
+     * @param scanType      Scan type.
+     * @param previous      Snapshot to refresh, null to scan the whole dataset.
+     * @return Schema snapshot.
+     */
+    static SchemaSnapshot getSchemaSnapshot(final RDFConnection rdfConnection,
+                                            final SqlSchemaGrabber.ScanType scanType,
+                                            final SchemaSnapshot previous) {
+        final long start = System.currentTimeMillis();
+        final Map<String, Long> classCounts = getClassCounts(rdfConnection);
+        final Map<String, String> classes = getLocalNames(classCounts.keySet());
+        final Map<String, Long> labelCounts = new LinkedHashMap<>();
+        classes.forEach((label, classIri) -> labelCounts.put(label, classCounts.get(classIri)));
+
+        final Map<String, GremlinVertexTable> previousTables = new HashMap<>();
+        if (previous != null) {
+            previous.getSchema().getVertices().forEach(table -> previousTables.put(table.getLabel(), table));
+        }
+        final Map<String, String> scannedClasses = new LinkedHashMap<>();
+        classes.forEach((label, classIri) -> {
+            if (!previousTables.containsKey(label)
+                    || !labelCounts.get(label).equals(previous.getVertexLabelCounts().get(label))) {
+                scannedClasses.put(label, classIri);
+            }
+        });
+        final Map<String, GremlinVertexTable> scannedTables = new HashMap<>();
+        getTables(rdfConnection, scanType, scannedClasses, scannedClasses.size() == classes.size())
+                .forEach(table -> scannedTables.put(table.getLabel(), table));
+        final List<GremlinVertexTable> tables = classes.keySet().stream()
+                .map(label -> scannedTables.getOrDefault(label, previousTables.get(label)))
+                .collect(Collectors.toList());
+        LOGGER.info(String.format("SPARQL schema scan read %d of %d classes in %d ms.", scannedClasses.size(),
+                classes.size(), System.currentTimeMillis() - start));
+        return new SchemaSnapshot(new GremlinSchema(tables, new ArrayList<>()), labelCounts, new HashMap<>());
+    }
+
+    private static Map<String, Long> getClassCounts(final RDFConnection rdfConnection) {
+        LOGGER.debug(String.format("Start %s%n", CLASS_COUNTS_QUERY));
+        final Map<String, Long> classCounts = new LinkedHashMap<>();
+        rdfConnection.querySelect(CLASS_COUNTS_QUERY, solution -> classCounts.put(
+                solution.getResource("class").getURI(), solution.getLiteral("count").getLong()));
+        LOGGER.debug(String.format("End %s%n", CLASS_COUNTS_QUERY));
+        return classCounts;
+    }
+
+    private static List<GremlinVertexTable> getTables(final RDFConnection rdfConnection,
+                                                      final SqlSchemaGrabber.ScanType scanType,
+                                                      final Map<String, String> classes, final boolean allClasses) {
+        // Class IRI to predicate IRI to the types of its values.
+        final Map<String, Map<String, Set<String>>> predicateTypes = new HashMap<>();
+        if (allClasses && scanType.getSampleSize() == 0) {
+            // A single grouped query covers every class, unless a fixed number of instances is sampled per class.
+            collectPredicateTypes(rdfConnection, getPredicatesQuery(ALL_SUBJECTS, scanType), predicateTypes);
+        } else {
+            for (final String classIri : classes.values()) {
+                final String subjects = (scanType.getSampleSize() > 0) ?
+                        String.format(SAMPLED_CLASS_SUBJECTS, classIri, scanType.getSampleSize()) :
+                        String.format(CLASS_SUBJECTS, classIri);
+                collectPredicateTypes(rdfConnection, getPredicatesQuery(subjects, scanType), predicateTypes);
+            }
+        }
+        final List<GremlinVertexTable> tables = new ArrayList<>();
+        classes.forEach((label, classIri) -> {
+            final Map<String, Set<String>> types = predicateTypes.getOrDefault(classIri, new HashMap<>());
+            final List<GremlinProperty> columns = new ArrayList<>();
+            getLocalNames(types.keySet()).forEach((column, predicate) -> columns.add(
+                    new GremlinProperty(column, SqlSchemaGrabber.getPromotedType(types.get(predicate))
+                            .toLowerCase(Locale.getDefault()))));
+            tables.add(new GremlinVertexTable(label, columns, new ArrayList<>(), new ArrayList<>()));
+        });
+        return tables;
+    }
+
+    private static void collectPredicateTypes(final RDFConnection rdfConnection, final String query,
+                                              final Map<String, Map<String, Set<String>>> predicateTypes) {
+        LOGGER.debug(String.format("Start %s%n", query));
+        rdfConnection.querySelect(query, solution -> predicateTypes
+                .computeIfAbsent(solution.getResource("class").getURI(), k -> new HashMap<>())
+                .computeIfAbsent(solution.getResource("p").getURI(), k -> new HashSet<>())
+                .add(getType(solution.getLiteral("datatype").getString())));
+        LOGGER.debug(String.format("End %s%n", query));
+    }
+
+    private static String getPredicatesQuery(final String subjects, final SqlSchemaGrabber.ScanType scanType) {
+        final String sampledSubjects = (scanType.getProbability() > 0) ?
+                subjects + String.format(COIN_FILTER, scanType.getProbability()) : subjects;
+        // First only keeps one datatype of each predicate, the other scan types keep the distinct datatypes.
+        return String.format(scanType.equals(SqlSchemaGrabber.ScanType.First) ? FIRST_PREDICATES_QUERY :
+                PREDICATES_QUERY, sampledSubjects, RDF.type.getURI());
+    }
+
+    /**
+     * Function to get the SQL type of an RDF datatype.
+     *
+     * @param datatype Datatype IRI, empty for resources.
+     * @return Type name.
+     */
+    static String getType(final String datatype) {
+        if (datatype.isEmpty()) {
+            return "String";
+        }
+        final RDFDatatype rdfDatatype = TypeMapper.getInstance().getTypeByName(datatype);
+        if (!(rdfDatatype instanceof XSDDatatype)) {
+            return "String";
+        }
+        return TYPE_MAP.getOrDefault(SparqlTypeMapping.getJavaType(rdfDatatype), "String");
+    }
+
+    /**
+     * Function to name IRIs after their local names, keeping the full IRI of any local name used by several IRIs.
+     *
+     * @param iris IRIs to name.
+     * @return Map of name to IRI.
+     */
+    static Map<String, String> getLocalNames(final Set<String> iris) {
+        final Map<String, List<String>> localNames = new LinkedHashMap<>();
+        for (final String iri : iris) {
+            final String localName = iri.substring(Math.max(iri.lastIndexOf('#'), iri.lastIndexOf('/')) + 1);
+            localNames.computeIfAbsent(localName.isEmpty() ? iri : localName, k -> new ArrayList<>()).add(iri);
+        }
+        final Map<String, String> names = new LinkedHashMap<>();
+        localNames.forEach((localName, localIris) -> {
+            if (localIris.size() == 1) {
+                names.put(localName, localIris.get(0));
+            } else {
+                localIris.forEach(iri -> names.put(iri, iri));
+            }
+        });
+        return names;
+    }
+}
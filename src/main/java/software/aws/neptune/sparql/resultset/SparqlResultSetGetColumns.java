@@ -71,6 +71,16 @@ public class SparqlResultSetGetColumns extends ResultSetGetColumns implements ja
         super(statement, gremlinSchema, resultSetInfoWithoutRows);
     }
 
+    /**
+     * SparqlResultSetGetColumns constructor for rows built ahead of time.
+     *
+     * @param statement Statement Object.
+     * @param rows      Rows of the result set.
+     */
+    public SparqlResultSetGetColumns(final Statement statement, final List<Map<String, Object>> rows) {
+        super(statement, rows);
+    }
+
     @Override
     protected ResultSetMetaData getResultMetadata() throws SQLException {
         final List<String> orderedColumns = getColumns();
@@ -57,6 +57,16 @@ public class SparqlResultSetGetTables extends ResultSetGetTables implements java
         super(statement, gremlinSchema, resultSetInfoWithoutRows);
     }
 
+    /**
+     * SparqlResultSetGetTables constructor for rows built ahead of time.
+     *
+     * @param statement Statement Object.
+     * @param rows      Rows of the result set.
+     */
+    public SparqlResultSetGetTables(final Statement statement, final List<Map<String, Object>> rows) {
+        super(statement, rows);
+    }
+
     @Override
     protected ResultSetMetaData getResultMetadata() throws SQLException {
         final List<String> orderedColumns = getColumns();
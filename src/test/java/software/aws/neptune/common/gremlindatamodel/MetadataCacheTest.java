@@ -21,10 +21,14 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import software.aws.neptune.gremlin.adapter.converter.schema.SchemaSnapshot;
+import software.aws.neptune.gremlin.adapter.converter.schema.SqlSchemaGrabber;
 import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.LazyGremlinSchema;
 import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
 import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
 import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+import software.aws.neptune.gremlin.resultset.GremlinResultSetGetTables;
 
 import java.lang.reflect.Method;
 import java.sql.SQLException;
@@ -32,7 +36,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 
 public class MetadataCacheTest {
     private static final String ENDPOINT = "mockEndpoint";
@@ -98,4 +111,243 @@ public class MetadataCacheTest {
             Assertions.assertEquals(1, generatedEdgeBetaSchema.getEdges().size());
         }
     }
+
+    @Test
+    void testLeastRecentlyUsedEviction() throws SQLException {
+        final GremlinSchema schema = new GremlinSchema(new ArrayList<>(), new ArrayList<>());
+        try (MockedStatic<SchemaHelperGremlinDataModel> mockSchemaHelper =
+                     Mockito.mockStatic(SchemaHelperGremlinDataModel.class)) {
+            mockSchemaHelper.when(() -> SchemaHelperGremlinDataModel.getGraphSchemaSnapshot(
+                    Mockito.anyString(), Mockito.anyInt(), Mockito.anyBoolean(), Mockito.anyBoolean(),
+                    Mockito.any(), Mockito.any(), Mockito.any()))
+                    .thenReturn(new SchemaSnapshot(schema, new HashMap<>(), new HashMap<>()));
+            MetadataCache.setSchemaCacheCapacity(2);
+            MetadataCache.updateCache("lruFirst", 8182, false, false, MetadataCache.PathType.Gremlin,
+                    SqlSchemaGrabber.ScanType.All);
+            MetadataCache.updateCache("lruSecond", 8182, false, false, MetadataCache.PathType.Gremlin,
+                    SqlSchemaGrabber.ScanType.All);
+
+            // Using the first endpoint makes the second one the least recently used.
+            Assertions.assertEquals(schema, MetadataCache.getGremlinSchema("lruFirst"));
+            MetadataCache.updateCache("lruThird", 8182, false, false, MetadataCache.PathType.Gremlin,
+                    SqlSchemaGrabber.ScanType.All);
+            Assertions.assertTrue(MetadataCache.isMetadataCached("lruFirst"));
+            Assertions.assertFalse(MetadataCache.isMetadataCached("lruSecond"));
+            Assertions.assertTrue(MetadataCache.isMetadataCached("lruThird"));
+
+            MetadataCache.setSchemaCacheCapacity(1);
+            Assertions.assertFalse(MetadataCache.isMetadataCached("lruFirst"));
+            Assertions.assertTrue(MetadataCache.isMetadataCached("lruThird"));
+            mockSchemaHelper.verify(() -> SchemaHelperGremlinDataModel.getGraphSchemaSnapshot(
+                    Mockito.anyString(), Mockito.anyInt(), Mockito.anyBoolean(), Mockito.anyBoolean(),
+                    Mockito.any(), Mockito.any(), Mockito.any()), Mockito.times(3));
+        } finally {
+            MetadataCache.setSchemaCacheCapacity(3);
+        }
+    }
+
+    @Test
+    void testSmallerCapacityDoesNotEvict() throws SQLException {
+        final GremlinSchema schema = new GremlinSchema(new ArrayList<>(), new ArrayList<>());
+        final MetadataCache.SchemaLoader schemaLoader = getSchemaLoader(() -> schema);
+        try {
+            MetadataCache.setSchemaCacheCapacity(2);
+            MetadataCache.updateCache("capacityFirst", 8182, SqlSchemaGrabber.ScanType.All, null, 0, 0, false,
+                    false, false, schemaLoader);
+            MetadataCache.updateCache("capacitySecond", 8182, SqlSchemaGrabber.ScanType.All, null, 0, 0, false,
+                    false, false, schemaLoader);
+
+            // A connection asking for a smaller cache leaves the schemas of the other connections in place.
+            MetadataCache.ensureSchemaCacheCapacity(1);
+            Assertions.assertTrue(MetadataCache.isMetadataCached("capacityFirst"));
+            Assertions.assertTrue(MetadataCache.isMetadataCached("capacitySecond"));
+            MetadataCache.updateCache("capacityThird", 8182, SqlSchemaGrabber.ScanType.All, null, 0, 0, false,
+                    false, false, schemaLoader);
+            Assertions.assertFalse(MetadataCache.isMetadataCached("capacityFirst"));
+            Assertions.assertTrue(MetadataCache.isMetadataCached("capacitySecond"));
+            Assertions.assertTrue(MetadataCache.isMetadataCached("capacityThird"));
+
+            MetadataCache.ensureSchemaCacheCapacity(3);
+            MetadataCache.updateCache("capacityFirst", 8182, SqlSchemaGrabber.ScanType.All, null, 0, 0, false,
+                    false, false, schemaLoader);
+            Assertions.assertTrue(MetadataCache.isMetadataCached("capacitySecond"));
+            Assertions.assertTrue(MetadataCache.isMetadataCached("capacityThird"));
+        } finally {
+            MetadataCache.setSchemaCacheCapacity(3);
+        }
+    }
+
+    @Test
+    void testStaleSchemaServedWhileRefreshing() throws Exception {
+        final String endpoint = "staleWhileRefreshing";
+        final GremlinSchema staleSchema = new GremlinSchema(new ArrayList<>(), new ArrayList<>());
+        final GremlinSchema freshSchema = new GremlinSchema(new ArrayList<>(), new ArrayList<>());
+        final CountDownLatch refreshStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<GremlinSchema> loaded = Collections.synchronizedList(new ArrayList<>());
+        final MetadataCache.SchemaLoader schemaLoader = getSchemaLoader(() -> {
+            if (loaded.isEmpty()) {
+                loaded.add(staleSchema);
+                return staleSchema;
+            }
+            refreshStarted.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                throw new SQLException(e);
+            }
+            loaded.add(freshSchema);
+            return freshSchema;
+        });
+
+        MetadataCache.updateCache(endpoint, 8182, SqlSchemaGrabber.ScanType.All, null, 0, 1, false, false, false,
+                schemaLoader);
+        Assertions.assertSame(staleSchema, MetadataCache.getGremlinSchema(endpoint));
+        Thread.sleep(1100);
+
+        // The schema is past its refresh interval, so this starts a refresh and returns without waiting for it.
+        MetadataCache.updateCache(endpoint, 8182, SqlSchemaGrabber.ScanType.All, null, 0, 1, false, false, false,
+                schemaLoader);
+        refreshStarted.await();
+        Assertions.assertSame(staleSchema, MetadataCache.getGremlinSchema(endpoint));
+        // A refresh in flight is not started again.
+        MetadataCache.updateCache(endpoint, 8182, SqlSchemaGrabber.ScanType.All, null, 0, 1, false, false, false,
+                schemaLoader);
+        Assertions.assertSame(staleSchema, MetadataCache.getGremlinSchema(endpoint));
+
+        release.countDown();
+        waitFor(() -> MetadataCache.getGremlinSchema(endpoint) == freshSchema);
+        Assertions.assertEquals(2, loaded.size());
+    }
+
+    @Test
+    void testSlowScanDoesNotBlockOtherEndpoints() throws Exception {
+        final GremlinSchema slowSchema = new GremlinSchema(new ArrayList<>(), new ArrayList<>());
+        final GremlinSchema fastSchema = new GremlinSchema(new ArrayList<>(), new ArrayList<>());
+        final CountDownLatch scanStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger slowScans = new AtomicInteger();
+        final MetadataCache.SchemaLoader slowLoader = getSchemaLoader(() -> {
+            slowScans.incrementAndGet();
+            scanStarted.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                throw new SQLException(e);
+            }
+            return slowSchema;
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<?> first = executor.submit(() -> {
+                MetadataCache.updateCache("slowScan", 8182, SqlSchemaGrabber.ScanType.All, null, 0, 0, false, false,
+                        false, slowLoader);
+                return null;
+            });
+            scanStarted.await();
+            final Future<?> second = executor.submit(() -> {
+                MetadataCache.updateCache("slowScan", 8182, SqlSchemaGrabber.ScanType.All, null, 0, 0, false, false,
+                        false, slowLoader);
+                return null;
+            });
+
+            // Another endpoint is loaded while the slow scan is still running.
+            MetadataCache.updateCache("fastScan", 8182, SqlSchemaGrabber.ScanType.All, null, 0, 0, false, false,
+                    false, getSchemaLoader(() -> fastSchema));
+            Assertions.assertSame(fastSchema, MetadataCache.getGremlinSchema("fastScan"));
+            Assertions.assertFalse(MetadataCache.isMetadataCached("slowScan"));
+
+            // The second connection to the slow endpoint waits for the scan in flight instead of starting another.
+            release.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+            Assertions.assertSame(slowSchema, MetadataCache.getGremlinSchema("slowScan"));
+            Assertions.assertEquals(1, slowScans.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testProgressiveSchema() throws Exception {
+        final String endpoint = "progressive";
+        final List<String> vertexLabels = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            vertexLabels.add("vertex" + i);
+        }
+        final CountDownLatch release = new CountDownLatch(1);
+        final MetadataCache.SchemaLoader schemaLoader = new MetadataCache.SchemaLoader() {
+            @Override
+            public SchemaSnapshot getSchemaSnapshot(final SqlSchemaGrabber.ScanType scanType,
+                                                    final SchemaSnapshot previous) throws SQLException {
+                throw new SQLException("A progressive schema is not scanned as a snapshot.");
+            }
+
+            @Override
+            public LazyGremlinSchema getLazySchema(final SqlSchemaGrabber.ScanType scanType) {
+                return new LazyGremlinSchema(vertexLabels, new ArrayList<>(), (vertices, edges) -> {
+                    // The first batch is scanned right away, the second one waits for the test.
+                    if (!vertices.contains("vertex0")) {
+                        try {
+                            release.await();
+                        } catch (final InterruptedException e) {
+                            throw new SQLException(e);
+                        }
+                    }
+                    return new GremlinSchema(vertices.stream()
+                            .map(label -> new GremlinVertexTable(label, new ArrayList<>(), new ArrayList<>(),
+                                    new ArrayList<>()))
+                            .collect(Collectors.toList()), new ArrayList<>());
+                });
+            }
+        };
+
+        MetadataCache.updateCache(endpoint, 8182, SqlSchemaGrabber.ScanType.All, null, 0, 0, false, false, true,
+                schemaLoader);
+        final LazyGremlinSchema schema = (LazyGremlinSchema) MetadataCache.getGremlinSchema(endpoint);
+        waitFor(() -> schema.getLoadedTableCount() == 16);
+
+        // Tables of the first batch are served while the second batch is still being scanned.
+        final List<Map<String, Object>> rows = MetadataCache.getTableRows("vertex1", endpoint);
+        Assertions.assertEquals(1, rows.size());
+        final GremlinResultSetGetTables tables = new GremlinResultSetGetTables(null, rows);
+        MetadataCache.addSchemaScanWarning(endpoint, tables);
+        Assertions.assertNotNull(tables.getWarnings());
+        Assertions.assertTrue(tables.getWarnings().getMessage().contains("16 of 20"));
+
+        release.countDown();
+        waitFor(() -> !(MetadataCache.getGremlinSchema(endpoint) instanceof LazyGremlinSchema));
+        Assertions.assertEquals(20, MetadataCache.getGremlinSchema(endpoint).getAllTables().size());
+        final GremlinResultSetGetTables allTables =
+                new GremlinResultSetGetTables(null, MetadataCache.getTableRows(null, endpoint));
+        MetadataCache.addSchemaScanWarning(endpoint, allTables);
+        Assertions.assertNull(allTables.getWarnings());
+    }
+
+    private static MetadataCache.SchemaLoader getSchemaLoader(final SchemaSupplier schemaSupplier) {
+        return new MetadataCache.SchemaLoader() {
+            @Override
+            public SchemaSnapshot getSchemaSnapshot(final SqlSchemaGrabber.ScanType scanType,
+                                                    final SchemaSnapshot previous) throws SQLException {
+                return new SchemaSnapshot(schemaSupplier.get(), new HashMap<>(), new HashMap<>());
+            }
+
+            @Override
+            public LazyGremlinSchema getLazySchema(final SqlSchemaGrabber.ScanType scanType) throws SQLException {
+                throw new SQLException("The schema is only scanned as a snapshot.");
+            }
+        };
+    }
+
+    private interface SchemaSupplier {
+        GremlinSchema get() throws SQLException;
+    }
+
+    private static void waitFor(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the schema scan.");
+            Thread.sleep(10);
+        }
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+package software.aws.neptune.common.gremlindatamodel;
+
+import org.apache.calcite.util.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.aws.neptune.gremlin.adapter.converter.schema.SchemaSnapshot;
+import software.aws.neptune.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+
+public class SchemaFileCacheTest {
+    private static final String ENDPOINT = "mockEndpoint";
+    private static final int PORT = 8182;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTrip() {
+        final GremlinSchema schema = createSchema();
+        SchemaFileCache.store(directory.toString(), ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All, schema);
+        final GremlinSchema loaded =
+                SchemaFileCache.load(directory.toString(), ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All, 0);
+        Assertions.assertNotNull(loaded);
+
+        final GremlinVertexTable vertex = loaded.getVertices().get(0);
+        Assertions.assertEquals("vertex", vertex.getLabel());
+        Assertions.assertEquals(schema.getVertices().get(0).getColumns().keySet(), vertex.getColumns().keySet());
+        Assertions.assertEquals("long", vertex.getColumns().get("age").getType());
+        Assertions.assertEquals(Collections.singletonList("edge"), vertex.getOutEdges());
+
+        final GremlinEdgeTable edge = loaded.getEdges().get(0);
+        Assertions.assertEquals("edge", edge.getLabel());
+        Assertions.assertEquals(schema.getEdges().get(0).getColumns().keySet(), edge.getColumns().keySet());
+        Assertions.assertEquals("vertex", edge.getInOutVertexPairs().get(0).getKey());
+    }
+
+    @Test
+    void testRoundTripKeepsCounts() {
+        final SchemaSnapshot snapshot = new SchemaSnapshot(createSchema(),
+                Collections.singletonMap("vertex", 42L), Collections.singletonMap("edge", 7L));
+        SchemaFileCache.store(directory.toString(), ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All,
+                snapshot.getSchema());
+        final GremlinSchema loaded =
+                SchemaFileCache.load(directory.toString(), ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All, 0);
+        Assertions.assertNotNull(loaded);
+        Assertions.assertEquals(Long.valueOf(42L), loaded.getVertices().get(0).getRowCount());
+        Assertions.assertEquals(Long.valueOf(7L), loaded.getEdges().get(0).getRowCount());
+
+        final SchemaSnapshot loadedSnapshot = SchemaSnapshot.fromRowCounts(loaded);
+        Assertions.assertNotNull(loadedSnapshot);
+        Assertions.assertEquals(snapshot.getVertexLabelCounts(), loadedSnapshot.getVertexLabelCounts());
+        Assertions.assertEquals(snapshot.getEdgeLabelCounts(), loadedSnapshot.getEdgeLabelCounts());
+
+        // A schema stored without counts loads without them, and has no snapshot to refresh incrementally from.
+        SchemaFileCache.store(directory.toString(), ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All, createSchema());
+        final GremlinSchema uncounted =
+                SchemaFileCache.load(directory.toString(), ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All, 0);
+        Assertions.assertNull(uncounted.getVertices().get(0).getRowCount());
+        Assertions.assertNull(SchemaSnapshot.fromRowCounts(uncounted));
+    }
+
+    @Test
+    void testMissOnDifferentKeyOrExpiry() throws Exception {
+        SchemaFileCache.store(directory.toString(), ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All, createSchema());
+        Assertions.assertNull(
+                SchemaFileCache.load(directory.toString(), ENDPOINT, PORT, SqlSchemaGrabber.ScanType.First, 0));
+        Assertions.assertNull(
+                SchemaFileCache.load(directory.toString(), "otherEndpoint", PORT, SqlSchemaGrabber.ScanType.All, 0));
+
+        Thread.sleep(1100);
+        Assertions.assertNull(
+                SchemaFileCache.load(directory.toString(), ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All, 1));
+        Assertions.assertNotNull(
+                SchemaFileCache.load(directory.toString(), ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All, 60));
+    }
+
+    @Test
+    void testCorruptFileIsIgnored() throws IOException {
+        final Path file = SchemaFileCache.getFile(directory.toString(), ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All);
+        Files.write(file, "{\"version\": 1, \"vertices\": [".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertNull(
+                SchemaFileCache.load(directory.toString(), ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All, 0));
+    }
+
+    private static GremlinSchema createSchema() {
+        final GremlinVertexTable vertex = new GremlinVertexTable("vertex",
+                new ArrayList<>(Collections.singletonList(new GremlinProperty("age", "long"))),
+                new ArrayList<>(),
+                new ArrayList<>(Collections.singletonList("edge")));
+        final GremlinEdgeTable edge = new GremlinEdgeTable("edge",
+                new ArrayList<>(Collections.singletonList(new GremlinProperty("weight", "double"))),
+                new ArrayList<>(Collections.singletonList(new Pair<>("vertex", "vertex"))));
+        return new GremlinSchema(new ArrayList<>(Collections.singletonList(vertex)),
+                new ArrayList<>(Collections.singletonList(edge)));
+    }
+}
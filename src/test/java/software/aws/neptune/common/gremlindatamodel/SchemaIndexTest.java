@@ -0,0 +1,110 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.common.gremlindatamodel;
+
+import org.apache.calcite.util.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.LazyGremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class SchemaIndexTest {
+    private static GremlinVertexTable getVertexTable(final String label) {
+        return new GremlinVertexTable(label,
+                new ArrayList<>(Arrays.asList(new GremlinProperty("name", "string"),
+                        new GremlinProperty("age", "integer"))),
+                new ArrayList<>(), new ArrayList<>());
+    }
+
+    private static GremlinEdgeTable getEdgeTable(final String label) {
+        return new GremlinEdgeTable(label,
+                new ArrayList<>(Collections.singletonList(new GremlinProperty("weight", "double"))),
+                new ArrayList<>(Collections.singletonList(new Pair<>("vertex", "vertex"))));
+    }
+
+    private static final SchemaIndex SCHEMA_INDEX = new SchemaIndex(new GremlinSchema(
+            new ArrayList<>(Arrays.asList(getVertexTable("vertex"), getVertexTable("vertexBeta"),
+                    getVertexTable("Vertex"), getVertexTable("a%b"))),
+            new ArrayList<>(Arrays.asList(getEdgeTable("edge"), getEdgeTable("edgeBeta")))));
+
+    @Test
+    void testPatterns() {
+        Assertions.assertEquals(Arrays.asList("a%b", "edge", "edgeBeta", "vertex", "Vertex", "vertexBeta"),
+                SCHEMA_INDEX.getLabels(null));
+        Assertions.assertEquals(SCHEMA_INDEX.getLabels(null), SCHEMA_INDEX.getLabels("%"));
+        Assertions.assertEquals(Collections.singletonList("vertex"), SCHEMA_INDEX.getLabels("vertex"));
+        Assertions.assertEquals(Collections.singletonList("vertexBeta"), SCHEMA_INDEX.getLabels("VERTEXBETA"));
+        Assertions.assertEquals(Arrays.asList("edgeBeta", "vertexBeta"), SCHEMA_INDEX.getLabels("%beta"));
+        Assertions.assertEquals(Collections.singletonList("edge"), SCHEMA_INDEX.getLabels("_dge"));
+        Assertions.assertEquals(Arrays.asList("edge", "edgeBeta"), SCHEMA_INDEX.getLabels("edge%"));
+        Assertions.assertEquals(Collections.singletonList("a%b"), SCHEMA_INDEX.getLabels("a'%b"));
+        Assertions.assertTrue(SCHEMA_INDEX.getLabels("missing%").isEmpty());
+    }
+
+    @Test
+    void testCaseMatching() {
+        // A label matching with the same case hides the labels which only match when ignoring case.
+        Assertions.assertEquals(Collections.singletonList("Vertex"), SCHEMA_INDEX.getLabels("Vertex"));
+        Assertions.assertEquals(Arrays.asList("vertex", "Vertex"), SCHEMA_INDEX.getLabels("VERTEX"));
+    }
+
+    @Test
+    void testSchema() throws SQLException {
+        final GremlinSchema schema = SCHEMA_INDEX.getSchema("%Beta");
+        Assertions.assertEquals(Collections.singletonList("vertexBeta"), schema.getVertexLabels());
+        Assertions.assertEquals(Collections.singletonList("edgeBeta"), schema.getEdgeLabels());
+    }
+
+    @Test
+    void testRows() throws SQLException {
+        final List<Map<String, Object>> tableRows = SCHEMA_INDEX.getTableRows("edge%");
+        Assertions.assertEquals(2, tableRows.size());
+        Assertions.assertEquals("edgeBeta", tableRows.get(1).get("TABLE_NAME"));
+        Assertions.assertSame(tableRows, SCHEMA_INDEX.getTableRows("edge%"));
+
+        final List<Map<String, Object>> columnRows = SCHEMA_INDEX.getColumnRows("vertex%");
+        // Two tables, each with name, age and the generated ID column.
+        Assertions.assertEquals(6, columnRows.size());
+        Assertions.assertSame(columnRows, SCHEMA_INDEX.getColumnRows("vertex%"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> columnRows.get(0).put("TABLE_NAME", ""));
+    }
+
+    @Test
+    void testLazySchema() throws SQLException {
+        final LazyGremlinSchema lazySchema = new LazyGremlinSchema(Arrays.asList("person", "software"),
+                Collections.singletonList("created"), (vertexLabels, edgeLabels) -> {
+                    final List<GremlinVertexTable> vertices = new ArrayList<>();
+                    vertexLabels.forEach(label -> vertices.add(getVertexTable(label)));
+                    final List<GremlinEdgeTable> edges = new ArrayList<>();
+                    edgeLabels.forEach(label -> edges.add(getEdgeTable(label)));
+                    return new GremlinSchema(vertices, edges);
+                });
+        final SchemaIndex schemaIndex = new SchemaIndex(lazySchema);
+        Assertions.assertEquals(0, lazySchema.getLoadedTableCount());
+        Assertions.assertEquals(1, schemaIndex.getTableRows("pers%").size());
+        Assertions.assertEquals(1, lazySchema.getLoadedTableCount());
+    }
+}
@@ -113,6 +113,107 @@ class GremlinConnectionPropertiesTest extends ConnectionPropertiesTestBase {
         Assertions.assertEquals(randomIntValue, connectionProperties.getConnectionRetryCount());
     }
 
+    @Test
+    void testDeduplicateQueries() throws SQLException {
+        testBooleanPropertyViaConstructor(
+                GremlinConnectionProperties.DEDUPLICATE_QUERIES_KEY,
+                GremlinConnectionProperties.DEFAULT_DEDUPLICATE_QUERIES);
+
+        connectionProperties = new GremlinConnectionProperties();
+        connectionProperties.setDeduplicateQueries(true);
+        Assertions.assertTrue(connectionProperties.getDeduplicateQueries());
+    }
+
+    @Test
+    void testAdmissionControl() throws SQLException {
+        testIntegerPropertyViaConstructor(
+                GremlinConnectionProperties.MAX_CONCURRENT_QUERIES_KEY,
+                GremlinConnectionProperties.DEFAULT_MAX_CONCURRENT_QUERIES);
+        testIntegerPropertyViaConstructor(
+                GremlinConnectionProperties.QUERY_WEIGHT_KEY,
+                GremlinConnectionProperties.DEFAULT_QUERY_WEIGHT);
+
+        connectionProperties = new GremlinConnectionProperties();
+        connectionProperties.setMaxConcurrentQueries(randomIntValue);
+        Assertions.assertEquals(randomIntValue, connectionProperties.getMaxConcurrentQueries());
+        connectionProperties.setQueryWeight(randomIntValue + 1);
+        Assertions.assertEquals(randomIntValue + 1, connectionProperties.getQueryWeight());
+        Assertions.assertThrows(SQLException.class, () -> connectionProperties.setQueryWeight(0));
+    }
+
+    @Test
+    void testRateLimitAndCircuitBreaker() throws SQLException {
+        testIntegerPropertyViaConstructor(
+                GremlinConnectionProperties.MAX_QUERIES_PER_SECOND_KEY,
+                GremlinConnectionProperties.DEFAULT_MAX_QUERIES_PER_SECOND);
+        testIntegerPropertyViaConstructor(
+                GremlinConnectionProperties.CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY,
+                GremlinConnectionProperties.DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD);
+        testIntegerPropertyViaConstructor(
+                GremlinConnectionProperties.CIRCUIT_BREAKER_LATENCY_THRESHOLD_MILLIS_KEY,
+                GremlinConnectionProperties.DEFAULT_CIRCUIT_BREAKER_LATENCY_THRESHOLD_MILLIS);
+        testIntegerPropertyViaConstructor(
+                GremlinConnectionProperties.CIRCUIT_BREAKER_OPEN_MILLIS_KEY,
+                GremlinConnectionProperties.DEFAULT_CIRCUIT_BREAKER_OPEN_MILLIS);
+
+        connectionProperties = new GremlinConnectionProperties();
+        connectionProperties.setMaxQueriesPerSecond(randomIntValue);
+        Assertions.assertEquals(randomIntValue, connectionProperties.getMaxQueriesPerSecond());
+        connectionProperties.setCircuitBreakerFailureThreshold(randomIntValue);
+        Assertions.assertEquals(randomIntValue, connectionProperties.getCircuitBreakerFailureThreshold());
+        connectionProperties.setCircuitBreakerLatencyThresholdMillis(randomIntValue);
+        Assertions.assertEquals(randomIntValue, connectionProperties.getCircuitBreakerLatencyThresholdMillis());
+        connectionProperties.setCircuitBreakerOpenMillis(randomIntValue);
+        Assertions.assertEquals(randomIntValue, connectionProperties.getCircuitBreakerOpenMillis());
+        Assertions.assertThrows(SQLException.class, () -> connectionProperties.setMaxQueriesPerSecond(-1));
+        Assertions.assertThrows(SQLException.class, () -> connectionProperties.setCircuitBreakerOpenMillis(-1));
+    }
+
+    @Test
+    void testSchemaCache() throws SQLException {
+        testIntegerPropertyViaConstructor(
+                GremlinConnectionProperties.SCHEMA_CACHE_TTL_SECONDS_KEY,
+                GremlinConnectionProperties.DEFAULT_SCHEMA_CACHE_TTL_SECONDS);
+
+        connectionProperties = new GremlinConnectionProperties();
+        Assertions.assertNull(connectionProperties.getSchemaCacheDirectory());
+        connectionProperties.setSchemaCacheDirectory("/tmp/schema");
+        Assertions.assertEquals("/tmp/schema", connectionProperties.getSchemaCacheDirectory());
+        connectionProperties.setSchemaCacheTtlSeconds(randomIntValue);
+        Assertions.assertEquals(randomIntValue, connectionProperties.getSchemaCacheTtlSeconds());
+        Assertions.assertThrows(SQLException.class, () -> connectionProperties.setSchemaCacheTtlSeconds(-1));
+
+        testIntegerPropertyViaConstructor(
+                GremlinConnectionProperties.SCHEMA_CACHE_CAPACITY_KEY,
+                GremlinConnectionProperties.DEFAULT_SCHEMA_CACHE_CAPACITY);
+        testIntegerPropertyViaConstructor(
+                GremlinConnectionProperties.SCHEMA_REFRESH_SECONDS_KEY,
+                GremlinConnectionProperties.DEFAULT_SCHEMA_REFRESH_SECONDS);
+        connectionProperties.setSchemaCacheCapacity(randomIntValue + 1);
+        Assertions.assertEquals(randomIntValue + 1, connectionProperties.getSchemaCacheCapacity());
+        connectionProperties.setSchemaRefreshSeconds(randomIntValue);
+        Assertions.assertEquals(randomIntValue, connectionProperties.getSchemaRefreshSeconds());
+        Assertions.assertThrows(SQLException.class, () -> connectionProperties.setSchemaCacheCapacity(0));
+
+        testBooleanPropertyViaConstructor(
+                GremlinConnectionProperties.INCREMENTAL_SCHEMA_REFRESH_KEY,
+                GremlinConnectionProperties.DEFAULT_INCREMENTAL_SCHEMA_REFRESH);
+        connectionProperties.setIncrementalSchemaRefresh(false);
+        Assertions.assertFalse(connectionProperties.getIncrementalSchemaRefresh());
+
+        testBooleanPropertyViaConstructor(
+                GremlinConnectionProperties.LAZY_SCHEMA_KEY,
+                GremlinConnectionProperties.DEFAULT_LAZY_SCHEMA);
+        connectionProperties.setLazySchema(true);
+        Assertions.assertTrue(connectionProperties.getLazySchema());
+
+        testBooleanPropertyViaConstructor(
+                GremlinConnectionProperties.PROGRESSIVE_SCHEMA_KEY,
+                GremlinConnectionProperties.DEFAULT_PROGRESSIVE_SCHEMA);
+        connectionProperties.setProgressiveSchema(true);
+        Assertions.assertTrue(connectionProperties.getProgressiveSchema());
+    }
+
     @Test
     void testAuthScheme() throws SQLException {
         testAuthSchemeViaConstructor();
@@ -37,13 +37,14 @@ public class GremlinSqlAdvancedSelectTest extends GremlinSqlBaseTest {
 
     @Test
     public void testProject() throws SQLException {
-        runQueryTestResults("select name from person", columns("name"),
+        runUnorderedQueryTestResults("select name from person", columns("name"),
                 rows(r("Tom"), r("Patty"), r("Phil"), r("Susan"), r("Juanita"), r("Pavel")));
     }
 
     @Test
     public void testEdges() throws SQLException {
-        runQueryTestResults("select * from worksFor where yearsWorked = 9", columns("person_OUT_ID", "company_IN_ID", "yearsWorked", "worksFor_ID"),
+        runUnorderedQueryTestResults("select * from worksFor where yearsWorked = 9",
+                columns("person_OUT_ID", "company_IN_ID", "yearsWorked", "worksFor_ID"),
                 rows(r(26L, 2L, 9, 64L)));
     }
 
@@ -145,7 +146,7 @@ public class GremlinSqlAdvancedSelectTest extends GremlinSqlBaseTest {
 
     @Test
     public void testWhereNot() throws SQLException {
-        runQueryTestResults("select name from person WHERE NOT name = 'Tom'", columns("name"),
+        runUnorderedQueryTestResults("select name from person WHERE NOT name = 'Tom'", columns("name"),
                 rows(r("Patty"), r("Phil"), r("Susan"), r("Juanita"), r("Pavel")));
     }
 
@@ -327,6 +328,26 @@ public class GremlinSqlAdvancedSelectTest extends GremlinSqlBaseTest {
                 rows(r("Patty", 29), r("Pavel", 30), r("Phil", 31), r("Susan", 45), r("Juanita", 50)));
     }
 
+    @Test
+    void testOffset() throws SQLException {
+        runQueryTestResults("SELECT name, age FROM person ORDER BY age LIMIT 2 OFFSET 1",
+                columns("name", "age"),
+                rows(r("Pavel", 30), r("Phil", 31)));
+        runQueryTestResults("SELECT name, age FROM person ORDER BY age OFFSET 4",
+                columns("name", "age"),
+                rows(r("Susan", 45), r("Juanita", 50)));
+        runQueryTestResults("SELECT name, age FROM person WHERE age > 30 ORDER BY age DESC LIMIT 10 OFFSET 2",
+                columns("name", "age"),
+                rows(r("Tom", 35), r("Phil", 31)));
+        runQueryTestResults("SELECT name, age FROM person ORDER BY age OFFSET 6",
+                columns("name", "age"),
+                rows());
+        // The range of a DISTINCT query is taken from the distinct rows.
+        runQueryTestResults("SELECT DISTINCT wentToSpace FROM person ORDER BY wentToSpace OFFSET 1",
+                columns("wentToSpace"),
+                rows(r(true)));
+    }
+
     @Test
     void testSingleComparisonOperator() throws SQLException {
         runQueryTestResults(
@@ -347,39 +368,39 @@ public class GremlinSqlAdvancedSelectTest extends GremlinSqlBaseTest {
         runQueryTestResults(
                 "SELECT AVG(age) = 100 FROM person GROUP BY wentToSpace",
                 columns("AVG(age) = 100"), rows(r(false), r(false)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT wentToSpace = 0 FROM person",
                 columns("wentToSpace = false"), rows(r(true), r(true), r(true), r(false), r(false), r(false)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT name, wentToSpace = 0 FROM person",
                 columns("name", "wentToSpace = false"),
                 rows(r("Tom", true), r("Patty", true), r("Phil", true), r("Susan", false), r("Juanita", false), r("Pavel", false)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT age <= 35 FROM person",
                 columns("age <= 35"), rows(r(true), r(true), r(true), r(false), r(false), r(true)));
     }
 
     @Test
     void testMultiComparisonOperator() throws SQLException {
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT age <= 35 AND age > 30 FROM person",
                 columns("age <= 35 AND age > 30"), rows(r(true), r(false), r(true), r(false), r(false), r(false)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT age <= 35 OR age > 30 FROM person",
                 columns("age <= 35 OR age > 30"), rows(r(true), r(true), r(true), r(true), r(true), r(true)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT (age <= 35 AND age > 30) OR age = 29 FROM person",
                 columns("age <= 35 AND age > 30 OR age = 29"), rows(r(true), r(true), r(true), r(false), r(false), r(false)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT age <= 35 AND age > 30 or age > 0 FROM person",
                 columns("age <= 35 AND age > 30 OR age > 0"), rows(r(true), r(true), r(true), r(true), r(true), r(true)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT age <= 35 and NOT age > 30 FROM person",
                 columns("age <= 35 AND NOT age > 30"), rows(r(false), r(true), r(false), r(false), r(false), r(true)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT NOT age > 0 FROM person",
                 columns("NOT age > 0"), rows(r(false), r(false), r(false), r(false), r(false), r(false)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT NOT name = 'Tom' FROM person",
                 columns("NOT name = Tom"), rows(r(false), r(true), r(true), r(true), r(true), r(true)));
     }
@@ -392,22 +413,22 @@ public class GremlinSqlAdvancedSelectTest extends GremlinSqlBaseTest {
         runQueryTestResults(
                 "SELECT COUNT(wentToSpace) <> 0 AS a FROM person GROUP BY wentToSpace",
                 columns("a"), rows(r(true), r(true)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT wentToSpace = 0 AS a FROM person",
                 columns("a"), rows(r(true), r(true), r(true), r(false), r(false), r(false)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT age <= 35 AS a FROM person",
                 columns("a"), rows(r(true), r(true), r(true), r(false), r(false), r(true)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT age <= 35 AND age > 30 AS a FROM person",
                 columns("a"), rows(r(true), r(false), r(true), r(false), r(false), r(false)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT age <= 35 AND age > 30 or age > 0 AS a FROM person",
                 columns("a"), rows(r(true), r(true), r(true), r(true), r(true), r(true)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT NOT age > 0 AS a FROM person",
                 columns("a"), rows(r(false), r(false), r(false), r(false), r(false), r(false)));
-        runQueryTestResults(
+        runUnorderedQueryTestResults(
                 "SELECT NOT name = 'Tom' AS a FROM person",
                 columns("a"), rows(r(false), r(true), r(true), r(true), r(true), r(true)));
     }
@@ -86,4 +86,13 @@ public class GremlinSqlAggregateTest extends GremlinSqlBaseTest {
         runQueryTestResults("SELECT wentToSpace, COUNT(age) FROM person WHERE age > 31 AND wentToSpace = FALSE GROUP BY wentToSpace",
                 columns("wentToSpace", "COUNT(age)"), rows(r(false, 1L)));
     }
+
+    @Test
+    public void testAggregateWithoutValues() throws SQLException {
+        // An ungrouped aggregate has one row, COUNT is 0 and the other aggregates are NULL when nothing matches.
+        runQueryTestResults("SELECT COUNT(*), SUM(age), MAX(age) FROM person WHERE age > 100",
+                columns("COUNT(*)", "SUM(age)", "MAX(age)"), rows(r(0L, null, null)));
+        runQueryTestResults("SELECT wentToSpace, COUNT(*) FROM person WHERE age > 100 GROUP BY wentToSpace",
+                columns("wentToSpace", "COUNT(*)"), rows());
+    }
 }
@@ -35,48 +35,57 @@ public class GremlinSqlBasicSelectTest extends GremlinSqlBaseTest {
 
     @Test
     void testStringQuery() throws SQLException {
-        runQueryTestResults("SELECT \"key\" FROM stringtype", columns("key"), rows(r(GraphConstants.STRING_VALUE)));
+        runUnorderedQueryTestResults("SELECT \"key\" FROM stringtype",
+                columns("key"), rows(r(GraphConstants.STRING_VALUE)));
     }
 
     @Test
     void testByteQuery() throws SQLException {
-        runQueryTestResults("SELECT \"key\" FROM bytetype", columns("key"), rows(r(GraphConstants.BYTE_VALUE)));
+        runUnorderedQueryTestResults("SELECT \"key\" FROM bytetype",
+                columns("key"), rows(r(GraphConstants.BYTE_VALUE)));
     }
 
     @Test
     void testShortQuery() throws SQLException {
-        runQueryTestResults("SELECT \"key\" FROM shorttype", columns("key"), rows(r(GraphConstants.SHORT_VALUE)));
+        runUnorderedQueryTestResults("SELECT \"key\" FROM shorttype",
+                columns("key"), rows(r(GraphConstants.SHORT_VALUE)));
     }
 
     @Test
     void testIntegerQuery() throws SQLException {
-        runQueryTestResults("SELECT \"key\" FROM inttype", columns("key"), rows(r(GraphConstants.INTEGER_VALUE)));
+        runUnorderedQueryTestResults("SELECT \"key\" FROM inttype",
+                columns("key"), rows(r(GraphConstants.INTEGER_VALUE)));
     }
 
     @Test
     void testLongQuery() throws SQLException {
-        runQueryTestResults("SELECT \"key\" FROM longtype", columns("key"), rows(r(GraphConstants.LONG_VALUE)));
+        runUnorderedQueryTestResults("SELECT \"key\" FROM longtype",
+                columns("key"), rows(r(GraphConstants.LONG_VALUE)));
     }
 
     @Test
     void testFloatQuery() throws SQLException {
-        runQueryTestResults("SELECT \"key\" FROM floattype", columns("key"), rows(r(GraphConstants.FLOAT_VALUE)));
+        runUnorderedQueryTestResults("SELECT \"key\" FROM floattype",
+                columns("key"), rows(r(GraphConstants.FLOAT_VALUE)));
     }
 
     @Test
     void testDoubleQuery() throws SQLException {
-        runQueryTestResults("SELECT \"key\" FROM doubletype", columns("key"), rows(r(GraphConstants.DOUBLE_VALUE)));
+        runUnorderedQueryTestResults("SELECT \"key\" FROM doubletype",
+                columns("key"), rows(r(GraphConstants.DOUBLE_VALUE)));
     }
 
     @Test
     void testDateQuery() throws SQLException {
-        runQueryTestResults("SELECT \"key\" FROM datetype", columns("key"), rows(r(GraphConstants.DATE_VALUE)));
+        runUnorderedQueryTestResults("SELECT \"key\" FROM datetype",
+                columns("key"), rows(r(GraphConstants.DATE_VALUE)));
     }
 
     @Test
     void testEdgeQueries() throws SQLException {
-        runQueryTestResults("SELECT key FROM stringtypeedge", columns("key"), rows(r(GraphConstants.STRING_VALUE)));
-        runQueryTestResults("SELECT * FROM stringtypeedge",
+        runUnorderedQueryTestResults("SELECT key FROM stringtypeedge",
+                columns("key"), rows(r(GraphConstants.STRING_VALUE)));
+        runUnorderedQueryTestResults("SELECT * FROM stringtypeedge",
                 columns("stringtype_IN_ID", "stringtypeedge_ID", "stringtype_OUT_ID", "key"),
                 rows(r(0L, 16L, 0L, GraphConstants.STRING_VALUE)));
     }
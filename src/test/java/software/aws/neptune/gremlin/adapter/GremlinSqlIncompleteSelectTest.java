@@ -32,20 +32,20 @@ public class GremlinSqlIncompleteSelectTest extends GremlinSqlBaseTest {
 
     @Test
     public void testProject() throws SQLException {
-        runQueryTestResults("select name from person", columns("name"),
+        runUnorderedQueryTestResults("select name from person", columns("name"),
                 rows(r("Tom"), r("Patty"), r("Phil"), r("Susan"), r("Juanita"), r((Object) null)));
     }
 
     @Test
     public void testEdges() throws SQLException {
-        runQueryTestResults("select * from worksFor where yearsWorked = 9",
+        runUnorderedQueryTestResults("select * from worksFor where yearsWorked = 9",
                 columns("person_OUT_ID", "company_IN_ID", "yearsWorked", "worksFor_ID"),
                 rows(r(25L, 2L, 9, 61L)));
     }
 
     @Test
     public void testSelectNull() throws SQLException {
-        runQueryTestResults("SELECT name, age FROM person", columns("name", "age"),
+        runUnorderedQueryTestResults("SELECT name, age FROM person", columns("name", "age"),
                 rows(r("Tom", null), r("Patty", 29), r("Phil", 31), r("Susan", 45),
                         r("Juanita", 50), r(null, 30)));
     }
@@ -78,11 +78,28 @@ public class GremlinSqlIncompleteSelectTest extends GremlinSqlBaseTest {
     @Test
     public void testWhereNull() throws SQLException {
         // WHERE with string literal.
-        runQueryTestResults("SELECT name, age FROM person WHERE age <> 30", columns("name", "age"),
+        runUnorderedQueryTestResults("SELECT name, age FROM person WHERE age <> 30", columns("name", "age"),
                 rows(r("Tom", null), r("Patty", 29), r("Phil", 31), r("Susan", 45),
                         r("Juanita", 50)));
     }
 
+    @Test
+    public void testWherePushdownNull() throws SQLException {
+        runUnorderedQueryTestResults("SELECT name, age FROM person WHERE age IN (29, 31)", columns("name", "age"),
+                rows(r("Patty", 29), r("Phil", 31)));
+        runUnorderedQueryTestResults("SELECT name, age FROM person WHERE age NOT IN (29, 31)", columns("name", "age"),
+                rows(r("Tom", null), r("Susan", 45), r("Juanita", 50), r(null, 30)));
+        runUnorderedQueryTestResults("SELECT name, age FROM person WHERE age BETWEEN 30 AND 45", columns("name", "age"),
+                rows(r("Phil", 31), r("Susan", 45), r(null, 30)));
+        runUnorderedQueryTestResults("SELECT name, age FROM person WHERE age IS NULL", columns("name", "age"),
+                rows(r("Tom", null)));
+        runUnorderedQueryTestResults("SELECT name, age FROM person WHERE name IS NULL OR age < 30",
+                columns("name", "age"),
+                rows(r("Patty", 29), r(null, 30)));
+        runUnorderedQueryTestResults("SELECT name, age FROM person WHERE name IS NOT NULL AND age >= 45",
+                columns("name", "age"), rows(r("Tom", null), r("Susan", 45), r("Juanita", 50)));
+    }
+
     // TODO: Support aggregates for null values
     @Test
     public void testHavingNull() throws SQLException {
@@ -151,16 +168,45 @@ public class GremlinSqlIncompleteSelectTest extends GremlinSqlBaseTest {
                 rows(r(2L, 60L), r(2L, 95L), r(1L, 30L)));
     }
 
+    @Test
+    void testJoinChainOrderByMissingProperty() throws SQLException {
+        // Tom has no age, so he sorts by the default value like in a query of a single table.
+        runQueryTestResults("SELECT p.name, s.model FROM gremlin.person p " +
+                        "INNER JOIN gremlin.person p1 ON (p.friendsWith_OUT_ID = p1.friendsWith_IN_ID) " +
+                        "INNER JOIN gremlin.spaceship s ON (p1.pilots_OUT_ID = s.pilots_IN_ID) " +
+                        "ORDER BY p.age",
+                columns("name", "model"),
+                rows(r("Patty", "delta 3"), r("Phil", "delta 2"), r("Susan", "delta 3"), r("Tom", "delta 1")));
+        runQueryTestResults("SELECT p.name, s.model FROM gremlin.person p " +
+                        "INNER JOIN gremlin.person p1 ON (p.friendsWith_OUT_ID = p1.friendsWith_IN_ID) " +
+                        "INNER JOIN gremlin.spaceship s ON (p1.pilots_OUT_ID = s.pilots_IN_ID) " +
+                        "ORDER BY p.age DESC",
+                columns("name", "model"),
+                rows(r("Tom", "delta 1"), r("Susan", "delta 3"), r("Phil", "delta 2"), r("Patty", "delta 3")));
+    }
+
     @Test
     void testLimitNull() throws SQLException {
         // LIMIT 1 tests.
         // Single result query.
-        runQueryTestResults("SELECT name, age FROM person WHERE name = 'Patty' LIMIT 1",
+        runUnorderedQueryTestResults("SELECT name, age FROM person WHERE name = 'Patty' LIMIT 1",
                 columns("name", "age"),
                 rows(r("Patty", 29)));
         // Multi result query.
-        runQueryTestResults("SELECT name, age FROM person LIMIT 1",
+        runUnorderedQueryTestResults("SELECT name, age FROM person LIMIT 1",
                 columns("name", "age"),
                 rows(r("Tom", null)));
     }
+
+    @Test
+    void testDriverExecutedMissingProperty() throws SQLException {
+        // Tom has no age, which the driver would compare as NULL rather than as the default value.
+        runNotSupportedQueryTestThrows("SELECT CAST(age AS varchar) AS age_text FROM person",
+                SqlGremlinError.HYBRID_MISSING_PROPERTY, "age", "person");
+        // A missing property which is only returned is NULL in both.
+        runJoinQueryTestResults("SELECT p.age, CAST(s.model AS varchar) AS model_text FROM gremlin.person p " +
+                        "INNER JOIN gremlin.spaceship s ON (p.pilots_OUT_ID = s.pilots_IN_ID) WHERE s.name = 'Ship 1'",
+                columns("age", "model_text"),
+                rows(r(null, "delta 1"), r(29, "delta 1")));
+    }
 }
@@ -212,6 +212,65 @@ public class GremlinSqlJoinTest extends GremlinSqlBaseTest {
                 rows(r("Patty"), r("Phil"), r("Susan")));
     }
 
+    @Test
+    void testJoinChain() throws SQLException {
+        runJoinQueryTestResults("SELECT p.name, s.model FROM gremlin.person p " +
+                        "INNER JOIN gremlin.person p1 ON (p.friendsWith_OUT_ID = p1.friendsWith_IN_ID) " +
+                        "INNER JOIN gremlin.spaceship s ON (p1.pilots_OUT_ID = s.pilots_IN_ID)",
+                columns("name", "model"),
+                rows(r("Tom", "delta 1"), r("Patty", "delta 3"), r("Phil", "delta 2"), r("Susan", "delta 3")));
+
+        runJoinQueryTestResults("SELECT p.name, p1.name AS name1, p2.name AS name2 FROM gremlin.person p " +
+                        "INNER JOIN gremlin.person p1 ON (p.friendsWith_OUT_ID = p1.friendsWith_IN_ID) " +
+                        "INNER JOIN gremlin.person p2 ON (p1.friendsWith_OUT_ID = p2.friendsWith_IN_ID) " +
+                        "WHERE p2.age > 40",
+                columns("name", "name1", "name2"),
+                rows(r("Tom", "Patty", "Juanita")));
+
+        runQueryTestResults("SELECT p.name, s.model FROM gremlin.person p " +
+                        "INNER JOIN gremlin.person p1 ON (p.friendsWith_OUT_ID = p1.friendsWith_IN_ID) " +
+                        "INNER JOIN gremlin.spaceship s ON (p1.pilots_OUT_ID = s.pilots_IN_ID) " +
+                        "ORDER BY p.name DESC",
+                columns("name", "model"),
+                rows(r("Tom", "delta 1"), r("Susan", "delta 3"), r("Phil", "delta 2"), r("Patty", "delta 3")));
+
+        // Queries the chain cannot translate are executed in the driver.
+        runJoinQueryTestResults("SELECT p.name, COUNT(s.model) AS ships FROM gremlin.person p " +
+                        "INNER JOIN gremlin.person p1 ON (p.friendsWith_OUT_ID = p1.friendsWith_IN_ID) " +
+                        "INNER JOIN gremlin.spaceship s ON (p1.pilots_OUT_ID = s.pilots_IN_ID) " +
+                        "GROUP BY p.name",
+                columns("name", "ships"),
+                rows(r("Tom", 1L), r("Patty", 1L), r("Phil", 1L), r("Susan", 1L)));
+        runJoinQueryTestResults("SELECT p.name FROM gremlin.person p " +
+                        "INNER JOIN gremlin.person p1 ON (p.friendsWith_OUT_ID = p1.friendsWith_IN_ID) " +
+                        "INNER JOIN gremlin.spaceship s ON (p1.pilots_OUT_ID = s.pilots_IN_ID) " +
+                        "WHERE p.age > p1.age",
+                columns("name"),
+                rows(r("Tom"), r("Susan")));
+    }
+
+    @Test
+    void testLeftJoin() throws SQLException {
+        runJoinQueryTestResults("SELECT person.name AS name1, person1.name AS name2 FROM gremlin.person person " +
+                        "LEFT JOIN gremlin.person person1 ON (person.friendsWith_OUT_ID = person1.friendsWith_IN_ID)",
+                columns("name1", "name2"),
+                rows(r("Tom", "Patty"), r("Patty", "Juanita"), r("Phil", "Susan"), r("Susan", "Pavel"),
+                        r("Juanita", null), r("Pavel", null)));
+
+        runJoinQueryTestResults("SELECT p.name, p1.name AS name1, s.model FROM gremlin.person p " +
+                        "LEFT JOIN gremlin.person p1 ON (p.friendsWith_OUT_ID = p1.friendsWith_IN_ID) " +
+                        "LEFT JOIN gremlin.spaceship s ON (p1.pilots_OUT_ID = s.pilots_IN_ID) " +
+                        "WHERE p.wentToSpace",
+                columns("name", "name1", "model"),
+                rows(r("Susan", "Pavel", "delta 3"), r("Juanita", null, null), r("Pavel", null, null)));
+
+        runJoinQueryTestResults("SELECT person.name FROM gremlin.person person " +
+                        "LEFT JOIN gremlin.person person1 ON (person.friendsWith_OUT_ID = person1.friendsWith_IN_ID) " +
+                        "WHERE person1.age > 30",
+                columns("name"),
+                rows(r("Patty"), r("Phil")));
+    }
+
     @Test
     void testJoinHaving() throws SQLException {
         runJoinQueryTestResults( "SELECT person.name, COUNT(person1.age) FROM gremlin.person person " +
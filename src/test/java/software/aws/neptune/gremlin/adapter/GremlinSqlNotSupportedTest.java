@@ -32,24 +32,40 @@ public class GremlinSqlNotSupportedTest extends GremlinSqlBaseTest {
     }
 
     @Test
-    public void testOffset() throws SQLException {
-        // OFFSET testing - currently not implemented.
-        runNotSupportedQueryTestThrows("SELECT name FROM person OFFSET 1", SqlGremlinError.OFFSET_NOT_SUPPORTED);
+    public void testSubQuery() throws SQLException {
+        // Queries without a traversal translation are executed in the driver.
+        runQueryTestResults("SELECT name FROM person WHERE age IN (SELECT age FROM person WHERE wentToSpace) " +
+                        "ORDER BY name",
+                columns("name"),
+                rows(r("Juanita"), r("Pavel"), r("Susan")));
+    }
 
+    @Test
+    public void testCast() throws SQLException {
+        runQueryTestResults("SELECT CAST(17 AS varchar) AS seventeen",
+                columns("seventeen"),
+                rows(r("17")));
+        runQueryTestResults("SELECT CAST(person.age AS varchar) AS age_text FROM person WHERE age < 31 " +
+                        "ORDER BY age_text",
+                columns("age_text"),
+                rows(r("29"), r("30")));
     }
 
     @Test
-    public void testSubQuery() throws SQLException {
-        // Sub Query testing = currently caught by generic catch-all
-        runQueryTestThrows("Select name FROM Person WHERE age = (SELECT age FROM person WHERE name = 'Tom')",
-                SqlGremlinError.UNKNOWN_OPERATOR, "SCALAR_QUERY");
+    public void testPropertyJoinAndOffset() throws SQLException {
+        runQueryTestResults("SELECT s.name, s1.name AS name1 FROM spaceship s " +
+                        "INNER JOIN spaceship s1 ON (s.model = s1.model) WHERE s.name < s1.name",
+                columns("name", "name1"),
+                rows(r("Ship 1", "Ship 2")));
+        runQueryTestResults("SELECT name FROM person ORDER BY age LIMIT 2 OFFSET 1",
+                columns("name"),
+                rows(r("Pavel"), r("Phil")));
     }
 
     @Test
-    public void testCast() throws SQLException {
-        runNotSupportedQueryTestThrows("SELECT CAST(17 AS varchar)",
-                SqlGremlinError.UNSUPPORTED_LITERAL_EXPRESSION);
-        runQueryTestThrows("SELECT CAST(person.age as CHAR) FROM person",
-                SqlGremlinError.UNKNOWN_OPERATOR, "CAST");
+    public void testEdgeColumnNotJoinedOn() throws SQLException {
+        // A vertex is scanned once per edge in the driver, but has one list of edges in a translated query.
+        runNotSupportedQueryTestThrows("SELECT CAST(friendsWith_OUT_ID AS varchar) AS friend FROM person",
+                SqlGremlinError.HYBRID_EDGE_COLUMN, "friendsWith_OUT_ID");
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.aws.neptune.gremlin.adapter.converter.schema.SchemaScanScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SchemaScanSchedulerTest {
+
+    @Test
+    void testLimitIncreasesOnFastQueries() throws Exception {
+        final SchemaScanScheduler scheduler = new SchemaScanScheduler(1, 4, 10000);
+        for (int i = 0; i < 20; i++) {
+            Assertions.assertEquals(0, (int) scheduler.runQuery(() -> 0));
+        }
+        Assertions.assertEquals(4, scheduler.getConcurrencyLimit());
+        Assertions.assertEquals(20, scheduler.getCompletedQueries());
+    }
+
+    @Test
+    void testLimitDecreasesOnThrottling() throws Exception {
+        final SchemaScanScheduler scheduler = new SchemaScanScheduler(8, 8, 10000);
+        final AtomicInteger attempts = new AtomicInteger();
+        final String result = scheduler.runQuery(() -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new RuntimeException("ThrottlingException: too many requests");
+            }
+            return "done";
+        });
+        Assertions.assertEquals("done", result);
+        Assertions.assertEquals(2, attempts.get());
+        Assertions.assertTrue(scheduler.getConcurrencyLimit() < 8);
+    }
+
+    @Test
+    void testInFlightQueriesBoundedByLimit() throws Exception {
+        final SchemaScanScheduler scheduler = new SchemaScanScheduler(2, 2, 10000);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(scheduler.submitQuery(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(10);
+                inFlight.decrementAndGet();
+                return 1;
+            }));
+        }
+        int total = 0;
+        for (final Future<Integer> future : futures) {
+            total += future.get();
+        }
+        Assertions.assertEquals(10, total);
+        Assertions.assertTrue(maxInFlight.get() <= 2);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+package software.aws.neptune.gremlin.adapter;
+
+import org.apache.calcite.util.Pair;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.aws.neptune.gremlin.adapter.converter.schema.SchemaScanScheduler;
+import software.aws.neptune.gremlin.adapter.converter.schema.SchemaSnapshot;
+import software.aws.neptune.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.LazyGremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class SqlSchemaGrabberTest {
+
+    @Test
+    void testIncrementalRefresh() throws SQLException {
+        final GraphTraversalSource g = TinkerGraph.open().traversal();
+        final Vertex person = g.addV("person").property("name", "Alice").next();
+        final Vertex city = g.addV("city").property("name", "Vancouver").next();
+        g.addV("planet").property("mass", 1.0).iterate();
+        g.addE("livesIn").from(person).to(city).iterate();
+
+        final SchemaSnapshot snapshot = SqlSchemaGrabber.getSchemaSnapshot(g, SqlSchemaGrabber.ScanType.All,
+                new SchemaScanScheduler());
+        Assertions.assertEquals(3, snapshot.getSchema().getVertices().size());
+        Assertions.assertEquals(1, snapshot.getSchema().getEdges().size());
+        Assertions.assertEquals(Long.valueOf(1), snapshot.getVertexLabelCounts().get("person"));
+
+        // Nothing changed, so every table is reused.
+        final SchemaSnapshot unchanged = SqlSchemaGrabber.refreshSchemaSnapshot(g, SqlSchemaGrabber.ScanType.All,
+                new SchemaScanScheduler(), snapshot);
+        for (final GremlinTableBase table : snapshot.getSchema().getAllTables()) {
+            Assertions.assertSame(table, getTable(unchanged.getSchema().getAllTables(), table.getLabel()));
+        }
+
+        // A new edge label between person and a new vertex label only rescans the tables it touches.
+        final Vertex company = g.addV("company").property("founded", 1999).next();
+        g.addE("worksAt").from(person).to(company).property("since", 2020).iterate();
+        final SchemaSnapshot refreshed = SqlSchemaGrabber.refreshSchemaSnapshot(g, SqlSchemaGrabber.ScanType.All,
+                new SchemaScanScheduler(), snapshot);
+        final List<GremlinTableBase> previousTables = snapshot.getSchema().getAllTables();
+        final List<GremlinTableBase> refreshedTables = refreshed.getSchema().getAllTables();
+        Assertions.assertEquals(4, refreshed.getSchema().getVertices().size());
+        Assertions.assertEquals(2, refreshed.getSchema().getEdges().size());
+        Assertions.assertSame(getTable(previousTables, "planet"), getTable(refreshedTables, "planet"));
+        Assertions.assertSame(getTable(previousTables, "city"), getTable(refreshedTables, "city"));
+        Assertions.assertSame(getTable(previousTables, "livesIn"), getTable(refreshedTables, "livesIn"));
+        Assertions.assertNotSame(getTable(previousTables, "person"), getTable(refreshedTables, "person"));
+        Assertions.assertTrue(refreshed.getSchema().getVertices().stream()
+                .filter(table -> "person".equals(table.getLabel()))
+                .allMatch(table -> table.getOutEdges().contains("worksAt")));
+        Assertions.assertTrue(getTable(refreshedTables, "company").hasColumn("founded"));
+        Assertions.assertTrue(getTable(refreshedTables, "worksAt").hasColumn("since"));
+
+        // A removed label is dropped from the schema.
+        g.V().hasLabel("planet").drop().iterate();
+        final SchemaSnapshot dropped = SqlSchemaGrabber.refreshSchemaSnapshot(g, SqlSchemaGrabber.ScanType.All,
+                new SchemaScanScheduler(), refreshed);
+        Assertions.assertNull(getTable(dropped.getSchema().getAllTables(), "planet"));
+        Assertions.assertEquals(3, dropped.getSchema().getVertices().size());
+    }
+
+    @Test
+    void testSnapshotDoesNotModifySchema() {
+        final GremlinVertexTable person =
+                new GremlinVertexTable("person", new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        final GremlinSchema schema = new GremlinSchema(Collections.singletonList(person), new ArrayList<>());
+        final SchemaSnapshot snapshot =
+                new SchemaSnapshot(schema, Collections.singletonMap("person", 5L), Collections.emptyMap());
+
+        // The schema may be shared, so the counts are set on a copy of its tables.
+        Assertions.assertNull(person.getRowCount());
+        Assertions.assertNotSame(schema, snapshot.getSchema());
+        Assertions.assertEquals(Long.valueOf(5), snapshot.getSchema().getVertices().get(0).getRowCount());
+        Assertions.assertSame(snapshot.getSchema(), snapshot.getSchema()
+                .withLabelCounts(Collections.singletonMap("person", 5L), Collections.emptyMap()));
+    }
+
+    @Test
+    void testScanTypeFromString() {
+        Assertions.assertEquals(SqlSchemaGrabber.ScanType.All, SqlSchemaGrabber.ScanType.fromString("all"));
+        Assertions.assertEquals(SqlSchemaGrabber.ScanType.First, SqlSchemaGrabber.ScanType.fromString("FIRST"));
+        Assertions.assertEquals(SqlSchemaGrabber.ScanType.sample(1000),
+                SqlSchemaGrabber.ScanType.fromString("Sample(1000)"));
+        Assertions.assertEquals(SqlSchemaGrabber.ScanType.coin(0.01),
+                SqlSchemaGrabber.ScanType.fromString("coin(0.01)"));
+        Assertions.assertEquals("Sample(1000)", SqlSchemaGrabber.ScanType.fromString("SAMPLE( 1000 )").toString());
+        Assertions.assertTrue(SqlSchemaGrabber.ScanType.fromString("Coin(0.5)").isSampled());
+        Assertions.assertFalse(SqlSchemaGrabber.ScanType.All.isSampled());
+        Assertions.assertNull(SqlSchemaGrabber.ScanType.fromString("Sample(0)"));
+        Assertions.assertNull(SqlSchemaGrabber.ScanType.fromString("Sample(1.5)"));
+        Assertions.assertNull(SqlSchemaGrabber.ScanType.fromString("Coin(0)"));
+        Assertions.assertNull(SqlSchemaGrabber.ScanType.fromString("Coin(2)"));
+        Assertions.assertNull(SqlSchemaGrabber.ScanType.fromString("Sample"));
+        Assertions.assertNull(SqlSchemaGrabber.ScanType.fromString("Random(5)"));
+    }
+
+    @Test
+    void testScanTypeEquality() {
+        final SqlSchemaGrabber.ScanType sample = SqlSchemaGrabber.ScanType.fromString("Sample(1000)");
+        Assertions.assertEquals(sample, SqlSchemaGrabber.ScanType.fromString("sample(1000)"));
+        Assertions.assertEquals(sample.hashCode(), SqlSchemaGrabber.ScanType.sample(1000).hashCode());
+        Assertions.assertNotEquals(sample, SqlSchemaGrabber.ScanType.sample(100));
+        Assertions.assertNotEquals(SqlSchemaGrabber.ScanType.coin(0.5), SqlSchemaGrabber.ScanType.coin(0.25));
+        Assertions.assertNotEquals(SqlSchemaGrabber.ScanType.All, SqlSchemaGrabber.ScanType.First);
+        Assertions.assertEquals(1, new HashSet<>(Arrays.asList(sample, SqlSchemaGrabber.ScanType.sample(1000))).size());
+        Assertions.assertEquals(SqlSchemaGrabber.ScanType.All, SqlSchemaGrabber.ScanType.valueOf("All"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SqlSchemaGrabber.ScanType.valueOf("Random"));
+    }
+
+    @Test
+    void testSampledScan() throws SQLException {
+        final GraphTraversalSource g = TinkerGraph.open().traversal();
+        for (int i = 0; i < 100; i++) {
+            g.addV("person").property("age", i).property(i % 2 == 0 ? "even" : "odd", "x").iterate();
+        }
+
+        final GremlinTableBase all = getTable(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All,
+                new SchemaScanScheduler()).getAllTables(), "person");
+        final GremlinTableBase sampled = getTable(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.sample(10),
+                new SchemaScanScheduler()).getAllTables(), "person");
+        Assertions.assertEquals(all.getColumn("age").getType(), sampled.getColumn("age").getType());
+
+        // Every element is sampled with probability 1, so every key is discovered.
+        final GremlinTableBase coin = getTable(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.coin(1.0),
+                new SchemaScanScheduler()).getAllTables(), "person");
+        Assertions.assertTrue(coin.hasColumn("even"));
+        Assertions.assertTrue(coin.hasColumn("odd"));
+    }
+
+    @Test
+    void testFullScanPromotesEveryValue() throws SQLException {
+        final GraphTraversalSource g = TinkerGraph.open().traversal();
+        for (int i = 0; i < 200; i++) {
+            g.addV("person").property("age", i).iterate();
+        }
+        // The only double comes after more distinct values than a sampled scan looks at.
+        g.addV("person").property("age", 200.5).iterate();
+
+        final GremlinTableBase all = getTable(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All,
+                new SchemaScanScheduler()).getAllTables(), "person");
+        Assertions.assertEquals("double", all.getColumn("age").getType());
+    }
+
+    @Test
+    void testLazySchema() throws SQLException {
+        final GraphTraversalSource g = TinkerGraph.open().traversal();
+        final Vertex person = g.addV("person").property("name", "Alice").next();
+        final Vertex city = g.addV("city").property("name", "Vancouver").next();
+        g.addV("planet").property("mass", 1.0).iterate();
+        g.addE("livesIn").from(person).to(city).iterate();
+
+        final Pair<List<String>, List<String>> labels = SqlSchemaGrabber.getLabels(g, new SchemaScanScheduler());
+        Assertions.assertEquals(3, labels.getKey().size());
+        Assertions.assertEquals(Collections.singletonList("livesIn"), labels.getValue());
+
+        final List<String> loadedLabels = new ArrayList<>();
+        final LazyGremlinSchema lazySchema = new LazyGremlinSchema(labels.getKey(), labels.getValue(),
+                (vertexLabels, edgeLabels) -> {
+                    loadedLabels.addAll(vertexLabels);
+                    loadedLabels.addAll(edgeLabels);
+                    return SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All, new SchemaScanScheduler(),
+                            vertexLabels, edgeLabels);
+                });
+        Assertions.assertEquals(0, lazySchema.getLoadedTableCount());
+
+        // Resolving a table only scans its label, and only once.
+        final GremlinTableBase personTable = lazySchema.getGremlinTable("PERSON");
+        Assertions.assertEquals("person", personTable.getLabel());
+        Assertions.assertTrue(personTable.hasColumn("name"));
+        Assertions.assertTrue(personTable.hasColumn("livesIn_OUT_ID"));
+        Assertions.assertSame(personTable, lazySchema.getGremlinTable("person"));
+        Assertions.assertEquals(Collections.singletonList("person"), loadedLabels);
+        Assertions.assertNull(lazySchema.getGremlinTable("unknown"));
+
+        // Listing the tables loads the rest.
+        Assertions.assertEquals(3, lazySchema.getVertices().size());
+        Assertions.assertEquals(1, lazySchema.getEdges().size());
+        Assertions.assertEquals(4, lazySchema.getLoadedTableCount());
+        Assertions.assertEquals(4, loadedLabels.size());
+    }
+
+    private static GremlinTableBase getTable(final List<GremlinTableBase> tables, final String label) {
+        return tables.stream().filter(table -> label.equals(table.getLabel())).findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.converter;
+
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class JoinPlannerTest {
+    private static SqlNode parse(final String expression) throws SqlParseException {
+        return SqlParser.create(expression).parseExpression();
+    }
+
+    @Test
+    void testStart() {
+        // Without label counts the join keeps starting from the edges.
+        Assertions.assertEquals(JoinPlanner.Start.EDGE, JoinPlanner.getStart(null, 10L, 10L, 0.01, 0.01));
+        // Visiting every vertex costs more than visiting every edge when there are few edges.
+        Assertions.assertEquals(JoinPlanner.Start.EDGE, JoinPlanner.getStart(100L, 1000L, 1000L, 1.0, 1.0));
+        Assertions.assertEquals(JoinPlanner.Start.IN_VERTEX,
+                JoinPlanner.getStart(100000L, 1000L, 1000L, 0.15, 1.0));
+        Assertions.assertEquals(JoinPlanner.Start.OUT_VERTEX,
+                JoinPlanner.getStart(100000L, 1000L, 1000L, 1.0, 0.15));
+        Assertions.assertEquals(JoinPlanner.Start.OUT_VERTEX,
+                JoinPlanner.getStart(100000L, 50000L, 1000L, 0.15, 0.15));
+    }
+
+    @Test
+    void testSelectivity() throws SqlParseException {
+        Assertions.assertEquals(1.0, JoinPlanner.getSelectivity(null));
+        Assertions.assertEquals(0.15, JoinPlanner.getSelectivity(parse("p.name = 'Tom'")), 1e-9);
+        Assertions.assertEquals(0.5, JoinPlanner.getSelectivity(parse("p.age > 30")), 1e-9);
+        Assertions.assertEquals(0.075, JoinPlanner.getSelectivity(parse("p.age > 30 AND p.name = 'Tom'")), 1e-9);
+        Assertions.assertEquals(0.2775, JoinPlanner.getSelectivity(parse("p.name = 'Tom' OR p.name = 'Pat'")), 1e-9);
+    }
+}
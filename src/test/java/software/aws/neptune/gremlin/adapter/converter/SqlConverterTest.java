@@ -0,0 +1,339 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.converter;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.aws.neptune.gremlin.adapter.GremlinSqlBaseTest;
+import software.aws.neptune.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.adapter.graphs.TestGraphFactory;
+import software.aws.neptune.gremlin.adapter.results.SqlGremlinQueryResult;
+import software.aws.neptune.gremlin.adapter.util.SqlGremlinError;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class SqlConverterTest {
+    private final GraphTraversalSource g =
+            TestGraphFactory.createGraph(GremlinSqlBaseTest.DataSet.SPACE).traversal();
+
+    private static List<List<?>> getRows(final SqlGremlinQueryResult sqlGremlinQueryResult) throws SQLException {
+        final List<List<?>> rows = new ArrayList<>();
+        List<?> row = sqlGremlinQueryResult.getResult();
+        while (!(row instanceof SqlGremlinQueryResult.EmptyResult)) {
+            rows.add(row);
+            row = sqlGremlinQueryResult.getResult();
+        }
+        return rows;
+    }
+
+    @Test
+    void testNormalize() {
+        Assertions.assertEquals("SELECT name FROM person WHERE age > 30",
+                SqlConverter.normalize("  SELECT name\n\tFROM   person WHERE age > 30 \n"));
+        Assertions.assertEquals("SELECT name FROM person WHERE name = 'Tom  Hanks'",
+                SqlConverter.normalize("SELECT name FROM person WHERE name =   'Tom  Hanks'"));
+        Assertions.assertEquals("SELECT \"first  name\" FROM person WHERE name = 'it''s  ok'",
+                SqlConverter.normalize("SELECT \"first  name\"  FROM person WHERE name = 'it''s  ok'"));
+        Assertions.assertEquals("SELECT name FROM person WHERE name = '-- not a comment'",
+                SqlConverter.normalize("SELECT name /* a\ncomment */ FROM person -- comment\n"
+                        + "WHERE name = '-- not a comment'"));
+    }
+
+    @Test
+    void testNormalizeLineComment() {
+        // The query with the line break selects from t, the other one is only a comment after SELECT a.
+        Assertions.assertEquals("SELECT a FROM t", SqlConverter.normalize("SELECT a -- c\nFROM t"));
+        Assertions.assertEquals("SELECT a", SqlConverter.normalize("SELECT a -- c FROM t"));
+        Assertions.assertNotEquals(SqlConverter.normalize("SELECT a -- c\nFROM t"),
+                SqlConverter.normalize("SELECT a -- c FROM t"));
+    }
+
+    @Test
+    void testPlanCache() throws SQLException {
+        final GremlinSchema gremlinSchema = SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All);
+        final SqlConverter converter = new SqlConverter(gremlinSchema);
+        final long hits = SqlConverter.getPlanCacheHits();
+        final long misses = SqlConverter.getPlanCacheMisses();
+
+        final SqlGremlinQueryResult first = converter.executeQuery(g, "SELECT name, age FROM person ORDER BY age");
+        final List<List<?>> expected = getRows(first);
+        Assertions.assertEquals(misses + 1, SqlConverter.getPlanCacheMisses());
+
+        final SqlGremlinQueryResult second =
+                converter.executeQuery(g, "SELECT  name,  age\nFROM person   ORDER BY age ");
+        Assertions.assertEquals(hits + 1, SqlConverter.getPlanCacheHits());
+        Assertions.assertEquals(first.getColumns(), second.getColumns());
+        Assertions.assertEquals(first.getColumnTypes(), second.getColumnTypes());
+        Assertions.assertEquals(expected, getRows(second));
+
+        // A cached plan can be run concurrently with itself.
+        final SqlGremlinQueryResult third = converter.executeQuery(g, "SELECT name, age FROM person ORDER BY age");
+        final SqlGremlinQueryResult fourth = converter.executeQuery(g, "SELECT name, age FROM person ORDER BY age");
+        Assertions.assertEquals(expected, getRows(fourth));
+        Assertions.assertEquals(expected, getRows(third));
+
+        // Once the schema is replaced its plans are translated again.
+        SqlConverter.invalidatePlans(gremlinSchema);
+        getRows(converter.executeQuery(g, "SELECT name, age FROM person ORDER BY age"));
+        Assertions.assertEquals(misses + 2, SqlConverter.getPlanCacheMisses());
+        SqlConverter.invalidatePlans(gremlinSchema);
+    }
+
+    @Test
+    void testParameters() throws SQLException {
+        final SqlConverter converter =
+                new SqlConverter(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All));
+        final String query = "SELECT name, age FROM person WHERE age > ? ORDER BY age";
+        final Map<Integer, Object> parameters = new HashMap<>();
+        parameters.put(1, 35);
+        Assertions.assertEquals(Arrays.asList(Arrays.asList("Susan", 45), Arrays.asList("Juanita", 50)),
+                getRows(converter.executeQuery(g, query, parameters)));
+
+        // The plan is reused for other values, which are converted to the type of the column.
+        final long hits = SqlConverter.getPlanCacheHits();
+        parameters.put(1, "45");
+        Assertions.assertEquals(Collections.singletonList(Arrays.asList("Juanita", 50)),
+                getRows(converter.executeQuery(g, query, parameters)));
+        Assertions.assertEquals(hits + 1, SqlConverter.getPlanCacheHits());
+
+        parameters.put(1, "Tom");
+        Assertions.assertEquals(Collections.singletonList(Arrays.asList("Tom", 35)),
+                getRows(converter.executeQuery(g, "SELECT name, age FROM person WHERE name = ?", parameters)));
+
+        parameters.put(1, "old");
+        Assertions.assertEquals(
+                SqlGremlinError.getMessage(SqlGremlinError.PARAMETER_TYPE_MISMATCH, "old", 1, "integer"),
+                Assertions.assertThrows(SQLException.class,
+                        () -> converter.executeQuery(g, query, parameters)).getMessage());
+        Assertions.assertEquals(SqlGremlinError.getMessage(SqlGremlinError.PARAMETER_NOT_SET, 1),
+                Assertions.assertThrows(SQLException.class, () -> converter.executeQuery(g, query)).getMessage());
+    }
+
+    @Test
+    void testRangeParameters() throws SQLException {
+        // PreparedStatement runs its query with the values bound to the placeholders, keyed by parameter index.
+        final SqlConverter converter =
+                new SqlConverter(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All));
+        final Map<Integer, Object> parameters = new HashMap<>();
+        parameters.put(1, 2);
+        Assertions.assertEquals(getRows(converter.executeQuery(g, "SELECT name FROM person ORDER BY age LIMIT 2")),
+                getRows(converter.executeQuery(g, "SELECT name FROM person ORDER BY age LIMIT ?", parameters)));
+        parameters.put(1, 3);
+        Assertions.assertEquals(3,
+                getRows(converter.executeQuery(g, "SELECT name FROM person ORDER BY age LIMIT ?", parameters)).size());
+
+        parameters.put(1, 1);
+        parameters.put(2, 2);
+        Assertions.assertEquals(
+                getRows(converter.executeQuery(g, "SELECT name FROM person ORDER BY age LIMIT 1 OFFSET 2")),
+                getRows(converter.executeQuery(g, "SELECT name FROM person ORDER BY age LIMIT ? OFFSET ?",
+                        parameters)));
+        Assertions.assertEquals(SqlGremlinError.getMessage(SqlGremlinError.PARAMETER_NOT_SET, 1),
+                Assertions.assertThrows(SQLException.class,
+                        () -> converter.executeQuery(g, "SELECT name FROM person LIMIT ?")).getMessage());
+    }
+
+    @Test
+    void testPredicatePushdown() throws SQLException {
+        final SqlConverter converter =
+                new SqlConverter(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All));
+        Assertions.assertTrue(converter.getStringTraversal(g, "SELECT name FROM person WHERE age IN (35, 50)")
+                .contains(".hasLabel(\"person\").has(\"age\",P.within("));
+        Assertions.assertTrue(converter.getStringTraversal(g, "SELECT name FROM person WHERE age IS NULL")
+                .contains(".hasLabel(\"person\").hasNot(\"age\")"));
+    }
+
+    @Test
+    void testPredicatePushdownParameters() throws SQLException {
+        final SqlConverter converter =
+                new SqlConverter(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All));
+        Assertions.assertTrue(converter.getStringTraversal(g, "SELECT name FROM person WHERE age = ?")
+                .contains(".hasLabel(\"person\").or(__.has(\"age\",P.eq("));
+        Assertions.assertTrue(converter.getStringTraversal(g, "SELECT name FROM person WHERE ? < age")
+                .contains(".hasLabel(\"person\").or(__.has(\"age\",P.gt("));
+
+        final Map<Integer, Object> parameters = new HashMap<>();
+        parameters.put(1, "35");
+        Assertions.assertEquals(Collections.singletonList(Collections.singletonList("Tom")),
+                getRows(converter.executeQuery(g, "SELECT name FROM person WHERE age = ?", parameters)));
+        parameters.put(1, 31);
+        parameters.put(2, 35);
+        Assertions.assertEquals(Arrays.asList(Collections.singletonList("Phil"), Collections.singletonList("Tom")),
+                getRows(converter.executeQuery(g,
+                        "SELECT name FROM person WHERE age BETWEEN ? AND ? ORDER BY age", parameters)));
+        Assertions.assertEquals(Arrays.asList(Collections.singletonList("Phil"), Collections.singletonList("Tom")),
+                getRows(converter.executeQuery(g,
+                        "SELECT name FROM person WHERE age IN (?, ?) ORDER BY age", parameters)));
+    }
+
+    @Test
+    void testStreamingShape() throws SQLException {
+        final SqlConverter converter =
+                new SqlConverter(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All));
+        // Filters and projections have no barrier before the rows are produced.
+        final String plain = converter.getStringTraversal(g, "SELECT name, age FROM person WHERE age > 30");
+        Assertions.assertFalse(plain.contains(".group()"));
+        Assertions.assertFalse(plain.contains(".order()"));
+        Assertions.assertTrue(converter.getStringTraversal(g, "SELECT name FROM person ORDER BY age")
+                .contains(".order()"));
+        Assertions.assertTrue(converter.getStringTraversal(g, "SELECT wentToSpace FROM person GROUP BY wentToSpace")
+                .contains(".group()"));
+
+        // The range is taken before the columns of the elements are retrieved.
+        final String limited = converter.getStringTraversal(g, "SELECT name FROM person ORDER BY age LIMIT 2 OFFSET 1");
+        Assertions.assertTrue(limited.indexOf(".range(") > limited.indexOf(".order()"));
+        Assertions.assertTrue(limited.indexOf(".range(") < limited.indexOf(".valueMap("));
+    }
+
+    @Test
+    void testAggregateFastPath() throws SQLException {
+        final SqlConverter converter =
+                new SqlConverter(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All));
+        final String count = converter.getStringTraversal(g, "SELECT COUNT(*), AVG(age) FROM person WHERE age > 30");
+        Assertions.assertTrue(count.contains(".fold().project("));
+        Assertions.assertFalse(count.contains(".group()"));
+        Assertions.assertFalse(count.contains(".choose("));
+        final String grouped =
+                converter.getStringTraversal(g, "SELECT wentToSpace, SUM(age) FROM person GROUP BY wentToSpace");
+        Assertions.assertTrue(grouped.contains(".group().by(__.values(\"wentToSpace\").fold())"));
+        Assertions.assertFalse(grouped.contains(".choose("));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(Arrays.asList(false, 95L), Arrays.asList(true, 125L))),
+                new HashSet<>(getRows(converter.executeQuery(g,
+                        "SELECT wentToSpace, SUM(age) FROM person GROUP BY wentToSpace"))));
+    }
+
+    @Test
+    void testPropertyMapRetrieval() throws SQLException {
+        final SqlConverter converter =
+                new SqlConverter(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All));
+        final String properties = converter.getStringTraversal(g, "SELECT name, age AS a, person_ID FROM person");
+        Assertions.assertTrue(properties.contains(".valueMap(\"name\",\"age\")"));
+        Assertions.assertFalse(properties.contains(".project("));
+        Assertions.assertEquals(Arrays.asList(Arrays.asList("Phil", 31), Arrays.asList("Pavel", 30)),
+                getRows(converter.executeQuery(g, "SELECT name, age FROM person ORDER BY age DESC LIMIT 2 OFFSET 3")));
+
+        // Ids of connected edges are projected next to the property map.
+        final List<List<?>> rows = getRows(converter.executeQuery(g,
+                "SELECT name, worksFor_OUT_ID FROM person WHERE name = 'Tom'"));
+        Assertions.assertEquals(1, rows.size());
+        Assertions.assertEquals("Tom", rows.get(0).get(0));
+        Assertions.assertEquals(1, ((List<?>) rows.get(0).get(1)).size());
+    }
+
+    @Test
+    void testJoinStart() throws SQLException {
+        final SqlConverter converter =
+                new SqlConverter(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All));
+        // Every person is visited when starting from people, there are fewer friendsWith edges than that.
+        final String friends = "SELECT person.name, person1.name AS name1 FROM gremlin.person person " +
+                "INNER JOIN gremlin.person person1 ON (person.friendsWith_OUT_ID = person1.friendsWith_IN_ID)";
+        Assertions.assertTrue(converter.getStringTraversal(g, friends).startsWith("g.E().hasLabel(\"friendsWith\")"));
+
+        // A selective filter on one side starts the join from the vertices of that side.
+        final String filtered = friends + " WHERE person.name = 'Tom'";
+        Assertions.assertTrue(converter.getStringTraversal(g, filtered)
+                .startsWith("g.V().hasLabel(\"person\").has(\"name\",P.eq(\"Tom\"))"));
+        final List<List<?>> rows = getRows(converter.executeQuery(g, filtered));
+        Assertions.assertEquals(1, rows.size());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("Tom", "Patty")), new HashSet<>(rows.get(0)));
+
+        // Four spaceships are fewer to visit than the six pilots edges.
+        Assertions.assertTrue(converter.getStringTraversal(g, "SELECT person.name, spaceship.model " +
+                        "FROM gremlin.person person INNER JOIN gremlin.spaceship spaceship " +
+                        "ON (person.pilots_OUT_ID = spaceship.pilots_IN_ID)")
+                .startsWith("g.V().hasLabel(\"spaceship\")"));
+    }
+
+    @Test
+    void testConcurrentTranslation() throws Exception {
+        final SqlConverter converter =
+                new SqlConverter(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All));
+        final List<String> queries = Arrays.asList(
+                "SELECT name AS n, age FROM person WHERE age > 30",
+                "SELECT p.name FROM gremlin.person p ORDER BY p.age DESC LIMIT 2",
+                "SELECT wentToSpace, COUNT(age) FROM person GROUP BY wentToSpace",
+                "SELECT model FROM spaceship WHERE name = 'Ship 1'",
+                "SELECT person.name, spaceship.model FROM gremlin.person person INNER JOIN gremlin.spaceship " +
+                        "spaceship ON (person.pilots_OUT_ID = spaceship.pilots_IN_ID)",
+                "SELECT p.name, s.model FROM gremlin.person p " +
+                        "INNER JOIN gremlin.person p1 ON (p.friendsWith_OUT_ID = p1.friendsWith_IN_ID) " +
+                        "LEFT JOIN gremlin.spaceship s ON (p1.pilots_OUT_ID = s.pilots_IN_ID)");
+        // A fresh converter per query gives the translation without any state shared with other queries.
+        final Map<String, String> expected = new HashMap<>();
+        for (final String query : queries) {
+            expected.put(query, new SqlConverter(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All))
+                    .getStringTraversal(g, query));
+        }
+        Assertions.assertTrue(expected.get(queries.get(3)).startsWith("g.V().hasLabel(\"spaceship\")"));
+
+        // Each query is translated with its own metadata, so the renames and columns of one never leak into another.
+        final int iterations = 25;
+        final List<Map<String, String>> singleThreaded = translate(converter, queries, 1, iterations);
+        Assertions.assertEquals(Collections.singletonList(expected), singleThreaded);
+        final int threads = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+        final List<Map<String, String>> multiThreaded = translate(converter, queries, threads, iterations);
+        Assertions.assertEquals(threads, multiThreaded.size());
+        for (final Map<String, String> results : multiThreaded) {
+            Assertions.assertEquals(singleThreaded.get(0), results);
+        }
+    }
+
+    private List<Map<String, String>> translate(final SqlConverter converter, final List<String> queries,
+                                                final int threads, final int iterations) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Map<String, String>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t;
+                futures.add(executor.submit(() -> {
+                    final Map<String, String> results = new HashMap<>();
+                    for (int i = 0; i < iterations; i++) {
+                        for (int q = 0; q < queries.size(); q++) {
+                            // Threads go through the queries in different orders.
+                            final String query = queries.get((q + offset) % queries.size());
+                            final String traversal = converter.getStringTraversal(g, query);
+                            final String previous = results.put(query, traversal);
+                            if (previous != null && !previous.equals(traversal)) {
+                                throw new IllegalStateException("Translation of " + query + " changed between runs.");
+                            }
+                        }
+                    }
+                    return results;
+                }));
+            }
+            final List<Map<String, String>> results = new ArrayList<>();
+            for (final Future<Map<String, String>> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+
+package software.aws.neptune.gremlin.adapter.converter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.aws.neptune.gremlin.adapter.util.SqlGremlinError;
+import java.sql.SQLException;
+import java.util.Collections;
+
+public class SqlQueryParameterTest {
+    private static Object bind(final String type, final Object value) throws SQLException {
+        return new SqlQueryParameter(0, type).bind(Collections.singletonMap(1, value));
+    }
+
+    private static void assertMismatch(final String type, final Object value) {
+        Assertions.assertEquals(SqlGremlinError.getMessage(SqlGremlinError.PARAMETER_TYPE_MISMATCH, value, 1, type),
+                Assertions.assertThrows(SQLException.class, () -> bind(type, value)).getMessage());
+    }
+
+    @Test
+    void testExactConversions() throws SQLException {
+        Assertions.assertEquals(4, bind("integer", 4.0));
+        Assertions.assertEquals(4, bind("integer", "4"));
+        Assertions.assertEquals(4L, bind("long", 4));
+        Assertions.assertEquals((short) 4, bind("short", 4L));
+        Assertions.assertEquals(3.7, bind("double", "3.7"));
+        Assertions.assertEquals(3.0, bind("double", 3L));
+
+        // Truncating or overflowing values would compare against a different value than the one bound.
+        assertMismatch("integer", 3.7);
+        assertMismatch("integer", Long.MAX_VALUE);
+        assertMismatch("byte", 128);
+        assertMismatch("long", "1.5");
+        assertMismatch("double", Long.MAX_VALUE - 1);
+        assertMismatch("float", 1e300);
+    }
+
+    @Test
+    void testBooleanConversions() throws SQLException {
+        Assertions.assertEquals(true, bind("boolean", true));
+        Assertions.assertEquals(true, bind("boolean", "TRUE"));
+        Assertions.assertEquals(false, bind("boolean", "false"));
+        Assertions.assertEquals(true, bind("boolean", 1));
+        Assertions.assertEquals(false, bind("boolean", 0));
+
+        assertMismatch("boolean", "yes");
+        assertMismatch("boolean", 2);
+    }
+}
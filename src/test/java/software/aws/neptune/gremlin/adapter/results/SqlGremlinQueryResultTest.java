@@ -0,0 +1,130 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.adapter.results;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class SqlGremlinQueryResultTest {
+    private static final List<String> COLUMNS = Collections.singletonList("name");
+    private static final List<String> COLUMN_TYPES = Collections.singletonList("string");
+
+    private static List<List<Object>> getRows(final int count) {
+        final List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new ArrayList<>(Collections.singletonList("row " + i)));
+        }
+        return rows;
+    }
+
+    @Test
+    void testBoundedResult() throws Exception {
+        final SqlGremlinQueryResult result = new SqlGremlinQueryResult(COLUMNS, COLUMN_TYPES, 2);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> producer = executor.submit(() -> {
+                result.addResults(getRows(5));
+                result.close();
+            });
+            // The producer waits for the reader once two rows are unread.
+            Thread.sleep(200);
+            Assertions.assertFalse(producer.isDone());
+            Assertions.assertEquals(2, result.getBlockingQueueRows().size());
+            Assertions.assertEquals(getRows(5), result.getAllResults());
+            producer.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCancelFullResult() throws Exception {
+        final SqlGremlinQueryResult result = new SqlGremlinQueryResult(COLUMNS, COLUMN_TYPES, 2);
+        final List<SQLException> errors = new ArrayList<>();
+        result.addCompletionListener(errors::add);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> producer = executor.submit(() -> {
+                result.addResults(getRows(5));
+                result.close();
+            });
+            Thread.sleep(200);
+            // Cancelling releases the waiting producer and drops the unread rows.
+            result.cancel();
+            producer.get();
+            Assertions.assertTrue(result.getBlockingQueueRows().isEmpty());
+            Assertions.assertEquals(SqlGremlinQueryResult.CANCELLED_SQL_STATE, errors.get(0).getSQLState());
+            final SQLException e = Assertions.assertThrows(SQLException.class, result::getResult);
+            Assertions.assertEquals(SqlGremlinQueryResult.CANCELLED_SQL_STATE, e.getSQLState());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testUnboundResult() throws Exception {
+        final SqlGremlinQueryResult result = new SqlGremlinQueryResult(COLUMNS, COLUMN_TYPES, 2);
+        final List<SQLException> errors = new ArrayList<>();
+        result.addCompletionListener(errors::add);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> producer = executor.submit(() -> {
+                result.addResults(getRows(5));
+                result.close();
+            });
+            Thread.sleep(200);
+            Assertions.assertFalse(producer.isDone());
+            // Unbinding releases the waiting producer, and the result completes before any row is read.
+            result.unbound();
+            producer.get();
+            Assertions.assertEquals(Collections.singletonList(null), errors);
+            Assertions.assertEquals(getRows(5), result.getAllResults());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testMaterializedResultIsNotBounded()throws SQLException {
+        final SqlGremlinQueryResult result = new SqlGremlinQueryResult(COLUMNS, COLUMN_TYPES,
+                getRows(SqlGremlinQueryResult.DEFAULT_CAPACITY + 1));
+        Assertions.assertEquals(SqlGremlinQueryResult.DEFAULT_CAPACITY + 1, result.getAllResults().size());
+    }
+
+    @Test
+    void testAwaitCompletion() throws Exception {
+        final SqlGremlinQueryResult small = new SqlGremlinQueryResult(COLUMNS, COLUMN_TYPES);
+        small.addResults(getRows(3));
+        small.close();
+        Assertions.assertTrue(small.awaitCompletion(3));
+        Assertions.assertFalse(small.isMaterialized());
+
+        // The wait stops without completion once more rows than the limit are unread.
+        final SqlGremlinQueryResult large = new SqlGremlinQueryResult(COLUMNS, COLUMN_TYPES);
+        large.addResults(getRows(4));
+        Assertions.assertFalse(large.awaitCompletion(3));
+        large.cancel();
+    }
+}
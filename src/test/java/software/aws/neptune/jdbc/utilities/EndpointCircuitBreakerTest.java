@@ -0,0 +1,80 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+package software.aws.neptune.jdbc.utilities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+
+/**
+ * Test for EndpointCircuitBreaker.
+ */
+class EndpointCircuitBreakerTest {
+
+    @Test
+    void testOpensAfterConsecutiveFailures() throws SQLException {
+        final EndpointCircuitBreaker breaker = EndpointCircuitBreaker.getCircuitBreaker("failures:8182", 3, 0, 60000);
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertFalse(breaker.allowQuery());
+            breaker.recordResult(false, false, 1);
+        }
+        // A success resets the count of consecutive failures.
+        breaker.recordResult(false, true, 1);
+        Assertions.assertEquals(0, breaker.getConsecutiveFailures());
+        for (int i = 0; i < 3; i++) {
+            breaker.allowQuery();
+            breaker.recordResult(false, false, 1);
+        }
+        Assertions.assertEquals(EndpointCircuitBreaker.State.OPEN, breaker.getState());
+        Assertions.assertThrows(SQLException.class, breaker::allowQuery);
+        Assertions.assertEquals(1, breaker.getRejectedQueries());
+        Assertions.assertEquals(1, breaker.getTimesOpened());
+    }
+
+    @Test
+    void testSlowQueriesCountAsFailures() throws SQLException {
+        final EndpointCircuitBreaker breaker = EndpointCircuitBreaker.getCircuitBreaker("latency:8182", 1, 100, 60000);
+        breaker.allowQuery();
+        breaker.recordResult(false, true, 50);
+        Assertions.assertEquals(EndpointCircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.allowQuery();
+        breaker.recordResult(false, true, 500);
+        Assertions.assertEquals(EndpointCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testHalfOpenProbe() throws SQLException {
+        final EndpointCircuitBreaker breaker = EndpointCircuitBreaker.getCircuitBreaker("probe:8182", 1, 0, 0);
+        breaker.allowQuery();
+        breaker.recordResult(false, false, 1);
+        Assertions.assertEquals(EndpointCircuitBreaker.State.OPEN, breaker.getState());
+
+        // The open period has elapsed, a single probe goes through while other queries still fail fast.
+        Assertions.assertTrue(breaker.allowQuery());
+        Assertions.assertEquals(EndpointCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        Assertions.assertThrows(SQLException.class, breaker::allowQuery);
+
+        // A failed probe opens the breaker again, a cancelled one frees the probe slot.
+        breaker.recordResult(true, false, 1);
+        Assertions.assertEquals(EndpointCircuitBreaker.State.OPEN, breaker.getState());
+        Assertions.assertTrue(breaker.allowQuery());
+        breaker.recordCancelled(true);
+        Assertions.assertTrue(breaker.allowQuery());
+        breaker.recordResult(true, true, 1);
+        Assertions.assertEquals(EndpointCircuitBreaker.State.CLOSED, breaker.getState());
+        Assertions.assertFalse(breaker.allowQuery());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+package software.aws.neptune.jdbc.utilities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+
+/**
+ * Test for EndpointRateLimiter.
+ */
+class EndpointRateLimiterTest {
+    private static final int QUERIES_PER_SECOND = 10;
+
+    @Test
+    void testBurstThenThrottle() throws SQLException {
+        final EndpointRateLimiter rateLimiter = EndpointRateLimiter.getRateLimiter("burst:8182", QUERIES_PER_SECOND);
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < QUERIES_PER_SECOND; i++) {
+            rateLimiter.acquire();
+        }
+        Assertions.assertEquals(0, rateLimiter.getThrottledQueries());
+
+        // Once the burst is used up, further queries are spaced at the configured rate.
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire();
+        }
+        Assertions.assertEquals(5, rateLimiter.getThrottledQueries());
+        Assertions.assertTrue(System.currentTimeMillis() - start >= 400);
+        Assertions.assertTrue(rateLimiter.getTotalWaitMillis() > 0);
+    }
+
+    @Test
+    void testInterruptedWait() throws SQLException {
+        final EndpointRateLimiter rateLimiter = EndpointRateLimiter.getRateLimiter("interrupt:8182", 1);
+        rateLimiter.acquire();
+        Thread.currentThread().interrupt();
+        try {
+            Assertions.assertThrows(SQLException.class, rateLimiter::acquire);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.jdbc.utilities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test for QueryAdmissionController.
+ */
+class QueryAdmissionControllerTest {
+
+    @Test
+    void testMaxInFlight() throws SQLException {
+        final QueryAdmissionController controller = QueryAdmissionController.getController("maxInFlight:8182", 2);
+        final QueryAdmissionController.Ticket first = controller.enqueue("app", 1);
+        final QueryAdmissionController.Ticket second = controller.enqueue("app", 1);
+        final QueryAdmissionController.Ticket third = controller.enqueue("app", 1);
+        controller.await(first);
+        controller.await(second);
+        Assertions.assertEquals(2, controller.getInFlight());
+        Assertions.assertEquals(1, controller.getWaiting());
+
+        controller.release(first);
+        controller.await(third);
+        Assertions.assertEquals(2, controller.getInFlight());
+        Assertions.assertEquals(0, controller.getWaiting());
+        Assertions.assertEquals(3, controller.getAdmittedQueries());
+        Assertions.assertEquals(1, controller.getQueuedQueries());
+
+        controller.release(second);
+        controller.release(third);
+        Assertions.assertEquals(0, controller.getInFlight());
+    }
+
+    @Test
+    void testSmallestMaxInFlightApplies() throws SQLException {
+        QueryAdmissionController.getController("smallestMaxInFlight:8182", 3);
+        QueryAdmissionController.getController("smallestMaxInFlight:8182", 1);
+        // A connection asking for more does not raise the limit of the others.
+        final QueryAdmissionController controller =
+                QueryAdmissionController.getController("smallestMaxInFlight:8182", 5);
+        final QueryAdmissionController.Ticket first = controller.enqueue("app", 1);
+        final QueryAdmissionController.Ticket second = controller.enqueue("app", 1);
+        controller.await(first);
+        Assertions.assertEquals(1, controller.getInFlight());
+        Assertions.assertEquals(1, controller.getWaiting());
+
+        controller.release(first);
+        controller.await(second);
+        controller.release(second);
+        Assertions.assertEquals(0, controller.getInFlight());
+    }
+
+    @Test
+    void testWeightedFairOrder() throws SQLException {
+        final QueryAdmissionController controller = QueryAdmissionController.getController("fairOrder:8182", 1);
+        final QueryAdmissionController.Ticket blocker = controller.enqueue("blocker", 1);
+        controller.await(blocker);
+
+        // The heavy flow queues many queries first, the light and weighted flows must not wait behind all of them.
+        final List<QueryAdmissionController.Ticket> heavy = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            heavy.add(controller.enqueue("heavy", 1));
+        }
+        final QueryAdmissionController.Ticket light = controller.enqueue("light", 1);
+
+        controller.release(blocker);
+        controller.await(heavy.get(0));
+        controller.release(heavy.get(0));
+        controller.await(light);
+        Assertions.assertEquals(3, controller.getWaiting());
+        controller.release(light);
+        for (int i = 1; i < heavy.size(); i++) {
+            controller.await(heavy.get(i));
+            controller.release(heavy.get(i));
+        }
+        Assertions.assertEquals(0, controller.getWaiting());
+    }
+
+    @Test
+    void testCancelWaitingQuery() throws SQLException {
+        final QueryAdmissionController controller = QueryAdmissionController.getController("cancel:8182", 1);
+        final QueryAdmissionController.Ticket running = controller.enqueue("app", 1);
+        final QueryAdmissionController.Ticket waiting = controller.enqueue("app", 1);
+        controller.cancel(waiting);
+        Assertions.assertThrows(SQLException.class, () -> controller.await(waiting));
+        Assertions.assertEquals(0, controller.getWaiting());
+        controller.release(waiting);
+        Assertions.assertEquals(1, controller.getInFlight());
+        controller.release(running);
+        Assertions.assertEquals(0, controller.getInFlight());
+    }
+}
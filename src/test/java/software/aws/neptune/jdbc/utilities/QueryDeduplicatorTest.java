@@ -0,0 +1,195 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.jdbc.utilities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test for QueryDeduplicator.
+ */
+class QueryDeduplicatorTest {
+    private static final int CALLERS = 8;
+
+    @Test
+    void testNormalize() {
+        Assertions.assertEquals("SELECT *\nFROM \"a  b\" WHERE x = 'c   d'",
+                QueryDeduplicator.normalize("  SELECT *\n  FROM \"a  b\"\tWHERE x = 'c   d'  "));
+        Assertions.assertEquals(QueryDeduplicator.createKey("host", "gremlin", "g.V()  .count()"),
+                QueryDeduplicator.createKey("host", "gremlin", "g.V() .count()"));
+        Assertions.assertNotEquals(QueryDeduplicator.createKey("host", "gremlin", "g.V().count()"),
+                QueryDeduplicator.createKey("host", "sparql", "g.V().count()"));
+        // A line break ends a line comment, so it is not collapsed with the other whitespace.
+        Assertions.assertNotEquals(QueryDeduplicator.createKey("host", "sql", "SELECT a -- c\nFROM t"),
+                QueryDeduplicator.createKey("host", "sql", "SELECT a -- c FROM t"));
+    }
+
+    @Test
+    void testConcurrentQueriesShareExecution() throws Exception {
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            final List<Future<Object>> results = new ArrayList<>();
+            results.add(executor.submit(() -> QueryDeduplicator.execute("key", () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                awaitLatch(release);
+                return "result";
+            })));
+            started.await();
+            for (int i = 1; i < CALLERS; i++) {
+                results.add(executor.submit(() -> QueryDeduplicator.execute("key", () -> {
+                    executions.incrementAndGet();
+                    return "other";
+                })));
+            }
+            // Give the followers time to join the in flight execution before it completes.
+            Thread.sleep(200);
+            release.countDown();
+            for (final Future<Object> result : results) {
+                Assertions.assertEquals("result", result.get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(1, executions.get());
+
+            // Once complete, the key is released and the next query runs again.
+            Assertions.assertEquals("again", QueryDeduplicator.execute("key", () -> "again"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailureIsSharedAndReleased() {
+        final SQLException exception = new SQLException("failed");
+        Assertions.assertThrows(SQLException.class, () -> QueryDeduplicator.execute("failing", () -> {
+            throw exception;
+        }));
+        Assertions.assertDoesNotThrow(() -> QueryDeduplicator.execute("failing", () -> "ok"));
+    }
+
+    @Test
+    void testCancelledFollowerStopsWaiting() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean followerCancelled = new AtomicBoolean();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Object> leader = executor.submit(() -> QueryDeduplicator.execute("cancelled-follower", () -> {
+                started.countDown();
+                awaitLatch(release);
+                return "result";
+            }));
+            started.await();
+            final Future<Object> follower = executor.submit(() -> QueryDeduplicator.execute("cancelled-follower",
+                    () -> "other", result -> true, followerCancelled::get));
+            Thread.sleep(200);
+            followerCancelled.set(true);
+
+            // The follower gives up while the shared execution is still running.
+            final ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                    () -> follower.get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(exception.getCause() instanceof SQLException);
+            Assertions.assertFalse(leader.isDone());
+            release.countDown();
+            Assertions.assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCancelledLeaderIsRunAgain() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean leaderCancelled = new AtomicBoolean();
+        final AtomicInteger executions = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            final Future<Object> leader = executor.submit(() -> QueryDeduplicator.execute("cancelled-leader", () -> {
+                started.countDown();
+                awaitLatch(release);
+                throw new SQLException("cancelled");
+            }, result -> true, leaderCancelled::get));
+            started.await();
+            final List<Future<Object>> followers = new ArrayList<>();
+            for (int i = 1; i < CALLERS; i++) {
+                followers.add(executor.submit(() -> QueryDeduplicator.execute("cancelled-leader", () -> {
+                    executions.incrementAndGet();
+                    return "result";
+                })));
+            }
+            Thread.sleep(200);
+            leaderCancelled.set(true);
+            release.countDown();
+
+            // The cancellation fails the leader only, the followers get the result of running the query again.
+            Assertions.assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            for (final Future<Object> follower : followers) {
+                Assertions.assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertTrue(executions.get() >= 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testUnshareableResultIsRunAgain() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Object> leader = executor.submit(() -> QueryDeduplicator.execute("unshareable", () -> {
+                started.countDown();
+                awaitLatch(release);
+                return "large";
+            }, result -> !"large".equals(result), () -> false));
+            started.await();
+            final Future<Object> follower = executor.submit(() -> QueryDeduplicator.execute("unshareable",
+                    () -> "small", result -> !"large".equals(result), () -> false));
+            Thread.sleep(200);
+            release.countDown();
+
+            // Only the caller which ran the query gets a result which cannot be shared.
+            Assertions.assertEquals("large", leader.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("small", follower.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitLatch(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
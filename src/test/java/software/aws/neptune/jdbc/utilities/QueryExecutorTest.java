@@ -0,0 +1,248 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.jdbc.utilities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.aws.neptune.gremlin.GremlinConnectionProperties;
+import software.aws.neptune.gremlin.adapter.results.SqlGremlinQueryResult;
+import software.aws.neptune.jdbc.mock.MockQueryExecutor;
+import software.aws.neptune.jdbc.mock.MockResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * Test for the admission control, circuit breaking and cancellation of QueryExecutor.
+ */
+class QueryExecutorTest {
+    private static final int PORT = 8182;
+
+    private static ConnectionProperties getConnectionProperties(final String host, final String key,
+                                                                final String value) throws SQLException {
+        final Properties properties = new Properties();
+        properties.put(GremlinConnectionProperties.CONTACT_POINT_KEY, host);
+        properties.put(GremlinConnectionProperties.PORT_KEY, String.valueOf(PORT));
+        properties.put(ConnectionProperties.AUTH_SCHEME_KEY, "None");
+        properties.put(ConnectionProperties.APPLICATION_NAME_KEY, "test");
+        properties.put(key, value);
+        return new GremlinConnectionProperties(properties);
+    }
+
+    @Test
+    void testSlotHeldUntilStreamedResultCompletes() throws SQLException {
+        final StreamingQueryExecutor executor = new StreamingQueryExecutor(
+                getConnectionProperties("admission-stream", ConnectionProperties.MAX_CONCURRENT_QUERIES_KEY, "1"));
+        executor.execute();
+        final QueryAdmissionController controller = QueryAdmissionController.getController("admission-stream:" + PORT);
+        // The result is returned before the graph is queried for its rows, so the slot is still held.
+        Assertions.assertEquals(1, controller.getInFlight());
+        executor.complete(null);
+        Assertions.assertEquals(0, controller.getInFlight());
+    }
+
+    @Test
+    void testStalledReaderDoesNotHoldSlot() throws SQLException {
+        final ConnectionProperties connectionProperties =
+                getConnectionProperties("admission-stall", ConnectionProperties.MAX_CONCURRENT_QUERIES_KEY, "1");
+        final StalledReaderQueryExecutor first = new StalledReaderQueryExecutor(connectionProperties);
+        final StalledReaderQueryExecutor second = new StalledReaderQueryExecutor(connectionProperties);
+        // The first result is never read and has more rows than it holds for its reader, yet the second query is
+        // admitted once the rows of the first were fetched.
+        first.execute();
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), second::execute);
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            while (QueryAdmissionController.getController("admission-stall:" + PORT).getInFlight() != 0) {
+                Thread.sleep(10);
+            }
+        });
+        Assertions.assertEquals(3 * StalledReaderQueryExecutor.CAPACITY,
+                first.result.getAllResults().size());
+    }
+
+    @Test
+    void testClientErrorDoesNotTripBreaker() throws SQLException {
+        final StreamingQueryExecutor executor = new StreamingQueryExecutor(getConnectionProperties("breaker-client",
+                ConnectionProperties.CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY, "1"));
+        executor.failWith(new SQLException("Error parsing query.", SqlState.DATA_EXCEPTION.getSqlState()));
+        Assertions.assertThrows(SQLException.class, executor::execute);
+        final EndpointCircuitBreaker circuitBreaker =
+                EndpointCircuitBreaker.getCircuitBreaker("breaker-client:" + PORT);
+        Assertions.assertEquals(EndpointCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        Assertions.assertEquals(0, circuitBreaker.getConsecutiveFailures());
+    }
+
+    @Test
+    void testConnectionErrorTripsBreaker() throws SQLException {
+        final StreamingQueryExecutor executor = new StreamingQueryExecutor(getConnectionProperties("breaker-connection",
+                ConnectionProperties.CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY, "1"));
+        executor.failWith(new SQLException("Connection reset.", SqlState.CONNECTION_FAILURE.getSqlState()));
+        Assertions.assertThrows(SQLException.class, executor::execute);
+        Assertions.assertEquals(EndpointCircuitBreaker.State.OPEN,
+                EndpointCircuitBreaker.getCircuitBreaker("breaker-connection:" + PORT).getState());
+    }
+
+    @Test
+    void testBreakerRecordsStreamedFailure() throws SQLException {
+        final StreamingQueryExecutor executor = new StreamingQueryExecutor(getConnectionProperties("breaker-stream",
+                ConnectionProperties.CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY, "1"));
+        executor.execute();
+        final EndpointCircuitBreaker circuitBreaker =
+                EndpointCircuitBreaker.getCircuitBreaker("breaker-stream:" + PORT);
+        // Nothing is recorded until the rows have been fetched from the graph.
+        Assertions.assertEquals(EndpointCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        executor.complete(new SQLException(new java.util.concurrent.TimeoutException("Query timed out.")));
+        Assertions.assertEquals(EndpointCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void testCancelStreamedResult() throws SQLException {
+        final StreamingQueryExecutor executor = new StreamingQueryExecutor(getConnectionProperties("cancel-stream",
+                ConnectionProperties.CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY, "1"));
+        Assertions.assertThrows(SQLException.class, () -> executor.cancelQuery(false));
+        executor.execute();
+        // The query returned its result, but the rows are still streamed, so cancelling stops the result.
+        executor.cancelQuery(false);
+        Assertions.assertEquals(1, executor.cancelledResults.size());
+        Assertions.assertThrows(SQLException.class, () -> executor.cancelQuery(false));
+        executor.cancelQuery(true);
+        Assertions.assertEquals(1, executor.cancelledResults.size());
+    }
+
+    /**
+     * Executor whose results stream, completing when the test says so.
+     */
+    private static class StreamingQueryExecutor extends MockQueryExecutor {
+        private final ConnectionProperties connectionProperties;
+        private final List<Consumer<Exception>> completionListeners = new ArrayList<>();
+        private final List<Object> cancelledResults = new ArrayList<>();
+        private SQLException failure = null;
+
+        StreamingQueryExecutor(final ConnectionProperties connectionProperties) {
+            this.connectionProperties = connectionProperties;
+        }
+
+        java.sql.ResultSet execute() throws SQLException {
+            try {
+                return runCancellableQuery(TestResultSet.class.getConstructor(java.sql.Statement.class, Object.class),
+                        null, "query");
+            } catch (final NoSuchMethodException e) {
+                throw new SQLException(e);
+            }
+        }
+
+        void failWith(final SQLException e) {
+            failure = e;
+        }
+
+        void complete(final Exception e) {
+            completionListeners.remove(0).accept(e);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected <T> T runQuery(final String query) throws SQLException {
+            if (failure != null) {
+                throw failure;
+            }
+            return (T) query;
+        }
+
+        @Override
+        protected ConnectionProperties getConnectionProperties() {
+            return connectionProperties;
+        }
+
+        @Override
+        protected boolean addCompletionListener(final Object result, final Consumer<Exception> onComplete) {
+            completionListeners.add(onComplete);
+            return true;
+        }
+
+        @Override
+        protected void cancelResult(final Object result) {
+            cancelledResults.add(result);
+        }
+    }
+
+    /**
+     * Executor whose results are streamed by their own thread, like the results of SQL queries over Gremlin.
+     */
+    private static class StalledReaderQueryExecutor extends MockQueryExecutor {
+        private static final int CAPACITY = 2;
+        private final ConnectionProperties connectionProperties;
+        private SqlGremlinQueryResult result = null;
+
+        StalledReaderQueryExecutor(final ConnectionProperties connectionProperties) {
+            this.connectionProperties = connectionProperties;
+        }
+
+        java.sql.ResultSet execute() throws SQLException {
+            try {
+                return runCancellableQuery(TestResultSet.class.getConstructor(java.sql.Statement.class, Object.class),
+                        null, "query");
+            } catch (final NoSuchMethodException e) {
+                throw new SQLException(e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected <T> T runQuery(final String query) {
+            result = new SqlGremlinQueryResult(Collections.singletonList("name"),
+                    Collections.singletonList("string"), CAPACITY);
+            final Thread producer = new Thread(() -> {
+                for (int i = 0; i < 3 * CAPACITY; i++) {
+                    result.addResults(Collections.singletonList(new ArrayList<>(Collections.singletonList("row"))));
+                }
+                result.close();
+            });
+            producer.setDaemon(true);
+            producer.start();
+            return (T) result;
+        }
+
+        @Override
+        protected ConnectionProperties getConnectionProperties() {
+            return connectionProperties;
+        }
+
+        @Override
+        protected boolean addCompletionListener(final Object result, final Consumer<Exception> onComplete) {
+            ((SqlGremlinQueryResult) result).addCompletionListener(onComplete::accept);
+            return true;
+        }
+
+        @Override
+        protected void unboundResult(final Object result) {
+            ((SqlGremlinQueryResult) result).unbound();
+        }
+    }
+
+    /**
+     * ResultSet built by runCancellableQuery from the statement and the result.
+     */
+    public static class TestResultSet extends MockResultSet {
+        public TestResultSet(final java.sql.Statement statement, final Object result) {
+            super(statement);
+        }
+    }
+}
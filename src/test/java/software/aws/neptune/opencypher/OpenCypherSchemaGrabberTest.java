@@ -0,0 +1,125 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.opencypher;
+
+import org.apache.calcite.util.Pair;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.aws.neptune.gremlin.adapter.converter.schema.SchemaSnapshot;
+import software.aws.neptune.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.LazyGremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+import software.aws.neptune.jdbc.utilities.AuthScheme;
+import software.aws.neptune.opencypher.mock.MockOpenCypherDatabase;
+import software.aws.neptune.opencypher.mock.MockOpenCypherNode;
+import software.aws.neptune.opencypher.mock.MockOpenCypherNodes;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+public class OpenCypherSchemaGrabberTest {
+    private static final String HOSTNAME = "localhost";
+    private static final MockOpenCypherNode DEVELOPER = new MockOpenCypherNode() {
+        @Override
+        public String getInfo() {
+            return "Person:Developer {age: 3}";
+        }
+
+        @Override
+        public String getAnnotation() {
+            return "developer";
+        }
+
+        @Override
+        public String getIndex() {
+            return "Developer (age)";
+        }
+    };
+    private static MockOpenCypherDatabase database;
+    private static OpenCypherSchemaGrabber schemaGrabber;
+
+    /**
+     * Function to get a random available port and initialize database before testing.
+     */
+    @BeforeAll
+    public static void initializeDatabase() throws SQLException {
+        database = MockOpenCypherDatabase.builder(HOSTNAME, OpenCypherSchemaGrabberTest.class.getName())
+                .withNode(MockOpenCypherNodes.LYNDON)
+                .withNode(MockOpenCypherNodes.VINNY)
+                .withNode(DEVELOPER)
+                .withRelationship(MockOpenCypherNodes.LYNDON, MockOpenCypherNodes.VINNY, "PETS")
+                .build();
+        final Properties properties = new Properties();
+        properties.put(OpenCypherConnectionProperties.AUTH_SCHEME_KEY, AuthScheme.None);
+        properties.put(OpenCypherConnectionProperties.ENDPOINT_KEY,
+                String.format("bolt://%s:%d", HOSTNAME, database.getPort()));
+        schemaGrabber = new OpenCypherSchemaGrabber(new OpenCypherConnectionProperties(properties));
+    }
+
+    /**
+     * Function to get a shutdown database after testing.
+     */
+    @AfterAll
+    public static void shutdownDatabase() {
+        database.shutdown();
+    }
+
+    @Test
+    void testSchemaSnapshot() throws SQLException {
+        final SchemaSnapshot snapshot = schemaGrabber.getSchemaSnapshot(SqlSchemaGrabber.ScanType.All, null);
+        Assertions.assertEquals(Long.valueOf(1), snapshot.getVertexLabelCounts().get("Person"));
+        Assertions.assertEquals(Long.valueOf(1), snapshot.getEdgeLabelCounts().get("PETS"));
+
+        final GremlinVertexTable person = (GremlinVertexTable) snapshot.getSchema().getGremlinTable("Person");
+        Assertions.assertEquals(Collections.singletonList("PETS"), person.getOutEdges());
+        Assertions.assertTrue(person.getInEdges().isEmpty());
+        Assertions.assertEquals("string", person.getColumn("first_name").getType());
+        final GremlinEdgeTable pets = (GremlinEdgeTable) snapshot.getSchema().getGremlinTable("PETS");
+        Assertions.assertEquals(Collections.singletonList(new Pair<>("Kitty", "Person")), pets.getInOutVertexPairs());
+
+        // An unchanged graph reuses every table of the previous snapshot.
+        final SchemaSnapshot refreshed = schemaGrabber.getSchemaSnapshot(SqlSchemaGrabber.ScanType.First, snapshot);
+        Assertions.assertSame(person, refreshed.getSchema().getGremlinTable("Person"));
+        Assertions.assertSame(pets, refreshed.getSchema().getGremlinTable("PETS"));
+    }
+
+    @Test
+    void testLazySchema() throws SQLException {
+        final LazyGremlinSchema schema = schemaGrabber.getLazySchema(SqlSchemaGrabber.ScanType.sample(10));
+        Assertions.assertEquals(0, schema.getLoadedTableCount());
+        final GremlinVertexTable kitty = (GremlinVertexTable) schema.getGremlinTable("kitty");
+        Assertions.assertEquals(1, schema.getLoadedTableCount());
+        Assertions.assertEquals(Collections.singletonList("PETS"), kitty.getInEdges());
+        Assertions.assertEquals(Collections.singletonList("name"),
+                kitty.getColumns().values().stream().map(GremlinProperty::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testMultipleLabels() throws SQLException {
+        final GremlinSchema schema =
+                schemaGrabber.getSchemaSnapshot(SqlSchemaGrabber.ScanType.All, null).getSchema();
+        final GremlinVertexTable developer = (GremlinVertexTable) schema.getGremlinTable("Developer::Person");
+        Assertions.assertEquals("long", developer.getColumn("age").getType());
+        Assertions.assertFalse(schema.getGremlinTable("Person").hasColumn("age"));
+    }
+}
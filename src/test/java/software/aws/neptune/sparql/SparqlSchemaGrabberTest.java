@@ -0,0 +1,142 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.sparql;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.apache.jena.rdfconnection.RDFConnectionRemote;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.aws.neptune.gremlin.adapter.converter.schema.SchemaSnapshot;
+import software.aws.neptune.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import software.aws.neptune.gremlin.adapter.converter.schema.calcite.LazyGremlinSchema;
+import software.aws.neptune.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+import software.aws.neptune.jdbc.utilities.AuthScheme;
+import software.aws.neptune.jdbc.utilities.ConnectionProperties;
+import software.aws.neptune.sparql.mock.SparqlMockServer;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+
+public class SparqlSchemaGrabberTest {
+    private static final String HOSTNAME = "http://localhost";
+    private static final String DATASET = "mock";
+    private static final String QUERY_ENDPOINT = "query";
+    private static final int PORT = SparqlMockServer.port(); // Mock server dynamically generates port
+    private static final String DATA = "@prefix ex: <http://example.com/> .\n" +
+            "@prefix other: <http://other.com/> .\n" +
+            "@prefix xsd: <http://www.w3.org/2001/XMLSchema#> .\n" +
+            "ex:alice a ex:Person ; ex:name \"Alice\" ; ex:age \"30\"^^xsd:int ; ex:knows ex:bob .\n" +
+            "ex:bob a ex:Person ; ex:name \"Bob\" ; ex:age \"40\"^^xsd:long .\n" +
+            "ex:book a ex:Book ; ex:title \"Dune\" ; ex:published \"1965-08-01\"^^xsd:date .\n" +
+            "ex:vinny a other:Person ; ex:name \"Vinny\" .\n";
+    private static SparqlSchemaGrabber schemaGrabber;
+
+    /**
+     * Function to start the mock server and populate database before testing.
+     */
+    @BeforeAll
+    public static void initializeMockServer() throws SQLException {
+        SparqlMockServer.ctlBeforeClass();
+        final Model model = ModelFactory.createDefaultModel();
+        model.read(new StringReader(DATA), null, "TURTLE");
+        try (final RDFConnection conn = RDFConnectionRemote.create()
+                .destination(SparqlMockServer.urlDataset())
+                .queryEndpoint("/query").build()) {
+            conn.load(model);
+        }
+
+        final Properties properties = new Properties();
+        properties.put(ConnectionProperties.AUTH_SCHEME_KEY, AuthScheme.None);
+        properties.put(SparqlConnectionProperties.ENDPOINT_KEY, HOSTNAME);
+        properties.put(SparqlConnectionProperties.PORT_KEY, PORT);
+        properties.put(SparqlConnectionProperties.DATASET_KEY, DATASET);
+        properties.put(SparqlConnectionProperties.QUERY_ENDPOINT_KEY, QUERY_ENDPOINT);
+        schemaGrabber = new SparqlSchemaGrabber(new SparqlConnectionProperties(properties));
+    }
+
+    /**
+     * Function to tear down server after testing.
+     */
+    @AfterAll
+    public static void shutdownMockServer() {
+        SparqlMockServer.ctlAfterClass();
+    }
+
+    @Test
+    void testSchemaSnapshot() throws SQLException {
+        final SchemaSnapshot snapshot = schemaGrabber.getSchemaSnapshot(SqlSchemaGrabber.ScanType.All, null);
+        // Both Person classes share a local name, so they keep their full IRI.
+        Assertions.assertEquals(ImmutableSet.of("Book", "http://example.com/Person", "http://other.com/Person"),
+                snapshot.getVertexLabelCounts().keySet());
+        Assertions.assertEquals(Long.valueOf(2), snapshot.getVertexLabelCounts().get("http://example.com/Person"));
+
+        final GremlinTableBase person = snapshot.getSchema().getGremlinTable("http://example.com/Person");
+        Assertions.assertEquals(ImmutableSet.of("name", "age", "knows"), person.getColumns().keySet());
+        Assertions.assertEquals("string", person.getColumn("name").getType());
+        Assertions.assertEquals("long", person.getColumn("age").getType());
+        Assertions.assertEquals("string", person.getColumn("knows").getType());
+        final GremlinTableBase book = snapshot.getSchema().getGremlinTable("Book");
+        Assertions.assertEquals("date", book.getColumn("published").getType());
+
+        // An unchanged dataset reuses every table of the previous snapshot.
+        final SchemaSnapshot refreshed = schemaGrabber.getSchemaSnapshot(SqlSchemaGrabber.ScanType.All, snapshot);
+        Assertions.assertSame(book, refreshed.getSchema().getGremlinTable("Book"));
+    }
+
+    @Test
+    void testSampledScan() throws SQLException {
+        final SchemaSnapshot snapshot = schemaGrabber.getSchemaSnapshot(SqlSchemaGrabber.ScanType.sample(5), null);
+        Assertions.assertEquals(ImmutableSet.of("title", "published"),
+                snapshot.getSchema().getGremlinTable("Book").getColumns().keySet());
+        final SchemaSnapshot coin = schemaGrabber.getSchemaSnapshot(SqlSchemaGrabber.ScanType.coin(1.0), null);
+        Assertions.assertEquals(ImmutableSet.of("title", "published"),
+                coin.getSchema().getGremlinTable("Book").getColumns().keySet());
+    }
+
+    @Test
+    void testLazySchema() throws SQLException {
+        final LazyGremlinSchema schema = schemaGrabber.getLazySchema(SqlSchemaGrabber.ScanType.First);
+        Assertions.assertEquals(0, schema.getLoadedTableCount());
+        Assertions.assertTrue(schema.getGremlinTable("book").hasColumn("title"));
+        Assertions.assertEquals(1, schema.getLoadedTableCount());
+    }
+
+    @Test
+    void testGetType() {
+        Assertions.assertEquals("Integer", SparqlSchemaGrabber.getType("http://www.w3.org/2001/XMLSchema#int"));
+        Assertions.assertEquals("Long", SparqlSchemaGrabber.getType("http://www.w3.org/2001/XMLSchema#integer"));
+        Assertions.assertEquals("Double", SparqlSchemaGrabber.getType("http://www.w3.org/2001/XMLSchema#decimal"));
+        Assertions.assertEquals("Date", SparqlSchemaGrabber.getType("http://www.w3.org/2001/XMLSchema#dateTime"));
+        Assertions.assertEquals("String", SparqlSchemaGrabber.getType("http://example.com/custom"));
+        Assertions.assertEquals("String", SparqlSchemaGrabber.getType(""));
+    }
+
+    @Test
+    void testGetLocalNames() {
+        final Map<String, String> names = SparqlSchemaGrabber.getLocalNames(
+                ImmutableSet.of("http://a.com/x#Name", "http://b.com/Name", "http://a.com/Title"));
+        Assertions.assertEquals("http://a.com/Title", names.get("Title"));
+        Assertions.assertEquals("http://b.com/Name", names.get("http://b.com/Name"));
+        Assertions.assertFalse(names.containsKey("Name"));
+    }
+}
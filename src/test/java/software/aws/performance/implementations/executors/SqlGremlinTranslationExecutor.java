@@ -0,0 +1,67 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.performance.implementations.executors;
+
+import lombok.SneakyThrows;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import software.aws.neptune.gremlin.adapter.GremlinSqlBaseTest;
+import software.aws.neptune.gremlin.adapter.converter.SqlConverter;
+import software.aws.neptune.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import software.aws.neptune.gremlin.adapter.graphs.TestGraphFactory;
+import software.aws.performance.PerformanceTestExecutor;
+
+/**
+ * Executor which only translates SQL to Gremlin, so that the translation is timed without a database.
+ */
+public class SqlGremlinTranslationExecutor extends PerformanceTestExecutor {
+    private final GraphTraversalSource g;
+    private final SqlConverter converter;
+
+    /**
+     * Constructor for SqlGremlinTranslationExecutor.
+     */
+    @SneakyThrows
+    public SqlGremlinTranslationExecutor() {
+        g = TestGraphFactory.createGraph(GremlinSqlBaseTest.DataSet.SPACE).traversal();
+        converter = new SqlConverter(SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All));
+    }
+
+    @Override
+    @SneakyThrows
+    protected Object execute(final String query) {
+        return converter.getStringTraversal(g, query);
+    }
+
+    @Override
+    @SneakyThrows
+    protected int retrieve(final Object retrieveObject) {
+        if (!(retrieveObject instanceof String)) {
+            throw new Exception("Error: expected a String traversal for data retrieval.");
+        }
+        return 1;
+    }
+
+    @Override
+    protected int retrieveString(final Object retrieveObject) {
+        return retrieve(retrieveObject);
+    }
+
+    @Override
+    protected int retrieveInteger(final Object retrieveObject) {
+        return retrieve(retrieveObject);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.performance.implementations.tests;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Disabled;
+import software.aws.performance.DataTypePerformance;
+import software.aws.performance.PerformanceTestExecutor;
+import software.aws.performance.implementations.executors.SqlGremlinTranslationExecutor;
+
+import static software.aws.performance.implementations.PerformanceTestConstants.LIMIT_COUNT;
+
+@Disabled
+public class SqlGremlinTranslationTest extends DataTypePerformance {
+
+    @Override
+    @SneakyThrows
+    protected PerformanceTestExecutor getPerformanceTestExecutor() {
+        return new SqlGremlinTranslationExecutor();
+    }
+
+    @Override
+    protected String getAllDataQuery() {
+        return "SELECT * FROM `person`";
+    }
+
+    @Override
+    protected String getNumberOfResultsQuery() {
+        return String.format("%s LIMIT %d", getAllDataQuery(), LIMIT_COUNT);
+    }
+
+    @Override
+    protected String getTransformNumberOfIntegersQuery() {
+        return "SELECT `person`.`age` AS `age` FROM `person`";
+    }
+
+    @Override
+    protected String getTransformNumberOfStringsQuery() {
+        return "SELECT `person`.`name` AS `name` FROM `person`";
+    }
+
+    @Override
+    protected String getBaseTestName() {
+        return "SqlGremlinTranslation";
+    }
+}